@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2018 IBM Corporation and others.
+ * Copyright (c) 2018, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -31,6 +31,7 @@ import org.eclipse.jdt.core.dom.AbstractTypeDeclaration;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 
 import org.eclipse.jdt.internal.core.manipulation.JavaManipulationPlugin;
+import org.eclipse.jdt.internal.core.manipulation.RecentASTCache;
 import org.eclipse.jdt.internal.corext.dom.ASTNodes;
 import org.eclipse.jdt.internal.corext.dom.IASTSharedValues;
 
@@ -57,8 +58,16 @@ public final class CoreASTProvider {
 	public static final String DEBUG_PREFIX= "ASTProvider > "; //$NON-NLS-1$
 
 	private volatile ITypeRoot fReconcilingJavaElement;
-	private ITypeRoot fActiveJavaElement;
-	private CompilationUnit fAST;
+	private volatile ITypeRoot fActiveJavaElement;
+	private volatile CompilationUnit fAST;
+	/**
+	 * Incremented whenever the active Java element or its AST changes, always published before
+	 * {@link #fSnapshot}.
+	 */
+	private volatile long fGeneration;
+	private volatile ASTSnapshot fSnapshot;
+	/** The ASTs of the elements that have recently been active, guarded by this provider */
+	private final RecentASTCache fRecentASTs= new RecentASTCache();
 	private Object fReconcileLock= new Object();
 	private Object fWaitLock= new Object();
 	private volatile boolean fIsReconciling;
@@ -84,6 +93,60 @@ public final class CoreASTProvider {
 		}
 	}
 
+	/**
+	 * An AST published by the AST provider for the active Java element. Snapshots can be read
+	 * without waiting for the AST provider, see {@link CoreASTProvider#getSnapshot(ITypeRoot)}.
+	 * <p>
+	 * Clients are not allowed to modify the AST and must synchronize all access to its nodes.
+	 * </p>
+	 *
+	 * @since 1.20
+	 */
+	public static final class ASTSnapshot {
+
+		private final ITypeRoot fJavaElement;
+		private final CompilationUnit fSnapshotAST;
+		private final long fSnapshotGeneration;
+
+		private ASTSnapshot(ITypeRoot javaElement, CompilationUnit ast, long generation) {
+			fJavaElement= javaElement;
+			fSnapshotAST= ast;
+			fSnapshotGeneration= generation;
+		}
+
+		/**
+		 * @return the Java element of the AST
+		 */
+		public ITypeRoot getJavaElement() {
+			return fJavaElement;
+		}
+
+		/**
+		 * @return the AST
+		 */
+		public CompilationUnit getAST() {
+			return fSnapshotAST;
+		}
+
+		/**
+		 * @return the generation of the AST provider when the AST was published, see
+		 *         {@link CoreASTProvider#getGeneration()}
+		 */
+		public long getGeneration() {
+			return fSnapshotGeneration;
+		}
+
+		/**
+		 * Tells whether the AST is no longer the one of the AST provider, because the Java element
+		 * has been changed or another element has become active since it was published.
+		 *
+		 * @return <code>true</code> if the AST is stale
+		 */
+		public boolean isStale() {
+			return fSnapshotGeneration != getInstance().fGeneration;
+		}
+	}
+
 	/**
 	 * Wait flag indicating that a client requesting an AST
 	 * wants to wait until an AST is ready.
@@ -132,6 +195,17 @@ public final class CoreASTProvider {
 		if (progressMonitor != null && progressMonitor.isCanceled())
 			return null;
 
+		if (waitFlag != WAIT_YES) {
+			// the current AST is returned without waiting for a reconcile that holds the locks
+			ASTSnapshot snapshot= fSnapshot;
+			if (snapshot != null && !snapshot.isStale() && input.equals(snapshot.getJavaElement())) {
+				if (JavaManipulationPlugin.DEBUG_AST_PROVIDER)
+					System.out.println(getThreadName() + " - " + DEBUG_PREFIX + "returning AST snapshot:" + toString(snapshot.getAST()) + " for: " + input.getElementName()); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+				return snapshot.getAST();
+			}
+		}
+
 		boolean isActiveElement;
 		synchronized (this) {
 			isActiveElement= input.equals(fActiveJavaElement);
@@ -255,7 +329,9 @@ public final class CoreASTProvider {
 			fIsReconciling= true;
 			this.fFinishReconciling = finishReconciling;
 		}
-		cache(null, javaElement);
+		fRecentASTs.remove(javaElement);
+		// the recent AST has just been removed, looking it up would only count a miss
+		cache(null, javaElement, false);
 	}
 
 	/**
@@ -357,14 +433,36 @@ public final class CoreASTProvider {
 	 * @param ast the ast
 	 * @param javaElement the java element
 	 */
-	public synchronized void cache(CompilationUnit ast, ITypeRoot javaElement) {
+	public void cache(CompilationUnit ast, ITypeRoot javaElement) {
+		cache(ast, javaElement, true);
+	}
+
+	/**
+	 * Caches the given compilation unit AST for the given Java element.
+	 *
+	 * @param ast the ast
+	 * @param javaElement the java element
+	 * @param restoreRecent <code>true</code> if a recent AST of the element is to be restored when
+	 *            <code>ast</code> is <code>null</code>
+	 */
+	private synchronized void cache(CompilationUnit ast, ITypeRoot javaElement, boolean restoreRecent) {
 
 		if (fActiveJavaElement != null && !fActiveJavaElement.equals(javaElement)) {
 			if (JavaManipulationPlugin.DEBUG_AST_PROVIDER && javaElement != null) // don't report call from disposeAST()
 				System.out.println(getThreadName() + " - " + DEBUG_PREFIX + "don't cache AST for inactive: " + toString(javaElement)); //$NON-NLS-1$ //$NON-NLS-2$
+			// keep it for when the element becomes active
+			if (ast != null && javaElement != null)
+				fRecentASTs.put(javaElement, ast);
 			return;
 		}
 
+		if (ast == null && restoreRecent && javaElement != null && !isReconciling(javaElement)) {
+			// the element has become active
+			ast= fRecentASTs.take(javaElement);
+			if (JavaManipulationPlugin.DEBUG_AST_PROVIDER && ast != null)
+				System.out.println(getThreadName() + " - " + DEBUG_PREFIX + "restoring recent AST: " + toString(ast) + " for: " + toString(javaElement)); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		}
+
 		if (JavaManipulationPlugin.DEBUG_AST_PROVIDER && (javaElement != null || ast != null)) // don't report call from disposeAST()
 			System.out.println(getThreadName() + " - " + DEBUG_PREFIX + "caching AST: " + toString(ast) + " for: " + toString(javaElement)); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
 
@@ -372,6 +470,9 @@ public final class CoreASTProvider {
 			disposeAST();
 
 		fAST= ast;
+		fGeneration++;
+		if (ast != null)
+			fSnapshot= new ASTSnapshot(javaElement, ast, fGeneration);
 
 		// Signal AST change
 		synchronized (fWaitLock) {
@@ -410,6 +511,7 @@ public final class CoreASTProvider {
 			System.out.println(getThreadName() + " - " + DEBUG_PREFIX + "disposing AST: " + toString(fAST) + " for: " + toString(fActiveJavaElement)); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
 
 		fAST= null;
+		fGeneration++;
 
 		cache(null, null);
 	}
@@ -495,7 +597,92 @@ public final class CoreASTProvider {
 	 * @param activeJavaElement the java element.
 	 */
 	public void setActiveJavaElement (ITypeRoot activeJavaElement) {
-		fActiveJavaElement = activeJavaElement;
+		synchronized (this) {
+			if (fAST != null && fActiveJavaElement != null && !fActiveJavaElement.equals(activeJavaElement))
+				fRecentASTs.put(fActiveJavaElement, fAST);
+			fActiveJavaElement = activeJavaElement;
+			fGeneration++;
+		}
+	}
+
+	/**
+	 * Returns the number of times the AST of an element that became active could be taken from the
+	 * ASTs of the recently active elements.
+	 *
+	 * @return the number of hits
+	 * @since 1.20
+	 */
+	public int getCacheHits() {
+		return fRecentASTs.getCacheHits();
+	}
+
+	/**
+	 * Returns the number of times the AST of an element that became active had to be created again.
+	 *
+	 * @return the number of misses
+	 * @since 1.20
+	 */
+	public int getCacheMisses() {
+		return fRecentASTs.getCacheMisses();
+	}
+
+	/**
+	 * Returns the last AST that has been published for the given Java element while it is the
+	 * active element. The snapshot is read without locking, so it can be requested while the Java
+	 * element is being reconciled. Clients check {@link ASTSnapshot#isStale()} to tell whether the
+	 * AST is still current: it is stale while the element is being reconciled, and it can be an
+	 * older AST of the element if the element has become active again.
+	 *
+	 * @param input the Java element, must not be <code>null</code>
+	 * @return the snapshot, or <code>null</code> if the Java element is not active or the last
+	 *         published AST is not one of the Java element
+	 * @since 1.20
+	 */
+	public ASTSnapshot getSnapshot(ITypeRoot input) {
+		ASTSnapshot snapshot= fSnapshot;
+		if (snapshot != null && input.equals(snapshot.getJavaElement()) && input.equals(fActiveJavaElement))
+			return snapshot;
+		return null;
+	}
+
+	/**
+	 * Returns the last AST that has been published for the given Java element, without waiting
+	 * for a reconcile of the element. Unlike {@link #getAST(ITypeRoot, WAIT_FLAG, IProgressMonitor)},
+	 * the last published AST is returned even if it is stale, see {@link ASTSnapshot#isStale()}.
+	 * If no AST has been published, or with {@link #WAIT_ACTIVE_ONLY} if the AST is stale although
+	 * the element is not being reconciled, the AST is requested from
+	 * {@link #getAST(ITypeRoot, WAIT_FLAG, IProgressMonitor)} first.
+	 *
+	 * @param input the Java element, must not be <code>null</code>
+	 * @param waitFlag {@link #WAIT_NO} or {@link #WAIT_ACTIVE_ONLY}
+	 * @param progressMonitor the progress monitor or <code>null</code>
+	 * @return the snapshot, or <code>null</code> if no AST is available for the Java element
+	 * @since 1.20
+	 */
+	public ASTSnapshot getSnapshot(ITypeRoot input, WAIT_FLAG waitFlag, IProgressMonitor progressMonitor) {
+		if (input == null || waitFlag == null || waitFlag == WAIT_YES)
+			throw new IllegalArgumentException("input is null or wait flag is not WAIT_NO or WAIT_ACTIVE_ONLY"); //$NON-NLS-1$
+
+		ASTSnapshot snapshot= getSnapshot(input);
+		if (snapshot == null || (snapshot.isStale() && waitFlag == WAIT_ACTIVE_ONLY && !isReconciling(input))) {
+			// getAST() publishes the AST of the active element
+			getAST(input, waitFlag, progressMonitor);
+			snapshot= getSnapshot(input);
+		}
+		if (JavaManipulationPlugin.DEBUG_AST_PROVIDER && snapshot != null && snapshot.isStale())
+			System.out.println(getThreadName() + " - " + DEBUG_PREFIX + "returning stale AST snapshot:" + toString(snapshot.getAST()) + " for: " + input.getElementName()); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		return snapshot;
+	}
+
+	/**
+	 * Returns the generation of the AST provider, which changes whenever the active Java element or
+	 * its AST changes.
+	 *
+	 * @return the generation
+	 * @since 1.20
+	 */
+	public long getGeneration() {
+		return fGeneration;
 	}
 
 	/**
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2020 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -138,6 +138,32 @@ public class SharedASTProviderCore {
 		return CoreASTProvider.getInstance().getAST(element, finalWaitFlag, progressMonitor);
 	}
 
+	/**
+	 * Returns the last AST that has been published for the given Java element without waiting for
+	 * a reconcile of the element. The AST can be stale, that is it may not match the current
+	 * contents of the element, see {@link CoreASTProvider.ASTSnapshot#isStale()}.
+	 * <p>
+	 * Clients are not allowed to modify the AST and must not keep any references.
+	 * </p>
+	 *
+	 * @param element the {@link ITypeRoot}, must not be <code>null</code>
+	 * @param waitFlag {@link #WAIT_NO} or {@link #WAIT_ACTIVE_ONLY}
+	 * @param progressMonitor the progress monitor or <code>null</code>
+	 * @return the snapshot or <code>null</code> if the element is not input of the current Java
+	 *         editor or no AST is available
+	 * @see CoreASTProvider#getSnapshot(ITypeRoot, CoreASTProvider.WAIT_FLAG, IProgressMonitor)
+	 * @since 1.20
+	 */
+	public static CoreASTProvider.ASTSnapshot getSnapshot(ITypeRoot element, WAIT_FLAG waitFlag, IProgressMonitor progressMonitor) {
+		CoreASTProvider.WAIT_FLAG finalWaitFlag= null;
+		if (waitFlag == WAIT_ACTIVE_ONLY) {
+			finalWaitFlag= CoreASTProvider.WAIT_ACTIVE_ONLY;
+		} else if (waitFlag == WAIT_NO) {
+			finalWaitFlag= CoreASTProvider.WAIT_NO;
+		}
+		return CoreASTProvider.getInstance().getSnapshot(element, finalWaitFlag, progressMonitor);
+	}
+
 	protected SharedASTProviderCore() {
 		// Prevent instantiation.
 	}
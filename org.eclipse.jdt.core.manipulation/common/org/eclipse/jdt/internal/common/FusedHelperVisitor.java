@@ -0,0 +1,200 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.common;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.ASTVisitor;
+
+/**
+ * Dispatches the visitor kinds registered in several {@link HelperVisitor}s during a single walk
+ * over an AST, instead of walking the AST once per HelperVisitor.
+ * <p>
+ * The semantics for each HelperVisitor are the same as for {@link HelperVisitor#build(ASTNode, boolean)}:
+ * if a BiPredicate returns <code>false</code>, that HelperVisitor is not called for the children
+ * of the node, but its BiConsumer is still called for the node itself. The other HelperVisitors
+ * are not affected. The walk skips a subtree only if no HelperVisitor is interested in it anymore.
+ * </p>
+ */
+public class FusedHelperVisitor extends ASTVisitor {
+
+	private static final int[] NONE= new int[0];
+
+	private static final int NODE_TYPE_COUNT= VisitorEnum.stream().mapToInt(VisitorEnum::getValue).max().getAsInt() + 1;
+
+	private final List<HelperVisitor<?, ?, ?>> fParticipants;
+
+	/**
+	 * Per node type the indices of the participants with a BiPredicate or BiConsumer for that type,
+	 * <code>null</code> if they have to be recomputed.
+	 */
+	private int[][] fPredicateIndices;
+	private int[][] fConsumerIndices;
+
+	/**
+	 * Per participant the node whose BiPredicate returned <code>false</code>, or <code>null</code>
+	 */
+	private ASTNode[] fSuppressedAt;
+	private int fSuppressedCount;
+
+	private long fNodesVisited;
+	private long fDispatches;
+
+	/**
+	 * @param visitjavadoc - true if Javadoc comments should be visited
+	 */
+	public FusedHelperVisitor(boolean visitjavadoc) {
+		super(visitjavadoc);
+		fParticipants= new ArrayList<>();
+	}
+
+	/**
+	 * Registers a HelperVisitor. Its predicate and consumer maps are read on the next call of
+	 * {@link #build(ASTNode)}.
+	 *
+	 * @param helperVisitor - HelperVisitor to dispatch to
+	 * @return - this FusedHelperVisitor
+	 */
+	public FusedHelperVisitor add(HelperVisitor<?, ?, ?> helperVisitor) {
+		fParticipants.add(helperVisitor);
+		fPredicateIndices= null;
+		fConsumerIndices= null;
+		return this;
+	}
+
+	/**
+	 *
+	 * @return - number of registered HelperVisitors
+	 */
+	public int size() {
+		return fParticipants.size();
+	}
+
+	/**
+	 * Walks <code>node</code> once and dispatches to all registered HelperVisitors.
+	 *
+	 * @param node - ASTNode
+	 * @return - this FusedHelperVisitor
+	 */
+	public FusedHelperVisitor build(ASTNode node) {
+		if (fParticipants.isEmpty()) {
+			return this;
+		}
+		if (fPredicateIndices == null) {
+			computeIndices();
+		}
+		fSuppressedAt= new ASTNode[fParticipants.size()];
+		fSuppressedCount= 0;
+		node.accept(this);
+		return this;
+	}
+
+	/**
+	 *
+	 * @return - number of nodes walked by all calls of {@link #build(ASTNode)}
+	 */
+	public long getNodesVisited() {
+		return fNodesVisited;
+	}
+
+	/**
+	 *
+	 * @return - number of BiPredicate and BiConsumer calls made by all calls of {@link #build(ASTNode)}
+	 */
+	public long getDispatches() {
+		return fDispatches;
+	}
+
+	private void computeIndices() {
+		List<List<Integer>> predicates= new ArrayList<>(NODE_TYPE_COUNT);
+		List<List<Integer>> consumers= new ArrayList<>(NODE_TYPE_COUNT);
+		for (int i= 0; i < NODE_TYPE_COUNT; i++) {
+			predicates.add(new ArrayList<>());
+			consumers.add(new ArrayList<>());
+		}
+		for (int i= 0; i < fParticipants.size(); i++) {
+			HelperVisitor<?, ?, ?> participant= fParticipants.get(i);
+			for (VisitorEnum kind : participant.predicatemap.keySet()) {
+				predicates.get(kind.getValue()).add(Integer.valueOf(i));
+			}
+			for (VisitorEnum kind : participant.consumermap.keySet()) {
+				consumers.get(kind.getValue()).add(Integer.valueOf(i));
+			}
+		}
+		fPredicateIndices= toArrays(predicates);
+		fConsumerIndices= toArrays(consumers);
+	}
+
+	private static int[][] toArrays(List<List<Integer>> indices) {
+		int[][] result= new int[indices.size()][];
+		Arrays.fill(result, NONE);
+		for (int i= 0; i < result.length; i++) {
+			List<Integer> list= indices.get(i);
+			if (!list.isEmpty()) {
+				result[i]= list.stream().mapToInt(Integer::intValue).toArray();
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public boolean preVisit2(ASTNode node) {
+		fNodesVisited++;
+		int type= node.getNodeType();
+		if (type < NODE_TYPE_COUNT) {
+			int[] indices= fPredicateIndices[type];
+			if (indices.length > 0) {
+				VisitorEnum kind= VisitorEnum.fromNodetype(type);
+				for (int index : indices) {
+					if (fSuppressedAt[index] == null) {
+						fDispatches++;
+						if (!fParticipants.get(index).testPredicate(kind, node)) {
+							fSuppressedAt[index]= node;
+							fSuppressedCount++;
+						}
+					}
+				}
+			}
+		}
+		return fSuppressedCount < fSuppressedAt.length;
+	}
+
+	@Override
+	public void postVisit(ASTNode node) {
+		int type= node.getNodeType();
+		if (type < NODE_TYPE_COUNT) {
+			int[] indices= fConsumerIndices[type];
+			if (indices.length > 0) {
+				VisitorEnum kind= VisitorEnum.fromNodetype(type);
+				for (int index : indices) {
+					if (fSuppressedAt[index] == null || fSuppressedAt[index] == node) {
+						fDispatches++;
+						fParticipants.get(index).acceptConsumer(kind, node);
+					}
+				}
+			}
+		}
+		if (fSuppressedCount > 0) {
+			for (int i= 0; i < fSuppressedAt.length; i++) {
+				if (fSuppressedAt[i] == node) {
+					fSuppressedAt[i]= null;
+					fSuppressedCount--;
+				}
+			}
+		}
+	}
+}
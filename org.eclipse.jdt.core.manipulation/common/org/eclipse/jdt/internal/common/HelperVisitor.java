@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2021, 2022 Carsten Hammer.
+ * Copyright (c) 2021, 2026 Carsten Hammer.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -205,6 +205,56 @@ public class HelperVisitor<E extends HelperVisitorProvider<V, T, E>,V,T> {
 		return this.predicatedata;
 	}
 
+	/**
+	 * Calls the BiPredicate registered for the visitor kind of <code>node</code>, honoring the
+	 * additional data like the method name given for method invocations. Used by
+	 * {@link FusedHelperVisitor} to dispatch without a LambdaASTVisitor.
+	 *
+	 * @param key - visitor kind of node
+	 * @param node - ASTNode
+	 * @return - false if the children of node should not be visited
+	 */
+	@SuppressWarnings("unchecked")
+	boolean testPredicate(VisitorEnum key, ASTNode node) {
+		BiPredicate<ASTNode, E> predicate= (BiPredicate<ASTNode, E>) predicatemap.get(key);
+		if (predicate == null || !matchesData(predicatedata.get(key), node)) {
+			return true;
+		}
+		return predicate.test(node, dataholder);
+	}
+
+	/**
+	 * Calls the BiConsumer registered for the visitor kind of <code>node</code>, honoring the
+	 * additional data like the method name given for method invocations. Used by
+	 * {@link FusedHelperVisitor} to dispatch without a LambdaASTVisitor.
+	 *
+	 * @param key - visitor kind of node
+	 * @param node - ASTNode
+	 */
+	@SuppressWarnings("unchecked")
+	void acceptConsumer(VisitorEnum key, ASTNode node) {
+		BiConsumer<ASTNode, E> consumer= (BiConsumer<ASTNode, E>) consumermap.get(key);
+		if (consumer != null && matchesData(consumerdata.get(key), node)) {
+			consumer.accept(node, dataholder);
+		}
+	}
+
+	private static boolean matchesData(Object data, ASTNode node) {
+		if (data == null) {
+			return true;
+		}
+		switch (node.getNodeType()) {
+			case ASTNode.METHOD_INVOCATION:
+				return ((MethodInvocation) node).getName().getIdentifier().equals(data);
+			case ASTNode.VARIABLE_DECLARATION_STATEMENT:
+				VariableDeclarationFragment fragment= (VariableDeclarationFragment) ((VariableDeclarationStatement) node).fragments().get(0);
+				IVariableBinding binding= fragment.resolveBinding();
+				return binding == null || ((Class<?>) data).getCanonicalName().equals(binding.getType().getErasure().getQualifiedName());
+			default:
+				return true;
+		}
+	}
+
 	/**
 	 * Add BiPredicate to use for AnnotationTypeDeclaration visit
 	 *
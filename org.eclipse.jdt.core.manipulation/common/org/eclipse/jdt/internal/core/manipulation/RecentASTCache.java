@@ -0,0 +1,183 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.manipulation;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.ITypeRoot;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+
+/**
+ * The shared ASTs of the Java elements that have recently been active in an editor, see
+ * {@link org.eclipse.jdt.core.manipulation.CoreASTProvider}. An AST is added when its element
+ * becomes inactive or when an inactive element has been reconciled, and it is taken out again when
+ * the element becomes active, so that switching between editors does not create the ASTs again.
+ * <p>
+ * The ASTs are weighed by the length of their source. The AST of an element is dropped when the
+ * element changes, all ASTs are dropped when the structure of any element changes, since their
+ * bindings may refer to it.
+ * </p>
+ */
+public final class RecentASTCache implements IElementChangedListener {
+
+	public static final int DEFAULT_MAX_ASTS= 5;
+
+	/** The maximum total length of the sources of the ASTs */
+	public static final int DEFAULT_MAX_WEIGHT= 2000000;
+
+	/** The ASTs, the least recently added first */
+	private final LinkedHashMap<ITypeRoot, CompilationUnit> fASTs= new LinkedHashMap<>();
+
+	private int fMaxASTs= DEFAULT_MAX_ASTS;
+	private int fMaxWeight= DEFAULT_MAX_WEIGHT;
+	private long fWeight;
+
+	private int fHits;
+	private int fMisses;
+
+	private boolean fListening;
+
+	/**
+	 * Adds the current AST of an element that is not active.
+	 *
+	 * @param javaElement the Java element
+	 * @param ast the AST of the element
+	 */
+	public synchronized void put(ITypeRoot javaElement, CompilationUnit ast) {
+		if (!fListening) {
+			// the editors reconcile their working copies
+			JavaCore.addElementChangedListener(this, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+			fListening= true;
+		}
+		remove(javaElement);
+		fASTs.put(javaElement, ast);
+		fWeight+= getWeight(ast);
+		evict();
+	}
+
+	/**
+	 * Takes the AST of an element that becomes active.
+	 *
+	 * @param javaElement the Java element
+	 * @return the AST, or <code>null</code> if none is cached
+	 */
+	public synchronized CompilationUnit take(ITypeRoot javaElement) {
+		CompilationUnit ast= remove(javaElement);
+		if (ast != null)
+			fHits++;
+		else
+			fMisses++;
+		return ast;
+	}
+
+	/**
+	 * Drops the AST of an element whose content is about to change.
+	 *
+	 * @param javaElement the Java element
+	 * @return the removed AST, or <code>null</code> if none was cached
+	 */
+	public synchronized CompilationUnit remove(ITypeRoot javaElement) {
+		CompilationUnit ast= fASTs.remove(javaElement);
+		if (ast != null)
+			fWeight-= getWeight(ast);
+		return ast;
+	}
+
+	public synchronized void clear() {
+		fASTs.clear();
+		fWeight= 0;
+	}
+
+	/**
+	 * Sets the limits of the cache. Used for testing.
+	 *
+	 * @param maxASTs the maximum number of ASTs
+	 * @param maxWeight the maximum total length of the sources of the ASTs
+	 */
+	public synchronized void setCacheLimits(int maxASTs, int maxWeight) {
+		fMaxASTs= maxASTs;
+		fMaxWeight= maxWeight;
+		evict();
+	}
+
+	public synchronized boolean hasInCache(ITypeRoot javaElement) {
+		return fASTs.containsKey(javaElement);
+	}
+
+	/**
+	 * @return the number of times the AST of an element that became active was cached
+	 */
+	public synchronized int getCacheHits() {
+		return fHits;
+	}
+
+	/**
+	 * @return the number of times the AST of an element that became active was not cached
+	 */
+	public synchronized int getCacheMisses() {
+		return fMisses;
+	}
+
+	private void evict() {
+		Iterator<CompilationUnit> iter= fASTs.values().iterator();
+		while (iter.hasNext() && (fASTs.size() > fMaxASTs || fWeight > fMaxWeight)) {
+			fWeight-= getWeight(iter.next());
+			iter.remove();
+		}
+	}
+
+	private static int getWeight(CompilationUnit ast) {
+		return ast.getLength();
+	}
+
+	@Override
+	public void elementChanged(ElementChangedEvent event) {
+		synchronized (this) {
+			if (fASTs.isEmpty())
+				return;
+		}
+		if (processDelta(event.getDelta()))
+			clear();
+	}
+
+	/*
+	 * Drops the ASTs of the changed compilation units and returns whether all ASTs have to be
+	 * dropped. Changes inside method bodies only report F_CONTENT and F_FINE_GRAINED on the
+	 * compilation unit.
+	 */
+	private boolean processDelta(IJavaElementDelta delta) {
+		IJavaElement element= delta.getElement();
+		if (element instanceof ITypeRoot) {
+			int flags= delta.getFlags();
+			if ((flags & (IJavaElementDelta.F_CONTENT | IJavaElementDelta.F_PRIMARY_WORKING_COPY)) != 0)
+				remove((ITypeRoot) element);
+			return delta.getKind() != IJavaElementDelta.CHANGED || delta.getAffectedChildren().length > 0
+					|| (flags & ~(IJavaElementDelta.F_CONTENT | IJavaElementDelta.F_FINE_GRAINED | IJavaElementDelta.F_AST_AFFECTED
+							| IJavaElementDelta.F_PRIMARY_WORKING_COPY | IJavaElementDelta.F_PRIMARY_RESOURCE)) != 0;
+		}
+		if (delta.getKind() != IJavaElementDelta.CHANGED || (delta.getFlags() & ~IJavaElementDelta.F_CHILDREN) != 0)
+			return true;
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (processDelta(child))
+				return true;
+		}
+		return false;
+	}
+}
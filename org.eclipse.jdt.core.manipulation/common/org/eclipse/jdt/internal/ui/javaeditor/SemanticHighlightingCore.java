@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2018 IBM Corporation and others.
+ * Copyright (c) 2018, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -38,6 +38,24 @@ public abstract class SemanticHighlightingCore {
 	 */
 	public abstract boolean consumes(SemanticToken token);
 
+	/**
+	 * Returns <code>false</code> iff {@link #consumes(SemanticToken)} returns <code>false</code>
+	 * for all tokens whose binding has the given kind and whose node is a declaration iff
+	 * <code>isDeclaration</code> is <code>true</code>. Used to skip the highlighting for tokens it
+	 * cannot consume without calling {@link #consumes(SemanticToken)}.
+	 * <p>
+	 * The default implementation returns <code>true</code>.
+	 * </p>
+	 *
+	 * @param bindingKind the binding kind as returned by {@link SemanticToken#getBindingKind()}
+	 * @param isDeclaration <code>true</code> if the token's node is a declaration
+	 * @return <code>false</code> if the semantic highlighting never consumes such a token
+	 * @since 1.20
+	 */
+	public boolean isApplicable(int bindingKind, boolean isDeclaration) {
+		return true;
+	}
+
 	/**
 	 * Returns <code>true</code> iff the semantic highlighting consumes the
 	 * semantic token.
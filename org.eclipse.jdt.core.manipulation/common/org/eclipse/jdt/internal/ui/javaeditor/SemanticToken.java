@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -25,6 +25,14 @@ import org.eclipse.jdt.core.dom.SimpleName;
  */
 public final class SemanticToken {
 
+	/**
+	 * Binding kind of a token without binding.
+	 *
+	 * @see #getBindingKind()
+	 * @since 1.20
+	 */
+	public static final int NO_BINDING= 0;
+
 	/** AST node */
 	private SimpleName fNode;
 	private Expression fLiteral;
@@ -51,6 +59,16 @@ public final class SemanticToken {
 		return fBinding;
 	}
 
+	/**
+	 * @return the kind of the binding, see {@link IBinding#getKind()}, or {@link #NO_BINDING} if
+	 *         the binding cannot be resolved
+	 * @since 1.20
+	 */
+	public int getBindingKind() {
+		IBinding binding= getBinding();
+		return binding != null ? binding.getKind() : NO_BINDING;
+	}
+
 	/**
 	 * @return the AST node (a {@link SimpleName})
 	 */
@@ -1,5 +1,5 @@
 /**
- * Copyright (c) 2010, 2020 Darmstadt University of Technology and others.
+ * Copyright (c) 2010, 2026 Darmstadt University of Technology and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,16 +11,20 @@
  */
 package org.eclipse.jdt.internal.ui.text;
 
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinTask;
 
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IType;
 
 import org.eclipse.jdt.internal.ui.text.ChainElement.ElementType;
+import org.eclipse.jdt.internal.ui.text.ChainSearchService.MemberCache;
 
 public class ChainFinder {
 
@@ -30,21 +34,44 @@ public class ChainFinder {
 
 	private final IType receiverType;
 
-	private final List<Chain> chains= new LinkedList<>();
+	private final List<Chain> chains= new CopyOnWriteArrayList<>();
 
-	private final Map<IJavaElement, ChainElement> edgeCache= new HashMap<>();
+	private final MemberCache memberCache;
 
-	private final Map<String, List<IJavaElement>> fieldsAndMethodsCache= new HashMap<>();
+	/** The members of {@link MemberCache#fFieldsAndMethods} that are not from excluded types */
+	private final Map<String, List<IJavaElement>> fieldsAndMethodsCache= new ConcurrentHashMap<>();
 
-	private final Map<String, Boolean> assignableCache= new HashMap<>();
+	private final boolean parallel;
 
 	private volatile boolean isCanceled;
 
 	public ChainFinder(final List<ChainType> expectedTypes, final List<String> excludedTypes,
 			final IType receiverType) {
+		this(expectedTypes, excludedTypes, receiverType, null);
+	}
+
+	/**
+	 * Creates a chain finder that shares the members it finds with the other searches of a service.
+	 * The chains are expanded in parallel when the search runs in the service, see
+	 * {@link ChainSearchService#submit(Runnable)}.
+	 *
+	 * @param expectedTypes the expected types of the chains
+	 * @param excludedTypes the types whose members are not used in the chains
+	 * @param receiverType the type in which the chains are inserted
+	 * @param service the service, or <code>null</code> to search on the calling thread with caches
+	 *            for this search only
+	 */
+	public ChainFinder(final List<ChainType> expectedTypes, final List<String> excludedTypes,
+			final IType receiverType, final ChainSearchService service) {
 		this.expectedTypes= expectedTypes;
 		this.excludedTypes= excludedTypes;
 		this.receiverType= receiverType;
+		if (service != null && receiverType != null) {
+			memberCache= service.getCache(receiverType.getJavaProject());
+		} else {
+			memberCache= new MemberCache();
+		}
+		parallel= service != null;
 	}
 
 	public void startChainSearch(final List<ChainElement> entrypoints, final int maxChains, final int minDepth,
@@ -66,26 +93,73 @@ public class ChainFinder {
 		isCanceled= true;
 	}
 
+	/*
+	 * Searches breadth-first. All chains of the queue have the same length, so the chains of the next
+	 * length can be found in parallel and are then added in the order of the queue.
+	 */
 	private void searchChainsForExpectedType(final ChainType expectedType, final int expectedDimensions,
 			final List<ChainElement> entrypoints, final int maxChains, final int minDepth, final int maxDepth) {
-		final LinkedList<LinkedList<ChainElement>> incompleteChains= prepareQueue(entrypoints);
+		List<LinkedList<ChainElement>> incompleteChains= prepareQueue(entrypoints);
 
 		while (!incompleteChains.isEmpty() && !isCanceled) {
-			final LinkedList<ChainElement> chain= incompleteChains.poll();
-			final ChainElement edge= chain.getLast();
-			if (isValidEndOfChain(edge, expectedType, expectedDimensions)) {
-				if (chain.size() >= minDepth) {
-					chains.add(new Chain(chain, expectedDimensions));
-					if (chains.size() == maxChains) {
-						break;
+			final List<List<LinkedList<ChainElement>>> successors= findSuccessors(incompleteChains, expectedType, expectedDimensions, maxDepth);
+			final List<LinkedList<ChainElement>> nextChains= new ArrayList<>();
+			for (int i= 0; i < incompleteChains.size() && !isCanceled; i++) {
+				final LinkedList<ChainElement> chain= incompleteChains.get(i);
+				final List<LinkedList<ChainElement>> chainSuccessors= successors.get(i);
+				if (chainSuccessors == null) {
+					if (chain.size() >= minDepth) {
+						chains.add(new Chain(chain, expectedDimensions));
+						if (chains.size() == maxChains) {
+							return;
+						}
 					}
+					continue;
+				}
+				if (nextChains.size() <= 50000) {
+					nextChains.addAll(chainSuccessors);
 				}
-				continue;
 			}
-			if (chain.size() < maxDepth && incompleteChains.size() <= 50000) {
-				searchDeeper(chain, incompleteChains, edge.getReturnType());
+			incompleteChains= nextChains;
+		}
+	}
+
+	/**
+	 * Returns the chains that extend each chain of a queue.
+	 *
+	 * @return for each chain, <code>null</code> if it is a valid chain, or the chains that extend it
+	 */
+	private List<List<LinkedList<ChainElement>>> findSuccessors(final List<LinkedList<ChainElement>> incompleteChains,
+			final ChainType expectedType, final int expectedDimensions, final int maxDepth) {
+		final List<List<LinkedList<ChainElement>>> successors= new ArrayList<>(incompleteChains.size());
+		if (!parallel || incompleteChains.size() == 1 || !ForkJoinTask.inForkJoinPool()) {
+			for (final LinkedList<ChainElement> chain : incompleteChains) {
+				successors.add(findSuccessors(chain, expectedType, expectedDimensions, maxDepth));
 			}
+			return successors;
+		}
+		final List<ForkJoinTask<List<LinkedList<ChainElement>>>> tasks= new ArrayList<>(incompleteChains.size());
+		for (final LinkedList<ChainElement> chain : incompleteChains) {
+			tasks.add(ForkJoinTask.adapt(() -> findSuccessors(chain, expectedType, expectedDimensions, maxDepth)));
 		}
+		ForkJoinTask.invokeAll(tasks);
+		for (final ForkJoinTask<List<LinkedList<ChainElement>>> task : tasks) {
+			successors.add(task.join());
+		}
+		return successors;
+	}
+
+	private List<LinkedList<ChainElement>> findSuccessors(final LinkedList<ChainElement> chain, final ChainType expectedType,
+			final int expectedDimensions, final int maxDepth) {
+		final ChainElement edge= chain.getLast();
+		if (isValidEndOfChain(edge, expectedType, expectedDimensions)) {
+			return null;
+		}
+		final List<LinkedList<ChainElement>> chainSuccessors= new ArrayList<>();
+		if (chain.size() < maxDepth && !isCanceled) {
+			searchDeeper(chain, chainSuccessors, edge.getReturnType());
+		}
+		return chainSuccessors;
 	}
 
 	/**
@@ -98,8 +172,8 @@ public class ChainFinder {
 		return chains;
 	}
 
-	private static LinkedList<LinkedList<ChainElement>> prepareQueue(final List<ChainElement> entrypoints) {
-		final LinkedList<LinkedList<ChainElement>> incompleteChains= new LinkedList<>();
+	private static List<LinkedList<ChainElement>> prepareQueue(final List<ChainElement> entrypoints) {
+		final List<LinkedList<ChainElement>> incompleteChains= new ArrayList<>();
 		for (final ChainElement entrypoint : entrypoints) {
 			final LinkedList<ChainElement> chain= new LinkedList<>();
 			chain.add(entrypoint);
@@ -134,16 +208,12 @@ public class ChainFinder {
 		if (expectedType.getPrimitiveType() != null) {
 			return expectedType.getPrimitiveType().equals(edge.getReturnType().getPrimitiveType());
 		}
-		Boolean isAssignable= assignableCache.get(edge.toString() + expectedType.toString());
-		if (isAssignable == null) {
-			isAssignable= ChainElementAnalyzer.isAssignable(edge, expectedType.getType(), expectedDimension);
-			assignableCache.put(edge.toString() + expectedType.toString(), isAssignable);
-		}
-		return isAssignable;
+		return memberCache.fAssignable.computeIfAbsent(edge.getElement().getHandleIdentifier() + expectedType.toString() + expectedDimension,
+				key -> ChainElementAnalyzer.isAssignable(edge, expectedType.getType(), expectedDimension));
 	}
 
 	private void searchDeeper(final LinkedList<ChainElement> chain,
-			final List<LinkedList<ChainElement>> incompleteChains, final ChainType currentlyVisitedType) {
+			final List<LinkedList<ChainElement>> nextChains, final ChainType currentlyVisitedType) {
 		boolean staticOnly= false;
 		if (chain.getLast().getElementType() == ElementType.TYPE) {
 			staticOnly= true;
@@ -152,35 +222,37 @@ public class ChainFinder {
 		for (final IJavaElement element : findAllFieldsAndMethods(currentlyVisitedType, staticOnly)) {
 			final ChainElement newEdge= createEdge(element);
 			if (newEdge.getElementType() != null && !chain.contains(newEdge)) {
-				incompleteChains.add(cloneChainAndAppendEdge(chain, newEdge));
+				nextChains.add(cloneChainAndAppendEdge(chain, newEdge));
 			}
 		}
 	}
 
 	private List<IJavaElement> findAllFieldsAndMethods(final ChainType chainElementType, boolean staticOnly) {
-		List<IJavaElement> cached= fieldsAndMethodsCache.get(chainElementType.toString() + Boolean.toString(staticOnly));
-		if (cached == null) {
-			cached= new LinkedList<>();
-			Collection<IJavaElement> candidates= staticOnly
-					? ChainElementAnalyzer.findAllPublicStaticFieldsAndNonVoidNonPrimitiveStaticMethods(chainElementType, new ChainType(receiverType))
-					: ChainElementAnalyzer.findVisibleInstanceFieldsAndRelevantInstanceMethods(chainElementType, new ChainType(receiverType));
-			for (final IJavaElement e : candidates) {
+		final String key= chainElementType.toString() + Boolean.toString(staticOnly);
+		return fieldsAndMethodsCache.computeIfAbsent(key, k -> {
+			final List<IJavaElement> members= new ArrayList<>();
+			for (final IJavaElement e : findAllVisibleFieldsAndMethods(chainElementType, staticOnly)) {
 				if (!ChainFinder.isFromExcludedType(excludedTypes, e)) {
-					cached.add(e);
+					members.add(e);
 				}
 			}
-			fieldsAndMethodsCache.put(chainElementType.toString() + Boolean.toString(staticOnly), cached);
-		}
-		return cached;
+			return members;
+		});
+	}
+
+	private List<IJavaElement> findAllVisibleFieldsAndMethods(final ChainType chainElementType, boolean staticOnly) {
+		final String receiver= receiverType != null ? receiverType.getHandleIdentifier() : ""; //$NON-NLS-1$
+		final String key= chainElementType.toString() + Boolean.toString(staticOnly) + receiver;
+		return memberCache.fFieldsAndMethods.computeIfAbsent(key, k -> {
+			Collection<IJavaElement> candidates= staticOnly
+					? ChainElementAnalyzer.findAllPublicStaticFieldsAndNonVoidNonPrimitiveStaticMethods(chainElementType, new ChainType(receiverType))
+					: ChainElementAnalyzer.findVisibleInstanceFieldsAndRelevantInstanceMethods(chainElementType, new ChainType(receiverType));
+			return new ArrayList<>(candidates);
+		});
 	}
 
 	private ChainElement createEdge(final IJavaElement member) {
-		ChainElement cached= edgeCache.get(member);
-		if (cached == null) {
-			cached= new ChainElement(member, false);
-			edgeCache.put(member, cached);
-		}
-		return cached;
+		return memberCache.fEdges.computeIfAbsent(member, m -> new ChainElement(m, false));
 	}
 
 	private static LinkedList<ChainElement> cloneChainAndAppendEdge(final LinkedList<ChainElement> chain,
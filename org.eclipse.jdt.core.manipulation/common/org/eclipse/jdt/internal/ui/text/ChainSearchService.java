@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.text;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaCore;
+
+/**
+ * Runs the call chain searches of all completion requests, see {@link ChainFinder}.
+ * <p>
+ * The searches share a pool of threads, which also expands the chains of a search in parallel, and
+ * they share the members and the assignability results they find in a cache for each project. A
+ * project's cache is dropped when the structure of a Java element changes, changes inside method
+ * bodies keep the caches.
+ * </p>
+ */
+public final class ChainSearchService implements IElementChangedListener {
+
+	/**
+	 * The members and the assignability results that have been found in a project.
+	 */
+	static final class MemberCache {
+
+		/** The fields and methods of a type that can be seen by a receiver type */
+		final Map<String, List<IJavaElement>> fFieldsAndMethods= new ConcurrentHashMap<>();
+
+		final Map<String, Boolean> fAssignable= new ConcurrentHashMap<>();
+
+		final Map<IJavaElement, ChainElement> fEdges= new ConcurrentHashMap<>();
+	}
+
+	private static final ChainSearchService fgDefault= new ChainSearchService();
+
+	private final ForkJoinPool fPool= new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+	private final Map<IJavaProject, MemberCache> fCaches= new ConcurrentHashMap<>();
+
+	private boolean fListening;
+
+	public static ChainSearchService getDefault() {
+		return fgDefault;
+	}
+
+	private ChainSearchService() {
+	}
+
+	/**
+	 * Runs a search in the pool. The search can expand its chains in parallel, see
+	 * {@link ChainFinder#ChainFinder(List, List, org.eclipse.jdt.core.IType, ChainSearchService)}.
+	 *
+	 * @param search the search
+	 * @return the future of the search
+	 */
+	public Future<?> submit(Runnable search) {
+		return fPool.submit(search);
+	}
+
+	MemberCache getCache(IJavaProject project) {
+		synchronized (this) {
+			if (!fListening) {
+				JavaCore.addElementChangedListener(this, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+				fListening= true;
+			}
+		}
+		return fCaches.computeIfAbsent(project, p -> new MemberCache());
+	}
+
+	public void clearCaches() {
+		fCaches.clear();
+	}
+
+	@Override
+	public void elementChanged(ElementChangedEvent event) {
+		if (!fCaches.isEmpty() && isStructuralChange(event.getDelta())) {
+			// members of a project are found through the projects it requires
+			clearCaches();
+		}
+	}
+
+	private static boolean isStructuralChange(IJavaElementDelta delta) {
+		if (delta.getKind() != IJavaElementDelta.CHANGED)
+			return true;
+		int flags= delta.getFlags();
+		if (delta.getElement().getElementType() == IJavaElement.COMPILATION_UNIT) {
+			flags&= ~(IJavaElementDelta.F_CONTENT | IJavaElementDelta.F_FINE_GRAINED | IJavaElementDelta.F_AST_AFFECTED
+					| IJavaElementDelta.F_PRIMARY_WORKING_COPY | IJavaElementDelta.F_PRIMARY_RESOURCE);
+			return flags != 0 || delta.getAffectedChildren().length > 0;
+		}
+		if ((flags & ~IJavaElementDelta.F_CHILDREN) != 0)
+			return true;
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (isStructuralChange(child))
+				return true;
+		}
+		return false;
+	}
+}
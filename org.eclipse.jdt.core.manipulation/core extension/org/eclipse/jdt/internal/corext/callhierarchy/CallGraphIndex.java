@@ -0,0 +1,1022 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.callhierarchy;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.SubMonitor;
+
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import org.eclipse.jdt.core.Flags;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IField;
+import org.eclipse.jdt.core.IInitializer;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaModel;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IMember;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IParent;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.ASTRequestor;
+import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.AnonymousClassDeclaration;
+import org.eclipse.jdt.core.dom.BodyDeclaration;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.ExpressionMethodReference;
+import org.eclipse.jdt.core.dom.IMemberValuePairBinding;
+import org.eclipse.jdt.core.dom.IMethodBinding;
+import org.eclipse.jdt.core.dom.Javadoc;
+import org.eclipse.jdt.core.dom.LambdaExpression;
+import org.eclipse.jdt.core.dom.MemberValuePair;
+import org.eclipse.jdt.core.dom.MethodInvocation;
+import org.eclipse.jdt.core.dom.Modifier;
+import org.eclipse.jdt.core.dom.SimpleName;
+import org.eclipse.jdt.core.dom.SuperMethodInvocation;
+import org.eclipse.jdt.core.dom.SuperMethodReference;
+import org.eclipse.jdt.core.dom.TypeMethodReference;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
+
+import org.eclipse.jdt.internal.core.manipulation.JavaManipulationPlugin;
+import org.eclipse.jdt.internal.corext.dom.IASTSharedValues;
+import org.eclipse.jdt.internal.corext.util.MethodOverrideTester;
+import org.eclipse.jdt.internal.corext.util.SuperTypeHierarchyCache;
+
+/**
+ * An index of the calls in the source of the Java projects, which answers the searches of the call
+ * hierarchy for the callers of methods and for the callees of members without searching.
+ * <p>
+ * For each compilation unit, the index stores the calls of its members to the methods declared in
+ * source and to the library methods that can be overridden, keyed by the handle identifier of the
+ * method declaration, and the callees of its members as {@link CalleeAnalyzerVisitor} finds them.
+ * Like the search, the callers of a method include the calls of the methods that it overrides. The index of a project is saved in the state location
+ * of the plug-in and used again in the next session.
+ * </p>
+ * <p>
+ * Before a search is answered, the indexes of the projects involved are brought up to date: the
+ * compilation units whose modification stamp changed are parsed again. When the members declared in
+ * a compilation unit change, the compilation units of the project and of the projects that require
+ * it that mention one of the changed names are parsed again as well, since their calls may be bound
+ * to other methods now. A change of the resolved classpath of a project discards its index.
+ * </p>
+ * <p>
+ * Each project index is locked while it is brought up to date, so that searches in other projects,
+ * and the collection of the calls once the index is up to date, can run concurrently.
+ * </p>
+ * <p>
+ * The index does not answer searches while working copies have unsaved changes, searches for the
+ * callers of constructors, types, fields and lambda expressions, and searches for the callees of
+ * types and abstract methods. The call hierarchy searches in these cases.
+ * </p>
+ */
+final class CallGraphIndex {
+
+	private static final String INDEX_DIRECTORY= "callGraphIndex"; //$NON-NLS-1$
+
+	private static final String INDEX_FILE_EXTENSION= ".idx"; //$NON-NLS-1$
+
+	/** Identifies an index file */
+	private static final int MAGIC= 0x4A434749;
+
+	/** The version of the index file format, must be incremented whenever the format changes */
+	private static final int VERSION= 2;
+
+	/** The number of compilation units that are parsed at once */
+	private static final int MAX_AT_ONCE= 500;
+
+	/**
+	 * The number of changed names that a project remembers for the projects that require it. A
+	 * project that has missed more changes is indexed again.
+	 */
+	private static final int MAX_JOURNAL_SIZE= 10000;
+
+	/**
+	 * The calls of a compilation unit. All names and handle identifiers are stored in
+	 * {@link #fStrings} and referenced by their index.
+	 */
+	private static final class Unit {
+
+		/** The modification stamp of the indexed source, {@link IResource#NULL_STAMP} if stale */
+		long fStamp;
+
+		final String[] fStrings;
+
+		/** The simple names that occur in the compilation unit */
+		final int[] fIdentifiers;
+
+		/** The declarations of the types and members of the compilation unit, see {@link #getDeclaration(IMember)} */
+		final int[] fDeclarations;
+
+		/** The calls to methods: method, caller, start and end of the call */
+		final int[] fCalls;
+
+		/** The callees of the members: member, count, and count times callee, start, end and line */
+		final int[] fCallees;
+
+		Unit(long stamp, String[] strings, int[] identifiers, int[] declarations, int[] calls, int[] callees) {
+			fStamp= stamp;
+			fStrings= strings;
+			fIdentifiers= identifiers;
+			fDeclarations= declarations;
+			fCalls= calls;
+			fCallees= callees;
+		}
+
+		boolean mentions(Set<String> names) {
+			for (int identifier : fIdentifiers) {
+				if (names.contains(fStrings[identifier]))
+					return true;
+			}
+			return false;
+		}
+
+		Set<String> getDeclarations() {
+			Set<String> declarations= new HashSet<>();
+			for (int declaration : fDeclarations)
+				declarations.add(fStrings[declaration]);
+			return declarations;
+		}
+
+		void collectCallers(Set<String> methods, IJavaSearchScope scope, CallSearchResultCollector collector) {
+			for (int i= 0; i < fCalls.length; i+= 4) {
+				if (methods.contains(fStrings[fCalls[i]])) {
+					IJavaElement caller= JavaCore.create(fStrings[fCalls[i + 1]]);
+					if (caller instanceof IMember && scope.encloses(caller)) {
+						IMember member= (IMember) caller;
+						collector.addMember(member, member, fCalls[i + 2], fCalls[i + 3]);
+					}
+				}
+			}
+		}
+
+		/**
+		 * @param member the member
+		 * @return the callees of the member, or <code>null</code> if the member is not indexed
+		 */
+		Map<String, MethodCall> getCallees(IMember member) {
+			String handle= member.getHandleIdentifier();
+			for (int i= 0; i < fCallees.length; i+= 2 + 4 * fCallees[i + 1]) {
+				if (fStrings[fCallees[i]].equals(handle)) {
+					CallSearchResultCollector collector= new CallSearchResultCollector();
+					for (int j= i + 2; j < i + 2 + 4 * fCallees[i + 1]; j+= 4) {
+						IJavaElement callee= JavaCore.create(fStrings[fCallees[j]]);
+						if (callee instanceof IMember)
+							collector.addMember(member, (IMember) callee, fCallees[j + 1], fCallees[j + 2], fCallees[j + 3], false);
+					}
+					return collector.getCallers();
+				}
+			}
+			return null;
+		}
+	}
+
+	private static final class IntList {
+
+		private int[] fInts= new int[16];
+
+		private int fSize;
+
+		void add(int value) {
+			if (fSize == fInts.length)
+				fInts= Arrays.copyOf(fInts, 2 * fSize);
+			fInts[fSize++]= value;
+		}
+
+		void set(int index, int value) {
+			fInts[index]= value;
+		}
+
+		int size() {
+			return fSize;
+		}
+
+		int[] toArray() {
+			return Arrays.copyOf(fInts, fSize);
+		}
+	}
+
+	/**
+	 * Collects the calls of a compilation unit to the methods declared in source and to the library
+	 * methods that can be overridden, and the simple names that occur in it.
+	 */
+	private static final class UnitBuilder extends ASTVisitor {
+
+		private final ICompilationUnit fCompilationUnit;
+
+		private final Map<String, Integer> fIndexes= new HashMap<>();
+
+		private final List<String> fStrings= new ArrayList<>();
+
+		private final Set<Integer> fIdentifiers= new HashSet<>();
+
+		private final IntList fCalls= new IntList();
+
+		UnitBuilder(ICompilationUnit compilationUnit) {
+			fCompilationUnit= compilationUnit;
+		}
+
+		int intern(String string) {
+			Integer index= fIndexes.get(string);
+			if (index == null) {
+				index= Integer.valueOf(fStrings.size());
+				fIndexes.put(string, index);
+				fStrings.add(string);
+			}
+			return index.intValue();
+		}
+
+		@Override
+		public boolean visit(Javadoc node) {
+			// the call hierarchy ignores references in doc comments
+			return false;
+		}
+
+		@Override
+		public boolean visit(SimpleName node) {
+			fIdentifiers.add(Integer.valueOf(intern(node.getIdentifier())));
+			return false;
+		}
+
+		@Override
+		public boolean visit(MethodInvocation node) {
+			addCall(node.resolveMethodBinding(), node.getName().getStartPosition(), node);
+			return true;
+		}
+
+		@Override
+		public boolean visit(SuperMethodInvocation node) {
+			addCall(node.resolveMethodBinding(), node.getName().getStartPosition(), node);
+			return true;
+		}
+
+		@Override
+		public boolean visit(ExpressionMethodReference node) {
+			addCall(node.resolveMethodBinding(), node.getName().getStartPosition(), node);
+			return true;
+		}
+
+		@Override
+		public boolean visit(SuperMethodReference node) {
+			addCall(node.resolveMethodBinding(), node.getName().getStartPosition(), node);
+			return true;
+		}
+
+		@Override
+		public boolean visit(TypeMethodReference node) {
+			addCall(node.resolveMethodBinding(), node.getName().getStartPosition(), node);
+			return true;
+		}
+
+		@Override
+		public boolean visit(MemberValuePair node) {
+			IMemberValuePairBinding binding= node.resolveMemberValuePairBinding();
+			if (binding != null)
+				addCall(binding.getMethodBinding(), node.getName().getStartPosition(), node.getName());
+			return true;
+		}
+
+		private void addCall(IMethodBinding binding, int start, ASTNode node) {
+			if (binding == null || binding.isConstructor())
+				return;
+			IJavaElement method= binding.getMethodDeclaration().getJavaElement();
+			if (!(method instanceof IMethod) || ((IMethod) method).getCompilationUnit() == null && !isOverridable(binding))
+				return;
+			IJavaElement caller= getCaller(node);
+			if (caller instanceof IMember) {
+				fCalls.add(intern(method.getHandleIdentifier()));
+				fCalls.add(intern(caller.getHandleIdentifier()));
+				fCalls.add(start);
+				fCalls.add(node.getStartPosition() + node.getLength());
+			}
+		}
+
+		/*
+		 * The calls of library methods are only needed for the methods in source that override them.
+		 */
+		private static boolean isOverridable(IMethodBinding binding) {
+			int modifiers= binding.getModifiers();
+			return !Modifier.isStatic(modifiers) && !Modifier.isPrivate(modifiers) && !Modifier.isFinal(modifiers)
+					&& !Modifier.isFinal(binding.getDeclaringClass().getModifiers());
+		}
+
+		/*
+		 * The search reports calls in lambda expressions as calls of the lambda method.
+		 */
+		private IJavaElement getCaller(ASTNode node) {
+			for (ASTNode parent= node.getParent(); parent != null; parent= parent.getParent()) {
+				if (parent instanceof LambdaExpression) {
+					IMethodBinding lambda= ((LambdaExpression) parent).resolveMethodBinding();
+					if (lambda != null && lambda.getJavaElement() != null)
+						return lambda.getJavaElement();
+				} else if (parent instanceof BodyDeclaration || parent instanceof AnonymousClassDeclaration) {
+					break;
+				}
+			}
+			try {
+				return fCompilationUnit.getElementAt(node.getStartPosition());
+			} catch (JavaModelException e) {
+				return null;
+			}
+		}
+
+		Unit build(long stamp, CompilationUnit ast) throws JavaModelException {
+			ast.accept(this);
+
+			List<IMember> members= new ArrayList<>();
+			collectMembers(fCompilationUnit, members);
+			IntList declarations= new IntList();
+			IntList callees= new IntList();
+			for (IMember member : members) {
+				declarations.add(intern(getDeclaration(member)));
+				if (isIndexedCallee(member))
+					addCallees(member, ast, callees);
+			}
+
+			int[] identifiers= new int[fIdentifiers.size()];
+			int i= 0;
+			for (Integer identifier : fIdentifiers)
+				identifiers[i++]= identifier.intValue();
+			return new Unit(stamp, fStrings.toArray(new String[fStrings.size()]), identifiers, declarations.toArray(), fCalls.toArray(), callees.toArray());
+		}
+
+		private void addCallees(IMember member, CompilationUnit ast, IntList callees) {
+			CalleeAnalyzerVisitor visitor= new CalleeAnalyzerVisitor(null, member, ast, new NullProgressMonitor(), new CallSearchResultCollector(false));
+			ast.accept(visitor);
+			callees.add(intern(member.getHandleIdentifier()));
+			int countIndex= callees.size();
+			callees.add(0);
+			int count= 0;
+			for (MethodCall call : visitor.getCallees().values()) {
+				int callee= intern(call.getKey());
+				if (call.getCallLocations() == null) {
+					callees.add(callee);
+					callees.add(-1);
+					callees.add(-1);
+					callees.add(-1);
+					count++;
+				} else {
+					for (CallLocation location : call.getCallLocations()) {
+						callees.add(callee);
+						callees.add(location.getStart());
+						callees.add(location.getEnd());
+						callees.add(Math.max(1, ast.getLineNumber(location.getStart())));
+						count++;
+					}
+				}
+			}
+			callees.set(countIndex, count);
+		}
+	}
+
+	/**
+	 * A copy of the journal of a project index, read by the indexes of the projects that require it
+	 * without holding its lock.
+	 */
+	private static final class Journal {
+
+		final String fName;
+
+		final long fId;
+
+		final long fStart;
+
+		final List<String> fNames;
+
+		Journal(String name, long id, long start, List<String> names) {
+			fName= name;
+			fId= id;
+			fStart= start;
+			fNames= names;
+		}
+
+		long getEnd() {
+			return fStart + fNames.size();
+		}
+
+		void addChangedNames(long from, Set<String> names) {
+			for (int i= (int) Math.max(0, from - fStart); i < fNames.size(); i++)
+				names.add(fNames.get(i));
+		}
+	}
+
+	/**
+	 * The index of the compilation units of a project. Its state is guarded by the index itself.
+	 */
+	private static final class ProjectIndex {
+
+		final String fName;
+
+		/** Identifies this index, changes whenever the index is discarded */
+		long fId;
+
+		long fClasspathSignature;
+
+		/** The units by handle identifier of the compilation unit */
+		final Map<String, Unit> fUnits= new HashMap<>();
+
+		/** The units that call a method, by handle identifier of the method, <code>null</code> if not computed */
+		private Map<String, List<Unit>> fUnitsByMethod;
+
+		/** The sequence number of the first name in {@link #fJournal} */
+		long fJournalStart;
+
+		/** The names of the members that changed, for the projects that require this project */
+		final ArrayDeque<String> fJournal= new ArrayDeque<>();
+
+		/** The ids of the indexes of the required projects and the sequence numbers of the next changes to read */
+		final Map<String, long[]> fSeen= new HashMap<>();
+
+		boolean fDirty;
+
+		ProjectIndex(String name) {
+			fName= name;
+		}
+
+		synchronized Journal getJournal() {
+			return new Journal(fName, fId, fJournalStart, new ArrayList<>(fJournal));
+		}
+
+		void reset(long classpathSignature) {
+			fId= UUID.randomUUID().getMostSignificantBits();
+			fClasspathSignature= classpathSignature;
+			fUnits.clear();
+			fUnitsByMethod= null;
+			fJournal.clear();
+			fJournalStart= 0;
+			fSeen.clear();
+			fDirty= true;
+		}
+
+		/**
+		 * Brings the index up to date with the source of the project.
+		 *
+		 * @param project the project
+		 * @param prerequisites the journals of all projects that the project requires, up to date
+		 * @param monitor the progress monitor
+		 * @throws JavaModelException if the project cannot be indexed
+		 */
+		synchronized void update(IJavaProject project, List<Journal> prerequisites, IProgressMonitor monitor) throws JavaModelException {
+			try {
+				doUpdate(project, prerequisites, monitor);
+			} finally {
+				if (fDirty)
+					save(this);
+			}
+		}
+
+		private void doUpdate(IJavaProject project, List<Journal> prerequisites, IProgressMonitor monitor) throws JavaModelException {
+			long classpathSignature= getClasspathSignature(project);
+			boolean reset= fClasspathSignature != classpathSignature;
+			Set<String> changedNames= new HashSet<>();
+			for (Journal prerequisite : prerequisites) {
+				long[] seen= fSeen.get(prerequisite.fName);
+				if (seen == null || seen[0] != prerequisite.fId || seen[1] < prerequisite.fStart)
+					reset= true;
+				else
+					prerequisite.addChangedNames(seen[1], changedNames);
+			}
+			if (reset) {
+				reset(classpathSignature);
+			} else if (!changedNames.isEmpty()) {
+				markStale(changedNames, Set.of());
+			}
+			for (Journal prerequisite : prerequisites) {
+				long[] seen= new long[] { prerequisite.fId, prerequisite.getEnd() };
+				if (!Arrays.equals(seen, fSeen.put(prerequisite.fName, seen)))
+					fDirty= true;
+			}
+
+			Map<String, ICompilationUnit> compilationUnits= getCompilationUnits(project);
+			Set<String> names= new HashSet<>();
+			for (String handle : new ArrayList<>(fUnits.keySet())) {
+				if (!compilationUnits.containsKey(handle))
+					addChangedNames(fUnits.remove(handle).getDeclarations(), Set.of(), names);
+			}
+			if (!names.isEmpty()) {
+				fUnitsByMethod= null;
+				fDirty= true;
+				journal(names);
+				markStale(names, Set.of());
+			}
+
+			Set<String> parsed= new HashSet<>();
+			List<ICompilationUnit> toParse= getStaleUnits(compilationUnits, parsed);
+			while (!toParse.isEmpty()) {
+				names= new HashSet<>();
+				try {
+					parse(project, toParse, names, parsed, monitor);
+				} finally {
+					if (!names.isEmpty()) {
+						journal(names);
+						markStale(names, parsed);
+					}
+				}
+				toParse= getStaleUnits(compilationUnits, parsed);
+			}
+		}
+
+		private List<ICompilationUnit> getStaleUnits(Map<String, ICompilationUnit> compilationUnits, Set<String> parsed) {
+			List<ICompilationUnit> stale= new ArrayList<>();
+			for (Map.Entry<String, ICompilationUnit> entry : compilationUnits.entrySet()) {
+				if (parsed.contains(entry.getKey()))
+					continue;
+				Unit unit= fUnits.get(entry.getKey());
+				if (unit == null || unit.fStamp != getStamp(entry.getValue()))
+					stale.add(entry.getValue());
+			}
+			return stale;
+		}
+
+		private void markStale(Set<String> names, Set<String> except) {
+			for (Map.Entry<String, Unit> entry : fUnits.entrySet()) {
+				Unit unit= entry.getValue();
+				if (unit.fStamp != IResource.NULL_STAMP && !except.contains(entry.getKey()) && unit.mentions(names)) {
+					unit.fStamp= IResource.NULL_STAMP;
+					fDirty= true;
+				}
+			}
+		}
+
+		private void journal(Set<String> names) {
+			fJournal.addAll(names);
+			while (fJournal.size() > MAX_JOURNAL_SIZE) {
+				fJournal.removeFirst();
+				fJournalStart++;
+			}
+		}
+
+		private void parse(IJavaProject project, List<ICompilationUnit> compilationUnits, Set<String> changedNames, Set<String> parsed, IProgressMonitor monitor) throws JavaModelException {
+			SubMonitor progress= SubMonitor.convert(monitor, compilationUnits.size());
+			JavaModelException[] exception= new JavaModelException[1];
+			Map<String, Long> stamps= new HashMap<>();
+			for (ICompilationUnit compilationUnit : compilationUnits)
+				stamps.put(compilationUnit.getHandleIdentifier(), Long.valueOf(getStamp(compilationUnit)));
+			ASTRequestor requestor= new ASTRequestor() {
+				@Override
+				public void acceptAST(ICompilationUnit source, CompilationUnit ast) {
+					if (exception[0] != null)
+						return;
+					String handle= source.getHandleIdentifier();
+					try {
+						Unit unit= new UnitBuilder(source).build(stamps.get(handle).longValue(), ast);
+						Unit old= fUnits.put(handle, unit);
+						Set<String> oldDeclarations= old != null ? old.getDeclarations() : Set.of();
+						addChangedNames(oldDeclarations, unit.getDeclarations(), changedNames);
+						parsed.add(handle);
+						fUnitsByMethod= null;
+						fDirty= true;
+					} catch (JavaModelException e) {
+						exception[0]= e;
+					}
+				}
+			};
+			for (int start= 0; start < compilationUnits.size(); start+= MAX_AT_ONCE) {
+				List<ICompilationUnit> chunk= compilationUnits.subList(start, Math.min(start + MAX_AT_ONCE, compilationUnits.size()));
+				ASTParser parser= ASTParser.newParser(IASTSharedValues.SHARED_AST_LEVEL);
+				parser.setProject(project);
+				parser.setResolveBindings(true);
+				parser.createASTs(chunk.toArray(new ICompilationUnit[chunk.size()]), new String[0], requestor, progress.split(chunk.size()));
+				if (exception[0] != null)
+					throw exception[0];
+			}
+		}
+
+		/**
+		 * @param methods the handle identifiers of the methods
+		 * @return the units that call one of the methods
+		 */
+		synchronized Set<Unit> getCallingUnits(Set<String> methods) {
+			if (fUnitsByMethod == null) {
+				fUnitsByMethod= new HashMap<>();
+				for (Unit unit : fUnits.values()) {
+					for (int i= 0; i < unit.fCalls.length; i+= 4) {
+						List<Unit> units= fUnitsByMethod.computeIfAbsent(unit.fStrings[unit.fCalls[i]], k -> new ArrayList<>(2));
+						if (units.isEmpty() || units.get(units.size() - 1) != unit)
+							units.add(unit);
+					}
+				}
+			}
+			Set<Unit> units= new LinkedHashSet<>();
+			for (String method : methods) {
+				List<Unit> callingUnits= fUnitsByMethod.get(method);
+				if (callingUnits != null)
+					units.addAll(callingUnits);
+			}
+			return units;
+		}
+
+		synchronized Unit getUnit(String handle) {
+			return fUnits.get(handle);
+		}
+
+		void read(DataInputStream in) throws IOException {
+			fClasspathSignature= in.readLong();
+			fId= in.readLong();
+			fJournalStart= in.readLong();
+			int journalSize= in.readInt();
+			for (int i= 0; i < journalSize; i++)
+				fJournal.add(in.readUTF());
+			int seenCount= in.readInt();
+			for (int i= 0; i < seenCount; i++)
+				fSeen.put(in.readUTF(), new long[] { in.readLong(), in.readLong() });
+			int unitCount= in.readInt();
+			for (int i= 0; i < unitCount; i++) {
+				String handle= in.readUTF();
+				long stamp= in.readLong();
+				String[] strings= new String[in.readInt()];
+				for (int j= 0; j < strings.length; j++)
+					strings[j]= in.readUTF();
+				fUnits.put(handle, new Unit(stamp, strings, readInts(in), readInts(in), readInts(in), readInts(in)));
+			}
+		}
+
+		void write(DataOutputStream out) throws IOException {
+			out.writeLong(fClasspathSignature);
+			out.writeLong(fId);
+			out.writeLong(fJournalStart);
+			out.writeInt(fJournal.size());
+			for (String name : fJournal)
+				out.writeUTF(name);
+			out.writeInt(fSeen.size());
+			for (Map.Entry<String, long[]> entry : fSeen.entrySet()) {
+				out.writeUTF(entry.getKey());
+				out.writeLong(entry.getValue()[0]);
+				out.writeLong(entry.getValue()[1]);
+			}
+			out.writeInt(fUnits.size());
+			for (Map.Entry<String, Unit> entry : fUnits.entrySet()) {
+				Unit unit= entry.getValue();
+				out.writeUTF(entry.getKey());
+				out.writeLong(unit.fStamp);
+				out.writeInt(unit.fStrings.length);
+				for (String string : unit.fStrings)
+					out.writeUTF(string);
+				writeInts(out, unit.fIdentifiers);
+				writeInts(out, unit.fDeclarations);
+				writeInts(out, unit.fCalls);
+				writeInts(out, unit.fCallees);
+			}
+		}
+	}
+
+	/** The indexes by project name */
+	private final Map<String, ProjectIndex> fProjects= new HashMap<>();
+
+	/**
+	 * Finds the callers of a method in the source of the projects that can see the method.
+	 *
+	 * @param method the method
+	 * @param scope the scope of the search
+	 * @param monitor the progress monitor
+	 * @return a map from handle identifier ({@link String}) to {@link MethodCall}, or
+	 *         <code>null</code> if the index cannot answer the search
+	 */
+	Map<String, MethodCall> findCallers(IMethod method, IJavaSearchScope scope, IProgressMonitor monitor) {
+		try {
+			if (method.isConstructor() || method.isLambdaMethod() || method.getCompilationUnit() == null || hasUnsavedChanges())
+				return null;
+			IJavaProject project= method.getJavaProject();
+			List<IJavaProject> projects= new ArrayList<>();
+			Map<String, Set<String>> requiredProjects= new HashMap<>();
+			for (IJavaProject candidate : project.getJavaModel().getJavaProjects()) {
+				if (candidate.getProject().isOpen() && (candidate.equals(project) || getRequiredProjects(candidate, requiredProjects).contains(project.getElementName())))
+					projects.add(candidate);
+			}
+
+			SubMonitor progress= SubMonitor.convert(monitor, projects.size());
+			Set<String> updated= new HashSet<>();
+			Set<String> methods= getDeclarations((IMethod) method.getPrimaryElement());
+			CallSearchResultCollector collector= new CallSearchResultCollector();
+			for (IJavaProject requiring : projects) {
+				for (Unit unit : update(requiring, updated, requiredProjects, progress.split(1)).getCallingUnits(methods))
+					unit.collectCallers(methods, scope, collector);
+			}
+			return collector.getCallers();
+		} catch (JavaModelException e) {
+			JavaManipulationPlugin.log(e);
+			return null;
+		}
+	}
+
+	/**
+	 * Finds the callees of a member.
+	 *
+	 * @param member the member
+	 * @param monitor the progress monitor
+	 * @return a map from handle identifier ({@link String}) to {@link MethodCall}, or
+	 *         <code>null</code> if the index cannot answer the search
+	 */
+	Map<String, MethodCall> findCallees(IMember member, IProgressMonitor monitor) {
+		try {
+			ICompilationUnit compilationUnit= member.getCompilationUnit();
+			if (compilationUnit == null || !isIndexedCallee(member) || hasUnsavedChanges())
+				return null;
+			ProjectIndex index= update(member.getJavaProject(), new HashSet<>(), new HashMap<>(), monitor);
+			Unit unit= index.getUnit(compilationUnit.getPrimary().getHandleIdentifier());
+			return unit != null ? unit.getCallees((IMember) member.getPrimaryElement()) : null;
+		} catch (JavaModelException e) {
+			JavaManipulationPlugin.log(e);
+			return null;
+		}
+	}
+
+	/**
+	 * Returns the handle identifiers of a method and of the methods it overrides, since the calls of
+	 * an overridden method may dispatch to the method.
+	 */
+	private static Set<String> getDeclarations(IMethod method) throws JavaModelException {
+		Set<String> declarations= new LinkedHashSet<>();
+		declarations.add(method.getHandleIdentifier());
+		IType declaringType= method.getDeclaringType();
+		int flags= method.getFlags();
+		if (declaringType != null && !Flags.isPrivate(flags) && !Flags.isStatic(flags)) {
+			MethodOverrideTester tester= SuperTypeHierarchyCache.getMethodOverrideTester(declaringType);
+			for (IType supertype : tester.getTypeHierarchy().getAllSupertypes(declaringType)) {
+				IMethod overridden= tester.findOverriddenMethodInType(supertype, method);
+				if (overridden != null)
+					declarations.add(overridden.getHandleIdentifier());
+			}
+		}
+		return declarations;
+	}
+
+	/**
+	 * Brings the index of a project up to date, and before that the indexes of all projects it
+	 * requires. The indexes are locked one at a time, so that projects that require each other cannot
+	 * deadlock.
+	 */
+	private ProjectIndex update(IJavaProject project, Set<String> updated, Map<String, Set<String>> requiredProjects, IProgressMonitor monitor) throws JavaModelException {
+		ProjectIndex index= getProjectIndex(project.getElementName());
+		if (!updated.add(index.fName))
+			return index;
+
+		Set<String> required= getRequiredProjects(project, requiredProjects);
+		SubMonitor progress= SubMonitor.convert(monitor, required.size() + 1);
+		IJavaModel model= project.getJavaModel();
+		List<Journal> prerequisites= new ArrayList<>();
+		for (String name : required) {
+			IJavaProject prerequisite= model.getJavaProject(name);
+			if (prerequisite.getProject().isOpen() && !name.equals(index.fName))
+				prerequisites.add(update(prerequisite, updated, requiredProjects, progress.split(1)).getJournal());
+		}
+		index.update(project, prerequisites, progress.split(1));
+		return index;
+	}
+
+	private ProjectIndex getProjectIndex(String name) {
+		synchronized (fProjects) {
+			ProjectIndex index= fProjects.get(name);
+			if (index == null) {
+				index= new ProjectIndex(name);
+				try {
+					load(index);
+				} catch (IOException | IllegalStateException e) {
+					index= new ProjectIndex(name);
+					JavaManipulationPlugin.log(e);
+				}
+				fProjects.put(name, index);
+			}
+			return index;
+		}
+	}
+
+	/**
+	 * @return the names of the projects that the project requires directly or indirectly
+	 */
+	private static Set<String> getRequiredProjects(IJavaProject project, Map<String, Set<String>> requiredProjects) throws JavaModelException {
+		Set<String> required= requiredProjects.get(project.getElementName());
+		if (required == null) {
+			required= new LinkedHashSet<>();
+			requiredProjects.put(project.getElementName(), required);
+			IJavaModel model= project.getJavaModel();
+			for (String name : project.getRequiredProjectNames()) {
+				IJavaProject prerequisite= model.getJavaProject(name);
+				if (prerequisite.getProject().isOpen()) {
+					required.addAll(getRequiredProjects(prerequisite, requiredProjects));
+					required.add(name);
+				}
+			}
+		}
+		return required;
+	}
+
+	private static boolean hasUnsavedChanges() throws JavaModelException {
+		for (ICompilationUnit workingCopy : JavaCore.getWorkingCopies(null)) {
+			if (workingCopy.hasUnsavedChanges())
+				return true;
+		}
+		return false;
+	}
+
+	/*
+	 * The callees of abstract methods are their implementations, which depend on other compilation units.
+	 */
+	private static boolean isIndexedCallee(IMember member) throws JavaModelException {
+		if (member instanceof IMethod) {
+			IMethod method= (IMethod) member;
+			IType declaringType= method.getDeclaringType();
+			return !method.isLambdaMethod() && declaringType != null && !declaringType.isInterface() && !Flags.isAbstract(method.getFlags());
+		}
+		return member instanceof IField || member instanceof IInitializer;
+	}
+
+	private static void collectMembers(IParent parent, List<IMember> members) throws JavaModelException {
+		for (IJavaElement child : parent.getChildren()) {
+			if (child instanceof IMember) {
+				members.add((IMember) child);
+				if (child instanceof IParent)
+					collectMembers((IParent) child, members);
+			}
+		}
+	}
+
+	/**
+	 * Returns the declaration of a member as far as it influences the binding of calls. The
+	 * declaration has the form <code>kind#type#name#details</code>.
+	 */
+	private static String getDeclaration(IMember member) throws JavaModelException {
+		StringBuilder declaration= new StringBuilder();
+		if (member instanceof IType) {
+			IType type= (IType) member;
+			declaration.append('T').append('#').append(type.getFullyQualifiedName('.')).append('#').append(type.getElementName());
+			declaration.append('#').append(type.getFlags()).append(':').append(type.getSuperclassName());
+			declaration.append(':').append(String.join(",", type.getSuperInterfaceNames())); //$NON-NLS-1$
+			declaration.append(':').append(String.join(",", type.getTypeParameterSignatures())); //$NON-NLS-1$
+		} else {
+			IType declaringType= member.getDeclaringType();
+			declaration.append(member.getElementType()).append('#');
+			declaration.append(declaringType != null ? declaringType.getFullyQualifiedName('.') : "").append('#'); //$NON-NLS-1$
+			declaration.append(member.getElementName()).append('#').append(member.getFlags());
+			if (member instanceof IMethod) {
+				IMethod method= (IMethod) member;
+				declaration.append(':').append(method.getSignature());
+				declaration.append(':').append(String.join(",", method.getTypeParameterSignatures())); //$NON-NLS-1$
+			} else if (member instanceof IField) {
+				declaration.append(':').append(((IField) member).getTypeSignature());
+			}
+		}
+		return declaration.toString();
+	}
+
+	/**
+	 * Adds the names of the declarations that differ. If a type changed, the names of all its members
+	 * are added, since calls of its members may be bound differently now.
+	 */
+	private static void addChangedNames(Set<String> oldDeclarations, Set<String> newDeclarations, Set<String> names) {
+		Set<String> changed= new HashSet<>(oldDeclarations);
+		changed.addAll(newDeclarations);
+		Set<String> unchanged= new HashSet<>(oldDeclarations);
+		unchanged.retainAll(newDeclarations);
+		changed.removeAll(unchanged);
+		Set<String> changedTypes= new HashSet<>();
+		for (String declaration : changed) {
+			String[] parts= declaration.split("#", 4); //$NON-NLS-1$
+			names.add(parts[2]);
+			if (declaration.charAt(0) == 'T')
+				changedTypes.add(parts[1]);
+		}
+		if (!changedTypes.isEmpty()) {
+			for (Set<String> declarations : List.of(oldDeclarations, newDeclarations)) {
+				for (String declaration : declarations) {
+					String[] parts= declaration.split("#", 4); //$NON-NLS-1$
+					if (changedTypes.contains(parts[1]))
+						names.add(parts[2]);
+				}
+			}
+		}
+	}
+
+	private static Map<String, ICompilationUnit> getCompilationUnits(IJavaProject project) throws JavaModelException {
+		Map<String, ICompilationUnit> compilationUnits= new HashMap<>();
+		for (IPackageFragmentRoot root : project.getPackageFragmentRoots()) {
+			if (root.getKind() != IPackageFragmentRoot.K_SOURCE || !project.equals(root.getJavaProject()))
+				continue;
+			for (IJavaElement fragment : root.getChildren()) {
+				for (ICompilationUnit compilationUnit : ((IPackageFragment) fragment).getCompilationUnits())
+					compilationUnits.put(compilationUnit.getHandleIdentifier(), compilationUnit);
+			}
+		}
+		return compilationUnits;
+	}
+
+	private static long getStamp(ICompilationUnit compilationUnit) {
+		IResource resource= compilationUnit.getResource();
+		return resource != null ? resource.getModificationStamp() : IResource.NULL_STAMP;
+	}
+
+	/*
+	 * The libraries are compared by their time stamps, since their contents can change without a
+	 * change of the classpath.
+	 */
+	private static long getClasspathSignature(IJavaProject project) throws JavaModelException {
+		long signature= VERSION;
+		for (IClasspathEntry entry : project.getResolvedClasspath(true)) {
+			IPath path= entry.getPath();
+			signature= 31 * signature + entry.getEntryKind();
+			signature= 31 * signature + path.toString().hashCode();
+			if (entry.getEntryKind() == IClasspathEntry.CPE_LIBRARY) {
+				IResource resource= ResourcesPlugin.getWorkspace().getRoot().findMember(path);
+				IPath location= resource != null ? resource.getLocation() : path;
+				signature= 31 * signature + (location != null ? location.toFile().lastModified() : 0);
+			}
+		}
+		signature= 31 * signature + Objects.hashCode(project.getOption(JavaCore.COMPILER_SOURCE, true));
+		signature= 31 * signature + Objects.hashCode(project.getOption(JavaCore.COMPILER_COMPLIANCE, true));
+		return signature;
+	}
+
+	private static File getIndexFile(String projectName) throws IllegalStateException {
+		JavaManipulationPlugin plugin= JavaManipulationPlugin.getDefault();
+		if (plugin == null)
+			throw new IllegalStateException();
+		return plugin.getStateLocation().append(INDEX_DIRECTORY).append(projectName + INDEX_FILE_EXTENSION).toFile();
+	}
+
+	private static void load(ProjectIndex index) throws IOException {
+		File file= getIndexFile(index.fName);
+		if (!file.isFile())
+			return;
+		try (DataInputStream in= new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+			if (in.readInt() != MAGIC || in.readInt() != VERSION)
+				return;
+			index.read(in);
+		}
+	}
+
+	private static void save(ProjectIndex index) {
+		try {
+			File file= getIndexFile(index.fName);
+			file.getParentFile().mkdirs();
+			File temporary= File.createTempFile(index.fName, null, file.getParentFile());
+			try {
+				try (DataOutputStream out= new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary.toPath())))) {
+					out.writeInt(MAGIC);
+					out.writeInt(VERSION);
+					index.write(out);
+				}
+				Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+				temporary= null;
+				index.fDirty= false;
+			} finally {
+				if (temporary != null)
+					temporary.delete();
+			}
+		} catch (IOException | IllegalStateException e) {
+			JavaManipulationPlugin.log(e);
+		}
+	}
+
+	private static int[] readInts(DataInputStream in) throws IOException {
+		int[] ints= new int[in.readInt()];
+		for (int i= 0; i < ints.length; i++)
+			ints[i]= in.readInt();
+		return ints;
+	}
+
+	private static void writeInts(DataOutputStream out, int[] ints) throws IOException {
+		out.writeInt(ints.length);
+		for (int value : ints)
+			out.writeInt(value);
+	}
+}
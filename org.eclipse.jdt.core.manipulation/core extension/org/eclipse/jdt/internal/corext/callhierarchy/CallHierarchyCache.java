@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.callhierarchy;
+
+import java.util.Map;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.JavaCore;
+
+import org.eclipse.jdt.internal.corext.util.LRUMap;
+
+/**
+ * The calls found for the members of all call hierarchy roots, see
+ * {@link MethodWrapper#getSharedCacheKey()}.
+ * <p>
+ * A root only caches the calls of its own tree, so opening the call hierarchy again on the same
+ * member, or on a member whose callers have been searched before, repeats all searches. The calls
+ * in this cache are dropped on every change of a Java element and whenever the settings that
+ * influence the search, see {@link CallHierarchyCore#getCacheSettings()}, change.
+ * </p>
+ */
+final class CallHierarchyCache implements IElementChangedListener {
+
+	private static final int MAX_SIZE= 1000;
+
+	private final CallHierarchyCore fCore;
+
+	private final LRUMap<String, Map<String, MethodCall>> fCalls= new LRUMap<>(MAX_SIZE);
+
+	/** The settings the calls have been searched with, or <code>null</code> */
+	private Object fSettings;
+
+	/** Incremented whenever the calls are dropped */
+	private long fGeneration;
+
+	private boolean fListening;
+
+	CallHierarchyCache(CallHierarchyCore core) {
+		fCore= core;
+	}
+
+	/**
+	 * Returns the current generation of the cache. Calls that are searched after this method has
+	 * been called are only added to the cache if they are put with this generation, so that calls
+	 * that have been found before a change are never cached after the change.
+	 *
+	 * @return the generation
+	 */
+	long getGeneration() {
+		Object settings= fCore.getCacheSettings();
+		synchronized (this) {
+			if (!fListening) {
+				// the searches also find the calls in working copies
+				JavaCore.addElementChangedListener(this, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+				fListening= true;
+			}
+			checkSettings(settings);
+			return fGeneration;
+		}
+	}
+
+	/**
+	 * @param key the key of the calls
+	 * @return the calls, must not be modified, or <code>null</code> if not cached
+	 */
+	Map<String, MethodCall> get(String key) {
+		Object settings= fCore.getCacheSettings();
+		synchronized (this) {
+			checkSettings(settings);
+			return fCalls.get(key);
+		}
+	}
+
+	/**
+	 * @param key the key of the calls
+	 * @param generation the generation of the cache before the calls have been searched
+	 * @param calls the calls, must not be modified afterwards
+	 */
+	synchronized void put(String key, long generation, Map<String, MethodCall> calls) {
+		if (generation != fGeneration)
+			return;
+		fCalls.put(key, calls);
+	}
+
+	synchronized void remove(String key) {
+		fCalls.remove(key);
+	}
+
+	synchronized void clear() {
+		fCalls.clear();
+		fGeneration++;
+	}
+
+	private void checkSettings(Object settings) {
+		if (!settings.equals(fSettings)) {
+			clear();
+			fSettings= settings;
+		}
+	}
+
+	@Override
+	public void elementChanged(ElementChangedEvent event) {
+		if (isAffecting(event.getDelta()))
+			clear();
+	}
+
+	/*
+	 * Opening an editor creates a working copy, which does not change any calls.
+	 */
+	private static boolean isAffecting(IJavaElementDelta delta) {
+		if (delta.getKind() != IJavaElementDelta.CHANGED)
+			return true;
+		if ((delta.getFlags() & ~(IJavaElementDelta.F_CHILDREN | IJavaElementDelta.F_PRIMARY_WORKING_COPY)) != 0)
+			return true;
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (isAffecting(child))
+				return true;
+		}
+		return false;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2021 IBM Corporation and others.
+ * Copyright (c) 2019, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -20,10 +20,24 @@ package org.eclipse.jdt.internal.corext.callhierarchy;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.StringTokenizer;
-
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubMonitor;
 
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IMember;
@@ -50,14 +64,27 @@ public class CallHierarchyCore {
     private static final String PREF_USE_FILTERS= "PREF_USE_FILTERS"; //$NON-NLS-1$
     private static final String PREF_FILTERS_LIST= "PREF_FILTERS_LIST"; //$NON-NLS-1$
     private static final String PREF_FILTER_TESTCODE= "PREF_FILTER_TESTCODE"; //$NON-NLS-1$
+    private static final String PREF_USE_CALL_GRAPH_INDEX= "PREF_USE_CALL_GRAPH_INDEX"; //$NON-NLS-1$
+
+    /** Milliseconds between the checks of the progress monitor while expanding */
+    private static final int POLL_INTERVAL= 100;
+
+    /** Seconds an idle thread of the expansion pool is kept */
+    private static final int KEEP_ALIVE= 30;
 
     private String defaultIgnoreFilters= "java.*,javax.*"; //$NON-NLS-1$
 
     private static CallHierarchyCore fgInstance;
     private IJavaSearchScope fSearchScope;
+    /** The search scope and the description of its contents, see {@link #getSearchScopeKey()} */
+    private volatile Map.Entry<IJavaSearchScope, String> fSearchScopeKey;
     private StringMatcher[] fFilters;
+    private final CallHierarchyCache fCallCache= new CallHierarchyCache(this);
+    private int fParallelism= getDefaultParallelism();
+    private final CallGraphIndex fCallGraphIndex= new CallGraphIndex();
+    private ThreadPoolExecutor fExecutor;
 
-    public static CallHierarchyCore getDefault() {
+    public static synchronized CallHierarchyCore getDefault() {
         if (fgInstance == null) {
             fgInstance= new CallHierarchyCore();
         }
@@ -73,6 +100,14 @@ public class CallHierarchyCore {
         return Boolean.parseBoolean(JavaManipulation.getPreference(PREF_FILTER_TESTCODE, null));
     }
 
+    /**
+     * @return <code>true</code> if the callers and callees of members declared in source are
+     *         looked up in an index of the calls instead of being searched
+     */
+    public boolean isCallGraphIndexEnabled() {
+        return Boolean.parseBoolean(JavaManipulation.getPreference(PREF_USE_CALL_GRAPH_INDEX, null));
+    }
+
     public Collection<IJavaElement> getImplementingMethods(IMethod method) {
         if (isSearchUsingImplementorsEnabled()) {
             IJavaElement[] result= Implementors.getInstance().searchForImplementors(new IJavaElement[] {
@@ -151,6 +186,217 @@ public class CallHierarchyCore {
 		roots.add(root);
 	}
 
+    /**
+     * Searches the calls of the given wrappers, and the calls of these calls down to the given
+     * number of levels. Afterwards {@link MethodWrapper#getCalls(IProgressMonitor)} returns the
+     * calls of the expanded wrappers and of the wrappers of their calls without searching.
+     * <p>
+     * The calls of up to {@link #getParallelism()} members are searched at once, on a pool that is
+     * shared by all expansions. The calls of a member are searched as soon as the member has been
+     * found, so the searches of the next level do not wait until all searches of the current level
+     * are done. Recursive calls and members that have already been expanded are not expanded.
+     * </p>
+     *
+     * @param wrappers the wrappers to expand
+     * @param levels the number of levels to expand, <code>1</code> only searches the calls of the
+     *            given wrappers
+     * @param monitor the progress monitor, can be <code>null</code>
+     * @throws OperationCanceledException if the monitor has been canceled
+     */
+    public void expand(MethodWrapper[] wrappers, int levels, IProgressMonitor monitor) {
+        SubMonitor progress= SubMonitor.convert(monitor, wrappers.length);
+        AtomicBoolean canceled= new AtomicBoolean();
+        IProgressMonitor searchMonitor= new NullProgressMonitor() {
+            @Override
+            public boolean isCanceled() {
+                return canceled.get();
+            }
+        };
+
+        ExecutorCompletionService<Expansion> completion= new ExecutorCompletionService<>(getExecutor());
+        List<Future<Expansion>> submitted= new ArrayList<>();
+        try {
+            Map<String, Integer> expanded= new HashMap<>();
+            int pending= 0;
+            for (MethodWrapper wrapper : wrappers) {
+                if (isExpandable(wrapper, 1, expanded)) {
+                    submitted.add(completion.submit(new Expansion(wrapper, 1, searchMonitor)));
+                    pending++;
+                }
+            }
+            while (pending > 0) {
+                if (progress.isCanceled())
+                    throw new OperationCanceledException();
+                Future<Expansion> done= completion.poll(POLL_INTERVAL, TimeUnit.MILLISECONDS);
+                if (done == null)
+                    continue;
+
+                pending--;
+                progress.worked(1);
+                Expansion expansion= done.get();
+                if (expansion.fLevel < levels) {
+                    for (MethodWrapper call : expansion.fCalls) {
+                        if (isExpandable(call, expansion.fLevel + 1, expanded)) {
+                            submitted.add(completion.submit(new Expansion(call, expansion.fLevel + 1, searchMonitor)));
+                            pending++;
+                        }
+                    }
+                }
+                progress.setWorkRemaining(pending);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OperationCanceledException();
+        } catch (ExecutionException e) {
+            Throwable cause= e.getCause();
+            if (cause instanceof RuntimeException)
+                throw (RuntimeException) cause;
+            if (cause instanceof Error)
+                throw (Error) cause;
+            throw new IllegalStateException(cause);
+        } finally {
+            // running searches stop at the next check of their monitor, queued ones do not start
+            canceled.set(true);
+            for (Future<Expansion> future : submitted) {
+                future.cancel(false);
+            }
+            if (monitor != null)
+                monitor.done();
+        }
+    }
+
+    private static final class Expansion implements Callable<Expansion> {
+
+        private final MethodWrapper fWrapper;
+        private final int fLevel;
+        private final IProgressMonitor fMonitor;
+        private MethodWrapper[] fCalls;
+
+        Expansion(MethodWrapper wrapper, int level, IProgressMonitor monitor) {
+            fWrapper= wrapper;
+            fLevel= level;
+            fMonitor= monitor;
+        }
+
+        @Override
+        public Expansion call() {
+            fCalls= fWrapper.getCalls(fMonitor);
+            return this;
+        }
+    }
+
+    /*
+     * A member that is found on several levels is expanded again when it is found nearer to the
+     * roots, so that its calls are expanded as deep as the calls of the other members there.
+     */
+    private static boolean isExpandable(MethodWrapper wrapper, int level, Map<String, Integer> expanded) {
+        if (!wrapper.canHaveChildren() || wrapper.isRecursive())
+            return false;
+        String key= wrapper.getSharedCacheKey();
+        if (key == null)
+            return true;
+        Integer expandedLevel= expanded.get(key);
+        if (expandedLevel != null && expandedLevel.intValue() <= level)
+            return false;
+        expanded.put(key, Integer.valueOf(level));
+        return true;
+    }
+
+    /*
+     * The pool is shared by all expansions, its threads are dropped when they have been idle for a
+     * while.
+     */
+    private synchronized ThreadPoolExecutor getExecutor() {
+        if (fExecutor == null) {
+            AtomicInteger count= new AtomicInteger();
+            fExecutor= new ThreadPoolExecutor(fParallelism, fParallelism, KEEP_ALIVE, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread= new Thread(runnable, "Call Hierarchy Search #" + count.incrementAndGet()); //$NON-NLS-1$
+                thread.setDaemon(true);
+                return thread;
+            });
+            fExecutor.allowCoreThreadTimeOut(true);
+        }
+        return fExecutor;
+    }
+
+    /**
+     * @return the number of members whose calls are searched at once by
+     *         {@link #expand(MethodWrapper[], int, IProgressMonitor)}
+     */
+    public synchronized int getParallelism() {
+        return fParallelism;
+    }
+
+    /**
+     * @param parallelism the number of members whose calls are searched at once by
+     *            {@link #expand(MethodWrapper[], int, IProgressMonitor)}
+     */
+    public synchronized void setParallelism(int parallelism) {
+        int oldParallelism= fParallelism;
+        fParallelism= Math.max(1, parallelism);
+        if (fExecutor != null) {
+            // the maximum size must never be below the core size
+            if (fParallelism > oldParallelism) {
+                fExecutor.setMaximumPoolSize(fParallelism);
+                fExecutor.setCorePoolSize(fParallelism);
+            } else {
+                fExecutor.setCorePoolSize(fParallelism);
+                fExecutor.setMaximumPoolSize(fParallelism);
+            }
+        }
+    }
+
+    /**
+     * The searches are mostly bound by reading the indexes, so a few threads suffice.
+     *
+     * @return the default parallelism
+     */
+    public static int getDefaultParallelism() {
+        return Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+    }
+
+    /**
+     * @return the cache of the calls that is shared by all roots
+     */
+    CallHierarchyCache getCallCache() {
+        return fCallCache;
+    }
+
+    /**
+     * @return the index of the calls in the source of the workspace
+     */
+    CallGraphIndex getCallGraphIndex() {
+        return fCallGraphIndex;
+    }
+
+    /**
+     * Returns the settings that influence which calls are found. The calls in the
+     * {@link #getCallCache() call cache} are dropped when these settings change.
+     *
+     * @return the settings, can be compared with <code>equals</code>
+     */
+    Object getCacheSettings() {
+        return Arrays.asList(getSearchScopeKey(), Boolean.valueOf(isFilterEnabled()), getFilters(), defaultIgnoreFilters,
+                Boolean.valueOf(isFilterTestCode()), Boolean.valueOf(isSearchUsingImplementorsEnabled()), Boolean.valueOf(isCallGraphIndexEnabled()));
+    }
+
+    /**
+     * Returns a description of the contents of the search scope. The view creates a new scope
+     * with the same contents on every refresh, so the scope itself cannot be compared. The
+     * description is only computed once per scope.
+     *
+     * @return the description, equal for scopes with the same contents
+     */
+    private String getSearchScopeKey() {
+        IJavaSearchScope scope= getSearchScope();
+        Map.Entry<IJavaSearchScope, String> key= fSearchScopeKey;
+        if (key == null || key.getKey() != scope) {
+            key= Map.entry(scope, scope.getClass().getName() + ':' + scope);
+            fSearchScopeKey= key;
+        }
+        return key.getValue();
+    }
+
     public static CallLocation getCallLocation(Object element) {
         CallLocation callLocation= null;
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -31,8 +31,22 @@ class CallSearchResultCollector {
      */
     private Map<String, MethodCall> fCalledMembers;
 
+    /**
+     * Whether members are filtered, see {@link CallHierarchyCore#isIgnored(String)}.
+     */
+    private final boolean fFiltered;
+
     public CallSearchResultCollector() {
+        this(true);
+    }
+
+    /**
+     * @param filtered <code>false</code> to collect the members ignored by the filters of the call
+     *            hierarchy as well, e.g. for the {@link CallGraphIndex}
+     */
+    CallSearchResultCollector(boolean filtered) {
         this.fCalledMembers = createCalledMethodsData();
+        this.fFiltered = filtered;
     }
 
     /**
@@ -48,7 +62,7 @@ class CallSearchResultCollector {
 
     protected void addMember(IMember member, IMember calledMember, int start, int end, int lineNumber, boolean potential) {
         if ((member != null) && (calledMember != null)) {
-            if (!isIgnored(calledMember)) {
+            if (!fFiltered || !isIgnored(calledMember)) {
                 MethodCall methodCall = fCalledMembers.get(calledMember.getHandleIdentifier());
 
                 if (methodCall == null) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -63,7 +63,18 @@ class CalleeAnalyzerVisitor extends HierarchicalASTVisitor {
 	private CallLocation fCalledAt;
 
     CalleeAnalyzerVisitor(CallLocation calledAt, IMember member, CompilationUnit compilationUnit, IProgressMonitor progressMonitor) {
-		fSearchResults = new CallSearchResultCollector();
+        this(calledAt, member, compilationUnit, progressMonitor, new CallSearchResultCollector());
+    }
+
+    /**
+     * @param calledAt the location of the call of the member, or <code>null</code>
+     * @param member the member whose callees are searched
+     * @param compilationUnit the AST of the compilation unit of the member, with bindings
+     * @param progressMonitor the progress monitor
+     * @param searchResults the collector of the callees
+     */
+    CalleeAnalyzerVisitor(CallLocation calledAt, IMember member, CompilationUnit compilationUnit, IProgressMonitor progressMonitor, CallSearchResultCollector searchResults) {
+		fSearchResults = searchResults;
         this.fCalledAt= calledAt;
         this.fMember = member;
         this.fCompilationUnit= compilationUnit;
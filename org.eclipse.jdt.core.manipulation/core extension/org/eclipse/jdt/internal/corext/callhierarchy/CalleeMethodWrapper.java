@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -74,6 +74,20 @@ class CalleeMethodWrapper extends MethodWrapper {
         return new CalleeMethodWrapper(this, methodCall);
     }
 
+    /*
+     * The implementations of a called method are reported at the location of the call.
+     */
+    @Override
+	String getSharedCacheKey() {
+        StringBuilder key = new StringBuilder("callees:").append(getMethodCall().getKey()); //$NON-NLS-1$
+        CallLocation calledAt = getMethodCall().getFirstCallLocation();
+        if (calledAt != null) {
+            key.append('@').append(calledAt.getMember().getHandleIdentifier());
+            key.append(':').append(calledAt.getStart()).append(':').append(calledAt.getEnd());
+        }
+        return key.toString();
+    }
+
     /*
      * @see org.eclipse.jdt.internal.corext.callhierarchy.MethodWrapper#canHaveChildren()
      */
@@ -90,6 +104,12 @@ class CalleeMethodWrapper extends MethodWrapper {
 	protected Map<String, MethodCall> findChildren(IProgressMonitor progressMonitor) {
     	IMember member= getMember();
 		if (member.exists()) {
+			CallHierarchyCore core= CallHierarchyCore.getDefault();
+			if (core.isCallGraphIndexEnabled()) {
+				Map<String, MethodCall> callees= core.getCallGraphIndex().findCallees(member, progressMonitor);
+				if (callees != null)
+					return callees;
+			}
 			CompilationUnit cu= CallHierarchyCore.getCompilationUnitNode(member, true);
 		    if (progressMonitor != null) {
 		        progressMonitor.worked(5);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -77,6 +77,11 @@ public class CallerMethodWrapper extends MethodWrapper {
         return new CallerMethodWrapper(this, methodCall);
     }
 
+	@Override
+	String getSharedCacheKey() {
+		return "callers:" + getFieldSearchMode() + ':' + getMethodCall().getKey(); //$NON-NLS-1$
+	}
+
 	/*
 	 * @see org.eclipse.jdt.internal.corext.callhierarchy.MethodWrapper#canHaveChildren()
 	 */
@@ -152,6 +157,12 @@ public class CallerMethodWrapper extends MethodWrapper {
 			IJavaSearchScope defaultSearchScope= getSearchScope();
 			boolean isWorkspaceScope= SearchEngine.createWorkspaceScope().equals(defaultSearchScope);
 			IJavaSearchScope searchScope= isWorkspaceScope ? getAccurateSearchScope(defaultSearchScope, member) : defaultSearchScope;
+			CallHierarchyCore core= CallHierarchyCore.getDefault();
+			if (member instanceof IMethod && core.isCallGraphIndexEnabled()) {
+				Map<String, MethodCall> callers= core.getCallGraphIndex().findCallers((IMethod) member, searchScope, monitor);
+				if (callers != null)
+					return callers;
+			}
 			searchEngine.search(pattern, new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() }, searchScope, searchRequestor,
 					monitor);
 			return searchRequestor.getCallers();
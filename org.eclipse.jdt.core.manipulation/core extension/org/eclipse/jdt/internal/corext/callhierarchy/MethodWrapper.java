@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,6 +19,7 @@ package org.eclipse.jdt.internal.corext.callhierarchy;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -46,12 +47,14 @@ public abstract class MethodWrapper extends PlatformObject {
 		fMethodWrapperCore= core;
 	}
 
-    private Map<String, MethodCall> fElements = null;
+    private volatile Map<String, MethodCall> fElements = null;
 
     /*
      * A cache of previously found methods. This cache should be searched
      * before adding a "new" method object reference to the list of elements.
      * This way previously found methods won't be searched again.
+     * The wrappers of one root can be expanded concurrently, see
+     * CallHierarchyCore#expand(MethodWrapper[], int, IProgressMonitor).
      */
     private Map<String, Map<String, MethodCall>> fMethodCache;
     private final MethodCall fMethodCall;
@@ -67,7 +70,7 @@ public abstract class MethodWrapper extends PlatformObject {
         Assert.isNotNull(methodCall);
 
         if (parent == null) {
-            setMethodCache(new HashMap<String, Map<String, MethodCall>>());
+            setMethodCache(new ConcurrentHashMap<String, Map<String, MethodCall>>());
             fLevel = 1;
         } else {
             setMethodCache(parent.getMethodCache());
@@ -84,15 +87,16 @@ public abstract class MethodWrapper extends PlatformObject {
 	}
 
     public MethodWrapper[] getCalls(IProgressMonitor progressMonitor) {
-        if (fElements == null) {
-            doFindChildren(progressMonitor);
+        Map<String, MethodCall> elements = fElements;
+        if (elements == null) {
+            elements = doFindChildren(progressMonitor);
         }
 
-        MethodWrapper[] result = new MethodWrapper[fElements.size()];
+        MethodWrapper[] result = new MethodWrapper[elements.size()];
         int i = 0;
 
-        for (String string : fElements.keySet()) {
-            MethodCall methodCall = getMethodCallFromMap(fElements, string);
+        for (String string : elements.keySet()) {
+            MethodCall methodCall = getMethodCallFromMap(elements, string);
             result[i++] = createMethodWrapper(methodCall);
         }
 
@@ -167,11 +171,6 @@ public abstract class MethodWrapper extends PlatformObject {
 
     protected abstract String getTaskName();
 
-    private void addCallToCache(MethodCall methodCall) {
-        Map<String, MethodCall> cachedCalls = lookupMethod(this.getMethodCall());
-        cachedCalls.put(methodCall.getKey(), methodCall);
-    }
-
 	/**
 	 * Creates a method wrapper for the child of the receiver.
 	 *
@@ -180,28 +179,41 @@ public abstract class MethodWrapper extends PlatformObject {
 	 */
     protected abstract MethodWrapper createMethodWrapper(MethodCall methodCall);
 
-    private void doFindChildren(IProgressMonitor progressMonitor) {
+    private Map<String, MethodCall> doFindChildren(IProgressMonitor progressMonitor) {
         Map<String, MethodCall> existingResults = lookupMethod(getMethodCall());
 
         if (existingResults != null && !existingResults.isEmpty()) {
-            fElements = new HashMap<>();
-            fElements.putAll(existingResults);
-        } else {
-            initCalls();
+            fElements = new HashMap<>(existingResults);
+            return fElements;
+        }
 
-            if (progressMonitor != null) {
-                progressMonitor.beginTask(getTaskName(), 100);
+        CallHierarchyCache sharedCache = CallHierarchyCore.getDefault().getCallCache();
+        String sharedKey = getSharedCacheKey();
+        long generation = 0;
+        if (sharedKey != null) {
+            generation = sharedCache.getGeneration();
+            existingResults = sharedCache.get(sharedKey);
+            if (existingResults != null) {
+                getMethodCache().put(getMethodCall().getKey(), existingResults);
+                fElements = new HashMap<>(existingResults);
+                return fElements;
             }
+        }
 
-            try {
-                performSearch(progressMonitor);
-            } catch (OperationCanceledException e){
-            	fElements= null;
-            	throw e;
-            } finally {
-                if (progressMonitor != null) {
-                    progressMonitor.done();
-                }
+        if (progressMonitor != null) {
+            progressMonitor.beginTask(getTaskName(), 100);
+        }
+
+        try {
+            Map<String, MethodCall> elements = performSearch(progressMonitor);
+            if (sharedKey != null) {
+                sharedCache.put(sharedKey, generation, elements);
+            }
+            fElements = new HashMap<>(elements);
+            return fElements;
+        } finally {
+            if (progressMonitor != null) {
+                progressMonitor.done();
             }
         }
     }
@@ -247,12 +259,6 @@ public abstract class MethodWrapper extends PlatformObject {
         return fMethodCache;
     }
 
-    private void initCalls() {
-        this.fElements = new HashMap<>();
-
-        initCacheForMethod();
-    }
-
     /**
      * Looks up a previously created search result in the "global" cache.
      * @param methodCall the method call
@@ -262,24 +268,33 @@ public abstract class MethodWrapper extends PlatformObject {
         return getMethodCache().get(methodCall.getKey());
     }
 
-    private void performSearch(IProgressMonitor progressMonitor) {
-        fElements = findChildren(progressMonitor);
-
-        for (String string : fElements.keySet()) {
-            checkCanceled(progressMonitor);
+    /**
+     * Searches the children and stores them in the cache of the root.
+     *
+     * @param progressMonitor the progress monitor
+     * @return the children, must not be modified
+     */
+    private Map<String, MethodCall> performSearch(IProgressMonitor progressMonitor) {
+        Map<String, MethodCall> elements = findChildren(progressMonitor);
+        checkCanceled(progressMonitor);
 
-            MethodCall methodCall = getMethodCallFromMap(fElements, string);
-            addCallToCache(methodCall);
-        }
+        Map<String, MethodCall> cachedCalls = new HashMap<>(elements);
+        getMethodCache().put(this.getMethodCall().getKey(), cachedCalls);
+        return cachedCalls;
     }
 
     private MethodCall getMethodCallFromMap(Map<String, MethodCall> elements, String key) {
         return elements.get(key);
     }
 
-    private void initCacheForMethod() {
-        Map<String, MethodCall> cachedCalls = new HashMap<>();
-        getMethodCache().put(this.getMethodCall().getKey(), cachedCalls);
+    /**
+     * Returns the key of the children of this wrapper in the call cache that is shared by all
+     * roots, see {@link CallHierarchyCache}.
+     *
+     * @return the key, or <code>null</code> if the children are not shared
+     */
+    String getSharedCacheKey() {
+        return null;
     }
 
     /**
@@ -331,6 +346,9 @@ public abstract class MethodWrapper extends PlatformObject {
 	public void removeFromCache() {
 		fElements= null;
 		fMethodCache.remove(getMethodCall().getKey());
+		String sharedKey= getSharedCacheKey();
+		if (sharedKey != null)
+			CallHierarchyCore.getDefault().getCallCache().remove(sharedKey);
 	}
 
 	@Override
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2021, 2022 Carsten Hammer.
+ * Copyright (c) 2021, 2026 Carsten Hammer.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,6 +13,7 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.corext.fix;
 
+import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.core.runtime.CoreException;
@@ -23,6 +24,7 @@ import org.eclipse.jdt.core.dom.ASTNode;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.dom.rewrite.ASTRewrite;
 
+import org.eclipse.jdt.internal.common.FusedHelperVisitor;
 import org.eclipse.jdt.internal.corext.fix.CompilationUnitRewriteOperationsFixCore.CompilationUnitRewriteOperation;
 import org.eclipse.jdt.internal.corext.fix.helper.AbstractTool;
 import org.eclipse.jdt.internal.corext.fix.helper.WhileLoopToChangeHit;
@@ -60,6 +62,29 @@ public enum UseIteratorToForLoopFixCore {
 		iteratortofor.find(this, compilationUnit, operations, nodesprocessed, createForOnlyIfVarUsed);
 	}
 
+	/**
+	 * Adds the visitors which find the supported situations to a visitor shared with other clean
+	 * ups, the shared visitor walks the compilation unit afterwards
+	 *
+	 * @param visitor visitor which walks the compilation unit
+	 * @param nodesprocessed list to remember nodes already processed
+	 * @param createForOnlyIfVarUsed true if for loop should be created only only if loop var used within
+	 * @return the hits, to pass to {@link #collectOperations(Map, Set)} after the walk
+	 */
+	public Map<ASTNode, WhileLoopToChangeHit> registerVisitors(final FusedHelperVisitor visitor, final Set<ASTNode> nodesprocessed, boolean createForOnlyIfVarUsed) {
+		return iteratortofor.registerVisitors(visitor, nodesprocessed, createForOnlyIfVarUsed);
+	}
+
+	/**
+	 * Compute set of CompilationUnitRewriteOperation from the hits found by the shared visitor
+	 *
+	 * @param hits the hits returned by {@link #registerVisitors(FusedHelperVisitor, Set, boolean)}
+	 * @param operations set of all CompilationUnitRewriteOperations created already
+	 */
+	public void collectOperations(final Map<ASTNode, WhileLoopToChangeHit> hits, final Set<CompilationUnitRewriteOperation> operations) {
+		iteratortofor.collect(this, hits, operations);
+	}
+
 	public CompilationUnitRewriteOperation rewrite(final WhileLoopToChangeHit hit) {
 		return new CompilationUnitRewriteOperation() {
 			@Override
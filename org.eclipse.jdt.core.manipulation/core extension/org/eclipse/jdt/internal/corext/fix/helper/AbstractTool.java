@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2021, 2022 Carsten Hammer.
+ * Copyright (c) 2021, 2026 Carsten Hammer.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,7 @@
 package org.eclipse.jdt.internal.corext.fix.helper;
 
 import java.util.Collection;
+import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.text.edits.TextEditGroup;
@@ -24,6 +25,7 @@ import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.dom.ITypeBinding;
 import org.eclipse.jdt.core.dom.Name;
 
+import org.eclipse.jdt.internal.common.FusedHelperVisitor;
 import org.eclipse.jdt.internal.corext.dom.AbortSearchException;
 import org.eclipse.jdt.internal.corext.dom.ScopeAnalyzer;
 import org.eclipse.jdt.internal.corext.fix.CompilationUnitRewriteOperationsFixCore.CompilationUnitRewriteOperation;
@@ -45,8 +47,33 @@ public abstract class AbstractTool<T> {
 		return typeBinding.getQualifiedName().equals(typename);
 	}
 
-	public abstract void find(UseIteratorToForLoopFixCore fixcore, CompilationUnit compilationUnit, Set<CompilationUnitRewriteOperation> operations,
-			Set<ASTNode> nodesprocessed, boolean createForIfVarNotUsed);
+	public void find(UseIteratorToForLoopFixCore fixcore, CompilationUnit compilationUnit, Set<CompilationUnitRewriteOperation> operations,
+			Set<ASTNode> nodesprocessed, boolean createForIfVarNotUsed) {
+		FusedHelperVisitor visitor= new FusedHelperVisitor(false);
+		Map<ASTNode, T> hits= registerVisitors(visitor, nodesprocessed, createForIfVarNotUsed);
+		visitor.build(compilationUnit);
+		collect(fixcore, hits, operations);
+	}
+
+	/**
+	 * Adds the HelperVisitors which find the supported situations to a visitor that may be shared
+	 * with other clean ups. The AST is walked by the caller.
+	 *
+	 * @param visitor the visitor which walks the AST
+	 * @param nodesprocessed set to remember nodes already processed
+	 * @param createForIfVarNotUsed true if for loop should be created only only if loop var used within
+	 * @return the hits by node, filled while the AST is walked
+	 */
+	public abstract Map<ASTNode, T> registerVisitors(FusedHelperVisitor visitor, Set<ASTNode> nodesprocessed, boolean createForIfVarNotUsed);
+
+	/**
+	 * Creates the operations for the hits found after the AST has been walked.
+	 *
+	 * @param fixcore the fix core creating the operations
+	 * @param hits the hits returned by {@link #registerVisitors(FusedHelperVisitor, Set, boolean)}
+	 * @param operations set of all CompilationUnitRewriteOperations created already
+	 */
+	public abstract void collect(UseIteratorToForLoopFixCore fixcore, Map<ASTNode, T> hits, Set<CompilationUnitRewriteOperation> operations);
 
 	public abstract void rewrite(UseIteratorToForLoopFixCore useExplicitEncodingFixCore, T holder, CompilationUnitRewrite cuRewrite,
 			TextEditGroup group);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2021, 2023 Carsten Hammer.
+ * Copyright (c) 2021, 2026 Carsten Hammer.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -54,6 +54,7 @@ import org.eclipse.jdt.core.dom.WhileStatement;
 import org.eclipse.jdt.core.dom.rewrite.ASTRewrite;
 import org.eclipse.jdt.core.dom.rewrite.ImportRewrite;
 
+import org.eclipse.jdt.internal.common.FusedHelperVisitor;
 import org.eclipse.jdt.internal.common.HelperVisitor;
 import org.eclipse.jdt.internal.common.ReferenceHolder;
 import org.eclipse.jdt.internal.core.manipulation.StubUtility;
@@ -77,12 +78,12 @@ import org.eclipse.jdt.internal.corext.refactoring.structure.ImportRemover;
 public class WhileToForEach extends AbstractTool<WhileLoopToChangeHit> {
 
 	@Override
-	public void find(UseIteratorToForLoopFixCore fixcore, CompilationUnit compilationUnit,
-			Set<CompilationUnitRewriteOperation> operations, Set<ASTNode> nodesprocessed, boolean createForOnlyIfVarUsed) {
+	public Map<ASTNode, WhileLoopToChangeHit> registerVisitors(FusedHelperVisitor visitor, Set<ASTNode> nodesprocessed, boolean createForOnlyIfVarUsed) {
 		ReferenceHolder<ASTNode, WhileLoopToChangeHit> dataholder= new ReferenceHolder<>();
 		Map<ASTNode, WhileLoopToChangeHit> operationsMap= new LinkedHashMap<>();
 		WhileLoopToChangeHit invalidHit= new WhileLoopToChangeHit(true);
-		HelperVisitor.callVariableDeclarationStatementVisitor(Iterator.class, compilationUnit, dataholder, nodesprocessed, (init_iterator, holder_a) -> {
+		HelperVisitor<ReferenceHolder<ASTNode, WhileLoopToChangeHit>, ASTNode, WhileLoopToChangeHit> iteratorVisitor= new HelperVisitor<>(nodesprocessed, dataholder);
+		iteratorVisitor.addVariableDeclarationStatement(Iterator.class, (init_iterator, holder_a) -> {
 			List<Object> computeVarName= computeVarName(init_iterator);
 			MethodInvocation iteratorCall= computeIteratorCall(init_iterator);
 			if (computeVarName != null && iteratorCall != null) {
@@ -191,7 +192,13 @@ public class WhileToForEach extends AbstractTool<WhileLoopToChangeHit> {
 			}
 			return true;
 		});
-		for (WhileLoopToChangeHit hit : operationsMap.values()) {
+		visitor.add(iteratorVisitor);
+		return operationsMap;
+	}
+
+	@Override
+	public void collect(UseIteratorToForLoopFixCore fixcore, Map<ASTNode, WhileLoopToChangeHit> hits, Set<CompilationUnitRewriteOperation> operations) {
+		for (WhileLoopToChangeHit hit : hits.values()) {
 			if (!hit.isInvalid && validate(hit)) {
 				operations.add(fixcore.rewrite(hit));
 			}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,10 +14,17 @@
 package org.eclipse.jdt.internal.corext.util;
 
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.ITypeHierarchy;
@@ -26,17 +33,26 @@ import org.eclipse.jdt.core.JavaModelException;
 
 /**
  * A thread-safe cache for super type hierarchies.
+ * <p>
+ * Hierarchies are looked up without locking, by any type they contain. The cache is bounded by the
+ * number of hierarchies and by their weight, the total number of types in the cached hierarchies,
+ * see {@link #setCacheLimits(int, int)}; the least recently used hierarchies are evicted first. When
+ * several threads ask for a hierarchy that is not cached, it is only computed once.
+ * </p>
  */
 // @see JDTUIHelperClasses
 public class SuperTypeHierarchyCache {
 
 	private static class HierarchyCacheEntry implements ITypeHierarchyChangedListener {
 
-		private ITypeHierarchy fTypeHierarchy;
-		private long fLastAccess;
+		private final ITypeHierarchy fTypeHierarchy;
+		private final IType[] fTypes;
+		private final Map<IType, MethodOverrideTester> fMethodOverrideTesters= new ConcurrentHashMap<>();
+		private volatile long fLastAccess;
 
 		public HierarchyCacheEntry(ITypeHierarchy hierarchy) {
 			fTypeHierarchy= hierarchy;
+			fTypes= hierarchy.getAllTypes();
 			fTypeHierarchy.addTypeHierarchyChangedListener(this);
 			markAsAccessed();
 		}
@@ -50,8 +66,16 @@ public class SuperTypeHierarchyCache {
 			return fTypeHierarchy;
 		}
 
+		public MethodOverrideTester getMethodOverrideTester(IType type) {
+			return fMethodOverrideTesters.computeIfAbsent(type, t -> new MethodOverrideTester(t, fTypeHierarchy));
+		}
+
+		public int getWeight() {
+			return fTypes.length;
+		}
+
 		public void markAsAccessed() {
-			fLastAccess= System.currentTimeMillis();
+			fLastAccess= System.nanoTime();
 		}
 
 		public long getLastAccess() {
@@ -59,10 +83,7 @@ public class SuperTypeHierarchyCache {
 		}
 
 		public void dispose() {
-			if (fTypeHierarchy != null) {
-				fTypeHierarchy.removeTypeHierarchyChangedListener(this);
-				fTypeHierarchy= null;
-			}
+			fTypeHierarchy.removeTypeHierarchyChangedListener(this);
 		}
 
 		@Override
@@ -73,13 +94,28 @@ public class SuperTypeHierarchyCache {
 	}
 
 
-	private static final int CACHE_SIZE= 8;
+	/** The default maximum number of cached hierarchies */
+	public static final int DEFAULT_MAX_HIERARCHIES= 64;
+
+	/** The default maximum number of types in all cached hierarchies */
+	public static final int DEFAULT_MAX_WEIGHT= 20000;
+
+	/** Milliseconds between the checks of the progress monitor while waiting for another thread */
+	private static final int POLL_INTERVAL= 100;
+
+	/** Guards additions to and removals from the cache */
+	private static final Object fgLock= new Object();
+	private static final List<HierarchyCacheEntry> fgHierarchyCache= new ArrayList<>();
+	private static final Map<IType, HierarchyCacheEntry> fgHierarchyIndex= new ConcurrentHashMap<>();
+	private static final Map<IType, CompletableFuture<HierarchyCacheEntry>> fgPendingHierarchies= new ConcurrentHashMap<>();
+	private static int fgWeight= 0;
 
-	private static ArrayList<HierarchyCacheEntry> fgHierarchyCache= new ArrayList<>(CACHE_SIZE);
-	private static Map<IType, MethodOverrideTester> fgMethodOverrideTesterCache= new LRUMap<>(CACHE_SIZE);
+	private static volatile int fgMaxHierarchies= DEFAULT_MAX_HIERARCHIES;
+	private static volatile int fgMaxWeight= DEFAULT_MAX_WEIGHT;
 
-	private static int fgCacheHits= 0;
-	private static int fgCacheMisses= 0;
+	private static final AtomicLong fgCacheHits= new AtomicLong();
+	private static final AtomicLong fgCacheMisses= new AtomicLong();
+	private static final AtomicLong fgCacheEvictions= new AtomicLong();
 
 	/**
 	 * Returns a super type hierarchy that contains the given type.
@@ -97,32 +133,7 @@ public class SuperTypeHierarchyCache {
 	}
 
 	public static MethodOverrideTester getMethodOverrideTester(IType type) throws JavaModelException {
-		MethodOverrideTester test= null;
-		synchronized (fgMethodOverrideTesterCache) {
-			test= fgMethodOverrideTesterCache.get(type);
-		}
-		if (test == null) {
-			ITypeHierarchy hierarchy= getTypeHierarchy(type); // don't nest the locks
-			synchronized (fgMethodOverrideTesterCache) {
-				test= fgMethodOverrideTesterCache.get(type); // test again after waiting a long time for 'getTypeHierarchy'
-				if (test == null) {
-					test= new MethodOverrideTester(type, hierarchy);
-					fgMethodOverrideTesterCache.put(type, test);
-				}
-			}
-		}
-		return test;
-	}
-
-	private static void removeMethodOverrideTester(ITypeHierarchy hierarchy) {
-		synchronized (fgMethodOverrideTesterCache) {
-			for (Iterator<MethodOverrideTester> iter= fgMethodOverrideTesterCache.values().iterator(); iter.hasNext();) {
-				MethodOverrideTester curr= iter.next();
-				if (curr.getTypeHierarchy().equals(hierarchy)) {
-					iter.remove();
-				}
-			}
-		}
+		return getHierarchyEntry(type, null).getMethodOverrideTester(type);
 	}
 
 	/**
@@ -138,44 +149,111 @@ public class SuperTypeHierarchyCache {
 	 * @throws JavaModelException if a problem occurs
 	 */
 	public static ITypeHierarchy getTypeHierarchy(IType type, IProgressMonitor progressMonitor) throws JavaModelException {
-		ITypeHierarchy hierarchy= findTypeHierarchyInCache(type);
-		if (hierarchy == null) {
-			fgCacheMisses++;
-			hierarchy= type.newSupertypeHierarchy(progressMonitor);
-			addTypeHierarchyToCache(hierarchy);
-		} else {
-			fgCacheHits++;
-		}
-		return hierarchy;
-	}
-
-	private static void addTypeHierarchyToCache(ITypeHierarchy hierarchy) {
-		synchronized (fgHierarchyCache) {
-			int nEntries= fgHierarchyCache.size();
-			if (nEntries >= CACHE_SIZE) {
-				// find obsolete entries or remove entry that was least recently accessed
-				HierarchyCacheEntry oldest= null;
-				ArrayList<HierarchyCacheEntry> obsoleteHierarchies= new ArrayList<>(CACHE_SIZE);
-				for (HierarchyCacheEntry entry : fgHierarchyCache) {
-					ITypeHierarchy curr= entry.getTypeHierarchy();
-					if (!curr.exists() || hierarchy.contains(curr.getType())) {
-						obsoleteHierarchies.add(entry);
-					} else {
-						if (oldest == null || entry.getLastAccess() < oldest.getLastAccess()) {
-							oldest= entry;
-						}
-					}
-				}
-				if (!obsoleteHierarchies.isEmpty()) {
-					for (HierarchyCacheEntry obsoleteHierarchie : obsoleteHierarchies) {
-						removeHierarchyEntryFromCache(obsoleteHierarchie);
-					}
-				} else if (oldest != null) {
-					removeHierarchyEntryFromCache(oldest);
+		return getHierarchyEntry(type, progressMonitor).getTypeHierarchy();
+	}
+
+	private static HierarchyCacheEntry getHierarchyEntry(IType type, IProgressMonitor progressMonitor) throws JavaModelException {
+		while (true) {
+			HierarchyCacheEntry entry= findHierarchyEntryInCache(type);
+			if (entry != null) {
+				fgCacheHits.incrementAndGet();
+				return entry;
+			}
+			CompletableFuture<HierarchyCacheEntry> future= new CompletableFuture<>();
+			CompletableFuture<HierarchyCacheEntry> pending= fgPendingHierarchies.putIfAbsent(type, future);
+			if (pending == null) {
+				return computeHierarchyEntry(type, future, progressMonitor);
+			}
+			entry= waitForHierarchyEntry(pending, progressMonitor);
+			if (entry != null) {
+				fgCacheHits.incrementAndGet();
+				return entry;
+			}
+			// the other thread has been canceled, try again
+		}
+	}
+
+	private static HierarchyCacheEntry computeHierarchyEntry(IType type, CompletableFuture<HierarchyCacheEntry> future, IProgressMonitor progressMonitor) throws JavaModelException {
+		try {
+			// another thread may have added a hierarchy that contains the type in the meantime
+			HierarchyCacheEntry entry= findHierarchyEntryInCache(type);
+			if (entry != null) {
+				fgCacheHits.incrementAndGet();
+			} else {
+				fgCacheMisses.incrementAndGet();
+				entry= addTypeHierarchyToCache(type.newSupertypeHierarchy(progressMonitor));
+			}
+			future.complete(entry);
+			return entry;
+		} catch (JavaModelException | RuntimeException | Error e) {
+			future.completeExceptionally(e);
+			throw e;
+		} finally {
+			fgPendingHierarchies.remove(type, future);
+		}
+	}
+
+	/**
+	 * Waits for a hierarchy that another thread computes.
+	 *
+	 * @return the entry of the hierarchy, or <code>null</code> if the other thread failed to compute
+	 *         it for another reason than a {@link JavaModelException}
+	 */
+	private static HierarchyCacheEntry waitForHierarchyEntry(CompletableFuture<HierarchyCacheEntry> pending, IProgressMonitor progressMonitor) throws JavaModelException {
+		while (true) {
+			try {
+				return pending.get(POLL_INTERVAL, TimeUnit.MILLISECONDS);
+			} catch (TimeoutException e) {
+				if (progressMonitor != null && progressMonitor.isCanceled())
+					throw new OperationCanceledException();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new OperationCanceledException();
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof JavaModelException)
+					throw (JavaModelException) e.getCause();
+				return null;
+			}
+		}
+	}
+
+	private static HierarchyCacheEntry addTypeHierarchyToCache(ITypeHierarchy hierarchy) {
+		HierarchyCacheEntry newEntry= new HierarchyCacheEntry(hierarchy);
+		synchronized (fgLock) {
+			// remove obsolete entries and the hierarchies of super types, which the new hierarchy contains
+			for (HierarchyCacheEntry entry : new ArrayList<>(fgHierarchyCache)) {
+				ITypeHierarchy curr= entry.getTypeHierarchy();
+				if (!curr.exists() || hierarchy.contains(curr.getType())) {
+					removeHierarchyEntryFromCache(entry);
 				}
 			}
-			HierarchyCacheEntry newEntry= new HierarchyCacheEntry(hierarchy);
 			fgHierarchyCache.add(newEntry);
+			fgWeight+= newEntry.getWeight();
+			for (IType type : newEntry.fTypes) {
+				fgHierarchyIndex.put(type, newEntry);
+			}
+			evict(newEntry);
+		}
+		return newEntry;
+	}
+
+	/*
+	 * Evicts the least recently accessed entries until the cache is within its limits. A new entry
+	 * that exceeds the maximum weight on its own is kept.
+	 */
+	private static void evict(HierarchyCacheEntry newEntry) {
+		while (fgHierarchyCache.size() > fgMaxHierarchies || fgWeight > fgMaxWeight) {
+			HierarchyCacheEntry oldest= null;
+			for (HierarchyCacheEntry entry : fgHierarchyCache) {
+				if (entry != newEntry && (oldest == null || entry.getLastAccess() < oldest.getLastAccess())) {
+					oldest= entry;
+				}
+			}
+			if (oldest == null) {
+				return;
+			}
+			removeHierarchyEntryFromCache(oldest);
+			fgCacheEvictions.incrementAndGet();
 		}
 	}
 
@@ -186,43 +264,65 @@ public class SuperTypeHierarchyCache {
 	 * @return <code>true</code> if a hierarchy for the given type is cached
 	 */
 	public static boolean hasInCache(IType type) {
-		return findTypeHierarchyInCache(type) != null;
+		return findHierarchyEntryInCache(type) != null;
 	}
 
 
-	private static ITypeHierarchy findTypeHierarchyInCache(IType type) {
-		synchronized (fgHierarchyCache) {
-			for (int i= fgHierarchyCache.size() - 1; i>= 0; i--) {
-				HierarchyCacheEntry curr= fgHierarchyCache.get(i);
-				ITypeHierarchy hierarchy= curr.getTypeHierarchy();
-				if (!hierarchy.exists()) {
-					removeHierarchyEntryFromCache(curr);
-				} else {
-					if (hierarchy.contains(type)) {
-						curr.markAsAccessed();
-						return hierarchy;
-					}
-				}
+	private static HierarchyCacheEntry findHierarchyEntryInCache(IType type) {
+		HierarchyCacheEntry entry= fgHierarchyIndex.get(type);
+		if (entry != null) {
+			if (entry.getTypeHierarchy().exists()) {
+				entry.markAsAccessed();
+				return entry;
 			}
+			removeHierarchyEntryFromCache(entry);
 		}
 		return null;
 	}
 
 	private static void removeHierarchyEntryFromCache(HierarchyCacheEntry entry) {
-		synchronized (fgHierarchyCache) {
-			removeMethodOverrideTester(entry.getTypeHierarchy());
+		synchronized (fgLock) {
+			if (!fgHierarchyCache.remove(entry)) {
+				return;
+			}
+			fgWeight-= entry.getWeight();
 			entry.dispose();
-			fgHierarchyCache.remove(entry);
+			for (IType type : entry.fTypes) {
+				if (fgHierarchyIndex.remove(type, entry)) {
+					// the type may also be contained in another cached hierarchy
+					for (int i= fgHierarchyCache.size() - 1; i >= 0; i--) {
+						HierarchyCacheEntry other= fgHierarchyCache.get(i);
+						if (other.getTypeHierarchy().contains(type)) {
+							fgHierarchyIndex.put(type, other);
+							break;
+						}
+					}
+				}
+			}
 		}
 	}
 
+	/**
+	 * Sets the limits of the cache. Hierarchies are evicted immediately if the cache exceeds the new
+	 * limits.
+	 *
+	 * @param maxHierarchies the maximum number of cached hierarchies
+	 * @param maxWeight the maximum number of types in all cached hierarchies
+	 */
+	public static void setCacheLimits(int maxHierarchies, int maxWeight) {
+		synchronized (fgLock) {
+			fgMaxHierarchies= Math.max(1, maxHierarchies);
+			fgMaxWeight= Math.max(1, maxWeight);
+			evict(null);
+		}
+	}
 
 	/**
 	 * Gets the number of times the hierarchy could be taken from the hierarchy.
 	 * @return Returns a int
 	 */
 	public static int getCacheHits() {
-		return fgCacheHits;
+		return (int) fgCacheHits.get();
 	}
 
 	/**
@@ -230,7 +330,15 @@ public class SuperTypeHierarchyCache {
 	 * @return Returns a int
 	 */
 	public static int getCacheMisses() {
-		return fgCacheMisses;
+		return (int) fgCacheMisses.get();
+	}
+
+	/**
+	 * Gets the number of hierarchies that have been evicted because the cache exceeded its limits.
+	 * @return the number of evictions
+	 */
+	public static int getCacheEvictions() {
+		return (int) fgCacheEvictions.get();
 	}
 
 	private SuperTypeHierarchyCache() {
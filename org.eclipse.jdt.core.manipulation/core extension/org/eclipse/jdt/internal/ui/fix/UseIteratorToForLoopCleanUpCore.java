@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2021, 2022 Carsten Hammer.
+ * Copyright (c) 2021, 2026 Carsten Hammer.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,6 +18,7 @@ import static org.eclipse.jdt.internal.corext.fix.CleanUpConstants.CONTROL_STATE
 import static org.eclipse.jdt.internal.ui.fix.MultiFixMessages.Java50CleanUp_ConvertToEnhancedForLoop_description;
 
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
@@ -33,9 +34,11 @@ import org.eclipse.jdt.core.manipulation.CleanUpContextCore;
 import org.eclipse.jdt.core.manipulation.CleanUpRequirementsCore;
 import org.eclipse.jdt.core.manipulation.ICleanUpFixCore;
 
+import org.eclipse.jdt.internal.common.FusedHelperVisitor;
 import org.eclipse.jdt.internal.corext.fix.CompilationUnitRewriteOperationsFixCore;
 import org.eclipse.jdt.internal.corext.fix.CompilationUnitRewriteOperationsFixCore.CompilationUnitRewriteOperation;
 import org.eclipse.jdt.internal.corext.fix.UseIteratorToForLoopFixCore;
+import org.eclipse.jdt.internal.corext.fix.helper.WhileLoopToChangeHit;
 import org.eclipse.jdt.internal.corext.util.JavaModelUtil;
 
 public class UseIteratorToForLoopCleanUpCore extends AbstractCleanUpCore {
@@ -58,19 +61,58 @@ public class UseIteratorToForLoopCleanUpCore extends AbstractCleanUpCore {
 	@Override
 	public ICleanUpFixCore createFixCore(final CleanUpContextCore context) throws CoreException {
 		CompilationUnit compilationUnit= context.getAST();
-		if (compilationUnit == null) {
-			return null;
-		}
-		EnumSet<UseIteratorToForLoopFixCore> computeFixSet= computeFixSet();
-		if (!isEnabled(CONTROL_STATEMENTS_CONVERT_FOR_LOOP_TO_ENHANCED) || computeFixSet.isEmpty()) {
-			return null;
-		}
-		if (!JavaModelUtil.is1d8OrHigher(compilationUnit.getJavaElement().getJavaProject())) {
+		EnumSet<UseIteratorToForLoopFixCore> computeFixSet= computeApplicableFixSet(compilationUnit);
+		if (computeFixSet.isEmpty()) {
 			return null;
 		}
 		Set<CompilationUnitRewriteOperation> operations= new LinkedHashSet<>();
 		Set<ASTNode> nodesprocessed= new HashSet<>();
 		computeFixSet.forEach(i -> i.findOperations(compilationUnit, operations, nodesprocessed, isEnabled(CONTROL_STATEMENTS_CONVERT_FOR_LOOP_ONLY_IF_LOOP_VAR_USED)));
+		return createFix(compilationUnit, operations);
+	}
+
+	/**
+	 * Adds the visitors of the fixes to a visitor that walks the AST once for several clean ups.
+	 *
+	 * @param context the context of the AST
+	 * @param visitor the visitor shared by the clean ups
+	 * @return the state to pass to {@link #createFixCore(CleanUpContextCore, Object)} after the
+	 *         walk, or <code>null</code> if there is nothing to find
+	 */
+	public Object registerVisitors(final CleanUpContextCore context, final FusedHelperVisitor visitor) {
+		EnumSet<UseIteratorToForLoopFixCore> computeFixSet= computeApplicableFixSet(context.getAST());
+		if (computeFixSet.isEmpty()) {
+			return null;
+		}
+		Map<UseIteratorToForLoopFixCore, Map<ASTNode, WhileLoopToChangeHit>> hits= new EnumMap<>(UseIteratorToForLoopFixCore.class);
+		Set<ASTNode> nodesprocessed= new HashSet<>();
+		computeFixSet.forEach(i -> hits.put(i, i.registerVisitors(visitor, nodesprocessed, isEnabled(CONTROL_STATEMENTS_CONVERT_FOR_LOOP_ONLY_IF_LOOP_VAR_USED))));
+		return hits;
+	}
+
+	/**
+	 * Creates the fix from the hits found while the shared visitor walked the AST.
+	 *
+	 * @param context the context passed to {@link #registerVisitors(CleanUpContextCore, FusedHelperVisitor)}
+	 * @param state the state returned by {@link #registerVisitors(CleanUpContextCore, FusedHelperVisitor)}
+	 * @return the fix or <code>null</code> if nothing to fix
+	 */
+	@SuppressWarnings("unchecked")
+	public ICleanUpFixCore createFixCore(final CleanUpContextCore context, final Object state) {
+		Set<CompilationUnitRewriteOperation> operations= new LinkedHashSet<>();
+		((Map<UseIteratorToForLoopFixCore, Map<ASTNode, WhileLoopToChangeHit>>) state).forEach((i, hits) -> i.collectOperations(hits, operations));
+		return createFix(context.getAST(), operations);
+	}
+
+	private EnumSet<UseIteratorToForLoopFixCore> computeApplicableFixSet(CompilationUnit compilationUnit) {
+		if (compilationUnit == null || !isEnabled(CONTROL_STATEMENTS_CONVERT_FOR_LOOP_TO_ENHANCED)
+				|| !JavaModelUtil.is1d8OrHigher(compilationUnit.getJavaElement().getJavaProject())) {
+			return EnumSet.noneOf(UseIteratorToForLoopFixCore.class);
+		}
+		return computeFixSet();
+	}
+
+	private static ICleanUpFixCore createFix(CompilationUnit compilationUnit, Set<CompilationUnitRewriteOperation> operations) {
 		if (operations.isEmpty()) {
 			return null;
 		}
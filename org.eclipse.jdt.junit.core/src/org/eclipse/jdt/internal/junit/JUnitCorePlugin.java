@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -38,6 +38,7 @@ import org.eclipse.core.runtime.Plugin;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.preferences.InstanceScope;
 
+import org.eclipse.jdt.internal.junit.launcher.TestIndex;
 import org.eclipse.jdt.internal.junit.model.JUnitModel;
 
 /**
@@ -86,6 +87,8 @@ public class JUnitCorePlugin extends Plugin {
 
 	private final JUnitModel fJUnitModel= new JUnitModel();
 
+	private final TestIndex fTestIndex= new TestIndex();
+
 
 	/**
 	 * List storing the registered test run listeners
@@ -133,6 +136,7 @@ public class JUnitCorePlugin extends Plugin {
 		super.start(context);
 		fBundleContext= context;
 		fJUnitModel.start();
+		fTestIndex.start();
 	}
 
 	/**
@@ -144,6 +148,7 @@ public class JUnitCorePlugin extends Plugin {
 		try {
 			InstanceScope.INSTANCE.getNode(JUnitCorePlugin.CORE_PLUGIN_ID).flush();
 			fJUnitModel.stop();
+			fTestIndex.stop();
 		} finally {
 			super.stop(context);
 		}
@@ -168,6 +173,10 @@ public class JUnitCorePlugin extends Plugin {
 		return getDefault().fJUnitModel;
 	}
 
+	public static TestIndex getTestIndex() {
+		return getDefault().fTestIndex;
+	}
+
 	/**
 	 * Initializes TestRun Listener extensions
 	 * @deprecated to avoid deprecation warning
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2022 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -124,6 +124,15 @@ public class JUnit4TestFinder implements ITestFinder {
 			}
 		}
 
+		TestIndex index= JUnitCorePlugin.getTestIndex();
+		Set<IType> indexed= index.getTests(TestKindRegistry.JUNIT4_TEST_KIND_ID, element);
+		if (indexed != null) {
+			result.addAll(indexed);
+			return;
+		}
+		long generation= index.getGeneration();
+		Set<IType> found= new HashSet<>();
+
 		if (pm == null)
 			pm= new NullProgressMonitor();
 
@@ -159,18 +168,21 @@ public class JUnit4TestFinder implements ITestFinder {
 			// find all classes in the region
 			for (IType curr : candidates) {
 				if (!Flags.isAbstract(curr.getFlags()) && CoreTestSearchEngine.isAccessibleClass(curr) && region.contains(curr)) {
-					result.add(curr);
+					found.add(curr);
 				}
 			}
 
 			// add all classes implementing JUnit 3.8's Test interface in the region
 			IType testInterface= element.getJavaProject().findType(JUnitCorePlugin.TEST_INTERFACE_NAME);
 			if (testInterface != null) {
-				CoreTestSearchEngine.findTestImplementorClasses(hierarchy, testInterface, region, result);
+				CoreTestSearchEngine.findTestImplementorClasses(hierarchy, testInterface, region, found);
 			}
 
 			//JUnit 4.3 can also run JUnit-3.8-style public static Test suite() methods:
-			CoreTestSearchEngine.findSuiteMethods(element, result, new SubProgressMonitor(pm, 1));
+			CoreTestSearchEngine.findSuiteMethods(element, found, new SubProgressMonitor(pm, 1));
+
+			index.putTests(TestKindRegistry.JUNIT4_TEST_KIND_ID, element, found, generation);
+			result.addAll(found);
 		} finally {
 			pm.done();
 		}
@@ -218,6 +230,14 @@ public class JUnit4TestFinder implements ITestFinder {
 			if (CoreTestSearchEngine.hasSuiteMethod(type)) { // since JUnit 4.3.1
 				return true;
 			}
+			TestIndex index= JUnitCorePlugin.getTestIndex();
+			long generation= index.getGeneration();
+			if (type.getCompilationUnit() != null) {
+				Boolean indexed= index.isTest(TestKindRegistry.JUNIT4_TEST_KIND_ID, type);
+				if (indexed != null) {
+					return indexed.booleanValue();
+				}
+			}
 			ASTParser parser= ASTParser.newParser(AST.getJLSLatest());
 			/* TODO: When bug 156352 is fixed:
 			parser.setProject(type.getJavaProject());
@@ -247,7 +267,11 @@ public class JUnit4TestFinder implements ITestFinder {
 			if (node instanceof TypeDeclaration || node instanceof RecordDeclaration) {
 				ITypeBinding binding= ((AbstractTypeDeclaration) node).resolveBinding();
 				if (binding != null) {
-					return isTest(binding);
+					boolean isTest= isTest(binding);
+					if (type.getCompilationUnit() != null) {
+						index.putTest(TestKindRegistry.JUNIT4_TEST_KIND_ID, type, binding, isTest, generation);
+					}
+					return isTest;
 				}
 			}
 		}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016, 2022 IBM Corporation and others.
+ * Copyright (c) 2016, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -210,6 +210,15 @@ public class JUnit5TestFinder implements ITestFinder {
 			}
 		}
 
+		TestIndex index= JUnitCorePlugin.getTestIndex();
+		Set<IType> indexed= index.getTests(TestKindRegistry.JUNIT5_TEST_KIND_ID, element);
+		if (indexed != null) {
+			result.addAll(indexed);
+			return;
+		}
+		long generation= index.getGeneration();
+		Set<IType> found= new HashSet<>();
+
 		var subMonitor = SubMonitor.convert(pm, JUnitMessages.JUnit5TestFinder_searching_description, 4);
 
 		IRegion region= CoreTestSearchEngine.getRegion(element);
@@ -219,18 +228,21 @@ public class JUnit5TestFinder implements ITestFinder {
 		// search for all types with references to RunWith and Test and all subclasses
 		for (IType type : allClasses) {
 			if (region.contains(type) && internalIsTest(type, pm)) {
-				addTypeAndSubtypes(type, result, hierarchy);
+				addTypeAndSubtypes(type, found, hierarchy);
 			}
 		}
 
 		// add all classes implementing JUnit 3.8's Test interface in the region
 		IType testInterface= element.getJavaProject().findType(JUnitCorePlugin.TEST_INTERFACE_NAME);
 		if (testInterface != null) {
-			CoreTestSearchEngine.findTestImplementorClasses(hierarchy, testInterface, region, result);
+			CoreTestSearchEngine.findTestImplementorClasses(hierarchy, testInterface, region, found);
 		}
 
 		//JUnit 4.3 can also run JUnit-3.8-style public static Test suite() methods:
-		CoreTestSearchEngine.findSuiteMethods(element, result, subMonitor.split(1));
+		CoreTestSearchEngine.findSuiteMethods(element, found, subMonitor.split(1));
+
+		index.putTests(TestKindRegistry.JUNIT5_TEST_KIND_ID, element, found, generation);
+		result.addAll(found);
 	}
 
 	private void addTypeAndSubtypes(IType type, Set<IType> result, ITypeHierarchy hierarchy) {
@@ -252,6 +264,14 @@ public class JUnit5TestFinder implements ITestFinder {
 			if (CoreTestSearchEngine.hasSuiteMethod(type)) { // since JUnit 4.3.1
 				return true;
 			}
+			TestIndex index= JUnitCorePlugin.getTestIndex();
+			long generation= index.getGeneration();
+			if (type.getCompilationUnit() != null) {
+				Boolean indexed= index.isTest(TestKindRegistry.JUNIT5_TEST_KIND_ID, type);
+				if (indexed != null) {
+					return indexed.booleanValue();
+				}
+			}
 			ASTParser parser= ASTParser.newParser(AST.getJLSLatest());
 			if (type.getCompilationUnit() != null) {
 				parser.setSource(type.getCompilationUnit());
@@ -273,7 +293,11 @@ public class JUnit5TestFinder implements ITestFinder {
 			if (node instanceof TypeDeclaration || node instanceof RecordDeclaration) {
 				ITypeBinding binding= ((AbstractTypeDeclaration) node).resolveBinding();
 				if (binding != null) {
-					return isTest(binding);
+					boolean isTest= isTest(binding);
+					if (type.getCompilationUnit() != null) {
+						index.putTest(TestKindRegistry.JUNIT5_TEST_KIND_ID, type, binding, isTest, generation);
+					}
+					return isTest;
 				}
 			}
 		}
@@ -0,0 +1,449 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit.launcher;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.runtime.IPath;
+
+import org.eclipse.core.resources.IResource;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.dom.IAnnotationBinding;
+import org.eclipse.jdt.core.dom.IMethodBinding;
+import org.eclipse.jdt.core.dom.ITypeBinding;
+
+import org.eclipse.jdt.internal.junit.JUnitCorePlugin;
+
+/**
+ * Remembers which types are tests for the {@link ITestFinder}s, so that the finders do not have to
+ * resolve the bindings of every type of a container on every launch.
+ * <p>
+ * For each type, the index stores whether it is a test for a test kind, together with the
+ * modification stamps of the compilation units and libraries the answer depends on: the compilation
+ * unit of the type, its super types and the annotations of these types, their methods and their
+ * member types, and the <code>.classpath</code> file of the project. An answer is only used as long
+ * as all these stamps are unchanged. The index is saved in the state location of the plug-in when
+ * the plug-in is stopped and used again in the next session.
+ * </p>
+ * <p>
+ * The tests found in a container are remembered until the Java model changes, which is tracked with
+ * Java element deltas. Changes of the resolved classpath of a project also discard the answers for
+ * the types of the project. Answers that have been computed while the Java model changed, see
+ * {@link #getGeneration()}, and answers that depend on unsaved changes of a working copy are not
+ * stored.
+ * </p>
+ * <p>
+ * The index can be disabled with the system property
+ * <code>org.eclipse.jdt.junit.disableTestIndex</code>.
+ * </p>
+ */
+public final class TestIndex implements IElementChangedListener {
+
+	private static final boolean DISABLED= Boolean.getBoolean("org.eclipse.jdt.junit.disableTestIndex"); //$NON-NLS-1$
+
+	private static final String INDEX_FILE_NAME= "testIndex.dat"; //$NON-NLS-1$
+
+	/** Identifies an index file */
+	private static final int MAGIC= 0x4A555449;
+
+	/** The version of the index file format, must be incremented whenever the format changes */
+	private static final int VERSION= 1;
+
+	private static final String CLASSPATH_FILE_NAME= ".classpath"; //$NON-NLS-1$
+
+	private static final class Entry {
+
+		final boolean fIsTest;
+
+		/**
+		 * The handle identifiers of the project of the type, the compilation unit of the type and the
+		 * compilation units and package fragment roots of the other types the answer depends on
+		 */
+		final String[] fDependencies;
+
+		final long[] fStamps;
+
+		Entry(boolean isTest, String[] dependencies, long[] stamps) {
+			fIsTest= isTest;
+			fDependencies= dependencies;
+			fStamps= stamps;
+		}
+
+		boolean isValid() {
+			for (int i= 0; i < fDependencies.length; i++) {
+				IJavaElement dependency= JavaCore.create(fDependencies[i]);
+				if (dependency == null || getStamp(dependency) != fStamps[i])
+					return false;
+			}
+			return true;
+		}
+	}
+
+	/** The answers by type handle identifier and test kind, <code>null</code> until loaded */
+	private Map<String, Entry> fEntries;
+
+	private boolean fDirty;
+
+	/** Incremented whenever the Java model changes in a way that may affect the answers */
+	private long fGeneration;
+
+	/** The tests found in a container by container handle identifier and test kind */
+	private final Map<String, Set<IType>> fContainerTests= new HashMap<>();
+
+	public void start() {
+		if (!DISABLED)
+			JavaCore.addElementChangedListener(this, ElementChangedEvent.POST_CHANGE);
+	}
+
+	public void stop() {
+		if (DISABLED)
+			return;
+		JavaCore.removeElementChangedListener(this);
+		synchronized (this) {
+			if (fEntries != null && fDirty) {
+				try {
+					save();
+				} catch (IOException | IllegalStateException e) {
+					JUnitCorePlugin.log(e);
+				}
+			}
+			fEntries= null;
+			fContainerTests.clear();
+		}
+	}
+
+	private static String getKey(IJavaElement element, String testKindId) {
+		return element.getHandleIdentifier() + '#' + testKindId;
+	}
+
+	/**
+	 * @param testKindId the test kind
+	 * @param container the container
+	 * @return the tests found in the container since the last change of the Java model, or
+	 *         <code>null</code> if not known
+	 */
+	public synchronized Set<IType> getTests(String testKindId, IJavaElement container) {
+		if (DISABLED)
+			return null;
+		return fContainerTests.get(getKey(container, testKindId));
+	}
+
+	/**
+	 * Returns the generation of the Java model, which has to be passed to the methods that store
+	 * answers. It must be obtained before the answer is computed.
+	 *
+	 * @return the generation of the Java model
+	 */
+	public synchronized long getGeneration() {
+		return fGeneration;
+	}
+
+	/**
+	 * @param testKindId the test kind
+	 * @param container the container
+	 * @param tests all tests found in the container
+	 * @param generation the generation of the Java model before the tests have been searched, the
+	 *            tests are not stored if the Java model has changed since
+	 */
+	public synchronized void putTests(String testKindId, IJavaElement container, Set<IType> tests, long generation) {
+		if (DISABLED || generation != fGeneration)
+			return;
+		fContainerTests.put(getKey(container, testKindId), Collections.unmodifiableSet(new HashSet<>(tests)));
+	}
+
+	/**
+	 * @param testKindId the test kind
+	 * @param type a type with a compilation unit
+	 * @return whether the type is a test, or <code>null</code> if not known
+	 */
+	public Boolean isTest(String testKindId, IType type) {
+		if (DISABLED || hasUnsavedChanges(type.getCompilationUnit()))
+			return null;
+		String key= getKey(type, testKindId);
+		Entry entry;
+		synchronized (this) {
+			entry= getEntries().get(key);
+		}
+		if (entry == null)
+			return null;
+		if (!entry.isValid()) {
+			synchronized (this) {
+				if (getEntries().remove(key, entry))
+					fDirty= true;
+			}
+			return null;
+		}
+		return Boolean.valueOf(entry.fIsTest);
+	}
+
+	/**
+	 * @param testKindId the test kind
+	 * @param type a type with a compilation unit
+	 * @param binding the binding of the type from which <code>isTest</code> has been computed
+	 * @param isTest whether the type is a test
+	 * @param generation the generation of the Java model before the binding has been created, the
+	 *            answer is not stored if the Java model has changed since
+	 */
+	public void putTest(String testKindId, IType type, ITypeBinding binding, boolean isTest, long generation) {
+		if (DISABLED)
+			return;
+		Set<IJavaElement> dependencies= new LinkedHashSet<>();
+		dependencies.add(type.getJavaProject());
+		collectDependencies(binding, dependencies, new HashSet<>());
+
+		String[] handles= new String[dependencies.size()];
+		long[] stamps= new long[handles.length];
+		int i= 0;
+		for (IJavaElement dependency : dependencies) {
+			// the stamps are the ones of the files, they do not change with the content of a working copy
+			if (hasUnsavedChanges(dependency))
+				return;
+			stamps[i]= getStamp(dependency);
+			if (stamps[i] == IResource.NULL_STAMP)
+				return;
+			handles[i++]= dependency.getHandleIdentifier();
+		}
+		synchronized (this) {
+			if (generation != fGeneration)
+				return;
+			getEntries().put(getKey(type, testKindId), new Entry(isTest, handles, stamps));
+			fDirty= true;
+		}
+	}
+
+	private static boolean hasUnsavedChanges(IJavaElement dependency) {
+		if (!(dependency instanceof ICompilationUnit))
+			return false;
+		ICompilationUnit compilationUnit= (ICompilationUnit) dependency;
+		try {
+			return compilationUnit.isWorkingCopy() && compilationUnit.hasUnsavedChanges();
+		} catch (JavaModelException e) {
+			return true;
+		}
+	}
+
+	private static void collectDependencies(ITypeBinding binding, Set<IJavaElement> dependencies, Set<ITypeBinding> visited) {
+		if (binding == null)
+			return;
+		binding= binding.getTypeDeclaration();
+		if (!visited.add(binding))
+			return;
+		addDependency(binding, dependencies);
+		addDependencies(binding.getAnnotations(), dependencies);
+		for (IMethodBinding method : binding.getDeclaredMethods()) {
+			addDependencies(method.getAnnotations(), dependencies);
+		}
+		for (ITypeBinding memberType : binding.getDeclaredTypes()) {
+			addDependencies(memberType.getAnnotations(), dependencies);
+		}
+		collectDependencies(binding.getSuperclass(), dependencies, visited);
+		for (ITypeBinding superInterface : binding.getInterfaces()) {
+			collectDependencies(superInterface, dependencies, visited);
+		}
+	}
+
+	private static void addDependencies(IAnnotationBinding[] annotations, Set<IJavaElement> dependencies) {
+		for (IAnnotationBinding annotation : annotations) {
+			if (annotation != null)
+				addDependency(annotation.getAnnotationType(), dependencies);
+		}
+	}
+
+	private static void addDependency(ITypeBinding binding, Set<IJavaElement> dependencies) {
+		IJavaElement element= binding != null ? binding.getJavaElement() : null;
+		if (element instanceof IType) {
+			ICompilationUnit compilationUnit= ((IType) element).getCompilationUnit();
+			dependencies.add(compilationUnit != null ? compilationUnit : element.getAncestor(IJavaElement.PACKAGE_FRAGMENT_ROOT));
+		}
+	}
+
+	/**
+	 * @param dependency a compilation unit, a package fragment root or a Java project
+	 * @return the modification stamp of the dependency, or {@link IResource#NULL_STAMP} if it does
+	 *         not exist
+	 */
+	private static long getStamp(IJavaElement dependency) {
+		if (dependency instanceof IJavaProject)
+			return ((IJavaProject) dependency).getProject().getFile(CLASSPATH_FILE_NAME).getModificationStamp();
+		IResource resource= dependency.getResource();
+		if (resource != null)
+			return resource.getModificationStamp();
+		if (dependency instanceof IPackageFragmentRoot) {
+			IPath path= ((IPackageFragmentRoot) dependency).getPath();
+			File file= path != null ? path.toFile() : null;
+			if (file != null && file.exists())
+				return file.lastModified();
+		}
+		return IResource.NULL_STAMP;
+	}
+
+	@Override
+	public void elementChanged(ElementChangedEvent event) {
+		IJavaElementDelta delta= event.getDelta();
+		if (!affectsTests(delta))
+			return;
+		synchronized (this) {
+			fGeneration++;
+			fContainerTests.clear();
+			if (fEntries != null)
+				removeProjectsWithChangedClasspath(delta);
+		}
+	}
+
+	private static boolean affectsTests(IJavaElementDelta delta) {
+		if (delta.getKind() != IJavaElementDelta.CHANGED)
+			return true;
+		int flags= delta.getFlags();
+		if ((flags & (IJavaElementDelta.F_CONTENT | IJavaElementDelta.F_MODIFIERS | IJavaElementDelta.F_SUPER_TYPES | IJavaElementDelta.F_ANNOTATIONS
+				| IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED | IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED
+				| IJavaElementDelta.F_ADDED_TO_CLASSPATH | IJavaElementDelta.F_REMOVED_FROM_CLASSPATH | IJavaElementDelta.F_OPENED | IJavaElementDelta.F_CLOSED)) != 0)
+			return true;
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (affectsTests(child))
+				return true;
+		}
+		return false;
+	}
+
+	private void removeProjectsWithChangedClasspath(IJavaElementDelta delta) {
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			IJavaElement element= child.getElement();
+			if (element.getElementType() != IJavaElement.JAVA_PROJECT)
+				continue;
+			int flags= child.getFlags();
+			if (child.getKind() != IJavaElementDelta.CHANGED
+					|| (flags & (IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED | IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED | IJavaElementDelta.F_CLOSED)) != 0
+					|| hasChangedRoots(child)) {
+				String prefix= element.getHandleIdentifier() + '/';
+				for (Iterator<String> iter= fEntries.keySet().iterator(); iter.hasNext();) {
+					if (iter.next().startsWith(prefix)) {
+						iter.remove();
+						fDirty= true;
+					}
+				}
+			}
+		}
+	}
+
+	private static boolean hasChangedRoots(IJavaElementDelta projectDelta) {
+		for (IJavaElementDelta child : projectDelta.getAffectedChildren()) {
+			if ((child.getFlags() & (IJavaElementDelta.F_ADDED_TO_CLASSPATH | IJavaElementDelta.F_REMOVED_FROM_CLASSPATH | IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED)) != 0)
+				return true;
+		}
+		return false;
+	}
+
+	private Map<String, Entry> getEntries() {
+		if (fEntries == null) {
+			fEntries= new HashMap<>();
+			try {
+				load();
+			} catch (IOException | IllegalStateException e) {
+				fEntries.clear();
+				JUnitCorePlugin.log(e);
+			}
+		}
+		return fEntries;
+	}
+
+	private static File getIndexFile() throws IllegalStateException {
+		return JUnitCorePlugin.getDefault().getStateLocation().append(INDEX_FILE_NAME).toFile();
+	}
+
+	private void load() throws IOException {
+		File file= getIndexFile();
+		if (!file.isFile())
+			return;
+		try (DataInputStream in= new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+			if (in.readInt() != MAGIC || in.readInt() != VERSION)
+				return;
+			Map<String, String> handles= new HashMap<>();
+			int count= in.readInt();
+			for (int i= 0; i < count; i++) {
+				String key= in.readUTF();
+				boolean isTest= in.readBoolean();
+				int dependencyCount= in.readInt();
+				String[] dependencies= new String[dependencyCount];
+				long[] stamps= new long[dependencyCount];
+				for (int j= 0; j < dependencyCount; j++) {
+					String handle= in.readUTF();
+					String shared= handles.putIfAbsent(handle, handle);
+					dependencies[j]= shared != null ? shared : handle;
+					stamps[j]= in.readLong();
+				}
+				fEntries.put(key, new Entry(isTest, dependencies, stamps));
+			}
+		}
+	}
+
+	private void save() throws IOException {
+		File file= getIndexFile();
+		File temporary= File.createTempFile(INDEX_FILE_NAME, null, file.getParentFile());
+		try {
+			try (DataOutputStream out= new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary.toPath())))) {
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				// answers for deleted compilation units are dropped
+				Map<String, Entry> entries= new HashMap<>();
+				for (Map.Entry<String, Entry> entry : fEntries.entrySet()) {
+					String[] dependencies= entry.getValue().fDependencies;
+					IJavaElement compilationUnit= dependencies.length > 1 ? JavaCore.create(dependencies[1]) : null;
+					if (compilationUnit != null && compilationUnit.exists())
+						entries.put(entry.getKey(), entry.getValue());
+				}
+				out.writeInt(entries.size());
+				for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+					Entry value= entry.getValue();
+					out.writeUTF(entry.getKey());
+					out.writeBoolean(value.fIsTest);
+					out.writeInt(value.fDependencies.length);
+					for (int i= 0; i < value.fDependencies.length; i++) {
+						out.writeUTF(value.fDependencies[i]);
+						out.writeLong(value.fStamps[i]);
+					}
+				}
+			}
+			Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			temporary= null;
+			fDirty= false;
+		} finally {
+			if (temporary != null)
+				temporary.delete();
+		}
+	}
+}
@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit.launcher;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.ToDoubleFunction;
+
+import org.eclipse.jdt.junit.model.ITestElement;
+
+import org.eclipse.jdt.internal.junit.JUnitCorePlugin;
+import org.eclipse.jdt.internal.junit.model.TestRunSession;
+import org.eclipse.jdt.internal.junit.model.TestSuiteElement;
+
+/**
+ * Splits the tests of a launch into shards that run in separate VMs, so that all shards take
+ * about the same time.
+ */
+public final class TestShardBalancer {
+
+	private TestShardBalancer() {
+	}
+
+	/**
+	 * Distributes the tests to the shards, the longest test first to the shard that has the
+	 * least work so far. Tests without known duration are assumed to take the average duration
+	 * of the known ones.
+	 *
+	 * @param tests the tests to distribute
+	 * @param durations returns the expected duration of a test, or {@link Double#NaN} if it is
+	 *            not known
+	 * @param shardCount the maximal number of shards
+	 * @return the shards, none is empty and the tests of each shard are in the given order
+	 */
+	public static <T> List<List<T>> balance(List<T> tests, ToDoubleFunction<? super T> durations, int shardCount) {
+		int count= tests.size();
+		shardCount= Math.max(1, Math.min(shardCount, count));
+
+		double[] duration= new double[count];
+		double known= 0;
+		int knownCount= 0;
+		for (int i= 0; i < count; i++) {
+			duration[i]= durations.applyAsDouble(tests.get(i));
+			if (!Double.isNaN(duration[i]) && duration[i] >= 0) {
+				known+= duration[i];
+				knownCount++;
+			} else {
+				duration[i]= Double.NaN;
+			}
+		}
+		double unknown= knownCount > 0 && known > 0 ? known / knownCount : 1;
+
+		Integer[] order= new Integer[count];
+		for (int i= 0; i < count; i++) {
+			if (Double.isNaN(duration[i]))
+				duration[i]= unknown;
+			order[i]= i;
+		}
+		Arrays.sort(order, (a, b) -> Double.compare(duration[b], duration[a]));
+
+		// shard index and total duration, the shard with the least work first
+		PriorityQueue<double[]> loads= new PriorityQueue<>((a, b) -> a[1] != b[1] ? Double.compare(a[1], b[1]) : Double.compare(a[0], b[0]));
+		for (int i= 0; i < shardCount; i++)
+			loads.add(new double[] { i, 0 });
+		int[] shardOf= new int[count];
+		for (Integer test : order) {
+			double[] load= loads.remove();
+			shardOf[test]= (int) load[0];
+			load[1]+= duration[test];
+			loads.add(load);
+		}
+
+		List<List<T>> shards= new ArrayList<>(shardCount);
+		for (int i= 0; i < shardCount; i++)
+			shards.add(new ArrayList<>());
+		for (int i= 0; i < count; i++)
+			shards.get(shardOf[i]).add(tests.get(i));
+		return shards;
+	}
+
+	/**
+	 * Returns the durations of the test classes in the previous runs of a launch configuration,
+	 * taken from the most recent run that contains a class.
+	 *
+	 * @param testRunName the name of the test runs, which is the name of their launch configuration
+	 * @return map from fully qualified class name to duration in seconds
+	 */
+	public static Map<String, Double> getHistoricalDurations(String testRunName) {
+		Map<String, Double> durations= new HashMap<>();
+		for (TestRunSession session : JUnitCorePlugin.getModel().getTestRunSessions()) {
+			if (session.isRunning() || session.isStarting() || !testRunName.equals(session.getTestRunName()))
+				continue;
+			collectDurations(session.getTestRoot(), durations);
+		}
+		return durations;
+	}
+
+	private static void collectDurations(TestSuiteElement suite, Map<String, Double> durations) {
+		for (ITestElement child : suite.getChildren()) {
+			if (!(child instanceof TestSuiteElement))
+				continue;
+			TestSuiteElement childSuite= (TestSuiteElement) child;
+			double elapsed= childSuite.getElapsedTimeInSeconds();
+			if (!Double.isNaN(elapsed))
+				durations.putIfAbsent(childSuite.getClassName(), Double.valueOf(elapsed));
+			collectDurations(childSuite, durations);
+		}
+	}
+}
@@ -0,0 +1,250 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit.model;
+
+import java.util.LinkedHashSet;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.eclipse.jdt.internal.junit.model.TestElement.Status;
+
+/**
+ * A test session listener that collects the frequent events of a test session in deltas and
+ * forwards each delta to another listener at most once per interval.
+ * <p>
+ * Within a delta, all {@link #testAdded(TestElement)} events are merged into one for the last
+ * added test, and all {@link #testStarted(TestCaseElement)} events are merged into one for the
+ * last started test that has not ended yet. Each ended test is forwarded once. All other events
+ * first forward the pending delta and are then forwarded immediately, so their order relative to
+ * the tests events is kept.
+ * </p>
+ * <p>
+ * This is only suitable for listeners that read the state of the tests from the model instead of
+ * counting events, like the JUnit view which refreshes its counters and its tree from the
+ * {@link TestRunSession}.
+ * </p>
+ * <p>
+ * A pending delta is forwarded by the next event after the interval has elapsed. To forward
+ * it even if the test session is quiet, the receiver calls {@link #flush()} periodically.
+ * </p>
+ */
+public class CoalescingTestSessionListener implements ITestSessionListener {
+
+	private final ITestSessionListener fDelegate;
+
+	private final long fInterval;
+
+	/**
+	 * Serializes forwarding of events to the delegate. Never held while
+	 * {@link #fPendingLock} is acquired.
+	 */
+	private final ReentrantLock fDeliveryLock= new ReentrantLock();
+
+	/** Guards the pending delta */
+	private final Object fPendingLock= new Object();
+
+	private TestElement fPendingAdded;
+
+	private TestCaseElement fPendingStarted;
+
+	private LinkedHashSet<TestCaseElement> fPendingEnded= new LinkedHashSet<>();
+
+	private long fLastDelivery;
+
+	private final LongAdder fReceivedEvents= new LongAdder();
+
+	private final LongAdder fDeliveredEvents= new LongAdder();
+
+	/**
+	 * @param delegate the listener that receives the coalesced events
+	 * @param interval the minimal time between two deltas in milliseconds
+	 */
+	public CoalescingTestSessionListener(ITestSessionListener delegate, long interval) {
+		fDelegate= delegate;
+		fInterval= interval;
+		fLastDelivery= System.currentTimeMillis();
+	}
+
+	/**
+	 * @return the listener that receives the coalesced events
+	 */
+	public ITestSessionListener getDelegate() {
+		return fDelegate;
+	}
+
+	/**
+	 * @return the number of events received from the test session
+	 */
+	public long getReceivedEventCount() {
+		return fReceivedEvents.sum();
+	}
+
+	/**
+	 * @return the number of events that have been merged into other events of their delta
+	 * and have therefore not been forwarded
+	 */
+	public long getMergedEventCount() {
+		return fReceivedEvents.sum() - fDeliveredEvents.sum() - getPendingEventCount();
+	}
+
+	private long getPendingEventCount() {
+		synchronized (fPendingLock) {
+			return (fPendingAdded != null ? 1 : 0) + (fPendingStarted != null ? 1 : 0) + fPendingEnded.size();
+		}
+	}
+
+	/**
+	 * Forwards the pending delta now. Does nothing if events are being forwarded in another
+	 * thread, so that a UI thread calling this method never waits for a test session thread
+	 * which itself waits for the UI thread.
+	 */
+	public void flush() {
+		if (fDeliveryLock.tryLock()) {
+			try {
+				deliverPending();
+			} finally {
+				fDeliveryLock.unlock();
+			}
+		}
+	}
+
+	private void deliverPending() {
+		TestElement added;
+		TestCaseElement started;
+		LinkedHashSet<TestCaseElement> ended;
+		synchronized (fPendingLock) {
+			added= fPendingAdded;
+			started= fPendingStarted;
+			ended= fPendingEnded;
+			fPendingAdded= null;
+			fPendingStarted= null;
+			if (!ended.isEmpty())
+				fPendingEnded= new LinkedHashSet<>();
+			fLastDelivery= System.currentTimeMillis();
+		}
+
+		if (added != null) {
+			fDeliveredEvents.increment();
+			fDelegate.testAdded(added);
+		}
+		for (TestCaseElement testCaseElement : ended) {
+			fDeliveredEvents.increment();
+			fDelegate.testEnded(testCaseElement);
+		}
+		if (started != null) {
+			fDeliveredEvents.increment();
+			fDelegate.testStarted(started);
+		}
+	}
+
+	private boolean isIntervalElapsed() {
+		return System.currentTimeMillis() - fLastDelivery >= fInterval;
+	}
+
+	private void deliverPendingIfElapsed() {
+		fDeliveryLock.lock();
+		try {
+			if (isIntervalElapsed())
+				deliverPending();
+		} finally {
+			fDeliveryLock.unlock();
+		}
+	}
+
+	/**
+	 * Forwards the pending delta and then the given event.
+	 *
+	 * @param event forwards the event to the delegate
+	 */
+	private void deliver(Runnable event) {
+		fReceivedEvents.increment();
+		fDeliveryLock.lock();
+		try {
+			deliverPending();
+			fDeliveredEvents.increment();
+			event.run();
+		} finally {
+			fDeliveryLock.unlock();
+		}
+	}
+
+	@Override
+	public void sessionStarted() {
+		deliver(fDelegate::sessionStarted);
+	}
+
+	@Override
+	public void sessionEnded(long elapsedTime) {
+		deliver(() -> fDelegate.sessionEnded(elapsedTime));
+	}
+
+	@Override
+	public void sessionStopped(long elapsedTime) {
+		deliver(() -> fDelegate.sessionStopped(elapsedTime));
+	}
+
+	@Override
+	public void sessionTerminated() {
+		deliver(fDelegate::sessionTerminated);
+	}
+
+	@Override
+	public void testAdded(TestElement testElement) {
+		fReceivedEvents.increment();
+		synchronized (fPendingLock) {
+			fPendingAdded= testElement;
+		}
+		deliverPendingIfElapsed();
+	}
+
+	@Override
+	public void runningBegins() {
+		deliver(fDelegate::runningBegins);
+	}
+
+	@Override
+	public void testStarted(TestCaseElement testCaseElement) {
+		fReceivedEvents.increment();
+		synchronized (fPendingLock) {
+			fPendingStarted= testCaseElement;
+		}
+		deliverPendingIfElapsed();
+	}
+
+	@Override
+	public void testEnded(TestCaseElement testCaseElement) {
+		fReceivedEvents.increment();
+		synchronized (fPendingLock) {
+			if (fPendingStarted == testCaseElement)
+				fPendingStarted= null;
+			fPendingEnded.add(testCaseElement);
+		}
+		deliverPendingIfElapsed();
+	}
+
+	@Override
+	public void testFailed(TestElement testElement, Status status, String trace, String expected, String actual) {
+		deliver(() -> fDelegate.testFailed(testElement, status, trace, expected, actual));
+	}
+
+	@Override
+	public void testReran(TestCaseElement testCaseElement, Status status, String trace, String expectedResult, String actualResult) {
+		deliver(() -> fDelegate.testReran(testCaseElement, status, trace, expectedResult, actualResult));
+	}
+
+	@Override
+	public boolean acceptsSwapToDisk() {
+		return fDelegate.acceptsSwapToDisk();
+	}
+}
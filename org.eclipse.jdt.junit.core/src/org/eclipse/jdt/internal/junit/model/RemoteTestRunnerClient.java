@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,6 +15,7 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.junit.model;
 
+import java.io.BufferedInputStream;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
@@ -30,12 +31,18 @@ import org.eclipse.core.runtime.ISafeRunnable;
 import org.eclipse.core.runtime.SafeRunner;
 
 import org.eclipse.jdt.internal.junit.JUnitCorePlugin;
+import org.eclipse.jdt.internal.junit.runner.BinaryMessageReader;
 import org.eclipse.jdt.internal.junit.runner.MessageIds;
 import org.eclipse.jdt.internal.junit.runner.RemoteTestRunner;
 
 /**
  * The client side of the RemoteTestRunner. Handles the
  * marshaling of the different messages.
+ * <p>
+ * The protocol is detected from the first bytes sent by the RemoteTestRunner:
+ * the binary protocol is used if the runner has been asked for it and supports it,
+ * see {@link BinaryMessageReader}, otherwise the messages are read as text lines.
+ * </p>
  */
 public class RemoteTestRunnerClient {
 
@@ -275,11 +282,19 @@ public class RemoteTestRunnerClient {
 					System.out.println("Creating server socket "+fServerPort); //$NON-NLS-1$
 				fServerSocket= new ServerSocket(fServerPort);
 				fSocket= fServerSocket.accept();
-				fPushbackReader= new PushbackReader(new BufferedReader(new InputStreamReader(fSocket.getInputStream(), StandardCharsets.UTF_8)));
+				BufferedInputStream in= new BufferedInputStream(fSocket.getInputStream());
 				fWriter= new PrintWriter(new OutputStreamWriter(fSocket.getOutputStream(), StandardCharsets.UTF_8), true);
-				String message;
-				while(fPushbackReader != null && (message= readMessage(fPushbackReader)) != null)
-					receiveMessage(message);
+				if (BinaryMessageReader.isBinaryProtocol(in)) {
+					BinaryMessageReader reader= new BinaryMessageReader(in);
+					fLastLineDelimiter= reader.getLineDelimiter();
+					while (isRunning() && reader.next())
+						receiveEvent(reader);
+				} else {
+					fPushbackReader= new PushbackReader(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+					String message;
+					while(fPushbackReader != null && (message= readMessage(fPushbackReader)) != null)
+						receiveMessage(message);
+				}
 			} catch (SocketException e) {
 				notifyTestRunTerminated();
 			} catch (IOException e) {
@@ -387,6 +402,34 @@ public class RemoteTestRunnerClient {
 	    fCurrentState= fCurrentState.readMessage(message);
 	}
 
+	/**
+	 * Receives a message of the binary protocol. Messages about a test are handled
+	 * without formatting and parsing the test id, the others like text messages.
+	 *
+	 * @param reader the reader positioned at the message
+	 */
+	private void receiveEvent(BinaryMessageReader reader) {
+		if (reader.getTestId() != -1 && fCurrentState == fDefaultState && hasTestId()) {
+			String header= reader.getHeader();
+			String testId= Integer.toString(reader.getTestId());
+			if (MessageIds.TEST_START.equals(header)) {
+				notifyTestStarted(testId, reader.getArgument());
+				return;
+			}
+			if (MessageIds.TEST_END.equals(header)) {
+				notifyTestEnded(testId, reader.getArgument());
+				return;
+			}
+			if (MessageIds.TEST_ERROR.equals(header) || MessageIds.TEST_FAILED.equals(header)) {
+				fFailedTestId= testId;
+				fFailedTest= reader.getArgument();
+				fFailureKind= MessageIds.TEST_ERROR.equals(header) ? ITestRunListener2.STATUS_ERROR : ITestRunListener2.STATUS_FAILURE;
+				return;
+			}
+		}
+		receiveMessage(reader.getMessage());
+	}
+
 	private void scanOldReranMessage(String arg) {
 		// OLD V1 format
 		// format: className" "testName" "status
@@ -535,6 +578,19 @@ public class RemoteTestRunnerClient {
 		}
 	}
 
+	private void notifyTestEnded(final String testId, final String testName) {
+		if (JUnitCorePlugin.isStopped())
+			return;
+		for (ITestRunListener2 listener : fListeners) {
+			SafeRunner.run(new ListenerSafeRunnable() {
+				@Override
+				public void run() {
+					listener.testEnded(testId, testName);
+				}
+			});
+		}
+	}
+
 	private void notifyTestStarted(final String test) {
 		if (JUnitCorePlugin.isStopped())
 			return;
@@ -549,6 +605,19 @@ public class RemoteTestRunnerClient {
 		}
 	}
 
+	private void notifyTestStarted(final String testId, final String testName) {
+		if (JUnitCorePlugin.isStopped())
+			return;
+		for (ITestRunListener2 listener : fListeners) {
+			SafeRunner.run(new ListenerSafeRunnable() {
+				@Override
+				public void run() {
+					listener.testStarted(testId, testName);
+				}
+			});
+		}
+	}
+
 	private void notifyTestRunStarted(final int count) {
 		if (JUnitCorePlugin.isStopped())
 			return;
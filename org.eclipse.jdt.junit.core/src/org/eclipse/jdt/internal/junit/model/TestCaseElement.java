@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2017 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -22,13 +22,10 @@ import org.eclipse.core.runtime.Assert;
 
 public class TestCaseElement extends TestElement implements ITestCaseElement {
 
-	private boolean fIgnored;
-	private boolean fIsDynamicTest;
-
 	public TestCaseElement(TestSuiteElement parent, String id, String testName, String displayName, boolean isDynamicTest, String[] parameterTypes, String uniqueId) {
 		super(parent, id, testName, displayName, parameterTypes, uniqueId);
 		Assert.isNotNull(parent);
-		fIsDynamicTest= isDynamicTest;
+		setFlag(DYNAMIC_TEST, isDynamicTest);
 	}
 
 	/**
@@ -64,18 +61,18 @@ public class TestCaseElement extends TestElement implements ITestCaseElement {
 	 */
 	@Override
 	public Result getTestResult(boolean includeChildren) {
-		if (fIgnored)
+		if (isIgnored())
 			return Result.IGNORED;
 		else
 			return super.getTestResult(includeChildren);
 	}
 
 	public void setIgnored(boolean ignored) {
-		fIgnored= ignored;
+		setFlag(IGNORED, ignored);
 	}
 
 	public boolean isIgnored() {
-		return fIgnored;
+		return isFlagSet(IGNORED);
 	}
 
 	@Override
@@ -84,6 +81,6 @@ public class TestCaseElement extends TestElement implements ITestCaseElement {
 	}
 
 	public boolean isDynamicTest() {
-		return fIsDynamicTest;
+		return isFlagSet(DYNAMIC_TEST);
 	}
 }
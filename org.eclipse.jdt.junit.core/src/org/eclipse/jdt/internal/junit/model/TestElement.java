@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2017 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -36,6 +36,9 @@ public abstract class TestElement implements ITestElement {
 
 		private static final Status[] OLD_CODE= { OK, ERROR, FAILURE};
 
+		/** All statuses by {@link #getOldCode()} */
+		private static final Status[] ALL= { OK, ERROR, FAILURE, RUNNING, NOT_RUN, RUNNING_ERROR, RUNNING_FAILURE };
+
 		private final String fName;
 		private final int fOldCode;
 
@@ -141,6 +144,14 @@ public abstract class TestElement implements ITestElement {
 			return OLD_CODE[oldStatus];
 		}
 
+		/**
+		 * @param oldCode the {@link #getOldCode()} of a status
+		 * @return the Status
+		 */
+		static Status fromOldCode(int oldCode) {
+			return ALL[oldCode];
+		}
+
 		public Result convertToResult() {
 			if (isNotRun())
 				return Result.UNDEFINED;
@@ -166,8 +177,41 @@ public abstract class TestElement implements ITestElement {
 
 	}
 
+	/**
+	 * The failure trace, expected and actual value of a test element, which most elements do not
+	 * have.
+	 */
+	private static final class Failure {
+		String fTrace;
+		String fExpected;
+		String fActual;
+
+		/**
+		 * The failure trace, expected and actual value in the swap file of a swapped in session, or
+		 * <code>null</code> if they have been loaded or the session has not been swapped out.
+		 */
+		volatile TestRunSessionSwapFile.TraceBlock fTraceBlock;
+	}
+
+	/* the bits of fState */
+	private static final int STATUS_MASK= 0x7;
+	private static final int ASSUMPTION_FAILED= 1 << 3;
+	static final int IGNORED= 1 << 4;
+	static final int DYNAMIC_TEST= 1 << 5;
+	/** {@link #fUniqueId} is appended to the unique ID of the parent */
+	private static final int RELATIVE_UNIQUE_ID= 1 << 6;
+	/** The shard of the id + 1, see {@link TestElementStore#parseId(String)} */
+	private static final int SHARD_SHIFT= 8;
+
 	private final TestSuiteElement fParent;
+
+	/**
+	 * The id, or <code>null</code> if it is stored in {@link #fIdNumber} and the shard bits of
+	 * {@link #fState}.
+	 */
 	private final String fId;
+	private final int fIdNumber;
+
 	private String fTestName;
 
 	/**
@@ -185,16 +229,16 @@ public abstract class TestElement implements ITestElement {
 
 	/**
 	 * The unique ID of the test element which can be <code>null</code> as it is applicable to JUnit 5
-	 * and above.
+	 * and above. Only the part after the unique ID of the parent if {@link #RELATIVE_UNIQUE_ID} is
+	 * set.
 	 */
 	private String fUniqueId;
 
-	private Status fStatus;
-	private String fTrace;
-	private String fExpected;
-	private String fActual;
+	/** The {@link Status#getOldCode()} of the status, the flags and the shard of the id */
+	private int fState;
 
-	private boolean fAssumptionFailed;
+	/** The failure, or <code>null</code> */
+	private Failure fFailure;
 
 	/**
 	 * Running time in seconds. Contents depend on the current {@link #getProgressState()}:
@@ -222,12 +266,26 @@ public abstract class TestElement implements ITestElement {
 		Assert.isNotNull(id);
 		Assert.isNotNull(testName);
 		fParent= parent;
-		fId= id;
+		long packedId= TestElementStore.parseId(id);
+		if (packedId != -1) {
+			fId= null;
+			fIdNumber= (int) packedId;
+			fState= (int) (packedId >>> 32) << SHARD_SHIFT;
+		} else {
+			fId= id;
+			fIdNumber= 0;
+		}
 		fTestName= testName;
-		fDisplayName= displayName;
+		fDisplayName= testName.equals(displayName) ? testName : displayName;
 		fParameterTypes= parameterTypes;
-		fUniqueId= uniqueId;
-		fStatus= Status.NOT_RUN;
+		String parentUniqueId= parent != null && uniqueId != null ? parent.getUniqueId() : null;
+		if (parentUniqueId != null && uniqueId.length() > parentUniqueId.length() && uniqueId.startsWith(parentUniqueId)) {
+			fUniqueId= uniqueId.substring(parentUniqueId.length());
+			fState|= RELATIVE_UNIQUE_ID;
+		} else {
+			fUniqueId= uniqueId;
+		}
+		fState|= Status.NOT_RUN.getOldCode();
 		if (parent != null)
 			parent.addChild(this);
 	}
@@ -239,7 +297,7 @@ public abstract class TestElement implements ITestElement {
 
 	@Override
 	public Result getTestResult(boolean includeChildren) {
-		if (fAssumptionFailed) {
+		if (isAssumptionFailure()) {
 			return Result.IGNORED;
 		}
 		return getStatus().convertToResult();
@@ -262,8 +320,8 @@ public abstract class TestElement implements ITestElement {
 	public FailureTrace getFailureTrace() {
 		Result testResult= getTestResult(false);
 		if (testResult == Result.ERROR || testResult == Result.FAILURE
-				|| (testResult == Result.IGNORED && fTrace != null)) {
-			return new FailureTrace(fTrace, fExpected, fActual);
+				|| (testResult == Result.IGNORED && getTrace() != null)) {
+			return new FailureTrace(getTrace(), getExpected(), getActual());
 		}
 		return null;
 	}
@@ -276,7 +334,9 @@ public abstract class TestElement implements ITestElement {
 	}
 
 	public String getId() {
-		return fId;
+		if (fId != null)
+			return fId;
+		return TestElementStore.toId(fState >>> SHARD_SHIFT, fIdNumber);
 	}
 
 	public String getTestName() {
@@ -297,42 +357,101 @@ public abstract class TestElement implements ITestElement {
 			}
 		}
 
-		fStatus= status;
+		fState= (fState & ~STATUS_MASK) | status.getOldCode();
 		TestSuiteElement parent= getParent();
 		if (parent != null)
 			parent.childChangedStatus(this, status);
 	}
 
 	public void setStatus(Status status, String trace, String expected, String actual) {
-		if (trace != null && fTrace != null) {
+		Failure failure= loadTrace();
+		if (trace != null && failure != null && failure.fTrace != null) {
 			//don't overwrite first trace if same test run logs multiple errors
-			fTrace= fTrace + trace;
-		} else {
-			fTrace= trace;
-			fExpected= expected;
-			fActual= actual;
+			failure.fTrace= failure.fTrace + trace;
+		} else if (failure != null || trace != null || expected != null || actual != null) {
+			if (failure == null) {
+				failure= new Failure();
+				fFailure= failure;
+			}
+			failure.fTrace= trace;
+			failure.fExpected= expected;
+			failure.fActual= actual;
 		}
 		setStatus(status);
 	}
 
 	public Status getStatus() {
-		return fStatus;
+		return Status.fromOldCode(fState & STATUS_MASK);
 	}
 
 	public String getTrace() {
-		return fTrace;
+		Failure failure= loadTrace();
+		return failure != null ? failure.fTrace : null;
 	}
 
 	public String getExpected() {
-		return fExpected;
+		Failure failure= loadTrace();
+		return failure != null ? failure.fExpected : null;
 	}
 
 	public String getActual() {
-		return fActual;
+		Failure failure= loadTrace();
+		return failure != null ? failure.fActual : null;
 	}
 
 	public boolean isComparisonFailure() {
-		return fExpected != null && fActual != null;
+		Failure failure= fFailure;
+		if (failure == null)
+			return false;
+		TestRunSessionSwapFile.TraceBlock traceBlock= failure.fTraceBlock;
+		if (traceBlock != null)
+			return traceBlock.isComparisonFailure();
+		return failure.fExpected != null && failure.fActual != null;
+	}
+
+	TestRunSessionSwapFile.TraceBlock getTraceBlock() {
+		Failure failure= fFailure;
+		return failure != null ? failure.fTraceBlock : null;
+	}
+
+	void setTraceBlock(TestRunSessionSwapFile.TraceBlock traceBlock) {
+		Failure failure= new Failure();
+		failure.fTraceBlock= traceBlock;
+		fFailure= failure;
+	}
+
+	/**
+	 * Reads the failure trace, expected and actual value from the swap file if they have not been
+	 * read yet.
+	 *
+	 * @return the failure, or <code>null</code>
+	 */
+	private Failure loadTrace() {
+		Failure failure= fFailure;
+		if (failure == null || failure.fTraceBlock == null)
+			return failure;
+		synchronized (failure) {
+			TestRunSessionSwapFile.TraceBlock traceBlock= failure.fTraceBlock;
+			if (traceBlock != null) {
+				String[] trace= traceBlock.load();
+				failure.fTrace= trace[0];
+				failure.fExpected= trace[1];
+				failure.fActual= trace[2];
+				failure.fTraceBlock= null;
+			}
+		}
+		return failure;
+	}
+
+	boolean isFlagSet(int flag) {
+		return (fState & flag) != 0;
+	}
+
+	void setFlag(int flag, boolean set) {
+		if (set)
+			fState|= flag;
+		else
+			fState&= ~flag;
 	}
 
 	/**
@@ -381,11 +500,11 @@ public abstract class TestElement implements ITestElement {
 	}
 
 	public void setAssumptionFailed(boolean assumptionFailed) {
-		fAssumptionFailed= assumptionFailed;
+		setFlag(ASSUMPTION_FAILED, assumptionFailed);
 	}
 
 	public boolean isAssumptionFailure() {
-		return fAssumptionFailed;
+		return isFlagSet(ASSUMPTION_FAILED);
 	}
 
 	@Override
@@ -419,6 +538,8 @@ public abstract class TestElement implements ITestElement {
 	 * @return the unique ID of the test, can be <code>null</code>
 	 */
 	public String getUniqueId() {
+		if (isFlagSet(RELATIVE_UNIQUE_ID))
+			return fParent.getUniqueId() + fUniqueId;
 		return fUniqueId;
 	}
 
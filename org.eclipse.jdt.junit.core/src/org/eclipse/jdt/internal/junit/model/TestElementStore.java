@@ -0,0 +1,182 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit.model;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * The test elements of a {@link TestRunSession} by id, and the names shared by these elements.
+ * <p>
+ * The test runner numbers the tests consecutively, see
+ * <code>org.eclipse.jdt.internal.junit.runner.TestIdMap</code>, and the tests of a shard get the
+ * prefix <code>shard:</code>. Such ids index an array per shard, only other ids are hashed.
+ * </p>
+ * <p>
+ * Many tests have equal names, e.g. all invocations of a parameterized test method, so test
+ * names and parameter types are interned.
+ * </p>
+ */
+final class TestElementStore {
+
+	/** The largest shard that can be stored in a packed id, see {@link #parseId(String)} */
+	static final int MAX_SHARD= (1 << 23) - 2;
+
+	/** Arrays for ids that are much larger than the number of tests are not allocated */
+	private static final int MAX_GAP= 1024;
+
+	/** The elements by shard + 1 and number, the first array holds the ids without shard */
+	private TestElement[][] fElements= new TestElement[1][];
+
+	private int fDenseCount;
+
+	/** The elements with other ids, or <code>null</code> */
+	private HashMap<String, TestElement> fOtherElements;
+
+	private final HashMap<String, String> fNames= new HashMap<>();
+
+	private final HashMap<List<String>, String[]> fParameterTypes= new HashMap<>();
+
+	/**
+	 * Parses a test id of the form <code>number</code> or <code>shard:number</code>, where the
+	 * numbers are non negative decimals without leading zeros.
+	 *
+	 * @param id the test id
+	 * @return the shard + 1 (or 0 if the id has no shard) in the upper 32 bits and the number in
+	 *         the lower 32 bits, or <code>-1</code> if the id has another form
+	 */
+	static long parseId(String id) {
+		int colon= id.indexOf(':');
+		long shard= 0;
+		if (colon != -1) {
+			int number= parseNumber(id, 0, colon);
+			if (number == -1 || number > MAX_SHARD)
+				return -1;
+			shard= number + 1;
+		}
+		int number= parseNumber(id, colon + 1, id.length());
+		if (number == -1)
+			return -1;
+		return shard << 32 | number;
+	}
+
+	private static int parseNumber(String s, int start, int end) {
+		int length= end - start;
+		if (length == 0 || length > 9 || (length > 1 && s.charAt(start) == '0'))
+			return -1;
+		int number= 0;
+		for (int i= start; i < end; i++) {
+			char c= s.charAt(i);
+			if (c < '0' || c > '9')
+				return -1;
+			number= number * 10 + c - '0';
+		}
+		return number;
+	}
+
+	/**
+	 * @param shard the shard + 1, or 0
+	 * @param number the number
+	 * @return the id that {@link #parseId(String)} parses to <code>shard</code> and
+	 *         <code>number</code>
+	 */
+	static String toId(int shard, int number) {
+		if (shard == 0)
+			return Integer.toString(number);
+		return Integer.toString(shard - 1) + ':' + Integer.toString(number);
+	}
+
+	/**
+	 * @param id the test id
+	 * @return the test element with the given id, or <code>null</code>
+	 */
+	TestElement get(String id) {
+		long packed= parseId(id);
+		if (packed != -1) {
+			int shard= (int) (packed >>> 32);
+			int number= (int) packed;
+			if (shard < fElements.length) {
+				TestElement[] elements= fElements[shard];
+				if (elements != null && number < elements.length && elements[number] != null)
+					return elements[number];
+			}
+		}
+		return fOtherElements != null ? fOtherElements.get(id) : null;
+	}
+
+	/**
+	 * @param id the test id
+	 * @param element the test element with the given id
+	 */
+	void put(String id, TestElement element) {
+		long packed= parseId(id);
+		if (packed != -1 && putDense((int) (packed >>> 32), (int) packed, element))
+			return;
+		if (fOtherElements == null)
+			fOtherElements= new HashMap<>();
+		fOtherElements.put(id, element);
+	}
+
+	private boolean putDense(int shard, int number, TestElement element) {
+		int limit= 2 * fDenseCount + MAX_GAP;
+		if (shard >= fElements.length) {
+			if (shard > limit)
+				return false;
+			fElements= Arrays.copyOf(fElements, Math.max(shard + 1, 2 * fElements.length));
+		}
+		TestElement[] elements= fElements[shard];
+		if (elements == null || number >= elements.length) {
+			if (number > limit)
+				return false;
+			int length= elements == null ? 16 : elements.length;
+			while (length <= number)
+				length+= length >> 1;
+			elements= elements == null ? new TestElement[length] : Arrays.copyOf(elements, length);
+			fElements[shard]= elements;
+		}
+		if (elements[number] == null)
+			fDenseCount++;
+		elements[number]= element;
+		return true;
+	}
+
+	/**
+	 * @param name a test name, can be <code>null</code>
+	 * @return an equal name that is shared by the elements of the session
+	 */
+	String intern(String name) {
+		if (name == null)
+			return null;
+		String interned= fNames.putIfAbsent(name, name);
+		return interned != null ? interned : name;
+	}
+
+	/**
+	 * @param parameterTypes the parameter types of a test, can be <code>null</code>. Must not be
+	 *            modified afterwards.
+	 * @return equal parameter types that are shared by the elements of the session
+	 */
+	String[] intern(String[] parameterTypes) {
+		if (parameterTypes == null)
+			return null;
+		String[] interned= fParameterTypes.get(Arrays.asList(parameterTypes));
+		if (interned != null)
+			return interned;
+		for (int i= 0; i < parameterTypes.length; i++)
+			parameterTypes[i]= intern(parameterTypes[i]);
+		fParameterTypes.put(Arrays.asList(parameterTypes), parameterTypes);
+		return parameterTypes;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,12 +16,12 @@
 package org.eclipse.jdt.internal.junit.model;
 
 import java.io.File;
+import java.io.IOException;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.List;
 
 import org.eclipse.jdt.junit.model.ITestElement;
@@ -71,6 +71,26 @@ public class TestRunSession implements ITestRunSession {
 	 */
 	private RemoteTestRunnerClient fTestRunnerClient;
 
+	/**
+	 * The notifiers of the shards of a test run that runs in several VMs, or <code>null</code>.
+	 */
+	private ShardNotifier[] fShardNotifiers;
+
+	/**
+	 * Serializes the events of the shards.
+	 */
+	private final Object fShardLock= new Object();
+
+	private int fStartedShards;
+
+	private int fFinishedShards;
+
+	private long fShardsElapsedTime;
+
+	private boolean fShardsStopped;
+
+	private boolean fShardsTerminated;
+
 	private final ListenerList<ITestSessionListener> fSessionListeners;
 
 	/**
@@ -84,9 +104,9 @@ public class TestRunSession implements ITestRunSession {
 	private Result fTestResult;
 
 	/**
-	 * Map from testId to testElement.
+	 * The test elements by testId, and their shared names.
 	 */
-	private HashMap<String, TestElement> fIdToTest;
+	private TestElementStore fTestElements;
 
 	/**
 	 * The TestSuites for which additional children are expected.
@@ -167,7 +187,7 @@ public class TestRunSession implements ITestRunSession {
 		fTestRunnerKind= ITestKind.NULL; //TODO
 
 		fTestRoot= new TestRoot(this);
-		fIdToTest= new HashMap<>();
+		fTestElements= new TestElementStore();
 
 		fTestRunnerClient= null;
 
@@ -176,7 +196,20 @@ public class TestRunSession implements ITestRunSession {
 
 
 	public TestRunSession(ILaunch launch, IJavaProject project, int port) {
+		this(launch, project, new int[] { port });
+	}
+
+	/**
+	 * Creates a test run session for a launch that runs its tests in one VM per port. The
+	 * tests of all VMs are merged into one tree.
+	 *
+	 * @param launch the launch
+	 * @param project the Java project, may be <code>null</code>
+	 * @param ports the ports on which the test runners of the VMs connect
+	 */
+	public TestRunSession(ILaunch launch, IJavaProject project, int[] ports) {
 		Assert.isNotNull(launch);
+		Assert.isLegal(ports.length > 0);
 
 		fLaunch= launch;
 		fProject= project;
@@ -191,28 +224,33 @@ public class TestRunSession implements ITestRunSession {
 		}
 
 		fTestRoot= new TestRoot(this);
-		fIdToTest= new HashMap<>();
+		fTestElements= new TestElementStore();
 
 		fTestRunnerClient= new RemoteTestRunnerClient();
-		fTestRunnerClient.startListening(new ITestRunListener2[] { new TestSessionNotifier() }, port);
+		if (ports.length == 1) {
+			fTestRunnerClient.startListening(new ITestRunListener2[] { new TestSessionNotifier() }, ports[0]);
+		} else {
+			fShardNotifiers= new ShardNotifier[ports.length];
+			for (int i= 0; i < ports.length; i++) {
+				RemoteTestRunnerClient client= i == 0 ? fTestRunnerClient : new RemoteTestRunnerClient();
+				fShardNotifiers[i]= new ShardNotifier(i, client);
+				client.startListening(new ITestRunListener2[] { fShardNotifiers[i] }, ports[i]);
+			}
+		}
 
 		final ILaunchManager launchManager= DebugPlugin.getDefault().getLaunchManager();
 		launchManager.addLaunchListener(new ILaunchesListener2() {
 			@Override
 			public void launchesTerminated(ILaunch[] launches) {
 				if (Arrays.asList(launches).contains(fLaunch)) {
-					if (fTestRunnerClient != null) {
-						fTestRunnerClient.stopWaiting();
-					}
+					stopWaiting();
 					launchManager.removeLaunchListener(this);
 				}
 			}
 			@Override
 			public void launchesRemoved(ILaunch[] launches) {
 				if (Arrays.asList(launches).contains(fLaunch)) {
-					if (fTestRunnerClient != null) {
-						fTestRunnerClient.stopWaiting();
-					}
+					stopWaiting();
 					launchManager.removeLaunchListener(this);
 				}
 			}
@@ -228,6 +266,17 @@ public class TestRunSession implements ITestRunSession {
 		addTestSessionListener(new TestRunListenerAdapter(this));
 	}
 
+	private void stopWaiting() {
+		ShardNotifier[] shardNotifiers= fShardNotifiers;
+		if (shardNotifiers != null) {
+			for (ShardNotifier shardNotifier : shardNotifiers) {
+				shardNotifier.stopWaiting();
+			}
+		} else if (fTestRunnerClient != null) {
+			fTestRunnerClient.stopWaiting();
+		}
+	}
+
 	void reset() {
 		fStartedCount= 0;
 		fFailureCount= 0;
@@ -238,7 +287,7 @@ public class TestRunSession implements ITestRunSession {
 
 		fTestRoot= new TestRoot(this);
 		fTestResult= null;
-		fIdToTest= new HashMap<>();
+		fTestElements= new TestElementStore();
 	}
 
 	@Override
@@ -370,16 +419,17 @@ public class TestRunSession implements ITestRunSession {
 		try {
 			File swapFile= getSwapFile();
 
-			JUnitModel.exportTestRunSession(this, swapFile);
+			TestRunSessionSwapFile.write(this, swapFile);
 			fTestResult= fTestRoot.getTestResult(true);
 			fTestRoot= null;
 			fTestRunnerClient= null;
-			fIdToTest= new HashMap<>();
+			fShardNotifiers= null;
+			fTestElements= new TestElementStore();
 			fIncompleteTestSuites= null;
 			fFactoryTestSuites= null;
 			fUnrootedSuite= null;
 
-		} catch (IllegalStateException | CoreException e) {
+		} catch (IllegalStateException | IOException e) {
 			JUnitCorePlugin.log(e);
 		}
 	}
@@ -398,7 +448,7 @@ public class TestRunSession implements ITestRunSession {
 	private File getSwapFile() throws IllegalStateException {
 		File historyDir= JUnitCorePlugin.getHistoryDirectory();
 		String isoTime= new SimpleDateFormat("yyyyMMdd-HHmmss.SSS").format(new Date(getStartTime())); //$NON-NLS-1$
-		String swapFileName= isoTime + ".xml"; //$NON-NLS-1$
+		String swapFileName= isoTime + ".swap"; //$NON-NLS-1$
 		return new File(historyDir, swapFileName);
 	}
 
@@ -408,8 +458,8 @@ public class TestRunSession implements ITestRunSession {
 			return;
 
 		try {
-			JUnitModel.importIntoTestRunSession(getSwapFile(), this);
-		} catch (IllegalStateException | CoreException e) {
+			TestRunSessionSwapFile.read(getSwapFile(), this);
+		} catch (IllegalStateException | IOException e) {
 			JUnitCorePlugin.log(e);
 			fTestRoot= new TestRoot(this);
 			fTestResult= null;
@@ -419,8 +469,14 @@ public class TestRunSession implements ITestRunSession {
 	public void stopTestRun() {
 		if (isRunning() || ! isKeptAlive())
 			fIsStopped= true;
-		if (fTestRunnerClient != null)
+		ShardNotifier[] shardNotifiers= fShardNotifiers;
+		if (shardNotifiers != null) {
+			for (ShardNotifier shardNotifier : shardNotifiers) {
+				shardNotifier.fClient.stopTest();
+			}
+		} else if (fTestRunnerClient != null) {
 			fTestRunnerClient.stopTest();
+		}
 	}
 
 	/**
@@ -428,6 +484,7 @@ public class TestRunSession implements ITestRunSession {
 	 */
 	public boolean isKeptAlive() {
 		if (fTestRunnerClient != null
+				&& fShardNotifiers == null
 				&& fLaunch != null
 				&& fTestRunnerClient.isRunning()
 				&& ILaunchManager.DEBUG_MODE.equals(fLaunch.getLaunchMode())) {
@@ -474,13 +531,13 @@ public class TestRunSession implements ITestRunSession {
 	}
 
 	public TestElement getTestElement(String id) {
-		return fIdToTest.get(id);
+		return fTestElements.get(id);
 	}
 
-	private TestElement addTreeEntry(String treeEntry) {
+	private TestElement addTreeEntry(String treeEntry, String idPrefix) {
 		// format: testId","testName","isSuite","testcount","isDynamicTest","parentId","displayName","parameterTypes","uniqueId
 		int index0= treeEntry.indexOf(',');
-		String id= treeEntry.substring(0, index0);
+		String id= idPrefix + treeEntry.substring(0, index0);
 
 		StringBuffer testNameBuffer= new StringBuffer(100);
 		int index1= scanTestName(treeEntry, index0 + 1, testNameBuffer);
@@ -516,6 +573,8 @@ public class TestRunSession implements ITestRunSession {
 			parentId= treeEntry.substring(index4 + 1, index5);
 			if ("-1".equals(parentId)) { //$NON-NLS-1$
 				parentId= null;
+			} else {
+				parentId= idPrefix + parentId;
 			}
 
 			int index6= scanTestName(treeEntry, index5 + 1, displayNameBuffer);
@@ -568,6 +627,8 @@ public class TestRunSession implements ITestRunSession {
 		if (parameterTypes != null && parameterTypes.length > 1) {
 			parameterTypes= Arrays.stream(parameterTypes).map(String::trim).toArray(String[]::new);
 		}
+		testName= fTestElements.intern(testName);
+		parameterTypes= fTestElements.intern(parameterTypes);
 		if (isSuite) {
 			TestSuiteElement testSuiteElement= new TestSuiteElement(parent, id, testName, testCount, displayName, parameterTypes, uniqueId);
 			testElement= testSuiteElement;
@@ -579,7 +640,7 @@ public class TestRunSession implements ITestRunSession {
 		} else {
 			testElement= new TestCaseElement(parent, id, testName, displayName, isDynamicTest, parameterTypes, uniqueId);
 		}
-		fIdToTest.put(id, testElement);
+		fTestElements.put(id, testElement);
 		return testElement;
 	}
 
@@ -625,6 +686,23 @@ public class TestRunSession implements ITestRunSession {
 	 */
 	private class TestSessionNotifier implements ITestRunListener2 {
 
+		/**
+		 * Prefix of the test ids, which makes the ids of the shards of a test run unique.
+		 */
+		private final String fIdPrefix;
+
+		public TestSessionNotifier() {
+			this(""); //$NON-NLS-1$
+		}
+
+		public TestSessionNotifier(String idPrefix) {
+			fIdPrefix= idPrefix;
+		}
+
+		private String toId(String testId) {
+			return fIdPrefix.isEmpty() ? testId : fIdPrefix + testId;
+		}
+
 		@Override
 		public void testRunStarted(int testCount) {
 			fIncompleteTestSuites= new ArrayList<>();
@@ -676,7 +754,7 @@ public class TestRunSession implements ITestRunSession {
 
 		@Override
 		public void testTreeEntry(String description) {
-			TestElement testElement= addTreeEntry(description);
+			TestElement testElement= addTreeEntry(description, fIdPrefix);
 
 			for (ITestSessionListener listener : fSessionListeners) {
 				listener.testAdded(testElement);
@@ -685,7 +763,7 @@ public class TestRunSession implements ITestRunSession {
 
 		private TestElement createUnrootedTestElement(String testId, String testName) {
 			TestSuiteElement unrootedSuite= getUnrootedSuite();
-			TestElement testElement= createTestElement(unrootedSuite, testId, testName, false, 1, false, testName, null, null);
+			TestElement testElement= createTestElement(unrootedSuite, toId(testId), testName, false, 1, false, testName, null, null);
 
 			for (ITestSessionListener listener : fSessionListeners) {
 				listener.testAdded(testElement);
@@ -701,7 +779,7 @@ public class TestRunSession implements ITestRunSession {
 					listener.runningBegins();
 				}
 			}
-			TestElement testElement= getTestElement(testId);
+			TestElement testElement= getTestElement(toId(testId));
 			if (testElement == null) {
 				testElement= createUnrootedTestElement(testId, testName);
 			} else if (! (testElement instanceof TestCaseElement)) {
@@ -726,7 +804,7 @@ public class TestRunSession implements ITestRunSession {
 		public void testEnded(String testId, String testName) {
 			boolean isIgnored= testName.startsWith(MessageIds.IGNORED_TEST_PREFIX);
 
-			TestElement testElement= getTestElement(testId);
+			TestElement testElement= getTestElement(toId(testId));
 			if (testElement == null) {
 				testElement= createUnrootedTestElement(testId, testName);
 			} else if (! (testElement instanceof TestCaseElement)) {
@@ -756,7 +834,7 @@ public class TestRunSession implements ITestRunSession {
 
 		@Override
 		public void testFailed(int statusCode, String testId, String testName, String trace, String expected, String actual) {
-			TestElement testElement= getTestElement(testId);
+			TestElement testElement= getTestElement(toId(testId));
 			if (testElement == null) {
 				testElement= createUnrootedTestElement(testId, testName);
 			}
@@ -779,7 +857,7 @@ public class TestRunSession implements ITestRunSession {
 
 		@Override
 		public void testReran(String testId, String className, String testName, int statusCode, String trace, String expectedResult, String actualResult) {
-			TestElement testElement= getTestElement(testId);
+			TestElement testElement= getTestElement(toId(testId));
 			if (testElement == null) {
 				testElement= createUnrootedTestElement(testId, testName);
 			} else if (! (testElement instanceof TestCaseElement)) {
@@ -802,6 +880,138 @@ public class TestRunSession implements ITestRunSession {
 		}
 	}
 
+	/**
+	 * Merges the events of one shard of a test run that runs in several VMs into this session.
+	 * The ids of the tests of a shard are prefixed with the shard index. The session starts with
+	 * the first shard and ends when all shards have ended.
+	 */
+	private class ShardNotifier extends TestSessionNotifier {
+
+		private final RemoteTestRunnerClient fClient;
+
+		/**
+		 * The TestSuites of this shard for which additional children are expected.
+		 */
+		private List<IncompleteTestSuite> fShardIncompleteTestSuites= new ArrayList<>();
+
+		private List<IncompleteTestSuite> fShardFactoryTestSuites= new ArrayList<>();
+
+		private boolean fStarted;
+
+		private boolean fFinished;
+
+		public ShardNotifier(int shard, RemoteTestRunnerClient client) {
+			super(shard + ":"); //$NON-NLS-1$
+			fClient= client;
+		}
+
+		private void activate() {
+			fIncompleteTestSuites= fShardIncompleteTestSuites;
+			fFactoryTestSuites= fShardFactoryTestSuites;
+		}
+
+		@Override
+		public void testRunStarted(int testCount) {
+			synchronized (fShardLock) {
+				fStarted= true;
+				if (fStartedShards++ == 0) {
+					super.testRunStarted(testCount);
+				} else {
+					fTotalCount+= testCount;
+				}
+				activate();
+			}
+		}
+
+		@Override
+		public void testRunEnded(long elapsedTime) {
+			finish(elapsedTime, false, false);
+		}
+
+		@Override
+		public void testRunStopped(long elapsedTime) {
+			finish(elapsedTime, true, false);
+		}
+
+		@Override
+		public void testRunTerminated() {
+			finish(0, false, true);
+		}
+
+		/**
+		 * Stops waiting for the VM of this shard and finishes the shard if its VM never connected.
+		 */
+		void stopWaiting() {
+			fClient.stopWaiting();
+			synchronized (fShardLock) {
+				if (!fStarted && !fClient.isRunning())
+					finish(0, false, true);
+			}
+		}
+
+		private void finish(long elapsedTime, boolean stopped, boolean terminated) {
+			synchronized (fShardLock) {
+				if (fFinished)
+					return;
+				fFinished= true;
+				fShardsElapsedTime= Math.max(fShardsElapsedTime, elapsedTime);
+				fShardsStopped|= stopped;
+				fShardsTerminated|= terminated;
+				if (++fFinishedShards < fShardNotifiers.length)
+					return;
+
+				if (fShardsTerminated || fStartedShards == 0) {
+					// a session whose shards all died before starting is terminated as well
+					super.testRunTerminated();
+				} else if (fShardsStopped) {
+					super.testRunStopped(fShardsElapsedTime);
+				} else {
+					super.testRunEnded(fShardsElapsedTime);
+				}
+			}
+		}
+
+		@Override
+		public void testTreeEntry(String description) {
+			synchronized (fShardLock) {
+				activate();
+				super.testTreeEntry(description);
+			}
+		}
+
+		@Override
+		public void testStarted(String testId, String testName) {
+			synchronized (fShardLock) {
+				activate();
+				super.testStarted(testId, testName);
+			}
+		}
+
+		@Override
+		public void testEnded(String testId, String testName) {
+			synchronized (fShardLock) {
+				activate();
+				super.testEnded(testId, testName);
+			}
+		}
+
+		@Override
+		public void testFailed(int statusCode, String testId, String testName, String trace, String expected, String actual) {
+			synchronized (fShardLock) {
+				activate();
+				super.testFailed(statusCode, testId, testName, trace, expected, actual);
+			}
+		}
+
+		@Override
+		public void testReran(String testId, String className, String testName, int statusCode, String trace, String expectedResult, String actualResult) {
+			synchronized (fShardLock) {
+				activate();
+				super.testReran(testId, className, testName, statusCode, trace, expectedResult, actualResult);
+			}
+		}
+	}
+
 	private static class IncompleteTestSuite {
 		public TestSuiteElement fTestSuiteElement;
 		public int fOutstandingChildren;
@@ -0,0 +1,423 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit.model;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.eclipse.jdt.junit.model.ITestElement;
+
+import org.eclipse.jdt.internal.junit.JUnitCorePlugin;
+import org.eclipse.jdt.internal.junit.model.TestElement.Status;
+
+/**
+ * Binary file to which a {@link TestRunSession} is swapped when it is not shown.
+ * <p>
+ * The file starts with the failure traces, each compressed in a block of its own, followed by a
+ * table of the test names, class names, method names and parameter types, the test tree, and the
+ * offset of the name table. When a session is swapped in, the failure traces stay in the file
+ * until they are shown, see {@link TraceBlock}. To exchange test runs with other tools, use the
+ * XML format of {@link JUnitModel#exportTestRunSession(TestRunSession, File)}.
+ * </p>
+ */
+final class TestRunSessionSwapFile {
+
+	/** Identifies a swap file */
+	private static final int MAGIC= 0x4A555453;
+
+	/** The version of the swap file format, must be incremented whenever the format changes */
+	private static final int VERSION= 1;
+
+	/** File name extension of the XML swap files that have been written before this format */
+	private static final String LEGACY_EXTENSION= ".xml"; //$NON-NLS-1$
+
+	private static final int SUITE= 1;
+	private static final int DYNAMIC_TEST= 1 << 1;
+	private static final int IGNORED= 1 << 2;
+	private static final int ASSUMPTION_FAILED= 1 << 3;
+	private static final int TRACE= 1 << 4;
+	private static final int COMPARISON_FAILURE= 1 << 5;
+	/** The test name is stored as method name and class name, see {@link #splitTestName(String)} */
+	private static final int SPLIT_NAME= 1 << 6;
+
+	/**
+	 * The failure trace, expected and actual value of a test element in a swap file, which are
+	 * only read when they are needed.
+	 */
+	static final class TraceBlock {
+
+		private final File fFile;
+		private final long fOffset;
+		private final int fLength;
+		private final boolean fComparisonFailure;
+
+		TraceBlock(File file, long offset, int length, boolean comparisonFailure) {
+			fFile= file;
+			fOffset= offset;
+			fLength= length;
+			fComparisonFailure= comparisonFailure;
+		}
+
+		/**
+		 * @return <code>true</code> if the block contains an expected and an actual value
+		 */
+		boolean isComparisonFailure() {
+			return fComparisonFailure;
+		}
+
+		byte[] readCompressed() throws IOException {
+			byte[] bytes= new byte[fLength];
+			try (RandomAccessFile file= new RandomAccessFile(fFile, "r")) { //$NON-NLS-1$
+				file.seek(fOffset);
+				file.readFully(bytes);
+			}
+			return bytes;
+		}
+
+		/**
+		 * @return the trace, the expected and the actual value, each can be <code>null</code>
+		 */
+		String[] load() {
+			try (DataInputStream in= new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(readCompressed())))) {
+				return new String[] { readString(in), readString(in), readString(in) };
+			} catch (IOException e) {
+				JUnitCorePlugin.log(e);
+				return new String[3];
+			}
+		}
+	}
+
+	private TestRunSessionSwapFile() {
+	}
+
+	/**
+	 * Deletes the XML swap files of earlier versions from the history directory. They are never
+	 * read again, and are left behind if the workbench has not been shut down normally.
+	 */
+	static void deleteLegacySwapFiles() {
+		File[] files;
+		try {
+			files= JUnitCorePlugin.getHistoryDirectory().listFiles((directory, name) -> name.endsWith(LEGACY_EXTENSION));
+		} catch (IllegalStateException e) {
+			// no state location
+			return;
+		}
+		if (files != null) {
+			for (File file : files)
+				file.delete();
+		}
+	}
+
+	/**
+	 * Writes the test tree of the given session. The file is written to a temporary file first, so
+	 * that the trace blocks of the session that are still in the previous version of the file can be
+	 * copied.
+	 *
+	 * @param session the session
+	 * @param file the swap file
+	 * @throws IOException if writing fails
+	 */
+	static void write(TestRunSession session, File file) throws IOException {
+		File temporary= File.createTempFile(file.getName(), null, file.getParentFile());
+		try {
+			try (DataOutputStream out= new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary.toPath())))) {
+				new Writer(out).write(session);
+			}
+			Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			temporary= null;
+		} finally {
+			if (temporary != null)
+				temporary.delete();
+		}
+	}
+
+	private static class Writer {
+
+		private final DataOutputStream fOut;
+
+		/** The tree is written after the traces, so it is collected in memory */
+		private final ByteArrayOutputStream fTreeBytes= new ByteArrayOutputStream();
+
+		private final DataOutputStream fTree= new DataOutputStream(fTreeBytes);
+
+		private final Map<String, Integer> fNames= new HashMap<>();
+
+		private final ByteArrayOutputStream fNameBytes= new ByteArrayOutputStream();
+
+		private final DataOutputStream fNameTable= new DataOutputStream(fNameBytes);
+
+		Writer(DataOutputStream out) {
+			fOut= out;
+		}
+
+		void write(TestRunSession session) throws IOException {
+			fOut.writeInt(MAGIC);
+			fOut.writeInt(VERSION);
+
+			fTree.writeInt(session.fTotalCount);
+			fTree.writeInt(session.fStartedCount);
+			fTree.writeInt(session.fFailureCount);
+			fTree.writeInt(session.fErrorCount);
+			fTree.writeInt(session.fIgnoredCount);
+			fTree.writeInt(session.fAssumptionFailureCount);
+			writeChildren(session.getTestRoot());
+
+			fTree.flush();
+			fNameTable.flush();
+			long nameTableOffset= fOut.size();
+			fOut.writeInt(fNames.size());
+			fNameBytes.writeTo(fOut);
+			fTreeBytes.writeTo(fOut);
+			fOut.writeLong(nameTableOffset);
+		}
+
+		private void writeChildren(TestSuiteElement suite) throws IOException {
+			ITestElement[] children= suite.getChildren();
+			fTree.writeInt(children.length);
+			for (ITestElement child : children) {
+				writeElement((TestElement) child);
+			}
+		}
+
+		private void writeElement(TestElement element) throws IOException {
+			String testName= element.getTestName();
+			int split= splitTestName(testName);
+			TraceBlock traceBlock= element.getTraceBlock();
+
+			int flags= 0;
+			if (element instanceof TestSuiteElement)
+				flags|= SUITE;
+			if (element instanceof TestCaseElement) {
+				TestCaseElement testCase= (TestCaseElement) element;
+				if (testCase.isDynamicTest())
+					flags|= DYNAMIC_TEST;
+				if (testCase.isIgnored())
+					flags|= IGNORED;
+			}
+			if (element.isAssumptionFailure())
+				flags|= ASSUMPTION_FAILED;
+			if (traceBlock != null || element.getTrace() != null || element.getExpected() != null || element.getActual() != null)
+				flags|= TRACE;
+			if (traceBlock != null ? traceBlock.isComparisonFailure() : element.isComparisonFailure())
+				flags|= COMPARISON_FAILURE;
+			if (split != -1)
+				flags|= SPLIT_NAME;
+			fTree.writeByte(flags);
+
+			writeString(fTree, element.getId());
+			if (split != -1) {
+				fTree.writeInt(intern(testName.substring(0, split)));
+				fTree.writeInt(intern(testName.substring(split)));
+			} else {
+				fTree.writeInt(intern(testName));
+			}
+			fTree.writeInt(intern(element.getDisplayName()));
+			String[] parameterTypes= element.getParameterTypes();
+			if (parameterTypes == null) {
+				fTree.writeInt(-1);
+			} else {
+				fTree.writeInt(parameterTypes.length);
+				for (String parameterType : parameterTypes)
+					fTree.writeInt(intern(parameterType));
+			}
+			writeString(fTree, element.getUniqueId());
+
+			Status status= element instanceof TestSuiteElement ? ((TestSuiteElement) element).getSuiteStatus() : element.getStatus();
+			fTree.writeByte(status.getOldCode());
+			fTree.writeDouble(element.getElapsedTimeInSeconds());
+
+			if ((flags & TRACE) != 0) {
+				byte[] block= traceBlock != null ? traceBlock.readCompressed() : compress(element.getTrace(), element.getExpected(), element.getActual());
+				fTree.writeLong(fOut.size());
+				fTree.writeInt(block.length);
+				fOut.write(block);
+			}
+
+			if (element instanceof TestSuiteElement)
+				writeChildren((TestSuiteElement) element);
+		}
+
+		private int intern(String name) throws IOException {
+			if (name == null)
+				return -1;
+			Integer index= fNames.get(name);
+			if (index == null) {
+				index= Integer.valueOf(fNames.size());
+				fNames.put(name, index);
+				writeString(fNameTable, name);
+			}
+			return index.intValue();
+		}
+
+		private static byte[] compress(String trace, String expected, String actual) throws IOException {
+			ByteArrayOutputStream bytes= new ByteArrayOutputStream();
+			try (DataOutputStream out= new DataOutputStream(new DeflaterOutputStream(bytes))) {
+				writeString(out, trace);
+				writeString(out, expected);
+				writeString(out, actual);
+			}
+			return bytes.toByteArray();
+		}
+	}
+
+	/**
+	 * Reads the test tree of the given session. The failure traces are not read, see
+	 * {@link TraceBlock}.
+	 *
+	 * @param file the swap file
+	 * @param session the session, which is reset
+	 * @throws IOException if reading fails
+	 */
+	static void read(File file, TestRunSession session) throws IOException {
+		String[] names;
+		long nameTableOffset;
+		try (RandomAccessFile randomAccessFile= new RandomAccessFile(file, "r")) { //$NON-NLS-1$
+			if (randomAccessFile.length() < 16 || randomAccessFile.readInt() != MAGIC || randomAccessFile.readInt() != VERSION)
+				throw new IOException("Invalid test run swap file " + file); //$NON-NLS-1$
+			randomAccessFile.seek(randomAccessFile.length() - 8);
+			nameTableOffset= randomAccessFile.readLong();
+		}
+
+		try (InputStream stream= Files.newInputStream(file.toPath())) {
+			if (stream.skip(nameTableOffset) != nameTableOffset)
+				throw new IOException("Invalid test run swap file " + file); //$NON-NLS-1$
+			DataInputStream in= new DataInputStream(new BufferedInputStream(stream));
+			names= new String[in.readInt()];
+			for (int i= 0; i < names.length; i++)
+				names[i]= readString(in);
+
+			session.reset();
+			session.fTotalCount= in.readInt();
+			session.fStartedCount= in.readInt();
+			session.fFailureCount= in.readInt();
+			session.fErrorCount= in.readInt();
+			session.fIgnoredCount= in.readInt();
+			session.fAssumptionFailureCount= in.readInt();
+			new Reader(file, in, names, session).readChildren(session.getTestRoot());
+		} catch (IndexOutOfBoundsException e) {
+			throw new IOException("Invalid test run swap file " + file, e); //$NON-NLS-1$
+		}
+	}
+
+	private static class Reader {
+
+		private final File fFile;
+		private final DataInputStream fIn;
+		private final String[] fNames;
+		private final TestRunSession fSession;
+
+		Reader(File file, DataInputStream in, String[] names, TestRunSession session) {
+			fFile= file;
+			fIn= in;
+			fNames= names;
+			fSession= session;
+		}
+
+		void readChildren(TestSuiteElement suite) throws IOException {
+			int count= fIn.readInt();
+			for (int i= 0; i < count; i++)
+				readElement(suite);
+		}
+
+		private void readElement(TestSuiteElement parent) throws IOException {
+			int flags= fIn.readByte();
+			String id= readString(fIn);
+			String testName= getName(fIn.readInt());
+			if ((flags & SPLIT_NAME) != 0)
+				testName+= getName(fIn.readInt());
+			String displayName= getName(fIn.readInt());
+			int parameterCount= fIn.readInt();
+			String[] parameterTypes= null;
+			if (parameterCount >= 0) {
+				parameterTypes= new String[parameterCount];
+				for (int i= 0; i < parameterCount; i++)
+					parameterTypes[i]= getName(fIn.readInt());
+			}
+			String uniqueId= readString(fIn);
+			Status status= Status.fromOldCode(fIn.readByte());
+			double time= fIn.readDouble();
+
+			boolean isSuite= (flags & SUITE) != 0;
+			TestElement element= fSession.createTestElement(parent, id, testName, isSuite, 0, (flags & DYNAMIC_TEST) != 0, displayName, parameterTypes, uniqueId);
+			if ((flags & TRACE) != 0) {
+				long offset= fIn.readLong();
+				int length= fIn.readInt();
+				element.setTraceBlock(new TraceBlock(fFile, offset, length, (flags & COMPARISON_FAILURE) != 0));
+			}
+			element.setAssumptionFailed((flags & ASSUMPTION_FAILED) != 0);
+			if (element instanceof TestCaseElement)
+				((TestCaseElement) element).setIgnored((flags & IGNORED) != 0);
+
+			if (isSuite)
+				readChildren((TestSuiteElement) element);
+
+			// like in a test run, the status of the children is set before the status of their suite
+			if (status != Status.NOT_RUN)
+				element.setStatus(status);
+			element.setElapsedTimeInSeconds(time);
+		}
+
+		private String getName(int index) {
+			return index == -1 ? null : fNames[index];
+		}
+	}
+
+	/**
+	 * @param testName a test name
+	 * @return the index of the class name if the test name has the form <code>method(class)</code>,
+	 *         <code>-1</code> otherwise
+	 */
+	private static int splitTestName(String testName) {
+		if (!testName.endsWith(")")) //$NON-NLS-1$
+			return -1;
+		int index= testName.lastIndexOf('(');
+		return index > 0 ? index : -1;
+	}
+
+	private static void writeString(DataOutputStream out, String s) throws IOException {
+		if (s == null) {
+			out.writeInt(-1);
+			return;
+		}
+		byte[] bytes= s.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static String readString(DataInputStream in) throws IOException {
+		int length= in.readInt();
+		if (length == -1)
+			return null;
+		if (length < 0)
+			throw new IOException("Invalid test run swap file"); //$NON-NLS-1$
+		byte[] bytes= new byte[length];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -71,6 +71,8 @@ import org.eclipse.jdt.internal.junit.launcher.ITestKind;
 import org.eclipse.jdt.internal.junit.launcher.JUnitLaunchConfigurationConstants;
 import org.eclipse.jdt.internal.junit.launcher.JUnitRuntimeClasspathEntry;
 import org.eclipse.jdt.internal.junit.launcher.TestKindRegistry;
+import org.eclipse.jdt.internal.junit.launcher.TestShardBalancer;
+import org.eclipse.jdt.internal.junit.runner.MessageIds;
 import org.eclipse.jdt.internal.junit.util.CoreTestSearchEngine;
 import org.eclipse.jdt.internal.junit.util.IJUnitStatusConstants;
 
@@ -97,15 +99,34 @@ public class JUnitLaunchConfigurationDelegate extends AbstractJavaLaunchConfigur
 	private int fPort;
 	private IJavaElement[] fTestElements;
 
+	/**
+	 * The test classes of each VM if the tests are split among several VMs, or <code>null</code>.
+	 */
+	private IJavaElement[][] fShards;
+	private int[] fShardPorts;
+
 	private static final String DEFAULT= "<default>"; //$NON-NLS-1$
 
+	/**
+	 * Asks the test runner to report results in its binary protocol. The protocol is
+	 * detected when the runner connects, so runners that don't support it keep using
+	 * the text protocol.
+	 */
+	private static final boolean BINARY_PROTOCOL= Boolean.getBoolean("org.eclipse.jdt.junit.binaryProtocol"); //$NON-NLS-1$
+
+	/**
+	 * The number of VMs among which the test classes are split if the launch configuration does
+	 * not specify {@link JUnitLaunchConfigurationConstants#ATTR_SHARD_COUNT}.
+	 */
+	private static final int DEFAULT_SHARD_COUNT= Integer.getInteger("org.eclipse.jdt.junit.shardCount", 1).intValue(); //$NON-NLS-1$
+
 	@Override
 	public String showCommandLine(ILaunchConfiguration configuration, String mode, ILaunch launch, IProgressMonitor monitor) throws CoreException {
 		if (monitor == null) {
 			monitor = new NullProgressMonitor();
 		}
 		try {
-			VMRunnerConfiguration runConfig = getVMRunnerConfiguration(configuration, launch, mode, monitor);
+			VMRunnerConfiguration runConfig = getVMRunnerConfiguration(configuration, launch, mode, false, monitor);
 			if (runConfig == null) {
 				return ""; //$NON-NLS-1$
 			}
@@ -122,7 +143,7 @@ public class JUnitLaunchConfigurationDelegate extends AbstractJavaLaunchConfigur
 		}
 	}
 
-	private VMRunnerConfiguration getVMRunnerConfiguration(ILaunchConfiguration configuration, ILaunch launch, String mode, IProgressMonitor monitor) throws CoreException {
+	private VMRunnerConfiguration getVMRunnerConfiguration(ILaunchConfiguration configuration, ILaunch launch, String mode, boolean shard, IProgressMonitor monitor) throws CoreException {
 		VMRunnerConfiguration runConfig = null;
 			monitor.beginTask(MessageFormat.format("{0}...", configuration.getName()), 5); //$NON-NLS-1$
 		// check for cancellation
@@ -154,118 +175,170 @@ public class JUnitLaunchConfigurationDelegate extends AbstractJavaLaunchConfigur
 
 			fKeepAlive= ILaunchManager.DEBUG_MODE.equals(mode) && configuration.getAttribute(JUnitLaunchConfigurationConstants.ATTR_KEEPRUNNING, false);
 			fPort= evaluatePort();
-			launch.setAttribute(JUnitLaunchConfigurationConstants.ATTR_PORT, String.valueOf(fPort));
 
+			int shardCount= shard ? configuration.getAttribute(JUnitLaunchConfigurationConstants.ATTR_SHARD_COUNT, DEFAULT_SHARD_COUNT) : 1;
 			ITestKind testKind= getTestRunnerKind(configuration);
 			IJavaProject javaProject= getJavaProject(configuration);
 			if (TestKindRegistry.JUNIT3_TEST_KIND_ID.equals(testKind.getId()) || TestKindRegistry.JUNIT4_TEST_KIND_ID.equals(testKind.getId())) {
 				fTestElements= evaluateTests(configuration, new SubProgressMonitor(monitor, 1));
 			} else {
 				IJavaElement testTarget= getTestTarget(configuration, javaProject);
-				if (testTarget instanceof IPackageFragment || testTarget instanceof IPackageFragmentRoot || testTarget instanceof IJavaProject) {
+				if ((testTarget instanceof IPackageFragment || testTarget instanceof IPackageFragmentRoot || testTarget instanceof IJavaProject) && shardCount <= 1) {
 					fTestElements= new IJavaElement[] { testTarget };
 				} else {
+					// the test classes of a container are only searched if they are split among several VMs
 					fTestElements= evaluateTests(configuration, new SubProgressMonitor(monitor, 1));
 				}
 			}
 
-			String mainTypeName= verifyMainTypeName(configuration);
-
-
-			File workingDir = verifyWorkingDirectory(configuration);
-			String workingDirName = null;
-			if (workingDir != null) {
-				workingDirName= workingDir.getAbsolutePath();
+			fShards= shardCount > 1 ? createShards(configuration, fTestElements, shardCount) : null;
+			if (fShards != null) {
+				// the VMs of a sharded launch can't be kept alive for reruns
+				fKeepAlive= false;
+				fTestElements= fShards[0];
+				fShardPorts= new int[fShards.length];
+				fShardPorts[0]= fPort;
+				StringBuilder shardPorts= new StringBuilder(String.valueOf(fPort));
+				for (int i= 1; i < fShards.length; i++) {
+					fShardPorts[i]= evaluatePort();
+					shardPorts.append(',').append(fShardPorts[i]);
+				}
+				// the test run session is created when the port is set, so the shard ports must be set first
+				launch.setAttribute(JUnitLaunchConfigurationConstants.ATTR_SHARD_PORTS, shardPorts.toString());
 			}
+			launch.setAttribute(JUnitLaunchConfigurationConstants.ATTR_PORT, String.valueOf(fPort));
 
-			// Environment variables
-			String[] envp= getEnvironment(configuration);
+			runConfig= createVMRunnerConfiguration(configuration, mode);
 
-			ArrayList<String> vmArguments= new ArrayList<>();
-			ArrayList<String> programArguments= new ArrayList<>();
-			collectExecutionArguments(configuration, vmArguments, programArguments);
-			vmArguments.addAll(Arrays.asList(DebugPlugin.parseArguments(getVMArguments(configuration, mode))));
-			if (JavaRuntime.isModularProject(javaProject)) {
-				vmArguments.add("--add-modules=ALL-MODULE-PATH"); //$NON-NLS-1$
+			// check for cancellation
+			if (monitor.isCanceled()) {
+				return null;
 			}
+		}finally {
+			// done the verification phase
+			monitor.worked(1);
+		}
+		return runConfig;
+	}
 
-			// VM-specific attributes
-			Map<String, Object> vmAttributesMap= getVMSpecificAttributesMap(configuration);
-
-			// Classpath and modulepath
-			String[][] classpathAndModulepath= getClasspathAndModulepath(configuration);
-			String[] classpath= classpathAndModulepath[0];
-			String[] modulepath= classpathAndModulepath[1];
-
-			if (TestKindRegistry.JUNIT5_TEST_KIND_ID.equals(getTestRunnerKind(configuration).getId())) {
-				if (!configuration.getAttribute(JUnitLaunchConfigurationConstants.ATTR_DONT_ADD_MISSING_JUNIT5_DEPENDENCY, false)) {
-					if (!Arrays.stream(classpath).anyMatch(s -> s.contains("junit-platform-launcher") || s.contains("org.junit.platform.launcher"))) { //$NON-NLS-1$ //$NON-NLS-2$
-						try {
-							JUnitRuntimeClasspathEntry x= new JUnitRuntimeClasspathEntry("junit-platform-launcher", null); //$NON-NLS-1$
-							String entryString= new ClasspathLocalizer(Platform.inDevelopmentMode()).entryString(x);
-							int length= classpath.length;
-							System.arraycopy(classpath, 0, classpath= new String[length + 1], 0, length);
-							classpath[length]= entryString;
-						} catch (IOException | URISyntaxException e) {
-							throw new CoreException(new Status(IStatus.ERROR, JUnitCorePlugin.CORE_PLUGIN_ID, IStatus.ERROR, "", e)); //$NON-NLS-1$
-						}
+	private VMRunnerConfiguration createVMRunnerConfiguration(ILaunchConfiguration configuration, String mode) throws CoreException {
+		IJavaProject javaProject= getJavaProject(configuration);
+		String mainTypeName= verifyMainTypeName(configuration);
+
+		File workingDir = verifyWorkingDirectory(configuration);
+		String workingDirName = null;
+		if (workingDir != null) {
+			workingDirName= workingDir.getAbsolutePath();
+		}
+
+		// Environment variables
+		String[] envp= getEnvironment(configuration);
+
+		ArrayList<String> vmArguments= new ArrayList<>();
+		ArrayList<String> programArguments= new ArrayList<>();
+		collectExecutionArguments(configuration, vmArguments, programArguments);
+		vmArguments.addAll(Arrays.asList(DebugPlugin.parseArguments(getVMArguments(configuration, mode))));
+		if (JavaRuntime.isModularProject(javaProject)) {
+			vmArguments.add("--add-modules=ALL-MODULE-PATH"); //$NON-NLS-1$
+		}
+
+		// VM-specific attributes
+		Map<String, Object> vmAttributesMap= getVMSpecificAttributesMap(configuration);
+
+		// Classpath and modulepath
+		String[][] classpathAndModulepath= getClasspathAndModulepath(configuration);
+		String[] classpath= classpathAndModulepath[0];
+		String[] modulepath= classpathAndModulepath[1];
+
+		if (TestKindRegistry.JUNIT5_TEST_KIND_ID.equals(getTestRunnerKind(configuration).getId())) {
+			if (!configuration.getAttribute(JUnitLaunchConfigurationConstants.ATTR_DONT_ADD_MISSING_JUNIT5_DEPENDENCY, false)) {
+				if (!Arrays.stream(classpath).anyMatch(s -> s.contains("junit-platform-launcher") || s.contains("org.junit.platform.launcher"))) { //$NON-NLS-1$ //$NON-NLS-2$
+					try {
+						JUnitRuntimeClasspathEntry x= new JUnitRuntimeClasspathEntry("junit-platform-launcher", null); //$NON-NLS-1$
+						String entryString= new ClasspathLocalizer(Platform.inDevelopmentMode()).entryString(x);
+						int length= classpath.length;
+						System.arraycopy(classpath, 0, classpath= new String[length + 1], 0, length);
+						classpath[length]= entryString;
+					} catch (IOException | URISyntaxException e) {
+						throw new CoreException(new Status(IStatus.ERROR, JUnitCorePlugin.CORE_PLUGIN_ID, IStatus.ERROR, "", e)); //$NON-NLS-1$
 					}
-					if (!Arrays.stream(classpath).anyMatch(s -> s.contains("junit-jupiter-engine") || s.contains("org.junit.jupiter.engine"))) { //$NON-NLS-1$ //$NON-NLS-2$
-						try {
-							JUnitRuntimeClasspathEntry x= new JUnitRuntimeClasspathEntry("junit-jupiter-engine", null); //$NON-NLS-1$
-							String entryString= new ClasspathLocalizer(false).entryString(x);
-							int length= classpath.length;
-							System.arraycopy(classpath, 0, classpath= new String[length + 1], 0, length);
-							classpath[length]= entryString;
-						} catch (IOException | URISyntaxException e) {
-							throw new CoreException(new Status(IStatus.ERROR, JUnitCorePlugin.CORE_PLUGIN_ID, IStatus.ERROR, "", e)); //$NON-NLS-1$
-						}
+				}
+				if (!Arrays.stream(classpath).anyMatch(s -> s.contains("junit-jupiter-engine") || s.contains("org.junit.jupiter.engine"))) { //$NON-NLS-1$ //$NON-NLS-2$
+					try {
+						JUnitRuntimeClasspathEntry x= new JUnitRuntimeClasspathEntry("junit-jupiter-engine", null); //$NON-NLS-1$
+						String entryString= new ClasspathLocalizer(false).entryString(x);
+						int length= classpath.length;
+						System.arraycopy(classpath, 0, classpath= new String[length + 1], 0, length);
+						classpath[length]= entryString;
+					} catch (IOException | URISyntaxException e) {
+						throw new CoreException(new Status(IStatus.ERROR, JUnitCorePlugin.CORE_PLUGIN_ID, IStatus.ERROR, "", e)); //$NON-NLS-1$
 					}
-					if (!Arrays.stream(classpath).anyMatch(s -> s.contains("junit-jupiter-api") || s.contains("org.junit.jupiter.api"))) { //$NON-NLS-1$ //$NON-NLS-2$
-						try {
-							JUnitRuntimeClasspathEntry x= new JUnitRuntimeClasspathEntry("junit-jupiter-api", null); //$NON-NLS-1$
-							String entryString= new ClasspathLocalizer(false).entryString(x);
-							int length= classpath.length;
-							System.arraycopy(classpath, 0, classpath= new String[length + 1], 0, length);
-							classpath[length]= entryString;
-						} catch (IOException | URISyntaxException e) {
-							throw new CoreException(new Status(IStatus.ERROR, JUnitCorePlugin.CORE_PLUGIN_ID, IStatus.ERROR, "", e)); //$NON-NLS-1$
-						}
+				}
+				if (!Arrays.stream(classpath).anyMatch(s -> s.contains("junit-jupiter-api") || s.contains("org.junit.jupiter.api"))) { //$NON-NLS-1$ //$NON-NLS-2$
+					try {
+						JUnitRuntimeClasspathEntry x= new JUnitRuntimeClasspathEntry("junit-jupiter-api", null); //$NON-NLS-1$
+						String entryString= new ClasspathLocalizer(false).entryString(x);
+						int length= classpath.length;
+						System.arraycopy(classpath, 0, classpath= new String[length + 1], 0, length);
+						classpath[length]= entryString;
+					} catch (IOException | URISyntaxException e) {
+						throw new CoreException(new Status(IStatus.ERROR, JUnitCorePlugin.CORE_PLUGIN_ID, IStatus.ERROR, "", e)); //$NON-NLS-1$
 					}
 				}
 			}
+		}
 
-			// Create VM config
-			runConfig= new VMRunnerConfiguration(mainTypeName, classpath);
-			runConfig.setVMArguments(vmArguments.toArray(new String[vmArguments.size()]));
-			runConfig.setProgramArguments(programArguments.toArray(new String[programArguments.size()]));
-			runConfig.setEnvironment(envp);
-			runConfig.setWorkingDirectory(workingDirName);
-			runConfig.setVMSpecificAttributesMap(vmAttributesMap);
-			runConfig.setPreviewEnabled(supportsPreviewFeatures(configuration));
+		// Create VM config
+		VMRunnerConfiguration runConfig= new VMRunnerConfiguration(mainTypeName, classpath);
+		runConfig.setVMArguments(vmArguments.toArray(new String[vmArguments.size()]));
+		runConfig.setProgramArguments(programArguments.toArray(new String[programArguments.size()]));
+		runConfig.setEnvironment(envp);
+		runConfig.setWorkingDirectory(workingDirName);
+		runConfig.setVMSpecificAttributesMap(vmAttributesMap);
+		runConfig.setPreviewEnabled(supportsPreviewFeatures(configuration));
 
-			if (!JavaRuntime.isModularConfiguration(configuration)) {
-				// Bootpath
-				runConfig.setBootClassPath(getBootpath(configuration));
+		if (!JavaRuntime.isModularConfiguration(configuration)) {
+			// Bootpath
+			runConfig.setBootClassPath(getBootpath(configuration));
+		} else {
+			// module path
+			runConfig.setModulepath(modulepath);
+			if (!configuration.getAttribute(IJavaLaunchConfigurationConstants.ATTR_DEFAULT_MODULE_CLI_OPTIONS, true)) {
+				runConfig.setOverrideDependencies(configuration.getAttribute(IJavaLaunchConfigurationConstants.ATTR_MODULE_CLI_OPTIONS, "")); //$NON-NLS-1$
 			} else {
-				// module path
-				runConfig.setModulepath(modulepath);
-				if (!configuration.getAttribute(IJavaLaunchConfigurationConstants.ATTR_DEFAULT_MODULE_CLI_OPTIONS, true)) {
-					runConfig.setOverrideDependencies(configuration.getAttribute(IJavaLaunchConfigurationConstants.ATTR_MODULE_CLI_OPTIONS, "")); //$NON-NLS-1$
-				} else {
-					runConfig.setOverrideDependencies(getModuleCLIOptions(configuration));
-				}
+				runConfig.setOverrideDependencies(getModuleCLIOptions(configuration));
 			}
+		}
+		return runConfig;
+	}
 
-			// check for cancellation
-			if (monitor.isCanceled()) {
+	/**
+	 * Splits the test classes among the given number of VMs, balanced by the durations of the
+	 * test classes in previous runs of the launch configuration.
+	 *
+	 * @param configuration the launch configuration
+	 * @param testElements the tests to run
+	 * @param shardCount the number of VMs
+	 * @return the test classes of each VM, or <code>null</code> if the tests can't be split
+	 */
+	private IJavaElement[][] createShards(ILaunchConfiguration configuration, IJavaElement[] testElements, int shardCount) {
+		if (testElements.length < 2)
+			return null;
+		List<IType> types= new ArrayList<>(testElements.length);
+		for (IJavaElement testElement : testElements) {
+			if (!(testElement instanceof IType))
 				return null;
-			}
-		}finally {
-			// done the verification phase
-			monitor.worked(1);
+			types.add((IType) testElement);
 		}
-		return runConfig;
+
+		Map<String, Double> durations= TestShardBalancer.getHistoricalDurations(configuration.getName());
+		List<List<IType>> shards= TestShardBalancer.balance(types,
+				type -> durations.getOrDefault(type.getFullyQualifiedName('.'), Double.valueOf(Double.NaN)).doubleValue(), shardCount);
+		IJavaElement[][] result= new IJavaElement[shards.size()][];
+		for (int i= 0; i < result.length; i++) {
+			result[i]= shards.get(i).toArray(new IJavaElement[0]);
+		}
+		return result;
 	}
 
 	@Override
@@ -276,7 +349,7 @@ public class JUnitLaunchConfigurationDelegate extends AbstractJavaLaunchConfigur
 
 		try {
 
-			VMRunnerConfiguration runConfig = getVMRunnerConfiguration(configuration, launch, mode, monitor);
+			VMRunnerConfiguration runConfig = getVMRunnerConfiguration(configuration, launch, mode, true, monitor);
 			if ( monitor.isCanceled() || runConfig == null) {
 				return;
 			}
@@ -289,12 +362,23 @@ public class JUnitLaunchConfigurationDelegate extends AbstractJavaLaunchConfigur
 			// Launch the configuration - 1 unit of work
 			runner.run(runConfig, launch, monitor);
 
+			if (fShards != null) {
+				String vmMode= JUnitLaunchConfigurationConstants.MODE_RUN_QUIETLY_MODE.equals(mode) ? ILaunchManager.RUN_MODE : mode;
+				for (int i= 1; i < fShards.length && !monitor.isCanceled(); i++) {
+					fPort= fShardPorts[i];
+					fTestElements= fShards[i];
+					runner.run(createVMRunnerConfiguration(configuration, vmMode), launch, monitor);
+				}
+			}
+
 			// check for cancellation
 			if (monitor.isCanceled()) {
 				return;
 			}
 		} finally {
 			fTestElements= null;
+			fShards= null;
+			fShardPorts= null;
 			monitor.done();
 		}
 	}
@@ -439,6 +523,9 @@ public class JUnitLaunchConfigurationDelegate extends AbstractJavaLaunchConfigur
 		programArguments.add("-port"); //$NON-NLS-1$
 		programArguments.add(String.valueOf(fPort));
 
+		if (BINARY_PROTOCOL)
+			programArguments.add(MessageIds.BINARY_PROTOCOL_ARG);
+
 		if (fKeepAlive)
 			programArguments.add(0, "-keepalive"); //$NON-NLS-1$
 
@@ -0,0 +1,176 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jdt.internal.junit.runner;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads the messages sent by a {@link BinaryMessageSender}, one event at a time.
+ */
+public class BinaryMessageReader {
+
+	/**
+	 * Tells whether the connection uses the binary protocol, without consuming
+	 * any input.
+	 *
+	 * @param in the stream of the connection, must support mark and reset
+	 * @return <code>true</code> if the connection starts with {@link MessageIds#BINARY_PROTOCOL_MAGIC}
+	 * @throws IOException if reading fails
+	 */
+	public static boolean isBinaryProtocol(InputStream in) throws IOException {
+		in.mark(4);
+		try {
+			int magic= 0;
+			for (int i= 0; i < 4; i++) {
+				int b= in.read();
+				if (b == -1)
+					return false;
+				magic= magic << 8 | b;
+			}
+			return magic == MessageIds.BINARY_PROTOCOL_MAGIC;
+		} finally {
+			in.reset();
+		}
+	}
+
+	private final DataInputStream fIn;
+
+	private final String fLineDelimiter;
+
+	private ByteBuffer fFrame;
+
+	private String fHeader;
+
+	private int fTestId;
+
+	private String fArgument;
+
+	/**
+	 * Creates a reader and reads the start of the binary protocol.
+	 *
+	 * @param in the stream of the connection
+	 * @throws IOException if reading fails or if the protocol version is not supported
+	 */
+	public BinaryMessageReader(InputStream in) throws IOException {
+		fIn= new DataInputStream(in);
+		if (fIn.readInt() != MessageIds.BINARY_PROTOCOL_MAGIC)
+			throw new IOException("Not a binary test runner connection"); //$NON-NLS-1$
+		int version= fIn.readInt();
+		if (version != MessageIds.BINARY_PROTOCOL_VERSION)
+			throw new IOException("Unsupported binary test runner protocol version " + version); //$NON-NLS-1$
+		fLineDelimiter= new String(readBytes(fIn.readInt()), StandardCharsets.UTF_8);
+		fFrame= ByteBuffer.allocate(0);
+	}
+
+	/**
+	 * @return the line delimiter of the runner, which ends each message of the text protocol
+	 */
+	public String getLineDelimiter() {
+		return fLineDelimiter;
+	}
+
+	/**
+	 * Reads the next event, waiting for the next frame if needed.
+	 *
+	 * @return <code>false</code> if the connection has been closed
+	 * @throws IOException if reading fails
+	 */
+	public boolean next() throws IOException {
+		try {
+			return readEvent();
+		} catch (BufferUnderflowException e) {
+			throw new IOException("Invalid binary test runner frame", e); //$NON-NLS-1$
+		}
+	}
+
+	private boolean readEvent() throws IOException {
+		while (!fFrame.hasRemaining()) {
+			int length;
+			try {
+				length= fIn.readInt();
+			} catch (EOFException e) {
+				return false;
+			}
+			fFrame= ByteBuffer.wrap(readBytes(length));
+		}
+
+		int kind= fFrame.get() & 0xff;
+		int index= kind & ~BinaryMessageSender.HAS_TEST_ID;
+		if (index > BinaryMessageSender.HEADERS.length)
+			throw new IOException("Unknown binary test runner event " + kind); //$NON-NLS-1$
+		fHeader= index == 0 ? null : BinaryMessageSender.HEADERS[index - 1];
+		fTestId= (kind & BinaryMessageSender.HAS_TEST_ID) != 0 ? fFrame.getInt() : -1;
+		fArgument= readString(fFrame);
+		return true;
+	}
+
+	/**
+	 * @return the header of the current message, one of the {@link MessageIds},
+	 * or <code>null</code> if the message has no header
+	 */
+	public String getHeader() {
+		return fHeader;
+	}
+
+	/**
+	 * @return the test id of the current message or <code>-1</code> if it has none
+	 */
+	public int getTestId() {
+		return fTestId;
+	}
+
+	/**
+	 * @return the argument of the current message, that is the message without
+	 * header and without test id
+	 */
+	public String getArgument() {
+		return fArgument;
+	}
+
+	/**
+	 * @return the current message as it is sent in the text protocol
+	 */
+	public String getMessage() {
+		if (fHeader == null)
+			return fArgument;
+		if (fTestId == -1)
+			return fHeader + fArgument;
+		return fHeader + fTestId + ',' + fArgument;
+	}
+
+	private byte[] readBytes(int length) throws IOException {
+		if (length < 0)
+			throw new IOException("Invalid binary test runner frame"); //$NON-NLS-1$
+		byte[] bytes= new byte[length];
+		fIn.readFully(bytes);
+		return bytes;
+	}
+
+	private static String readString(ByteBuffer frame) throws IOException {
+		int length= frame.getInt();
+		if (length < 0 || length > frame.remaining())
+			throw new IOException("Invalid binary test runner frame"); //$NON-NLS-1$
+		int position= frame.position();
+		String s= new String(frame.array(), frame.arrayOffset() + position, length, StandardCharsets.UTF_8);
+		frame.position(position + length);
+		return s;
+	}
+}
@@ -0,0 +1,249 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jdt.internal.junit.runner;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Timer;
+import java.util.TimerTask;
+
+/**
+ * Sends the messages of the RemoteTestRunner in the binary protocol.
+ * <p>
+ * The connection starts with {@link MessageIds#BINARY_PROTOCOL_MAGIC},
+ * {@link MessageIds#BINARY_PROTOCOL_VERSION} and the line delimiter of the runner.
+ * Then follow frames, each is an int with the length of the frame followed by
+ * the events of the frame. The events are collected until the frame is full,
+ * {@link #FLUSH_DELAY} milliseconds after {@link #flush()} has been called or
+ * until {@link #sendPendingEvents()} is called, so that many events are sent at
+ * once even though the test listeners flush after each event.
+ * </p>
+ * <p>
+ * An event is one message: a byte with the index of the message header in
+ * {@link #HEADERS} plus one, or <code>0</code> for a message without header,
+ * like the lines of a stack trace. If {@link #HAS_TEST_ID} is set in that byte,
+ * an int with the test id follows. Then follows the rest of the message as an
+ * int with the number of bytes and the UTF-8 encoded characters, so that a
+ * stack trace is sent in one piece.
+ * </p>
+ *
+ * @see BinaryMessageReader
+ */
+public class BinaryMessageSender implements MessageSender {
+
+	/**
+	 * The message headers that are sent as a single byte.
+	 */
+	static final String[] HEADERS= {
+		MessageIds.TRACE_START,
+		MessageIds.TRACE_END,
+		MessageIds.EXPECTED_START,
+		MessageIds.EXPECTED_END,
+		MessageIds.ACTUAL_START,
+		MessageIds.ACTUAL_END,
+		MessageIds.RTRACE_START,
+		MessageIds.RTRACE_END,
+		MessageIds.TEST_RUN_START,
+		MessageIds.TEST_START,
+		MessageIds.TEST_END,
+		MessageIds.TEST_ERROR,
+		MessageIds.TEST_FAILED,
+		MessageIds.TEST_RUN_END,
+		MessageIds.TEST_STOPPED,
+		MessageIds.TEST_RERAN,
+		MessageIds.TEST_TREE,
+	};
+
+	/**
+	 * Flag in the first byte of an event that tells that a test id follows.
+	 */
+	static final int HAS_TEST_ID= 0x80;
+
+	/**
+	 * The size at which a frame is sent without waiting for a flush.
+	 */
+	private static final int FRAME_SIZE= 64 * 1024;
+
+	/**
+	 * The milliseconds after {@link #flush()} at which the pending events are sent.
+	 */
+	private static final int FLUSH_DELAY= 50;
+
+	private final DataOutputStream fOut;
+
+	private final ByteArrayOutputStream fFrame;
+
+	private final DataOutputStream fEvents;
+
+	private boolean fFailed;
+
+	private Timer fFlushTimer;
+
+	private boolean fFlushScheduled;
+
+	/**
+	 * Creates a sender and sends the start of the binary protocol.
+	 *
+	 * @param out the stream of the connection
+	 * @throws IOException if sending fails
+	 */
+	public BinaryMessageSender(OutputStream out) throws IOException {
+		fOut= new DataOutputStream(out);
+		fFrame= new ByteArrayOutputStream(FRAME_SIZE);
+		fEvents= new DataOutputStream(fFrame);
+		fOut.writeInt(MessageIds.BINARY_PROTOCOL_MAGIC);
+		fOut.writeInt(MessageIds.BINARY_PROTOCOL_VERSION);
+		writeString(fOut, System.lineSeparator());
+		fOut.flush();
+	}
+
+	@Override
+	public synchronized void sendMessage(String msg) {
+		if (fFailed)
+			return;
+		try {
+			writeEvent(msg);
+			if (fFrame.size() >= FRAME_SIZE)
+				writeFrame();
+		} catch (IOException e) {
+			// like PrintWriter, stop sending once the connection is broken
+			fFailed= true;
+		}
+	}
+
+	/**
+	 * Sends the pending events after {@link #FLUSH_DELAY} milliseconds, together
+	 * with the events that are sent in the meantime.
+	 */
+	@Override
+	public synchronized void flush() {
+		if (fFailed || fFlushScheduled || fFrame.size() == 0)
+			return;
+		if (fFlushTimer == null)
+			fFlushTimer= new Timer("BinaryMessageSender", true); //$NON-NLS-1$
+		fFlushScheduled= true;
+		fFlushTimer.schedule(new TimerTask() {
+			@Override
+			public void run() {
+				sendPendingEvents();
+			}
+		}, FLUSH_DELAY);
+	}
+
+	/**
+	 * Sends the pending events now, for example at the end of a test run.
+	 */
+	public synchronized void sendPendingEvents() {
+		fFlushScheduled= false;
+		if (fFailed)
+			return;
+		try {
+			writeFrame();
+			fOut.flush();
+		} catch (IOException e) {
+			fFailed= true;
+		}
+	}
+
+	/**
+	 * Sends the pending events and closes the connection stream.
+	 */
+	public synchronized void close() {
+		sendPendingEvents();
+		if (fFlushTimer != null) {
+			fFlushTimer.cancel();
+			fFlushTimer= null;
+		}
+		try {
+			fOut.close();
+		} catch (IOException e) {
+			// ignore
+		}
+	}
+
+	private void writeEvent(String msg) throws IOException {
+		int kind= getKind(msg);
+		if (kind == 0) {
+			fEvents.writeByte(0);
+			writeString(fEvents, msg);
+			return;
+		}
+
+		String argument= msg.substring(MessageIds.MSG_HEADER_LENGTH);
+		int testId= hasTestId(kind) ? getTestId(argument) : -1;
+		if (testId == -1) {
+			fEvents.writeByte(kind);
+			writeString(fEvents, argument);
+		} else {
+			fEvents.writeByte(kind | HAS_TEST_ID);
+			fEvents.writeInt(testId);
+			writeString(fEvents, argument.substring(argument.indexOf(',') + 1));
+		}
+	}
+
+	private void writeFrame() throws IOException {
+		if (fFrame.size() == 0)
+			return;
+		fOut.writeInt(fFrame.size());
+		fFrame.writeTo(fOut);
+		fFrame.reset();
+	}
+
+	private static int getKind(String msg) {
+		if (msg.length() < MessageIds.MSG_HEADER_LENGTH)
+			return 0;
+		for (int i= 0; i < HEADERS.length; i++) {
+			if (msg.startsWith(HEADERS[i]))
+				return i + 1;
+		}
+		return 0;
+	}
+
+	private static boolean hasTestId(int kind) {
+		String header= HEADERS[kind - 1];
+		return header == MessageIds.TEST_START || header == MessageIds.TEST_END || header == MessageIds.TEST_ERROR
+				|| header == MessageIds.TEST_FAILED || header == MessageIds.TEST_TREE;
+	}
+
+	/**
+	 * @param argument the argument of a message, starting with "testId,"
+	 * @return the test id or <code>-1</code> if the argument does not start with a non-negative int test id
+	 */
+	private static int getTestId(String argument) {
+		int comma= argument.indexOf(',');
+		if (comma < 1 || comma > 9)
+			return -1;
+		int testId= 0;
+		for (int i= 0; i < comma; i++) {
+			char c= argument.charAt(i);
+			if (c < '0' || c > '9')
+				return -1;
+			testId= testId * 10 + (c - '0');
+		}
+		// keep leading zeros in the text
+		if (argument.charAt(0) == '0' && comma > 1)
+			return -1;
+		return testId;
+	}
+
+	private static void writeString(DataOutputStream out, String s) throws IOException {
+		byte[] bytes= s.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -150,6 +150,23 @@ public class MessageIds {
 	 */
 	public static final String ASSUMPTION_FAILED_TEST_PREFIX= "@AssumptionFailure: "; //$NON-NLS-1$
 
+	/**
+	 * Argument of the RemoteTestRunner that requests the binary protocol.
+	 * Without it, the messages are sent as text lines.
+	 *
+	 * @see BinaryMessageSender
+	 */
+	public static final String BINARY_PROTOCOL_ARG= "-binaryprotocol"; //$NON-NLS-1$
+	/**
+	 * First int sent on a connection that uses the binary protocol.
+	 * Its first byte is 0, hence it can never be the start of a text message.
+	 */
+	public static final int BINARY_PROTOCOL_MAGIC= 0x004A5542;
+	/**
+	 * Version of the binary protocol, sent after {@link #BINARY_PROTOCOL_MAGIC}.
+	 */
+	public static final int BINARY_PROTOCOL_VERSION= 1;
+
 	private MessageIds() {
 	}
 }
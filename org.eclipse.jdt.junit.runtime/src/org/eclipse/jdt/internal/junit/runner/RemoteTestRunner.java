@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,7 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.junit.runner;
 
+import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.File;
@@ -90,6 +91,10 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 	 * Print writer for sending messages
 	 */
 	private PrintWriter fWriter;
+	/**
+	 * Sender for messages in the binary protocol, <code>null</code> if the text protocol is used
+	 */
+	private BinaryMessageSender fBinarySender;
 	/**
 	 * Reader for incoming messages
 	 */
@@ -106,6 +111,10 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 	 * Is the debug mode enabled?
 	 */
 	private boolean fDebugMode= false;
+	/**
+	 * Use the binary protocol to send messages?
+	 */
+	private boolean fBinaryProtocol= false;
 	/**
 	 * Keep the test run server alive after a test run has finished.
 	 * This allows to rerun tests.
@@ -201,6 +210,7 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 	 * -host: the host to connect to default local host
 	 * -port: the port to connect to, mandatory argument
 	 * -keepalive: keep the process alive after a test run
+	 * -binaryprotocol: send the messages in the binary protocol
      * </pre>
      */
 	public static void main(String[] args) {
@@ -300,6 +310,9 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 			else if("-keepalive".equalsIgnoreCase(args[i])) { //$NON-NLS-1$
 				fKeepAlive= true;
 			}
+			else if(MessageIds.BINARY_PROTOCOL_ARG.equalsIgnoreCase(args[i])) {
+				fBinaryProtocol= true;
+			}
 			else if("-debugging".equalsIgnoreCase(args[i]) || "-debug".equalsIgnoreCase(args[i])){ //$NON-NLS-1$ //$NON-NLS-2$
 			    fDebugMode= true;
 
@@ -647,6 +660,8 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 		for (int i= 1; i < 20; i++) {
 			try{
 				fClientSocket= new Socket(fHost, fPort);
+				if (fBinaryProtocol)
+					fBinarySender= new BinaryMessageSender(new BufferedOutputStream(fClientSocket.getOutputStream()));
 				try {
 				    fWriter= new PrintWriter(new BufferedWriter(new OutputStreamWriter(fClientSocket.getOutputStream(), "UTF-8")), false/*true*/); //$NON-NLS-1$
 	            } catch (UnsupportedEncodingException e1) {
@@ -676,6 +691,10 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 	 * Shutsdown the connection to the remote test listener.
 	 */
 	private void shutDown() {
+		if (fBinarySender != null) {
+			fBinarySender.close();
+			fBinarySender= null;
+		}
 		if (fWriter != null) {
 			fWriter.close();
 			fWriter= null;
@@ -709,6 +728,10 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 
 	@Override
 	public void sendMessage(String msg) {
+		if (fBinarySender != null) {
+			fBinarySender.sendMessage(msg);
+			return;
+		}
 		if(fWriter == null)
 			return;
 		fWriter.println(msg);
@@ -722,13 +745,13 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 
 	private void notifyTestRunEnded(long elapsedTime) {
 		fSender.sendMessage(MessageIds.TEST_RUN_END + elapsedTime);
-		fSender.flush();
+		sendPendingMessages();
 		//shutDown();
 	}
 
 	protected void notifyTestRunStopped(long elapsedTime) {
 		fSender.sendMessage(MessageIds.TEST_STOPPED + elapsedTime);
-		fSender.flush();
+		sendPendingMessages();
 		//shutDown();
 	}
 
@@ -743,15 +766,36 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 	public void notifyRerunComplete(RerunRequest r, String status) {
 		if (fPort != -1) {
 			fSender.sendMessage(MessageIds.TEST_RERAN + r.fRerunTestId + " " + r.fRerunClassName + " " + r.fRerunTestName + " " + status); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
-			fSender.flush();
+			sendPendingMessages();
 		}
 	}
 
+	/**
+	 * Flushes the messages. In the binary protocol, the messages are sent a few
+	 * milliseconds later, so that the messages of many tests are sent at once.
+	 *
+	 * @see #sendPendingMessages()
+	 */
 	@Override
 	public void flush() {
+		if (fBinarySender != null) {
+			fBinarySender.flush();
+			return;
+		}
 	    fWriter.flush();
 	}
 
+	/**
+	 * Sends the pending messages at once, at the end of a run.
+	 */
+	private void sendPendingMessages() {
+		if (fSender == this && fBinarySender != null) {
+			fBinarySender.sendPendingEvents();
+			return;
+		}
+		fSender.flush();
+	}
+
 	public void runTests(TestExecution execution) {
 		runTests(fTestClassNames, fTestName, execution);
 	}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -146,6 +146,7 @@ import org.eclipse.jdt.internal.junit.Messages;
 import org.eclipse.jdt.internal.junit.launcher.ITestKind;
 import org.eclipse.jdt.internal.junit.launcher.JUnitLaunchConfigurationConstants;
 import org.eclipse.jdt.internal.junit.launcher.TestKindRegistry;
+import org.eclipse.jdt.internal.junit.model.CoalescingTestSessionListener;
 import org.eclipse.jdt.internal.junit.model.ITestRunSessionListener;
 import org.eclipse.jdt.internal.junit.model.ITestSessionListener;
 import org.eclipse.jdt.internal.junit.model.JUnitModel;
@@ -245,7 +246,7 @@ public class TestRunnerViewPart extends ViewPart {
 	private ToggleSortingAction[] fToggleSortingActions;
 
 	private TestRunSession fTestRunSession;
-	private TestSessionListener fTestSessionListener;
+	private CoalescingTestSessionListener fTestSessionListener;
 
 	private RunnerViewHistory fViewHistory;
 	private TestRunSessionListener fTestRunSessionListener;
@@ -878,6 +879,9 @@ public class TestRunnerViewPart extends ViewPart {
 		@Override
 		public IStatus runInUIThread(IProgressMonitor monitor) {
 			if (!isDisposed()) {
+				CoalescingTestSessionListener testSessionListener= fTestSessionListener;
+				if (testSessionListener != null)
+					testSessionListener.flush();
 				processChangesInUI();
 			}
 			schedule(REFRESH_INTERVAL);
@@ -1637,7 +1641,7 @@ action enablement
 
 		} else {
 			if (fTestRunSession.isStarting() || fTestRunSession.isRunning() || fTestRunSession.isKeptAlive()) {
-				fTestSessionListener= new TestSessionListener();
+				fTestSessionListener= new CoalescingTestSessionListener(new TestSessionListener(), REFRESH_INTERVAL);
 				fTestRunSession.addTestSessionListener(fTestSessionListener);
 			}
 			if (!fTestRunSession.isStarting() && !fShowOnErrorOnly)
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -44,6 +44,7 @@ import org.eclipse.jdt.internal.ui.javaeditor.JavaEditor;
 import org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting;
 import org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlightingManager;
 import org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlightingPresenter;
+import org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlightingReconciler;
 import org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlightings;
 
 public class AbstractSemanticHighlightingTest {
@@ -136,6 +137,30 @@ public class AbstractSemanticHighlightingTest {
 		return buf.toString();
 	}
 
+	/**
+	 * Replaces the given range of the document and waits for the reconciler.
+	 *
+	 * @param line the line of the range
+	 * @param column the column of the range
+	 * @param length the length of the range
+	 * @param text the replacement
+	 * @return the offset of the range
+	 * @throws BadLocationException if the range is invalid
+	 */
+	protected int replace(int line, int column, int length, String text) throws BadLocationException {
+		IDocument document= fSourceViewer.getDocument();
+		int offset= document.getLineOffset(line) + column;
+		document.replace(offset, length, text);
+		assertTrue(EditorTestHelper.joinReconciler(fSourceViewer, 500, 10000, 100));
+		EditorTestHelper.runEventQueue(100);
+		return offset;
+	}
+
+	protected SemanticHighlightingReconciler getSemanticHighlightingReconciler() {
+		SemanticHighlightingManager manager= (SemanticHighlightingManager) new Accessor(fEditor, JavaEditor.class).get("fSemanticManager");
+		return (SemanticHighlightingReconciler) new Accessor(manager, manager.getClass()).get("fReconciler");
+	}
+
 	protected Position[] getSemanticHighlightingPositions() throws BadPositionCategoryException {
 		SemanticHighlightingManager manager= (SemanticHighlightingManager) new Accessor(fEditor, JavaEditor.class).get("fSemanticManager");
 		SemanticHighlightingPresenter presenter= (SemanticHighlightingPresenter) new Accessor(manager, manager.getClass()).get("fPresenter");
@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.text.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.eclipse.text.tests.Accessor;
+
+import org.eclipse.jface.text.Position;
+
+import org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlightingReconciler;
+import org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlightings;
+
+/**
+ * Tests that the semantic highlighting positions are the same after typing, no matter whether
+ * only the changed method or the whole compilation unit is reconciled.
+ */
+public class IncrementalSemanticHighlightingTest extends AbstractSemanticHighlightingTest {
+
+	@Rule
+	public SemanticHighlightingTestSetup shts= new SemanticHighlightingTestSetup("/SHTest/src/SHTest.java");
+
+	@Test
+	public void insertInMethodBody() throws Exception {
+		setUpSemanticHighlighting(SemanticHighlightings.LOCAL_VARIABLE_DECLARATION);
+		assertInsertion(9, 2, "int added= 0; ", "added", true);
+	}
+
+	@Test
+	public void insertInNestedMethodBody() throws Exception {
+		setUpSemanticHighlighting(SemanticHighlightings.LOCAL_VARIABLE_DECLARATION);
+		assertInsertion(9, 2, "int added= 0; ", "added", true);
+		assertInsertion(41, 3, "int nested= 0; ", "nested", true);
+	}
+
+	@Test
+	public void insertMethod() throws Exception {
+		setUpSemanticHighlighting(SemanticHighlightings.LOCAL_VARIABLE_DECLARATION);
+		assertInsertion(19, 1, "void added() { int added2= 0; }\n\t", "added2", false);
+	}
+
+	@Test
+	public void insertUnbalancedBraces() throws Exception {
+		setUpSemanticHighlighting(SemanticHighlightings.LOCAL_VARIABLE_DECLARATION);
+		List<Position> expected= copySemanticHighlightingPositions();
+		int count= getIncrementalReconcileCount();
+
+		int offset= replace(9, 2, 0, "{ ");
+		assertEquals("Unbalanced braces reconciled incrementally", count, getIncrementalReconcileCount());
+		replace(9, 4, 0, "int added= 0; }");
+		assertEquals("Unbalanced braces reconciled incrementally", count, getIncrementalReconcileCount());
+
+		assertPositions(expected, offset, "{ int added= 0; }", "added");
+	}
+
+	/**
+	 * Inserts <code>text</code> and asserts that the positions before the insertion have been
+	 * moved and that a position for <code>name</code> has been added.
+	 *
+	 * @param incremental <code>true</code> if only the changed method is expected to be
+	 *            reconciled, <code>false</code> if the whole compilation unit is
+	 */
+	private void assertInsertion(int line, int column, String text, String name, boolean incremental) throws Exception {
+		List<Position> expected= copySemanticHighlightingPositions();
+		int count= getIncrementalReconcileCount();
+
+		int offset= replace(line, column, 0, text);
+
+		if (incremental)
+			assertTrue("Not reconciled incrementally", getIncrementalReconcileCount() > count);
+		else
+			assertEquals("Reconciled incrementally", count, getIncrementalReconcileCount());
+		assertPositions(expected, offset, text, name);
+	}
+
+	/**
+	 * Asserts that the given positions have been moved by the insertion of <code>text</code> at
+	 * <code>offset</code> and that a position for <code>name</code> has been added.
+	 */
+	private void assertPositions(List<Position> expected, int offset, String text, String name) throws Exception {
+		for (Position position : expected) {
+			if (position.getOffset() >= offset)
+				position.setOffset(position.getOffset() + text.length());
+		}
+		Position added= new Position(offset + text.indexOf(name + "="), name.length());
+		int index= 0;
+		while (index < expected.size() && expected.get(index).getOffset() < added.getOffset())
+			index++;
+		expected.add(index, added);
+
+		assertEqualPositions(expected.toArray(new Position[expected.size()]), getSemanticHighlightingPositions());
+	}
+
+	private List<Position> copySemanticHighlightingPositions() throws Exception {
+		List<Position> positions= new ArrayList<>();
+		for (Position position : getSemanticHighlightingPositions())
+			positions.add(new Position(position.getOffset(), position.getLength()));
+		return positions;
+	}
+
+	private int getIncrementalReconcileCount() {
+		return ((Integer) new Accessor(getSemanticHighlightingReconciler(), SemanticHighlightingReconciler.class).get("fIncrementalReconcileCount")).intValue();
+	}
+}
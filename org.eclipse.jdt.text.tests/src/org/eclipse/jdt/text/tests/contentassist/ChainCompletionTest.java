@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2020 Red Hat Inc. and others.
+ * Copyright (c) 2019, 2026 Red Hat Inc. and others.
  *
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -665,6 +665,40 @@ public class ChainCompletionTest {
 		assertEquals(expectedContent,doc.get());
 	}
 
+	@Test
+	public void testMembersAfterChange() throws Exception {
+		StringBuffer buf= new StringBuffer();
+		buf.append("package test;\n" +
+				"public class Bar {\n" +
+				"}");
+		ICompilationUnit barCu= getCompilationUnit(pkg, buf, "Bar.java");
+
+		buf= new StringBuffer();
+		buf.append("package test;\n" +
+				"public class Baz {\n" +
+				"}");
+		getCompilationUnit(pkg, buf, "Baz.java");
+
+		buf= new StringBuffer();
+		buf.append("package test;\n" +
+				"public class Foo {\n" +
+				"  public void method(Bar bar) {\n" +
+				"    Baz b = bar$\n" +
+				"  }\n" +
+				"}");
+		int completionIndex= getCompletionIndex(buf);
+		ICompilationUnit cu= getCompilationUnit(pkg, buf, "Foo.java");
+
+		List<ICompletionProposal> proposals= computeCompletionProposals(cu, completionIndex);
+		assertEquals(0, proposals.size());
+
+		// the members of Bar that have been found for the first completion must not be reused
+		barCu.getType("Bar").createMethod("public Baz getBaz() {\n  return null;\n}\n", null, false, null);
+
+		proposals= computeCompletionProposals(cu, completionIndex);
+		assertProposalsExist(Arrays.asList("bar.getBaz() - 2 elements"), proposals);
+	}
+
 	private ICompilationUnit getCompilationUnit(IPackageFragment pack, StringBuffer buf, String name) throws JavaModelException {
 		return pack.createCompilationUnit(name, buf.toString().replace("$", ""), false, null);
 	}
@@ -0,0 +1,299 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.text.tests.contentassist;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.core.runtime.ILogListener;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+
+import org.eclipse.jface.text.contentassist.CompletionProposal;
+import org.eclipse.jface.text.contentassist.ContentAssistant;
+import org.eclipse.jface.text.contentassist.ICompletionProposal;
+import org.eclipse.jface.text.contentassist.IContextInformation;
+
+import org.eclipse.ui.IEditorPart;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+
+import org.eclipse.jdt.ui.JavaUI;
+import org.eclipse.jdt.ui.PreferenceConstants;
+import org.eclipse.jdt.ui.text.IJavaPartitions;
+import org.eclipse.jdt.ui.text.java.ContentAssistInvocationContext;
+import org.eclipse.jdt.ui.text.java.IJavaCompletionProposalComputer;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+import org.eclipse.jdt.internal.ui.javaeditor.JavaEditor;
+import org.eclipse.jdt.internal.ui.text.java.JavaCompletionProcessor;
+
+/**
+ * Tests the concurrent computation of completion proposal categories, see
+ * {@link PreferenceConstants#CODEASSIST_CONCURRENT_COMPUTATION}. The computers are contributed to
+ * their own categories in the plugin.xml and only compute proposals in comments that contain
+ * {@link #TRIGGER}.
+ */
+public class ConcurrentProposalComputationTest {
+
+	private static final String TRIGGER= "concurrentCompletion";
+
+	private static final String SLOW_PROPOSAL= "slowCompletion";
+
+	private static final String FAST_PROPOSAL= "fastCompletion";
+
+	/** Longer than the deadline of the concurrent computation */
+	private static final long LATE= 1500;
+
+	/** Shorter than the deadline of the concurrent computation */
+	private static final long IN_TIME= 500;
+
+	public static final class SlowComputer implements IJavaCompletionProposalComputer {
+
+		static volatile long fgDelay;
+
+		static volatile boolean fgHonorsCancellation;
+
+		static final AtomicInteger fgRunning= new AtomicInteger();
+
+		@Override
+		public void sessionStarted() {
+		}
+
+		@Override
+		public List<ICompletionProposal> computeCompletionProposals(ContentAssistInvocationContext context, IProgressMonitor monitor) {
+			if (!context.getDocument().get().contains(TRIGGER))
+				return Collections.emptyList();
+			fgRunning.incrementAndGet();
+			try {
+				if (fgHonorsCancellation) {
+					long end= System.currentTimeMillis() + fgDelay;
+					while (System.currentTimeMillis() < end) {
+						if (monitor.isCanceled())
+							return Collections.emptyList();
+						Thread.sleep(10);
+					}
+				} else {
+					// ignores the monitor, like a computer that is too slow to react to the cancellation
+					Thread.sleep(fgDelay);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} finally {
+				fgRunning.decrementAndGet();
+			}
+			return Collections.singletonList(createProposal(SLOW_PROPOSAL));
+		}
+
+		@Override
+		public List<IContextInformation> computeContextInformation(ContentAssistInvocationContext context, IProgressMonitor monitor) {
+			return Collections.emptyList();
+		}
+
+		@Override
+		public String getErrorMessage() {
+			return null;
+		}
+
+		@Override
+		public void sessionEnded() {
+		}
+	}
+
+	public static final class FastComputer implements IJavaCompletionProposalComputer {
+
+		@Override
+		public void sessionStarted() {
+		}
+
+		@Override
+		public List<ICompletionProposal> computeCompletionProposals(ContentAssistInvocationContext context, IProgressMonitor monitor) {
+			if (!context.getDocument().get().contains(TRIGGER))
+				return Collections.emptyList();
+			return Collections.singletonList(createProposal(FAST_PROPOSAL));
+		}
+
+		@Override
+		public List<IContextInformation> computeContextInformation(ContentAssistInvocationContext context, IProgressMonitor monitor) {
+			return Collections.emptyList();
+		}
+
+		@Override
+		public String getErrorMessage() {
+			return null;
+		}
+
+		@Override
+		public void sessionEnded() {
+		}
+	}
+
+	/**
+	 * Keeps the proposals in the order in which they have been merged.
+	 */
+	private static final class UnsortedCompletionProcessor extends JavaCompletionProcessor {
+
+		UnsortedCompletionProcessor(IEditorPart editor, ContentAssistant assistant) {
+			super(editor, assistant, IJavaPartitions.JAVA_MULTI_LINE_COMMENT);
+		}
+
+		@Override
+		protected List<ICompletionProposal> sortProposals(List<ICompletionProposal> proposals, IProgressMonitor monitor, ContentAssistInvocationContext context) {
+			return proposals;
+		}
+	}
+
+	private static ICompletionProposal createProposal(String name) {
+		return new CompletionProposal(name, 0, 0, 0, null, name, null, null);
+	}
+
+	private IJavaProject fJProject;
+
+	private JavaEditor fEditor;
+
+	private JavaCompletionProcessor fProcessor;
+
+	@Before
+	public void setUp() throws Exception {
+		fJProject= JavaProjectHelper.createJavaProject("TestProject1", "bin");
+		IPackageFragmentRoot sourceFolder= JavaProjectHelper.addSourceContainer(fJProject, "src");
+		IPackageFragment pack= sourceFolder.createPackageFragment("test1", false, null);
+		ICompilationUnit cu= pack.createCompilationUnit("A.java", "/* " + TRIGGER + " */\npublic class A {\n}\n", true, null);
+		fEditor= (JavaEditor) JavaUI.openInEditor(cu);
+		ContentAssistant assistant= new ContentAssistant();
+		assistant.setDocumentPartitioning(IJavaPartitions.JAVA_PARTITIONING);
+		fProcessor= new UnsortedCompletionProcessor(fEditor, assistant);
+
+		JavaPlugin.getDefault().getPreferenceStore().setValue(PreferenceConstants.CODEASSIST_CONCURRENT_COMPUTATION, true);
+		// returns in time, so that the slow computer is not demoted by earlier tests
+		SlowComputer.fgDelay= 0;
+		computeProposals();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		waitForSlowComputer();
+		SlowComputer.fgDelay= 0;
+		SlowComputer.fgHonorsCancellation= false;
+		computeProposals();
+		JavaPlugin.getDefault().getPreferenceStore().setToDefault(PreferenceConstants.CODEASSIST_CONCURRENT_COMPUTATION);
+		CodeCompletionTest.closeAllEditors();
+		JavaProjectHelper.delete(fJProject);
+	}
+
+	private List<String> computeProposals() {
+		List<String> result= new ArrayList<>();
+		for (ICompletionProposal proposal : fProcessor.computeCompletionProposals(fEditor.getViewer(), 3)) {
+			String name= proposal.getDisplayString();
+			if (SLOW_PROPOSAL.equals(name) || FAST_PROPOSAL.equals(name))
+				result.add(name);
+		}
+		return result;
+	}
+
+	private static void waitForSlowComputer() throws InterruptedException {
+		long end= System.currentTimeMillis() + 5000;
+		while (SlowComputer.fgRunning.get() > 0) {
+			assertTrue("Slow computer did not return", System.currentTimeMillis() < end);
+			Thread.sleep(10);
+		}
+		// the category is computed again once the descriptor has recorded the latency
+		Thread.sleep(100);
+	}
+
+	@Test
+	public void testDropsLateCategory() throws Exception {
+		SlowComputer.fgDelay= LATE;
+		List<String> proposals= computeProposals();
+		assertTrue(proposals.contains(FAST_PROPOSAL));
+		assertFalse(proposals.contains(SLOW_PROPOSAL));
+	}
+
+	@Test
+	public void testMergesInCategoryOrder() throws Exception {
+		SlowComputer.fgDelay= IN_TIME;
+		List<String> concurrent= computeProposals();
+		assertEquals(2, concurrent.size());
+
+		waitForSlowComputer();
+		JavaPlugin.getDefault().getPreferenceStore().setValue(PreferenceConstants.CODEASSIST_CONCURRENT_COMPUTATION, false);
+		List<String> sequential= computeProposals();
+		JavaPlugin.getDefault().getPreferenceStore().setValue(PreferenceConstants.CODEASSIST_CONCURRENT_COMPUTATION, true);
+		assertEquals(sequential, concurrent);
+	}
+
+	@Test
+	public void testDemotesAndPromotesLateComputer() throws Exception {
+		// the demotion is logged by the worker thread
+		List<IStatus> demotions= new CopyOnWriteArrayList<>();
+		ILogListener listener= (status, plugin) -> {
+			if (status.getSeverity() == IStatus.INFO && status.getMessage().contains("Slow Completion Proposal Computer"))
+				demotions.add(status);
+		};
+		JavaPlugin.getDefault().getLog().addLogListener(listener);
+		try {
+			SlowComputer.fgDelay= LATE;
+			for (int i= 0; i < 3; i++) {
+				assertEquals(0, demotions.size());
+				computeProposals();
+				waitForSlowComputer();
+			}
+			assertEquals(1, demotions.size());
+
+			// a demoted category is not waited for, but returning in time promotes it again
+			SlowComputer.fgDelay= IN_TIME;
+			assertFalse("Demoted category was waited for", computeProposals().contains(SLOW_PROPOSAL));
+			waitForSlowComputer();
+			assertTrue("Promoted category was not waited for", computeProposals().contains(SLOW_PROPOSAL));
+		} finally {
+			JavaPlugin.getDefault().getLog().removeLogListener(listener);
+		}
+	}
+
+	@Test
+	public void testKeepsCanceledComputerDemoted() throws Exception {
+		SlowComputer.fgDelay= LATE;
+		for (int i= 0; i < 3; i++) {
+			computeProposals();
+			waitForSlowComputer();
+		}
+
+		// a computer that honors the cancellation is not promoted by returning when it is canceled
+		SlowComputer.fgHonorsCancellation= true;
+		assertFalse(computeProposals().contains(SLOW_PROPOSAL));
+		waitForSlowComputer();
+		SlowComputer.fgDelay= IN_TIME;
+		assertFalse("Canceled computer was promoted", computeProposals().contains(SLOW_PROPOSAL));
+
+		// a demoted category gets until the deadline, returning in time promotes it
+		waitForSlowComputer();
+		assertTrue("Promoted category was not waited for", computeProposals().contains(SLOW_PROPOSAL));
+	}
+}
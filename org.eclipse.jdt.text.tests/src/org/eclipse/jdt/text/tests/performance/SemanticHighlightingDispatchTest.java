@@ -0,0 +1,152 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.text.tests.performance;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+import org.eclipse.test.performance.PerformanceMeter;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.dom.AST;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.SimpleName;
+
+import org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting;
+import org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlightingDispatcher;
+import org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlightings;
+import org.eclipse.jdt.internal.ui.javaeditor.SemanticToken;
+
+
+/**
+ * Measures the time to find the consuming semantic highlighting for all simple names of a large
+ * compilation unit, once by asking all semantic highlightings in turn and once by using the
+ * {@link SemanticHighlightingDispatcher}.
+ *
+ * @since 3.31
+ */
+public class SemanticHighlightingDispatchTest extends TextPerformanceTestCase {
+
+	private static final Class<SemanticHighlightingDispatchTest> THIS= SemanticHighlightingDispatchTest.class;
+
+	private static final String FILE= PerformanceTestSetup.STYLED_TEXT;
+
+	private static final int WARM_UP_RUNS= 5;
+
+	private static final int MEASURED_RUNS= 20;
+
+	private SemanticHighlighting[] fSemanticHighlightings;
+
+	private List<SimpleName> fNames;
+
+
+	public static Test suite() {
+		return new PerformanceTestSetup(new TestSuite(THIS));
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		setWarmUpRuns(WARM_UP_RUNS);
+		setMeasuredRuns(MEASURED_RUNS);
+
+		fSemanticHighlightings= SemanticHighlightings.getSemanticHighlightings();
+
+		ICompilationUnit unit= JavaCore.createCompilationUnitFrom(ResourceTestHelper.findFile(FILE));
+		ASTParser parser= ASTParser.newParser(AST.getJLSLatest());
+		parser.setSource(unit);
+		parser.setResolveBindings(true);
+		CompilationUnit root= (CompilationUnit) parser.createAST(null);
+
+		fNames= new ArrayList<>();
+		root.accept(new ASTVisitor() {
+			@Override
+			public boolean visit(SimpleName node) {
+				fNames.add(node);
+				return false;
+			}
+		});
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		fNames= null;
+		fSemanticHighlightings= null;
+		super.tearDown();
+	}
+
+	public void testSameConsumers() throws Exception {
+		boolean[] enabled= new boolean[fSemanticHighlightings.length];
+		Arrays.fill(enabled, true);
+		SemanticHighlightingDispatcher dispatcher= new SemanticHighlightingDispatcher(fSemanticHighlightings, enabled);
+		SemanticToken token= new SemanticToken();
+		for (SimpleName name : fNames) {
+			token.update(name);
+			int expected= findConsumerLinear(token);
+			assertEquals(name.getIdentifier() + " at " + name.getStartPosition(), expected, dispatcher.findConsumer(token));
+		}
+		token.clear();
+	}
+
+	public void testLinear() throws Exception {
+		measure(false, getNullPerformanceMeter(), getWarmUpRuns());
+		PerformanceMeter performanceMeter= createPerformanceMeter();
+		measure(false, performanceMeter, getMeasuredRuns());
+		commitAllMeasurements();
+		assertAllPerformance();
+	}
+
+	public void testDispatcher() throws Exception {
+		measure(true, getNullPerformanceMeter(), getWarmUpRuns());
+		PerformanceMeter performanceMeter= createPerformanceMeter();
+		measure(true, performanceMeter, getMeasuredRuns());
+		commitAllMeasurements();
+		assertAllPerformance();
+	}
+
+	private void measure(boolean useDispatcher, PerformanceMeter performanceMeter, int runs) {
+		boolean[] enabled= new boolean[fSemanticHighlightings.length];
+		Arrays.fill(enabled, true);
+		SemanticToken token= new SemanticToken();
+		for (int i= 0; i < runs; i++) {
+			performanceMeter.start();
+			// like SemanticHighlightingReconciler, the dispatcher is created once per reconcile
+			SemanticHighlightingDispatcher dispatcher= useDispatcher ? new SemanticHighlightingDispatcher(fSemanticHighlightings, enabled) : null;
+			for (SimpleName name : fNames) {
+				token.update(name);
+				if (useDispatcher)
+					dispatcher.findConsumer(token);
+				else
+					findConsumerLinear(token);
+			}
+			token.clear();
+			performanceMeter.stop();
+		}
+	}
+
+	private int findConsumerLinear(SemanticToken token) {
+		for (int i= 0; i < fSemanticHighlightings.length; i++) {
+			if (fSemanticHighlightings[i].consumes(token))
+				return i;
+		}
+		return -1;
+	}
+}
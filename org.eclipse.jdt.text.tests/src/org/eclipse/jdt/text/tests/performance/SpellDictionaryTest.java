@@ -0,0 +1,169 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.text.tests.performance;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+import org.eclipse.test.performance.PerformanceMeter;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+import org.eclipse.jdt.internal.ui.text.spelling.SpellCheckEngine;
+import org.eclipse.jdt.internal.ui.text.spelling.engine.ISpellDictionary;
+import org.eclipse.jdt.internal.ui.text.spelling.engine.LocaleSensitiveSpellDictionary;
+
+
+/**
+ * Measures the time to load the en_US spell dictionary, its heap footprint and the time to look up
+ * the words of a large compilation unit.
+ *
+ * @since 3.31
+ */
+public class SpellDictionaryTest extends TextPerformanceTestCase {
+
+	private static final Class<SpellDictionaryTest> THIS= SpellDictionaryTest.class;
+
+	private static final String FILE= PerformanceTestSetup.STYLED_TEXT;
+
+	private static final int WARM_UP_RUNS= 3;
+
+	private static final int MEASURED_RUNS= 20;
+
+	/** Number of words for which proposals are computed per run */
+	private static final int PROPOSAL_WORDS= 200;
+
+	private URL fLocation;
+
+	private List<String> fWords;
+
+
+	public static Test suite() {
+		return new PerformanceTestSetup(new TestSuite(THIS));
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		setWarmUpRuns(WARM_UP_RUNS);
+		setMeasuredRuns(MEASURED_RUNS);
+
+		fLocation= new URL(JavaPlugin.getDefault().getBundle().getEntry("/"), SpellCheckEngine.DICTIONARY_LOCATION);
+
+		fWords= new ArrayList<>();
+		String content= ResourceTestHelper.read(FILE).toString();
+		int start= -1;
+		for (int i= 0; i <= content.length(); i++) {
+			boolean isLetter= i < content.length() && Character.isLetter(content.charAt(i));
+			if (isLetter && start == -1) {
+				start= i;
+			} else if (!isLetter && start != -1) {
+				if (i - start > 1)
+					fWords.add(content.substring(start, i));
+				start= -1;
+			}
+		}
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		fWords= null;
+		super.tearDown();
+	}
+
+	public void testHeapFootprint() throws Exception {
+		long before= getUsedMemory();
+		ISpellDictionary dictionary= createDictionary();
+		long after= getUsedMemory();
+		assertTrue(dictionary.isLoaded());
+		System.out.println("Heap footprint of en_US dictionary : " + (after - before) / 1024 + " KB");
+		dictionary.unload();
+	}
+
+	public void testLoad() throws Exception {
+		// the first run reads the word list and writes the binary snapshot, the others read the snapshot
+		measureLoad(getNullPerformanceMeter(), getWarmUpRuns());
+		PerformanceMeter performanceMeter= createPerformanceMeter();
+		measureLoad(performanceMeter, getMeasuredRuns());
+		commitAllMeasurements();
+		assertAllPerformance();
+	}
+
+	public void testIsCorrect() throws Exception {
+		ISpellDictionary dictionary= createDictionary();
+		measureIsCorrect(dictionary, getNullPerformanceMeter(), getWarmUpRuns());
+		PerformanceMeter performanceMeter= createPerformanceMeter();
+		measureIsCorrect(dictionary, performanceMeter, getMeasuredRuns());
+		commitAllMeasurements();
+		assertAllPerformance();
+		dictionary.unload();
+	}
+
+	public void testGetProposals() throws Exception {
+		ISpellDictionary dictionary= createDictionary();
+		measureGetProposals(dictionary, getNullPerformanceMeter(), getWarmUpRuns());
+		PerformanceMeter performanceMeter= createPerformanceMeter();
+		measureGetProposals(dictionary, performanceMeter, getMeasuredRuns());
+		commitAllMeasurements();
+		assertAllPerformance();
+		dictionary.unload();
+	}
+
+	private ISpellDictionary createDictionary() {
+		ISpellDictionary dictionary= new LocaleSensitiveSpellDictionary(Locale.US, fLocation);
+		// loads the word list
+		dictionary.isCorrect("the");
+		return dictionary;
+	}
+
+	private void measureLoad(PerformanceMeter performanceMeter, int runs) {
+		for (int i= 0; i < runs; i++) {
+			performanceMeter.start();
+			ISpellDictionary dictionary= createDictionary();
+			performanceMeter.stop();
+			assertTrue(dictionary.isCorrect("dictionary"));
+			dictionary.unload();
+		}
+	}
+
+	private void measureIsCorrect(ISpellDictionary dictionary, PerformanceMeter performanceMeter, int runs) {
+		for (int i= 0; i < runs; i++) {
+			performanceMeter.start();
+			for (String word : fWords)
+				dictionary.isCorrect(word);
+			performanceMeter.stop();
+		}
+	}
+
+	private void measureGetProposals(ISpellDictionary dictionary, PerformanceMeter performanceMeter, int runs) {
+		int count= Math.min(PROPOSAL_WORDS, fWords.size());
+		for (int i= 0; i < runs; i++) {
+			performanceMeter.start();
+			for (int j= 0; j < count; j++)
+				dictionary.getProposals(fWords.get(j), false);
+			performanceMeter.stop();
+		}
+	}
+
+	private static long getUsedMemory() {
+		Runtime runtime= Runtime.getRuntime();
+		for (int i= 0; i < 3; i++)
+			System.gc();
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+}
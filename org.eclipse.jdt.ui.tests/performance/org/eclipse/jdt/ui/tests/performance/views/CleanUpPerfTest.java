@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,6 +18,7 @@ import java.io.File;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 import org.junit.Assert;
 import org.junit.FixMethodOrder;
@@ -32,13 +33,17 @@ import org.eclipse.test.performance.Dimension;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.preferences.InstanceScope;
 
 import org.eclipse.core.resources.ResourcesPlugin;
 
+import org.eclipse.ltk.core.refactoring.Change;
 import org.eclipse.ltk.core.refactoring.CheckConditionsOperation;
+import org.eclipse.ltk.core.refactoring.CompositeChange;
 import org.eclipse.ltk.core.refactoring.PerformRefactoringOperation;
 import org.eclipse.ltk.core.refactoring.RefactoringCore;
+import org.eclipse.ltk.core.refactoring.TextEditBasedChange;
 
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaElement;
@@ -47,6 +52,7 @@ import org.eclipse.jdt.core.IPackageFragment;
 import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.eclipse.jdt.core.JavaModelException;
 
+import org.eclipse.jdt.internal.corext.dom.ASTBatchParser;
 import org.eclipse.jdt.internal.corext.fix.CleanUpConstants;
 import org.eclipse.jdt.internal.corext.fix.CleanUpPreferenceUtil;
 import org.eclipse.jdt.internal.corext.fix.CleanUpRefactoring;
@@ -139,7 +145,7 @@ public class CleanUpPerfTest extends JdtPerformanceTestCaseCommon {
 	@Rule
 	public MyTestSetup stup= new MyTestSetup();
 
-	private void addAllCUs(CleanUpRefactoring cleanUp, IJavaElement[] children) throws JavaModelException {
+	private static void addAllCUs(CleanUpRefactoring cleanUp, IJavaElement[] children) throws JavaModelException {
 		for (IJavaElement element : children) {
 			if (element instanceof ICompilationUnit) {
 				cleanUp.addCompilationUnit((ICompilationUnit)element);
@@ -193,11 +199,7 @@ public class CleanUpPerfTest extends JdtPerformanceTestCaseCommon {
 		doCleanUp(cleanUpRefactoring);
 	}
 
-	@Test
-	public void testAllCleanUps() throws Exception {
-		CleanUpRefactoring cleanUpRefactoring= new CleanUpRefactoring();
-		addAllCUs(cleanUpRefactoring, MyTestSetup.fJProject1.getChildren());
-
+	private static Map<String, String> getAllCleanUpsSettings() {
 		Map<String, String> node= getNullSettings();
 
 		node.put(CleanUpConstants.MEMBER_ACCESSES_NON_STATIC_FIELD_USE_THIS, CleanUpOptions.TRUE);
@@ -252,11 +254,23 @@ public class CleanUpPerfTest extends JdtPerformanceTestCaseCommon {
 		node.put(CleanUpConstants.CONSTANTS_FOR_SYSTEM_PROPERTY_FILE_ENCODING, CleanUpOptions.TRUE);
 		node.put(CleanUpConstants.CONSTANTS_FOR_SYSTEM_PROPERTY_BOXED, CleanUpOptions.TRUE);
 
-		storeSettings(node);
+		return node;
+	}
 
+	private static CleanUpRefactoring createAllCleanUpsRefactoring() throws JavaModelException {
+		CleanUpRefactoring cleanUpRefactoring= new CleanUpRefactoring();
+		addAllCUs(cleanUpRefactoring, MyTestSetup.fJProject1.getChildren());
 		for (ICleanUp cleanUp : JavaPlugin.getDefault().getCleanUpRegistry().createCleanUps()) {
 			cleanUpRefactoring.addCleanUp(cleanUp);
 		}
+		return cleanUpRefactoring;
+	}
+
+	@Test
+	public void testAllCleanUps() throws Exception {
+		storeSettings(getAllCleanUpsSettings());
+
+		CleanUpRefactoring cleanUpRefactoring= createAllCleanUpsRefactoring();
 
 		//See https://bugs.eclipse.org/bugs/show_bug.cgi?id=135219
 		//		tagAsSummary("Code Clean Up - 25 clean-ups", Dimension.ELAPSED_PROCESS);
@@ -264,6 +278,20 @@ public class CleanUpPerfTest extends JdtPerformanceTestCaseCommon {
 		doCleanUp(cleanUpRefactoring);
 	}
 
+	@Test
+	public void testAllCleanUpsParallel() throws Exception {
+		storeSettings(getAllCleanUpsSettings());
+
+		CleanUpRefactoring sequential= createAllCleanUpsRefactoring();
+		CleanUpRefactoring parallel= createAllCleanUpsRefactoring();
+		parallel.setParallelism(ASTBatchParser.getDefaultParallelism());
+
+		// the parallel pipeline must produce exactly the same change
+		Assert.assertEquals(getChangedContents(sequential), getChangedContents(parallel));
+
+		doCleanUp(parallel);
+	}
+
 	@Test
 	public void testSingleUsedFieldCleanUp() throws Exception {
 		CleanUpRefactoring cleanUpRefactoring= new CleanUpRefactoring();
@@ -1056,6 +1084,26 @@ public class CleanUpPerfTest extends JdtPerformanceTestCaseCommon {
 		joinBackgroudActivities();
 	}
 
+	private Map<String, String> getChangedContents(CleanUpRefactoring refactoring) throws CoreException {
+		refactoring.setUseOptionsFromProfile(true);
+		clearOptions(refactoring.getCleanUps());
+
+		Assert.assertTrue(refactoring.checkAllConditions(new NullProgressMonitor()).getSeverity() <= IStatus.WARNING);
+		Map<String, String> result= new TreeMap<>();
+		collectChangedContents(refactoring.createChange(null), result);
+		return result;
+	}
+
+	private static void collectChangedContents(Change change, Map<String, String> result) throws CoreException {
+		if (change instanceof CompositeChange) {
+			for (Change child : ((CompositeChange) change).getChildren()) {
+				collectChangedContents(child, result);
+			}
+		} else if (change instanceof TextEditBasedChange) {
+			result.put(change.getName(), ((TextEditBasedChange) change).getPreviewContent(new NullProgressMonitor()));
+		}
+	}
+
 	private void clearOptions(ICleanUp[] cleanUps) {
 		for (ICleanUp cleanUp : cleanUps) {
 			if (cleanUp instanceof AbstractCleanUp) {
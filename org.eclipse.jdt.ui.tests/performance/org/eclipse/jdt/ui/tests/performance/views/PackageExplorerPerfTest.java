@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,8 +15,10 @@
 package org.eclipse.jdt.ui.tests.performance.views;
 
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 import java.io.File;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.zip.ZipFile;
 
 import org.junit.FixMethodOrder;
@@ -28,6 +30,8 @@ import org.junit.runners.MethodSorters;
 import org.eclipse.jdt.testplugin.JavaProjectHelper;
 import org.eclipse.jdt.testplugin.JavaTestPlugin;
 
+import org.eclipse.swt.widgets.Display;
+
 import org.eclipse.core.runtime.CoreException;
 
 import org.eclipse.core.resources.IFile;
@@ -44,11 +48,14 @@ import org.eclipse.ui.IWorkbenchWindow;
 import org.eclipse.ui.PlatformUI;
 
 import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
 import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.JavaModelException;
 
 import org.eclipse.jdt.ui.JavaUI;
 import org.eclipse.jdt.ui.tests.performance.JdtPerformanceTestCaseCommon;
 
+import org.eclipse.jdt.internal.ui.packageview.PackageExplorerContentProvider;
 import org.eclipse.jdt.internal.ui.packageview.PackageExplorerPart;
 
 @FixMethodOrder(MethodSorters.NAME_ASCENDING)
@@ -149,6 +156,55 @@ public class PackageExplorerPerfTest extends JdtPerformanceTestCaseCommon {
 		finishMeasurements();
 	}
 
+	// many separate changes, whose pending updates of the viewer are coalesced
+	@Test
+	public void testECoalesceUpdates() throws Throwable {
+		IJavaProject javaProject= MyTestSetup.fJProject1;
+		IPackageFragmentRoot root= javaProject.getPackageFragmentRoot(javaProject.getProject().getFolder(MyTestSetup.SRC_CONTAINER));
+		IPackageFragment pack= root.getPackageFragment("junit.framework");
+		getViewer().expandToLevel(pack, 1);
+
+		PackageExplorerPart view= getView();
+		view.selectAndReveal(pack); // runs pending updates
+		joinBackgroudActivities();
+
+		PackageExplorerContentProvider provider= (PackageExplorerContentProvider) getViewer().getContentProvider();
+		int requested= provider.getRequestedUpdateCount();
+		int coalesced= provider.getCoalescedUpdateCount();
+		int count= 200;
+		AtomicReference<Throwable> failure= new AtomicReference<>();
+		Thread thread= new Thread(() -> {
+			try {
+				for (int i= 0; i < count; i++) {
+					pack.createCompilationUnit("Generated" + i + ".java", "package junit.framework;\nclass Generated" + i + " {\n}\n", true, null);
+				}
+			} catch (JavaModelException | RuntimeException e) {
+				failure.set(e);
+			}
+		});
+
+		startMeasuring();
+		thread.start();
+		Display display= getViewer().getControl().getDisplay();
+		while (thread.isAlive()) {
+			if (!display.readAndDispatch())
+				thread.join(10);
+		}
+		view.selectAndReveal(pack); // runs pending updates
+		finishMeasurements();
+
+		if (failure.get() != null)
+			throw failure.get();
+		for (int i= 0; i < count; i++) {
+			assertTrue(pack.getCompilationUnit("Generated" + i + ".java").exists());
+		}
+
+		requested= provider.getRequestedUpdateCount() - requested;
+		coalesced= provider.getCoalescedUpdateCount() - coalesced;
+		System.out.println(PackageExplorerPerfTest.class.getName() + "#testECoalesceUpdates: " + requested + " requested updates, " + coalesced + " run after coalescing");
+		assertTrue("Updates were not coalesced", coalesced < requested);
+	}
+
 	private void touchAllFilesOnDisk(IFolder folder) throws CoreException {
 		final long now= System.currentTimeMillis();
 		folder.accept(resource -> {
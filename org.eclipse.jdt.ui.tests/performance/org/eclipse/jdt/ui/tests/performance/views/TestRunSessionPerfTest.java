@@ -0,0 +1,86 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.performance.views;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import org.eclipse.test.performance.Dimension;
+
+import org.eclipse.jdt.ui.tests.performance.JdtPerformanceTestCaseCommon;
+
+import org.eclipse.jdt.internal.junit.model.TestElement;
+import org.eclipse.jdt.internal.junit.model.TestElement.Status;
+import org.eclipse.jdt.internal.junit.model.TestRunSession;
+import org.eclipse.jdt.internal.junit.model.TestSuiteElement;
+
+/**
+ * Measures the heap used by the test elements of a JUnit test run with 1,000,000 tests.
+ */
+public class TestRunSessionPerfTest extends JdtPerformanceTestCaseCommon {
+
+	private static final int CLASSES= 100;
+
+	private static final int METHODS= 10;
+
+	private static final int INVOCATIONS= 1000;
+
+	/**
+	 * Creates the tests of a parameterized test method in each of the test classes, like the
+	 * test runner reports them for JUnit 5.
+	 *
+	 * @return the session
+	 */
+	private static TestRunSession createSession() {
+		TestRunSession session= new TestRunSession("TestRunSessionPerfTest", null);
+		int id= 1;
+		for (int c= 0; c < CLASSES; c++) {
+			String className= "org.eclipse.jdt.ui.tests.performance.Parameterized" + c;
+			String classUniqueId= "[engine:junit-jupiter]/[class:" + className + "]";
+			TestSuiteElement classSuite= (TestSuiteElement) session.createTestElement(session.getTestRoot(), Integer.toString(id++), className, true, 0, false,
+					"Parameterized" + c, null, classUniqueId);
+			for (int m= 0; m < METHODS; m++) {
+				String methodUniqueId= classUniqueId + "/[test-template:test" + m + "(int, java.lang.String)]";
+				String[] parameterTypes= { "int", "java.lang.String" };
+				TestSuiteElement methodSuite= (TestSuiteElement) session.createTestElement(classSuite, Integer.toString(id++), "test" + m + "(" + className + ")", true, 0, false,
+						"test" + m + "(int, String)", parameterTypes, methodUniqueId);
+				for (int i= 1; i <= INVOCATIONS; i++) {
+					// the strings of each test are read from the test runner
+					TestElement test= session.createTestElement(methodSuite, Integer.toString(id++), "test" + m + "(" + className + ")", false, 0, true,
+							"[" + i + "] " + i + ", value" + i, parameterTypes.clone(), methodUniqueId + "/[test-template-invocation:#" + i + "]");
+					test.setStatus(Status.OK);
+					session.registerTestEnded(test, true);
+				}
+			}
+		}
+		return session;
+	}
+
+	@Test
+	public void testMillionTests() throws Exception {
+		tagAsSummary("JUnit view - heap of 1,000,000 tests", Dimension.USED_JAVA_HEAP);
+		for (int i= 0; i < 3; i++) {
+			joinBackgroudActivities();
+			System.gc();
+			startMeasuring();
+			TestRunSession session= createSession();
+			System.gc();
+			stopMeasuring();
+			assertEquals(CLASSES * METHODS * INVOCATIONS, session.getTotalCount());
+		}
+		commitMeasurements();
+		assertPerformanceInRelativeBand(Dimension.USED_JAVA_HEAP, -100, +10);
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -28,6 +28,8 @@ import org.eclipse.jdt.testplugin.JavaTestPlugin;
 import org.eclipse.test.performance.Dimension;
 import org.eclipse.test.performance.Performance;
 
+import org.eclipse.swt.widgets.Display;
+
 import org.eclipse.core.runtime.CoreException;
 
 import org.eclipse.core.resources.ResourcesPlugin;
@@ -36,6 +38,7 @@ import org.eclipse.ui.IWorkbenchPage;
 import org.eclipse.ui.IWorkbenchWindow;
 import org.eclipse.ui.PlatformUI;
 
+import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IPackageFragmentRoot;
@@ -44,6 +47,7 @@ import org.eclipse.jdt.ui.JavaUI;
 import org.eclipse.jdt.ui.tests.performance.JdtPerformanceTestCaseCommon;
 
 import org.eclipse.jdt.internal.ui.JavaPlugin;
+import org.eclipse.jdt.internal.ui.typehierarchy.TypeHierarchyLifeCycle;
 import org.eclipse.jdt.internal.ui.typehierarchy.TypeHierarchyViewPart;
 import org.eclipse.jdt.internal.ui.util.OpenTypeHierarchyUtil;
 
@@ -124,6 +128,42 @@ public class TypeHierarchyPerfTest extends JdtPerformanceTestCaseCommon {
 		assertPerformanceInRelativeBand(Dimension.ELAPSED_PROCESS, -100, +10);
 	}
 
+	@Test
+	public void testDRefreshObjectHierarchyAfterEdit() throws Exception {
+		tagAsSummary("Refresh type hierarchy on Object after an edit", Dimension.ELAPSED_PROCESS);
+
+		IJavaElement element= MyTestSetup.fJProject1.findType("java.lang.Object");
+		IWorkbenchWindow workbenchWindow= JavaPlugin.getActiveWorkbenchWindow();
+		TypeHierarchyViewPart viewPart= OpenTypeHierarchyUtil.open(element, workbenchWindow);
+		ICompilationUnit cu= MyTestSetup.fJProject1.findType("junit.framework.TestCase").getCompilationUnit();
+
+		for (int i= 0; i < 10; i++) {
+			joinBackgroudActivities();
+			startMeasuring();
+			// a single-file edit that does not change any supertypes
+			cu.getBuffer().append("\n// edit " + i + "\n");
+			cu.save(null, true);
+			waitForRefresh(viewPart);
+			stopMeasuring();
+		}
+
+		commitMeasurements();
+		assertPerformanceInRelativeBand(Dimension.ELAPSED_PROCESS, -100, +10);
+	}
+
+	private static void waitForRefresh(TypeHierarchyViewPart viewPart) throws InterruptedException {
+		TypeHierarchyLifeCycle lifeCycle= viewPart.getTypeHierarchyLifeCycle();
+		Display display= Display.getCurrent();
+		do {
+			while (display.readAndDispatch()) {
+				// process the posted refresh of the view
+			}
+			if (lifeCycle.isRefreshJobRunning()) {
+				Thread.sleep(10);
+			}
+		} while (lifeCycle.isRefreshJobRunning());
+	}
+
 	private void measureOpenHierarchy(IJavaElement element) throws Exception {
 		IWorkbenchWindow activeWorkbenchWindow= JavaPlugin.getActiveWorkbenchWindow();
 		joinBackgroudActivities();
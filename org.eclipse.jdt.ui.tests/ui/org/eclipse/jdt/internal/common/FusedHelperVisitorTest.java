@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.dom.AST;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+
+public class FusedHelperVisitorTest {
+
+	private static CompilationUnit result;
+
+	@BeforeAll
+	public static void init() {
+		ASTParser parser= ASTParser.newParser(AST.getJLSLatest());
+		String code= "package test;\n"
+				+ "import java.util.*;\n"
+				+ "public class Test {\n"
+				+ "    void m(List<String> strings) {\n"
+				+ "        Iterator it = strings.iterator();\n"
+				+ "        while (it.hasNext()) {\n"
+				+ "            System.out.println(it.next());\n"
+				+ "        }\n"
+				+ "        strings.add(\"x\");\n"
+				+ "    }\n"
+				+ "    void n() {\n"
+				+ "        System.out.println();\n"
+				+ "    }\n"
+				+ "}\n";
+		parser.setKind(ASTParser.K_COMPILATION_UNIT);
+		parser.setEnvironment(new String[] {}, new String[] {}, null, true);
+		parser.setBindingsRecovery(true);
+		parser.setResolveBindings(true);
+		Map<String, String> options= JavaCore.getOptions();
+		JavaCore.setComplianceOptions(JavaCore.VERSION_11, options);
+		parser.setCompilerOptions(options);
+		parser.setUnitName("Test");
+		parser.setSource(code.toCharArray());
+		result= (CompilationUnit) parser.createAST(null);
+	}
+
+	private static HelperVisitor<ReferenceHolder<String, Object>, String, Object> createInvocationVisitor(List<String> trace) {
+		HelperVisitor<ReferenceHolder<String, Object>, String, Object> hv= new HelperVisitor<>(null, new ReferenceHolder<>());
+		hv.addMethodInvocation((mi, holder) -> {
+			trace.add(mi.getName().getIdentifier());
+			return true;
+		});
+		return hv;
+	}
+
+	private static HelperVisitor<ReferenceHolder<String, Object>, String, Object> createPruningVisitor(List<String> trace) {
+		HelperVisitor<ReferenceHolder<String, Object>, String, Object> hv= new HelperVisitor<>(null, new ReferenceHolder<>());
+		// does not look into while loops, but still sees their end
+		hv.addWhileStatement((ws, holder) -> {
+			trace.add("while");
+			return false;
+		});
+		hv.addEnd(VisitorEnum.WhileStatement, (ws, holder) -> trace.add("end while"));
+		hv.addMethodInvocation("println", (mi, holder) -> {
+			trace.add("println " + mi.arguments().size());
+			return true;
+		});
+		hv.addEnd(VisitorEnum.MethodDeclaration, (md, holder) -> trace.add("end method"));
+		return hv;
+	}
+
+	@Test
+	public void sameCallsAsSeparateWalks() {
+		List<String> expected1= new ArrayList<>();
+		List<String> expected2= new ArrayList<>();
+		createInvocationVisitor(expected1).build(result);
+		createPruningVisitor(expected2).build(result);
+
+		List<String> actual1= new ArrayList<>();
+		List<String> actual2= new ArrayList<>();
+		FusedHelperVisitor fused= new FusedHelperVisitor(false);
+		fused.add(createInvocationVisitor(actual1)).add(createPruningVisitor(actual2));
+		fused.build(result);
+
+		assertEquals(2, fused.size());
+		assertEquals(expected1, actual1);
+		assertEquals(expected2, actual2);
+		assertEquals(List.of("iterator", "hasNext", "println", "next", "add", "println"), actual1);
+		assertEquals(List.of("while", "end while", "end method", "println 0", "end method"), actual2);
+	}
+
+	@Test
+	public void singleWalk() {
+		int[] nodes= new int[1];
+		HelperVisitor<ReferenceHolder<String, Object>, String, Object> counter= new HelperVisitor<>(null, new ReferenceHolder<>());
+		VisitorEnum.stream().forEach(ve -> counter.add(ve, (ASTNode node, ReferenceHolder<String, Object> holder) -> {
+			nodes[0]++;
+			return true;
+		}));
+
+		FusedHelperVisitor fused= new FusedHelperVisitor(false);
+		for (int i= 0; i < 10; i++) {
+			fused.add(createInvocationVisitor(new ArrayList<>()));
+		}
+		fused.add(counter);
+		fused.build(result);
+
+		// every node is walked once, no matter how many visitors are registered
+		assertEquals(nodes[0], fused.getNodesVisited());
+		assertTrue(fused.getDispatches() >= nodes[0] + 10 * 6);
+	}
+}
@@ -0,0 +1,254 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jdt.junit.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import org.eclipse.jdt.launching.SocketUtil;
+
+import org.eclipse.jdt.internal.junit.model.ITestRunListener2;
+import org.eclipse.jdt.internal.junit.model.RemoteTestRunnerClient;
+import org.eclipse.jdt.internal.junit.runner.BinaryMessageReader;
+import org.eclipse.jdt.internal.junit.runner.BinaryMessageSender;
+import org.eclipse.jdt.internal.junit.runner.MessageIds;
+
+public class BinaryMessageProtocolTest {
+
+	private static final String[] MESSAGES= {
+			MessageIds.TEST_RUN_START + "3 v2",
+			MessageIds.TEST_TREE + "1,pack.ATest,true,2,false,-1,ATest,,[engine:junit-jupiter]",
+			MessageIds.TEST_TREE + "2,testA(pack.ATest),false,1,false,1,testA(),,",
+			MessageIds.TEST_START + "2,testA(pack.ATest)",
+			MessageIds.TEST_FAILED + "2,testA(pack.ATest)",
+			MessageIds.EXPECTED_START,
+			"a",
+			MessageIds.EXPECTED_END,
+			MessageIds.ACTUAL_START,
+			"b",
+			MessageIds.ACTUAL_END,
+			MessageIds.TRACE_START,
+			"org.junit.ComparisonFailure: expected:<[a]> but was:<[b]>\n\tat pack.ATest.testA(ATest.java:7)\n\tat äöü😀",
+			MessageIds.TRACE_END,
+			MessageIds.TEST_END + "2,testA(pack.ATest)",
+			MessageIds.TEST_START + "007,testB\\,C(pack.ATest)",
+			MessageIds.TEST_END + "no id",
+			"%UNKNOWN message",
+			"",
+			MessageIds.TEST_RUN_END + "42",
+	};
+
+	/**
+	 * Records the notifications of a {@link RemoteTestRunnerClient}.
+	 */
+	private static class RecordingListener implements ITestRunListener2 {
+
+		private final List<String> fEvents= new ArrayList<>();
+
+		private synchronized void record(String event) {
+			fEvents.add(event);
+			notifyAll();
+		}
+
+		synchronized List<String> waitFor(String event) throws InterruptedException {
+			long end= System.currentTimeMillis() + 10000;
+			while (!fEvents.contains(event) && System.currentTimeMillis() < end)
+				wait(100);
+			return new ArrayList<>(fEvents);
+		}
+
+		@Override
+		public void testRunStarted(int testCount) {
+			record("runStarted " + testCount);
+		}
+
+		@Override
+		public void testRunEnded(long elapsedTime) {
+			record("runEnded " + elapsedTime);
+		}
+
+		@Override
+		public void testRunStopped(long elapsedTime) {
+			record("runStopped " + elapsedTime);
+		}
+
+		@Override
+		public void testStarted(String testId, String testName) {
+			record("started " + testId + " " + testName);
+		}
+
+		@Override
+		public void testEnded(String testId, String testName) {
+			record("ended " + testId + " " + testName);
+		}
+
+		@Override
+		public void testRunTerminated() {
+			record("terminated");
+		}
+
+		@Override
+		public void testTreeEntry(String description) {
+			record("tree " + description);
+		}
+
+		@Override
+		public void testFailed(int status, String testId, String testName, String trace, String expected, String actual) {
+			record("failed " + status + " " + testId + " " + testName + " " + trace.trim() + " " + expected + " " + actual);
+		}
+
+		@Override
+		public void testReran(String testId, String testClass, String testName, int status, String trace, String expected, String actual) {
+			record("reran " + testId);
+		}
+	}
+
+	private static byte[] send(String[] messages, int flushEvery) throws Exception {
+		ByteArrayOutputStream out= new ByteArrayOutputStream();
+		BinaryMessageSender sender= new BinaryMessageSender(out);
+		for (int i= 0; i < messages.length; i++) {
+			sender.sendMessage(messages[i]);
+			if ((i + 1) % flushEvery == 0)
+				sender.sendPendingEvents();
+		}
+		sender.close();
+		return out.toByteArray();
+	}
+
+	private static List<String> receive(byte[] bytes) throws Exception {
+		BinaryMessageReader reader= new BinaryMessageReader(new ByteArrayInputStream(bytes));
+		assertEquals(System.lineSeparator(), reader.getLineDelimiter());
+		List<String> messages= new ArrayList<>();
+		while (reader.next())
+			messages.add(reader.getMessage());
+		return messages;
+	}
+
+	@Test
+	public void testRoundTrip() throws Exception {
+		List<String> expected= List.of(MESSAGES);
+		assertEquals(expected, receive(send(MESSAGES, Integer.MAX_VALUE)));
+		assertEquals(expected, receive(send(MESSAGES, 1)));
+		assertEquals(expected, receive(send(MESSAGES, 4)));
+	}
+
+	@Test
+	public void testTestIds() throws Exception {
+		BinaryMessageReader reader= new BinaryMessageReader(new ByteArrayInputStream(send(MESSAGES, 1)));
+		List<String> started= new ArrayList<>();
+		while (reader.next()) {
+			if (MessageIds.TEST_START.equals(reader.getHeader()))
+				started.add(reader.getTestId() + "|" + reader.getArgument());
+			if (reader.getHeader() == null && reader.getArgument().startsWith("org.junit.ComparisonFailure"))
+				assertEquals(-1, reader.getTestId());
+		}
+		assertEquals(List.of("2|testA(pack.ATest)", "-1|007,testB\\,C(pack.ATest)"), started);
+	}
+
+	@Test
+	public void testManyEvents() throws Exception {
+		String[] messages= new String[60000];
+		for (int i= 0; i < messages.length; i++)
+			messages[i]= MessageIds.TEST_TREE + (i + 1) + ",test" + i + "(pack.ParameterizedTest),false,1,true,1,[" + i + "],,";
+		assertEquals(List.of(messages), receive(send(messages, Integer.MAX_VALUE)));
+	}
+
+	@Test
+	public void testDetection() throws Exception {
+		BufferedInputStream binary= new BufferedInputStream(new ByteArrayInputStream(send(MESSAGES, 1)));
+		assertTrue(BinaryMessageReader.isBinaryProtocol(binary));
+		// detection does not consume the input
+		assertEquals(MESSAGES.length, receive(binary.readAllBytes()).size());
+
+		byte[] text= (MessageIds.TEST_RUN_START + "3 v2\n").getBytes(StandardCharsets.UTF_8);
+		BufferedInputStream textStream= new BufferedInputStream(new ByteArrayInputStream(text));
+		assertFalse(BinaryMessageReader.isBinaryProtocol(textStream));
+		assertEquals(text.length, textStream.readAllBytes().length);
+
+		assertFalse(BinaryMessageReader.isBinaryProtocol(new BufferedInputStream(new ByteArrayInputStream(new byte[] { 0 }))));
+	}
+
+	@Test
+	public void testNoMessages() throws Exception {
+		BinaryMessageReader reader= new BinaryMessageReader(new ByteArrayInputStream(send(new String[0], 1)));
+		assertFalse(reader.next());
+		assertNull(reader.getHeader());
+	}
+
+	@Test
+	public void testClientReceivesEvents() throws Exception {
+		int port= SocketUtil.findFreePort();
+		RecordingListener listener= new RecordingListener();
+		RemoteTestRunnerClient client= new RemoteTestRunnerClient();
+		client.startListening(new ITestRunListener2[] { listener }, port);
+		Socket socket= null;
+		for (int i= 0; socket == null; i++) {
+			try {
+				socket= new Socket(InetAddress.getLoopbackAddress(), port);
+			} catch (ConnectException e) {
+				if (i == 100)
+					throw e;
+				Thread.sleep(50);
+			}
+		}
+		BinaryMessageSender sender= new BinaryMessageSender(socket.getOutputStream());
+		try {
+			// like the test listeners of the runner, flush after each event
+			for (int i= 0; i < 4; i++) {
+				sender.sendMessage(MESSAGES[i]);
+				sender.flush();
+			}
+			// the events are sent shortly after the flush, without a full frame
+			assertEquals(List.of(
+					"runStarted 3",
+					"tree 1,pack.ATest,true,2,false,-1,ATest,,[engine:junit-jupiter]",
+					"tree 2,testA(pack.ATest),false,1,false,1,testA(),,",
+					"started 2 testA(pack.ATest)"),
+					listener.waitFor("started 2 testA(pack.ATest)"));
+
+			// up to the malformed messages, which the text protocol cannot handle either
+			for (int i= 4; i < 16; i++) {
+				sender.sendMessage(MESSAGES[i]);
+				sender.flush();
+			}
+			sender.sendMessage(MessageIds.TEST_RUN_END + "42");
+			sender.sendPendingEvents();
+			List<String> events= listener.waitFor("runEnded 42");
+			assertEquals(List.of(
+					"failed 2 2 testA(pack.ATest) org.junit.ComparisonFailure: expected:<[a]> but was:<[b]>\n\tat pack.ATest.testA(ATest.java:7)\n\tat äöü😀 a b",
+					"ended 2 testA(pack.ATest)",
+					"started 007 testB\\,C(pack.ATest)",
+					"runEnded 42"),
+					events.subList(4, events.size()));
+		} finally {
+			sender.close();
+			client.stopWaiting();
+		}
+	}
+}
@@ -0,0 +1,139 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jdt.junit.tests;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jdt.internal.junit.model.CoalescingTestSessionListener;
+import org.eclipse.jdt.internal.junit.model.ITestSessionListener;
+import org.eclipse.jdt.internal.junit.model.TestCaseElement;
+import org.eclipse.jdt.internal.junit.model.TestElement;
+import org.eclipse.jdt.internal.junit.model.TestElement.Status;
+import org.eclipse.jdt.internal.junit.model.TestRunSession;
+import org.eclipse.jdt.internal.junit.model.TestSuiteElement;
+
+public class CoalescingTestSessionListenerTest {
+
+	private static class RecordingListener implements ITestSessionListener {
+		final List<String> fEvents= new ArrayList<>();
+
+		@Override
+		public void sessionStarted() {
+			fEvents.add("sessionStarted");
+		}
+		@Override
+		public void sessionEnded(long elapsedTime) {
+			fEvents.add("sessionEnded");
+		}
+		@Override
+		public void sessionStopped(long elapsedTime) {
+			fEvents.add("sessionStopped");
+		}
+		@Override
+		public void sessionTerminated() {
+			fEvents.add("sessionTerminated");
+		}
+		@Override
+		public void testAdded(TestElement testElement) {
+			fEvents.add("added " + testElement.getTestName());
+		}
+		@Override
+		public void runningBegins() {
+			fEvents.add("runningBegins");
+		}
+		@Override
+		public void testStarted(TestCaseElement testCaseElement) {
+			fEvents.add("started " + testCaseElement.getTestName());
+		}
+		@Override
+		public void testEnded(TestCaseElement testCaseElement) {
+			fEvents.add("ended " + testCaseElement.getTestName());
+		}
+		@Override
+		public void testFailed(TestElement testElement, Status status, String trace, String expected, String actual) {
+			fEvents.add("failed " + testElement.getTestName());
+		}
+		@Override
+		public void testReran(TestCaseElement testCaseElement, Status status, String trace, String expectedResult, String actualResult) {
+			fEvents.add("reran " + testCaseElement.getTestName());
+		}
+		@Override
+		public boolean acceptsSwapToDisk() {
+			return false;
+		}
+	}
+
+	private TestCaseElement[] fTests;
+
+	@Before
+	public void setUp() {
+		TestRunSession session= new TestRunSession("session", null);
+		TestSuiteElement suite= new TestSuiteElement(session.getTestRoot(), "1", "pack.ATest", 3, "ATest", null, null);
+		fTests= new TestCaseElement[3];
+		for (int i= 0; i < fTests.length; i++)
+			fTests[i]= new TestCaseElement(suite, String.valueOf(i + 2), "test" + i, "test" + i, false, null, null);
+	}
+
+	@Test
+	public void testCoalescing() {
+		RecordingListener recorder= new RecordingListener();
+		CoalescingTestSessionListener listener= new CoalescingTestSessionListener(recorder, Long.MAX_VALUE);
+
+		listener.sessionStarted();
+		for (TestCaseElement test : fTests)
+			listener.testAdded(test);
+		listener.runningBegins();
+		listener.testStarted(fTests[0]);
+		listener.testEnded(fTests[0]);
+		listener.testStarted(fTests[1]);
+		listener.testEnded(fTests[1]);
+		listener.testStarted(fTests[2]);
+		assertEquals(List.of("sessionStarted", "added test2", "runningBegins"), recorder.fEvents);
+
+		listener.flush();
+		assertEquals(List.of("sessionStarted", "added test2", "runningBegins", "ended test0", "ended test1", "started test2"), recorder.fEvents);
+		assertEquals(10, listener.getReceivedEventCount());
+		assertEquals(4, listener.getMergedEventCount());
+
+		listener.testFailed(fTests[2], Status.FAILURE, "trace", null, null);
+		listener.testEnded(fTests[2]);
+		listener.sessionEnded(42);
+		assertEquals(List.of("sessionStarted", "added test2", "runningBegins", "ended test0", "ended test1", "started test2",
+				"failed test2", "ended test2", "sessionEnded"), recorder.fEvents);
+		assertEquals(13, listener.getReceivedEventCount());
+		assertEquals(4, listener.getMergedEventCount());
+	}
+
+	@Test
+	public void testNoInterval() {
+		RecordingListener recorder= new RecordingListener();
+		CoalescingTestSessionListener listener= new CoalescingTestSessionListener(recorder, 0);
+
+		listener.sessionStarted();
+		listener.testAdded(fTests[0]);
+		listener.runningBegins();
+		listener.testStarted(fTests[0]);
+		listener.testEnded(fTests[0]);
+		listener.sessionStopped(42);
+		assertEquals(List.of("sessionStarted", "added test0", "runningBegins", "started test0", "ended test0", "sessionStopped"), recorder.fEvents);
+		assertEquals(0, listener.getMergedEventCount());
+	}
+}
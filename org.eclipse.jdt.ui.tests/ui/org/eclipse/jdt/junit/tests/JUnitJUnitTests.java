@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2021 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -42,7 +42,14 @@ JUnit3TestFinderTest.class,
 JUnit4TestFinderTest.class,
 JUnit4TestFinderTest16.class,
 
-TestSorting.class
+TestSorting.class,
+
+BinaryMessageProtocolTest.class,
+CoalescingTestSessionListenerTest.class,
+TestShardBalancerTest.class,
+TestRunSessionSwapFileTest.class,
+TestElementStorageTest.class,
+TestIndexTest.class
 /**
  * @param suite the suite
  * @deprecated to hide deprecation warning
@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jdt.junit.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jdt.junit.model.ITestElement.Result;
+
+import org.eclipse.jdt.internal.junit.model.TestCaseElement;
+import org.eclipse.jdt.internal.junit.model.TestElement;
+import org.eclipse.jdt.internal.junit.model.TestElement.Status;
+import org.eclipse.jdt.internal.junit.model.TestRunSession;
+import org.eclipse.jdt.internal.junit.model.TestSuiteElement;
+
+public class TestElementStorageTest {
+
+	private TestRunSession fSession;
+
+	private TestSuiteElement fSuite;
+
+	@Before
+	public void setUp() {
+		fSession= new TestRunSession("storage", null);
+		fSuite= (TestSuiteElement) fSession.createTestElement(fSession.getTestRoot(), "1", "pack.ATest", true, 0, false, "ATest", null, "[engine:junit-jupiter]/[class:pack.ATest]");
+	}
+
+	@Test
+	public void testIds() {
+		String[] ids= { "2", "0", "3:17", "0:2", "-2", "007", "a:1", "1000000000", "12345" };
+		for (String id : ids)
+			fSession.createTestElement(fSuite, id, "test" + id + "(pack.ATest)", false, 0, false, null, null, null);
+
+		for (String id : ids) {
+			TestElement element= fSession.getTestElement(id);
+			assertEquals("test" + id + "(pack.ATest)", element.getTestName());
+			assertEquals(id, element.getId());
+		}
+		assertSame(fSuite, fSession.getTestElement("1"));
+		assertNull(fSession.getTestElement("3"));
+		assertNull(fSession.getTestElement("1:17"));
+		assertNull(fSession.getTestElement("7"));
+	}
+
+	@Test
+	public void testSharedNames() {
+		String[] parameterTypes= { "int", "java.lang.String" };
+		TestSuiteElement method= (TestSuiteElement) fSession.createTestElement(fSuite, "2", "testMethod(pack.ATest)", true, 0, false, "testMethod(int, String)", parameterTypes,
+				"[engine:junit-jupiter]/[class:pack.ATest]/[test-template:testMethod(int, java.lang.String)]");
+		TestElement first= fSession.createTestElement(method, "3", new String("testMethod(pack.ATest)"), false, 0, true, "[1] 1, a", parameterTypes.clone(),
+				"[engine:junit-jupiter]/[class:pack.ATest]/[test-template:testMethod(int, java.lang.String)]/[test-template-invocation:#1]");
+		TestElement second= fSession.createTestElement(method, "4", new String("testMethod(pack.ATest)"), false, 0, true, "[2] 2, b", parameterTypes.clone(),
+				"[engine:junit-jupiter]/[class:pack.ATest]/[test-template:testMethod(int, java.lang.String)]/[test-template-invocation:#2]");
+
+		assertSame(method.getTestName(), first.getTestName());
+		assertSame(first.getTestName(), second.getTestName());
+		assertSame(method.getParameterTypes(), first.getParameterTypes());
+		assertSame(first.getParameterTypes(), second.getParameterTypes());
+		assertEquals("[2] 2, b", second.getDisplayName());
+		assertEquals("[engine:junit-jupiter]/[class:pack.ATest]/[test-template:testMethod(int, java.lang.String)]/[test-template-invocation:#2]", second.getUniqueId());
+		assertEquals("[engine:junit-jupiter]/[class:pack.ATest]", fSuite.getUniqueId());
+	}
+
+	@Test
+	public void testState() {
+		TestCaseElement test= (TestCaseElement) fSession.createTestElement(fSuite, "2", "test(pack.ATest)", false, 0, true, "test", null, null);
+		assertEquals(Status.NOT_RUN, test.getStatus());
+		assertTrue(test.isDynamicTest());
+		assertFalse(test.isIgnored());
+		assertFalse(test.isAssumptionFailure());
+		assertNull(test.getTrace());
+		assertNull(test.getFailureTrace());
+		assertFalse(test.isComparisonFailure());
+
+		test.setStatus(Status.RUNNING);
+		test.setIgnored(true);
+		assertEquals(Status.RUNNING, test.getStatus());
+		assertEquals(Result.IGNORED, test.getTestResult(false));
+		test.setIgnored(false);
+		test.setAssumptionFailed(true);
+		assertEquals(Result.IGNORED, test.getTestResult(false));
+		test.setAssumptionFailed(false);
+
+		test.setStatus(Status.FAILURE, "trace", "expected", "actual");
+		test.setStatus(Status.FAILURE, " more", null, null);
+		assertEquals(Status.FAILURE, test.getStatus());
+		assertEquals(Status.FAILURE, fSuite.getStatus());
+		assertEquals("trace more", test.getFailureTrace().getTrace());
+		assertTrue(test.isComparisonFailure());
+		assertTrue(test.isDynamicTest());
+		assertFalse(test.isIgnored());
+	}
+}
@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.junit.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jdt.junit.JUnitCore;
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+import org.eclipse.jdt.testplugin.StringAsserts;
+
+import org.eclipse.core.runtime.CoreException;
+
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+
+import org.eclipse.jdt.internal.junit.launcher.ITestFinder;
+import org.eclipse.jdt.internal.junit.launcher.TestKindRegistry;
+
+public class TestIndexTest {
+
+	private IJavaProject fProject;
+	private IPackageFragmentRoot fRoot;
+
+	@Before
+	public void setUp() throws Exception {
+		fProject= JavaProjectHelper.createJavaProject("TestProject", "bin");
+		JavaProjectHelper.addRTJar(fProject);
+		IClasspathEntry cpe= JavaCore.newContainerEntry(JUnitCore.JUNIT4_CONTAINER_PATH);
+		JavaProjectHelper.addToClasspath(fProject, cpe);
+		JavaProjectHelper.set15CompilerOptions(fProject);
+
+		fRoot= JavaProjectHelper.addSourceContainer(fProject, "src");
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		JavaProjectHelper.delete(fProject);
+	}
+
+	private static String superTest(boolean annotated) {
+		StringBuilder buf= new StringBuilder();
+		buf.append("package p;\n");
+		buf.append("import org.junit.Test;\n");
+		buf.append("\n");
+		buf.append("public class SuperTest {\n");
+		if (annotated)
+			buf.append("        @Test\n");
+		buf.append("        public void testFoo() {\n");
+		buf.append("        }\n");
+		buf.append("}\n");
+		return buf.toString();
+	}
+
+	@Test
+	public void testSuperTypeChanged() throws Exception {
+		IPackageFragment p= fRoot.createPackageFragment("p", true, null);
+		IType superTest= p.createCompilationUnit("SuperTest.java", superTest(true), false, null).findPrimaryType();
+
+		StringBuilder buf= new StringBuilder();
+		buf.append("package p;\n");
+		buf.append("\n");
+		buf.append("public class SubTest extends SuperTest {\n");
+		buf.append("}\n");
+		IType subTest= p.createCompilationUnit("SubTest.java", buf.toString(), false, null).findPrimaryType();
+
+		ITestFinder finder= TestKindRegistry.getDefault().getKind(TestKindRegistry.JUNIT4_TEST_KIND_ID).getFinder();
+		assertTrue(finder.isTest(subTest));
+		assertTrue(finder.isTest(subTest)); // from the index
+		assertTestFound(p, new String[] { "p.SuperTest", "p.SubTest" });
+		assertTestFound(p, new String[] { "p.SuperTest", "p.SubTest" });
+
+		superTest.getCompilationUnit().getBuffer().setContents(superTest(false));
+		superTest.getCompilationUnit().save(null, true);
+
+		assertFalse(finder.isTest(subTest));
+		assertFalse(finder.isTest(superTest));
+		assertTestFound(p, new String[0]);
+	}
+
+	@Test
+	public void testTypeAdded() throws Exception {
+		IPackageFragment p= fRoot.createPackageFragment("p", true, null);
+		p.createCompilationUnit("SuperTest.java", superTest(true), false, null);
+		assertTestFound(fRoot, new String[] { "p.SuperTest" });
+
+		StringBuilder buf= new StringBuilder();
+		buf.append("package q;\n");
+		buf.append("import org.junit.Test;\n");
+		buf.append("\n");
+		buf.append("public class OtherTest {\n");
+		buf.append("        @Test\n");
+		buf.append("        public void testBar() {\n");
+		buf.append("        }\n");
+		buf.append("}\n");
+		IPackageFragment q= fRoot.createPackageFragment("q", true, null);
+		q.createCompilationUnit("OtherTest.java", buf.toString(), false, null);
+
+		assertTestFound(fRoot, new String[] { "p.SuperTest", "q.OtherTest" });
+		assertTestFound(fProject, new String[] { "p.SuperTest", "q.OtherTest" });
+	}
+
+	private static void assertTestFound(IJavaElement container, String[] expectedTypes) throws CoreException {
+		HashSet<String> namesFound= new HashSet<>();
+		for (IType curr : JUnitCore.findTestTypes(container, null)) {
+			namesFound.add(curr.getFullyQualifiedName('.'));
+		}
+		String[] actuals= namesFound.toArray(new String[namesFound.size()]);
+		assertEquals(expectedTypes.length, actuals.length);
+		StringAsserts.assertEqualStringsIgnoreOrder(actuals, expectedTypes);
+	}
+}
@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jdt.junit.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jdt.junit.model.ITestElement;
+
+import org.eclipse.jdt.internal.junit.model.JUnitModel;
+import org.eclipse.jdt.internal.junit.model.TestCaseElement;
+import org.eclipse.jdt.internal.junit.model.TestElement;
+import org.eclipse.jdt.internal.junit.model.TestElement.Status;
+import org.eclipse.jdt.internal.junit.model.TestRunSession;
+import org.eclipse.jdt.internal.junit.model.TestSuiteElement;
+
+public class TestRunSessionSwapFileTest {
+
+	private TestRunSession fSession;
+
+	@Before
+	public void setUp() {
+		fSession= new TestRunSession("swap", null);
+		TestSuiteElement suite= (TestSuiteElement) fSession.createTestElement(fSession.getTestRoot(), "1", "pack.ATest", true, 0, false, "ATest", null, null);
+		TestSuiteElement parameterized= (TestSuiteElement) fSession.createTestElement(suite, "2", "testParameterized(pack.ATest)", true, 0, false, "testParameterized", new String[] { "int", "java.lang.String" }, "[engine:junit-jupiter]/[class:pack.ATest]");
+		TestElement[] tests= {
+				fSession.createTestElement(suite, "3", "testOk(pack.ATest)", false, 0, false, "testOk", null, null),
+				fSession.createTestElement(suite, "4", "testFailure(pack.ATest)", false, 0, false, "testFailure", null, null),
+				fSession.createTestElement(suite, "5", "testError(pack.ATest)", false, 0, false, "testError", null, null),
+				fSession.createTestElement(suite, "6", "testIgnored(pack.ATest)", false, 0, false, "testIgnored", null, null),
+				fSession.createTestElement(parameterized, "7", "testParameterized(pack.ATest)", false, 0, true, "[1] 1, äöü", null, null)
+		};
+		((TestCaseElement) tests[3]).setIgnored(true);
+		tests[4].setAssumptionFailed(true);
+
+		for (TestElement test : tests)
+			test.setStatus(Status.RUNNING);
+		fSession.registerTestFailureStatus(tests[1], Status.FAILURE, "junit.framework.ComparisonFailure: expected:<1> but was:<2>", "1", "2");
+		fSession.registerTestFailureStatus(tests[2], Status.ERROR, "java.lang.NullPointerException\n\tat pack.ATest.testError(ATest.java:42)", null, null);
+		fSession.registerTestFailureStatus(tests[4], Status.FAILURE, "org.opentest4j.TestAbortedException", null, null);
+		for (TestElement test : tests) {
+			fSession.registerTestEnded(test, true);
+			test.setElapsedTimeInSeconds(0.25);
+		}
+		suite.setElapsedTimeInSeconds(1.25);
+	}
+
+	@After
+	public void tearDown() {
+		fSession.removeSwapFile();
+	}
+
+	private String export() throws Exception {
+		ByteArrayOutputStream out= new ByteArrayOutputStream();
+		JUnitModel.exportTestRunSession(fSession, out);
+		return out.toString("UTF-8");
+	}
+
+	@Test
+	public void testSwapOutAndIn() throws Exception {
+		String expected= export();
+		TestSuiteElement root= fSession.getTestRoot();
+		fSession.swapOut();
+		assertTrue(root != fSession.getTestRoot());
+
+		assertEquals(expected, export());
+		assertEquals(5, fSession.getTotalCount());
+		assertEquals(1, fSession.getFailureCount());
+		assertEquals(1, fSession.getAssumptionFailureCount());
+		assertEquals(1, fSession.getErrorCount());
+		assertEquals(1, fSession.getIgnoredCount());
+	}
+
+	@Test
+	public void testLazyTrace() throws Exception {
+		fSession.swapOut();
+
+		TestSuiteElement suite= (TestSuiteElement) fSession.getTestRoot().getChildren()[0];
+		ITestElement[] children= suite.getChildren();
+		TestElement failure= (TestElement) children[2];
+		assertEquals("testFailure(pack.ATest)", failure.getTestName());
+		assertEquals(Status.FAILURE, failure.getStatus());
+		assertTrue(failure.isComparisonFailure());
+		assertEquals("junit.framework.ComparisonFailure: expected:<1> but was:<2>", failure.getFailureTrace().getTrace());
+		assertEquals("1", failure.getExpected());
+		assertEquals("2", failure.getActual());
+
+		TestElement ok= (TestElement) children[1];
+		assertEquals(null, ok.getFailureTrace());
+		assertEquals(Status.OK, ok.getStatus());
+		assertEquals(0.25, ok.getElapsedTimeInSeconds(), 0);
+
+		// swapping out again keeps the traces that have not been loaded
+		fSession.swapOut();
+		suite= (TestSuiteElement) fSession.getTestRoot().getChildren()[0];
+		TestElement error= (TestElement) suite.getChildren()[3];
+		assertEquals("java.lang.NullPointerException\n\tat pack.ATest.testError(ATest.java:42)", error.getTrace());
+		assertEquals(Status.ERROR, suite.getStatus());
+	}
+}
@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jdt.junit.tests;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import org.eclipse.jdt.internal.junit.launcher.TestShardBalancer;
+
+public class TestShardBalancerTest {
+
+	private static double sum(List<String> shard, Map<String, Double> durations) {
+		double sum= 0;
+		for (String test : shard)
+			sum+= durations.get(test).doubleValue();
+		return sum;
+	}
+
+	@Test
+	public void testBalanceByDuration() {
+		Map<String, Double> durations= Map.of("A", 8.0, "B", 7.0, "C", 6.0, "D", 5.0, "E", 4.0, "F", 2.0);
+		List<String> tests= List.of("A", "B", "C", "D", "E", "F");
+		List<List<String>> shards= TestShardBalancer.balance(tests, durations::get, 2);
+
+		assertEquals(List.of(List.of("A", "D", "E"), List.of("B", "C", "F")), shards);
+		assertEquals(17.0, sum(shards.get(0), durations), 0);
+		assertEquals(15.0, sum(shards.get(1), durations), 0);
+	}
+
+	@Test
+	public void testUnknownDurations() {
+		Map<String, Double> durations= Map.of("A", 10.0, "B", 2.0);
+		List<String> tests= List.of("A", "B", "C", "D", "E");
+		// C, D and E are assumed to take 6 each
+		List<List<String>> shards= TestShardBalancer.balance(tests, test -> durations.getOrDefault(test, Double.NaN), 2);
+
+		assertEquals(List.of(List.of("A", "E"), List.of("B", "C", "D")), shards);
+	}
+
+	@Test
+	public void testNoHistory() {
+		List<String> tests= new ArrayList<>();
+		for (int i= 0; i < 10; i++)
+			tests.add("T" + i);
+		List<List<String>> shards= TestShardBalancer.balance(tests, test -> Double.NaN, 3);
+
+		assertEquals(3, shards.size());
+		assertEquals(List.of("T0", "T3", "T6", "T9"), shards.get(0));
+		assertEquals(List.of("T1", "T4", "T7"), shards.get(1));
+		assertEquals(List.of("T2", "T5", "T8"), shards.get(2));
+	}
+
+	@Test
+	public void testMoreShardsThanTests() {
+		List<List<String>> shards= TestShardBalancer.balance(List.of("A", "B"), test -> 1.0, 8);
+		assertEquals(List.of(List.of("A"), List.of("B")), shards);
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2020 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,7 +14,11 @@
 package org.eclipse.jdt.ui.tests.core;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 import org.junit.After;
 import org.junit.Before;
@@ -41,6 +45,7 @@ import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IPackageFragment;
 import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.manipulation.CoreASTProvider;
 import org.eclipse.jdt.core.manipulation.SharedASTProviderCore;
 import org.eclipse.jdt.core.refactoring.CompilationUnitChange;
 
@@ -141,6 +146,104 @@ public class ASTProviderTest extends CoreTests {
 		cu.getBuffer().save(null, true);
 	}
 
+	@Test
+	public void snapshot() throws Exception {
+		IPackageFragment pack1= fSourceFolder.createPackageFragment("test1", false, null);
+		StringBuilder buf= new StringBuilder();
+		buf.append("package test1;\n");
+		buf.append("public class E1 {\n");
+		buf.append("}\n");
+		ICompilationUnit cu= pack1.createCompilationUnit("E1.java", buf.toString(), false, null);
+
+		JavaUI.openInEditor(cu);
+
+		CompilationUnit ast= SharedASTProviderCore.getAST(cu, SharedASTProviderCore.WAIT_ACTIVE_ONLY, null);
+		assertNotNull(ast);
+		CoreASTProvider.ASTSnapshot snapshot= CoreASTProvider.getInstance().getSnapshot(cu);
+		assertNotNull(snapshot);
+		assertSame(ast, snapshot.getAST());
+		assertFalse(snapshot.isStale());
+		assertSame(ast, SharedASTProviderCore.getAST(cu, SharedASTProviderCore.WAIT_NO, null));
+
+		Refactoring refactoring= new AddFieldRefactoring(cu, 0);
+		refactoring.checkAllConditions(new NullProgressMonitor());
+		PerformChangeOperation operation= new PerformChangeOperation(new CreateChangeOperation(refactoring));
+		operation.run(new NullProgressMonitor());
+
+		CompilationUnit newAST= SharedASTProviderCore.getAST(cu, SharedASTProviderCore.WAIT_ACTIVE_ONLY, null);
+		assertNotNull(newAST);
+		assertEquals(cu.getBuffer().getContents(), newAST.toString());
+		assertTrue(snapshot.isStale());
+		assertTrue(CoreASTProvider.getInstance().getGeneration() > snapshot.getGeneration());
+
+		cu.getBuffer().save(null, true);
+	}
+
+	@Test
+	public void staleSnapshotWhileReconciling() throws Exception {
+		IPackageFragment pack1= fSourceFolder.createPackageFragment("test1", false, null);
+		StringBuilder buf= new StringBuilder();
+		buf.append("package test1;\n");
+		buf.append("public class E1 {\n");
+		buf.append("}\n");
+		ICompilationUnit cu= pack1.createCompilationUnit("E1.java", buf.toString(), false, null);
+
+		CoreASTProvider provider= CoreASTProvider.getInstance();
+		JavaUI.openInEditor(cu);
+		CompilationUnit ast= SharedASTProviderCore.getAST(cu, SharedASTProviderCore.WAIT_ACTIVE_ONLY, null);
+		assertNotNull(ast);
+
+		provider.aboutToBeReconciled(cu);
+		try {
+			// the last published AST is handed out without waiting for the reconcile
+			CoreASTProvider.ASTSnapshot snapshot= SharedASTProviderCore.getSnapshot(cu, SharedASTProviderCore.WAIT_ACTIVE_ONLY, null);
+			assertNotNull(snapshot);
+			assertSame(ast, snapshot.getAST());
+			assertTrue(snapshot.isStale());
+			assertSame(snapshot, SharedASTProviderCore.getSnapshot(cu, SharedASTProviderCore.WAIT_NO, null));
+			assertNull(SharedASTProviderCore.getAST(cu, SharedASTProviderCore.WAIT_NO, null));
+		} finally {
+			provider.reconciled(ast, cu, new NullProgressMonitor());
+		}
+		CoreASTProvider.ASTSnapshot snapshot= SharedASTProviderCore.getSnapshot(cu, SharedASTProviderCore.WAIT_NO, null);
+		assertSame(ast, snapshot.getAST());
+		assertFalse(snapshot.isStale());
+	}
+
+	@Test
+	public void recentASTs() throws Exception {
+		IPackageFragment pack1= fSourceFolder.createPackageFragment("test1", false, null);
+		StringBuilder buf= new StringBuilder();
+		buf.append("package test1;\n");
+		buf.append("public class E1 {\n");
+		buf.append("}\n");
+		ICompilationUnit cu1= pack1.createCompilationUnit("E1.java", buf.toString(), false, null);
+		buf= new StringBuilder();
+		buf.append("package test1;\n");
+		buf.append("public class E2 extends E1 {\n");
+		buf.append("}\n");
+		ICompilationUnit cu2= pack1.createCompilationUnit("E2.java", buf.toString(), false, null);
+
+		CoreASTProvider provider= CoreASTProvider.getInstance();
+		JavaUI.openInEditor(cu1);
+		assertNotNull(SharedASTProviderCore.getAST(cu1, SharedASTProviderCore.WAIT_ACTIVE_ONLY, null));
+		JavaUI.openInEditor(cu2);
+		assertNotNull(SharedASTProviderCore.getAST(cu2, SharedASTProviderCore.WAIT_ACTIVE_ONLY, null));
+
+		int hits= provider.getCacheHits();
+		JavaUI.openInEditor(cu1);
+		assertEquals(hits + 1, provider.getCacheHits());
+		CompilationUnit ast= SharedASTProviderCore.getAST(cu1, SharedASTProviderCore.WAIT_ACTIVE_ONLY, null);
+		assertNotNull(ast);
+		assertEquals(cu1.getBuffer().getContents(), ast.toString());
+
+		// reconciling the active element does not look for a recent AST
+		int misses= provider.getCacheMisses();
+		provider.aboutToBeReconciled(cu1);
+		provider.reconciled(ast, cu1, new NullProgressMonitor());
+		assertEquals(misses, provider.getCacheMisses());
+	}
+
 	private static String getNormalizeNumber(int number) {
 		if (number < 10) {
 			return "000" + number;
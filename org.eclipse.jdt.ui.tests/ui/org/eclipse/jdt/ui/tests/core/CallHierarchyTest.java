@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -36,6 +36,7 @@ import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.IType;
 
 import org.eclipse.jdt.internal.corext.callhierarchy.CallHierarchy;
+import org.eclipse.jdt.internal.corext.callhierarchy.CallHierarchyCore;
 import org.eclipse.jdt.internal.corext.callhierarchy.MethodWrapper;
 
 import org.eclipse.jdt.ui.tests.callhierarchy.CallHierarchyTestHelper;
@@ -531,6 +532,83 @@ public class CallHierarchyTest {
 		checkCalls(component, expectedCaller);
     }
 
+	@Test
+	public void expandCallers() throws Exception {
+        helper.createSimpleClasses();
+
+        MethodWrapper wrapper= getSingleCallerRoot(helper.getMethod1());
+        CallHierarchyCore.getDefault().expand(new MethodWrapper[] { wrapper }, 3, new NullProgressMonitor());
+
+        MethodWrapper[] callsTo1= wrapper.getCalls(new NullProgressMonitor());
+        helper.assertCalls(Arrays.asList(helper.getMethod2(), helper.getMethod3()), callsTo1);
+
+        MethodWrapper wrapper2= helper.findMethodWrapper(helper.getMethod2(), callsTo1);
+        MethodWrapper[] callsTo2= wrapper2.getCalls(new NullProgressMonitor());
+        helper.assertCalls(Arrays.asList(helper.getMethod3()), callsTo2);
+
+        MethodWrapper wrapper3= helper.findMethodWrapper(helper.getMethod3(), callsTo2);
+        helper.assertCalls(Arrays.asList(helper.getMethod4()), wrapper3.getCalls(new NullProgressMonitor()));
+    }
+
+	@Test
+	public void callersOfSeveralRoots() throws Exception {
+        helper.createSimpleClasses();
+
+        IMethod method= helper.getMethod1();
+
+        Collection<IMember> expectedMethods= new ArrayList<>();
+        expectedMethods.add(helper.getMethod2());
+        expectedMethods.add(helper.getMethod3());
+
+        helper.assertCalls(expectedMethods, getSingleCallerRoot(method).getCalls(new NullProgressMonitor()));
+        helper.assertCalls(expectedMethods, getSingleCallerRoot(method).getCalls(new NullProgressMonitor()));
+
+        IMethod method5= helper.getType2().createMethod("public void method5() { method1(); }\n", null, true, null);
+        expectedMethods.add(method5);
+        helper.assertCalls(expectedMethods, getSingleCallerRoot(method).getCalls(new NullProgressMonitor()));
+    }
+
+	@Test
+	public void callGraphIndex() throws Exception {
+        helper.createSimpleClasses();
+
+        CallHierarchy.setCallGraphIndexEnabled(true);
+        try {
+            IMethod method= helper.getMethod1();
+
+            Collection<IMember> expectedMethods= new ArrayList<>();
+            expectedMethods.add(helper.getMethod2());
+            expectedMethods.add(helper.getMethod3());
+            helper.assertCalls(expectedMethods, getSingleCallerRoot(method).getCalls(new NullProgressMonitor()));
+            helper.assertCalls(Arrays.asList(helper.getMethod3()), getSingleCalleeRoot(helper.getMethod4()).getCalls(new NullProgressMonitor()));
+
+            IMethod method5= helper.getType2().createMethod("public void method5() { method1(); }\n", null, true, null);
+            expectedMethods.add(method5);
+            helper.assertCalls(expectedMethods, getSingleCallerRoot(method).getCalls(new NullProgressMonitor()));
+            helper.assertCalls(Arrays.asList(method), getSingleCalleeRoot(method5).getCalls(new NullProgressMonitor()));
+        } finally {
+            CallHierarchy.setCallGraphIndexEnabled(false);
+        }
+    }
+
+	@Test
+	public void callGraphIndexInterfaceCalls() throws Exception {
+        helper.createCalleeClasses();
+
+        CallHierarchy.setCallGraphIndexEnabled(true);
+        try {
+            IMethod callFoo= helper.getTypeP().getMethod("callFoo", EMPTY);
+            helper.assertCalls(Arrays.asList(callFoo), getSingleCallerRoot(helper.getFooMethod()).getCalls(new NullProgressMonitor()));
+            helper.assertCalls(Arrays.asList(callFoo), getSingleCallerRoot(helper.getFooImplMethod_A()).getCalls(new NullProgressMonitor()));
+            helper.assertCalls(Arrays.asList(callFoo), getSingleCallerRoot(helper.getFooImplMethod_B()).getCalls(new NullProgressMonitor()));
+
+            IMethod callAbsFoo= helper.getTypeP().getMethod("callAbsFoo", EMPTY);
+            helper.assertCalls(Arrays.asList(callAbsFoo), getSingleCallerRoot(helper.getAbsI1FooMethod()).getCalls(new NullProgressMonitor()));
+        } finally {
+            CallHierarchy.setCallGraphIndexEnabled(false);
+        }
+    }
+
     private void checkCalls(IMember memberToCheck, IMethod... expectedCallers) {
         MethodWrapper[] methodWrappers = CallHierarchy.getDefault().getCallerRoots(new IMember[] { memberToCheck });
         MethodWrapper[] callers = methodWrappers[0].getCalls(new NullProgressMonitor());
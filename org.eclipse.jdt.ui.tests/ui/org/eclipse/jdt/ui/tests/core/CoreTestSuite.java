@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2020 IBM Corporation and others.
+ * Copyright (c) 2020, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -50,14 +50,17 @@ OverrideTest.class,
 PartialASTTest.class,
 ScopeAnalyzerTest.class,
 TemplateStoreTest.class,
+SuperTypeHierarchyCacheTest.class,
 TypeHierarchyTest.class,
 TypeHierarchyViewPartTest.class,
+TypeHierarchyLifeCycleTest.class,
 TypeRulesTest.class,
 TypeInfoTest.class,
 StringsTest.class,
 IndentManipulationTest.class,
 SelectionHistoryTest.class,
 ASTProviderTest.class,
+ProblemMarkerManagerTest.class,
 JDTFlagsTest18.class,
 JavaTokenComparatorTest.class,
 JavaIgnoreWhitespaceContributorTest.class,
@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.core;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IResource;
+
+import org.eclipse.jdt.core.IJavaProject;
+
+import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+import org.eclipse.jdt.internal.ui.viewsupport.IProblemChangedListener;
+import org.eclipse.jdt.internal.ui.viewsupport.ProblemMarkerManager;
+
+public class ProblemMarkerManagerTest {
+	@Rule
+	public ProjectTestSetup pts= new ProjectTestSetup();
+
+	private IJavaProject fJavaProject;
+
+	private ProblemMarkerManager fManager;
+
+	private final IProblemChangedListener fListener= (changedResources, isMarkerChange) -> {
+		// the severities are only kept up to date while there are listeners
+	};
+
+	@Before
+	public void setUp() throws Exception {
+		fJavaProject= pts.getProject();
+		fManager= JavaPlugin.getDefault().getProblemMarkerManager();
+		fManager.addListener(fListener);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		fManager.removeListener(fListener);
+		JavaProjectHelper.clear(fJavaProject, pts.getDefaultClasspath());
+	}
+
+	private IFile createFile(IFolder folder, String name) throws Exception {
+		IFile file= folder.getFile(name);
+		file.create(new ByteArrayInputStream(new byte[0]), true, null);
+		return file;
+	}
+
+	private static IMarker createProblem(IResource resource, int severity) throws Exception {
+		IMarker marker= resource.createMarker(IMarker.PROBLEM);
+		marker.setAttribute(IMarker.SEVERITY, severity);
+		return marker;
+	}
+
+	private void assertSeverity(int expected, IResource resource) throws Exception {
+		assertEquals(resource.getFullPath().toString(), expected, fManager.findMaxProblemSeverity(resource));
+		assertEquals(resource.getFullPath().toString(), expected, resource.findMaxProblemSeverity(IMarker.PROBLEM, true, IResource.DEPTH_INFINITE));
+	}
+
+	@Test
+	public void severities() throws Exception {
+		IFolder a= fJavaProject.getProject().getFolder("a");
+		a.create(true, true, null);
+		IFolder b= a.getFolder("b");
+		b.create(true, true, null);
+		IFile x= createFile(a, "x.txt");
+		IFile y= createFile(b, "y.txt");
+		assertSeverity(-1, a);
+
+		IMarker warning= createProblem(y, IMarker.SEVERITY_WARNING);
+		assertSeverity(IMarker.SEVERITY_WARNING, y);
+		assertSeverity(IMarker.SEVERITY_WARNING, b);
+		assertSeverity(IMarker.SEVERITY_WARNING, a);
+
+		IMarker error= createProblem(x, IMarker.SEVERITY_ERROR);
+		assertSeverity(IMarker.SEVERITY_ERROR, a);
+		assertSeverity(IMarker.SEVERITY_WARNING, b);
+
+		error.delete();
+		assertSeverity(IMarker.SEVERITY_WARNING, a);
+
+		warning.setAttribute(IMarker.SEVERITY, IMarker.SEVERITY_INFO);
+		assertSeverity(IMarker.SEVERITY_INFO, b);
+		assertSeverity(IMarker.SEVERITY_INFO, a);
+
+		createProblem(a, IMarker.SEVERITY_WARNING);
+		assertSeverity(IMarker.SEVERITY_WARNING, a);
+		assertSeverity(IMarker.SEVERITY_INFO, b);
+
+		a.deleteMarkers(IMarker.PROBLEM, true, IResource.DEPTH_ZERO);
+		b.delete(true, null);
+		assertSeverity(-1, a);
+	}
+
+	@Test
+	public void closedProject() throws Exception {
+		IFolder a= fJavaProject.getProject().getFolder("a");
+		a.create(true, true, null);
+		createProblem(a, IMarker.SEVERITY_ERROR);
+		assertSeverity(IMarker.SEVERITY_ERROR, a);
+
+		fJavaProject.getProject().close(null);
+		fJavaProject.getProject().open(null);
+		a.deleteMarkers(IMarker.PROBLEM, true, IResource.DEPTH_ZERO);
+		createProblem(a, IMarker.SEVERITY_INFO);
+		assertSeverity(IMarker.SEVERITY_INFO, a);
+	}
+}
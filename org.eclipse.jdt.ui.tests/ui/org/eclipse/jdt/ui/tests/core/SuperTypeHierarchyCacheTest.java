@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeHierarchy;
+
+import org.eclipse.jdt.internal.corext.util.SuperTypeHierarchyCache;
+
+import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
+
+public class SuperTypeHierarchyCacheTest {
+	@Rule
+	public ProjectTestSetup pts= new ProjectTestSetup();
+
+	private IJavaProject fJavaProject;
+
+	private IPackageFragment fPack;
+
+	@Before
+	public void setUp() throws Exception {
+		fJavaProject= pts.getProject();
+		IPackageFragmentRoot root= JavaProjectHelper.addSourceContainer(fJavaProject, "src");
+		fPack= root.createPackageFragment("pack", true, null);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		SuperTypeHierarchyCache.setCacheLimits(SuperTypeHierarchyCache.DEFAULT_MAX_HIERARCHIES, SuperTypeHierarchyCache.DEFAULT_MAX_WEIGHT);
+		JavaProjectHelper.clear(fJavaProject, pts.getDefaultClasspath());
+	}
+
+	private IType createType(String name, String declaration) throws Exception {
+		return fPack.getCompilationUnit(name + ".java").createType(declaration, null, true, null);
+	}
+
+	@Test
+	public void containedTypes() throws Exception {
+		IType a= createType("A", "public class A {\n}\n");
+		IType b= createType("B", "public class B extends A {\n}\n");
+		IType c= createType("C", "public class C extends B {\n}\n");
+
+		int misses= SuperTypeHierarchyCache.getCacheMisses();
+		int hits= SuperTypeHierarchyCache.getCacheHits();
+		ITypeHierarchy hierarchy= SuperTypeHierarchyCache.getTypeHierarchy(c);
+		assertSame(hierarchy, SuperTypeHierarchyCache.getTypeHierarchy(a));
+		assertSame(hierarchy, SuperTypeHierarchyCache.getTypeHierarchy(b));
+		assertSame(hierarchy, SuperTypeHierarchyCache.getMethodOverrideTester(b).getTypeHierarchy());
+		assertEquals(misses + 1, SuperTypeHierarchyCache.getCacheMisses());
+		assertEquals(hits + 3, SuperTypeHierarchyCache.getCacheHits());
+	}
+
+	@Test
+	public void eviction() throws Exception {
+		IType a= createType("A", "public class A {\n}\n");
+		IType b= createType("B", "public class B {\n}\n");
+		SuperTypeHierarchyCache.setCacheLimits(1, SuperTypeHierarchyCache.DEFAULT_MAX_WEIGHT);
+
+		int evictions= SuperTypeHierarchyCache.getCacheEvictions();
+		SuperTypeHierarchyCache.getTypeHierarchy(a);
+		assertTrue(SuperTypeHierarchyCache.hasInCache(a));
+		SuperTypeHierarchyCache.getTypeHierarchy(b);
+		assertTrue(SuperTypeHierarchyCache.hasInCache(b));
+		assertFalse(SuperTypeHierarchyCache.hasInCache(a));
+		assertEquals(evictions + 1, SuperTypeHierarchyCache.getCacheEvictions());
+	}
+
+	@Test
+	public void concurrentRequests() throws Exception {
+		IType a= createType("A", "public class A {\n}\n");
+		IType b= createType("B", "public class B extends A implements Runnable {\n public void run() {\n }\n}\n");
+
+		int misses= SuperTypeHierarchyCache.getCacheMisses();
+		ExecutorService executor= Executors.newFixedThreadPool(4);
+		try {
+			List<Future<ITypeHierarchy>> futures= new ArrayList<>();
+			for (int i= 0; i < 8; i++) {
+				futures.add(executor.submit(() -> SuperTypeHierarchyCache.getTypeHierarchy(b)));
+			}
+			ITypeHierarchy hierarchy= futures.get(0).get();
+			for (Future<ITypeHierarchy> future : futures) {
+				assertSame(hierarchy, future.get());
+			}
+			assertTrue(hierarchy.contains(a));
+		} finally {
+			executor.shutdown();
+		}
+		assertEquals(misses + 1, SuperTypeHierarchyCache.getCacheMisses());
+	}
+}
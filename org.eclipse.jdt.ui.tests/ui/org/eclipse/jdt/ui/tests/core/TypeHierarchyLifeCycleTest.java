@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.core;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.jface.operation.IRunnableContext;
+
+import org.eclipse.jdt.core.Flags;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+
+import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
+
+import org.eclipse.jdt.internal.ui.typehierarchy.TypeHierarchyLifeCycle;
+
+public class TypeHierarchyLifeCycleTest {
+	@Rule
+	public ProjectTestSetup projectSetup= new ProjectTestSetup();
+
+	private final IRunnableContext fContext= (fork, cancelable, runnable) -> runnable.run(new NullProgressMonitor());
+
+	private IJavaProject fJProject1;
+
+	private IPackageFragment fPack;
+
+	private TypeHierarchyLifeCycle fLifeCycle;
+
+	@Before
+	public void setUp() throws Exception {
+		fJProject1= projectSetup.getProject();
+		IPackageFragmentRoot sourceFolder= JavaProjectHelper.addSourceContainer(fJProject1, "src");
+		fPack= sourceFolder.createPackageFragment("test1", false, null);
+		fLifeCycle= new TypeHierarchyLifeCycle(false);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		fLifeCycle.freeHierarchy();
+		JavaProjectHelper.clear(fJProject1, projectSetup.getDefaultClasspath());
+	}
+
+	private IType createHierarchy() throws Exception {
+		IType focus= fPack.createCompilationUnit("I.java", "package test1;\npublic interface I {\n}\n", false, null).getType("I");
+		fPack.createCompilationUnit("C.java", "package test1;\npublic class C implements I {\n}\n", false, null);
+		fLifeCycle.ensureRefreshedTypeHierarchy(focus, fContext);
+		return focus;
+	}
+
+	private int getCachedFlagsAfterChange(IType focus, String source) throws Exception {
+		IType type= fPack.getCompilationUnit("C.java").getType("C");
+		assertTrue(fLifeCycle.getHierarchy().contains(type));
+		fPack.createCompilationUnit("C.java", source, true, null);
+		fLifeCycle.ensureRefreshedTypeHierarchy(focus, fContext);
+		assertTrue(fLifeCycle.getHierarchy().contains(type));
+		return fLifeCycle.getHierarchy().getCachedFlags(type);
+	}
+
+	@Test
+	public void classBecomesInterface() throws Exception {
+		IType focus= createHierarchy();
+		assertFalse(Flags.isInterface(fLifeCycle.getHierarchy().getCachedFlags(fPack.getCompilationUnit("C.java").getType("C"))));
+
+		int flags= getCachedFlagsAfterChange(focus, "package test1;\npublic interface C extends I {\n}\n");
+		assertTrue("Hierarchy not refreshed", Flags.isInterface(flags));
+	}
+
+	@Test
+	public void classBecomesEnum() throws Exception {
+		IType focus= createHierarchy();
+
+		int flags= getCachedFlagsAfterChange(focus, "package test1;\npublic enum C implements I {\n}\n");
+		assertTrue("Hierarchy not refreshed", Flags.isEnum(flags));
+	}
+}
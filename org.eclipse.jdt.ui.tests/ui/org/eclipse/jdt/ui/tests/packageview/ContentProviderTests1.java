@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -26,6 +26,7 @@ import org.junit.Test;
 import org.eclipse.jdt.testplugin.JavaProjectHelper;
 import org.eclipse.jdt.testplugin.JavaTestPlugin;
 
+import org.eclipse.core.runtime.IAdaptable;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.Path;
 
@@ -41,6 +42,8 @@ import org.eclipse.jface.viewers.ITreeContentProvider;
 import org.eclipse.ui.IViewPart;
 import org.eclipse.ui.IWorkbench;
 import org.eclipse.ui.IWorkbenchPage;
+import org.eclipse.ui.IWorkingSet;
+import org.eclipse.ui.IWorkingSetManager;
 import org.eclipse.ui.PlatformUI;
 
 import org.eclipse.jdt.core.ElementChangedEvent;
@@ -53,8 +56,11 @@ import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IPackageFragment;
 import org.eclipse.jdt.core.IPackageFragmentRoot;
 
+import org.eclipse.jdt.internal.ui.packageview.MoreChildrenNode;
+import org.eclipse.jdt.internal.ui.packageview.PackageExplorerContentProvider;
 import org.eclipse.jdt.internal.ui.util.CoreUtility;
 import org.eclipse.jdt.internal.ui.wizards.buildpaths.CPListElement;
+import org.eclipse.jdt.internal.ui.workingsets.WorkingSetFilter;
 
 /**
  * Tests for the PackageExplorerContentProvider.
@@ -273,6 +279,32 @@ public class ContentProviderTests1 {
 		assertEquals("No refreshes", 0, fMyPart.getRefreshedObject().size()); //$NON-NLS-1$
 	}
 
+	@Test
+	public void testCoalescePendingUpdates() throws Exception {
+		PackageExplorerContentProvider provider= (PackageExplorerContentProvider) fProvider;
+		IJavaElementDelta removeCUs= TestDelta.createCUDelta(new ICompilationUnit[] { fCU2, fCU3 }, fPack6, IJavaElementDelta.REMOVED);
+		IJavaElementDelta removeCU= TestDelta.createCUDelta(new ICompilationUnit[] { fCU2 }, fPack6, IJavaElementDelta.REMOVED);
+
+		// deltas from a background thread are queued until the display thread runs them
+		Thread thread= new Thread(() -> {
+			provider.elementChanged(new ElementChangedEvent(removeCUs, ElementChangedEvent.POST_CHANGE));
+			provider.elementChanged(new ElementChangedEvent(removeCU, ElementChangedEvent.POST_CHANGE));
+			provider.elementChanged(new ElementChangedEvent(removeCUs, ElementChangedEvent.POST_CHANGE));
+		});
+		thread.start();
+		thread.join();
+
+		int requested= provider.getRequestedUpdateCount();
+		int coalesced= provider.getCoalescedUpdateCount();
+		provider.runPendingUpdates();
+
+		// the removal of a single CU is covered by the refresh of the grandparent, its icon update is kept
+		assertEquals("Requested updates", 4, provider.getRequestedUpdateCount() - requested); //$NON-NLS-1$
+		assertEquals("Coalesced updates", 2, provider.getCoalescedUpdateCount() - coalesced); //$NON-NLS-1$
+		assertEquals("One refresh", 1, fMyPart.getRefreshedObject().size()); //$NON-NLS-1$
+		assertTrue("No remove", !fMyPart.hasRemoveHappened()); //$NON-NLS-1$
+	}
+
 	@Test
 	public void testBug65240() throws Exception {
 		IClasspathEntry[] rawClasspath= fJProject2.getRawClasspath();
@@ -323,6 +355,63 @@ public class ContentProviderTests1 {
 //	}
 
 
+	@Test
+	public void testGetChildrenInPages() throws Exception {
+		PackageExplorerContentProvider provider= (PackageExplorerContentProvider) fProvider;
+		provider.setChildrenPageSize(1);
+		try {
+			Object[] children= provider.getChildren(fPack6);
+			assertEquals(2, children.length);
+			assertTrue(children[1] instanceof MoreChildrenNode);
+			MoreChildrenNode node= (MoreChildrenNode) children[1];
+			assertEquals(1, node.getHiddenCount());
+			assertEquals(fPack6, provider.getParent(node));
+
+			provider.showMoreChildren(node);
+			assertTrue("Refresh happened", fMyPart.wasObjectRefreshed(fPack6)); //$NON-NLS-1$
+			assertTrue("Wrong children found", compareArrays(provider.getChildren(fPack6), new Object[] { fCU2, fCU3 })); //$NON-NLS-1$
+		} finally {
+			provider.setChildrenPageSize(PackageExplorerContentProvider.CHILDREN_PAGE_SIZE);
+		}
+	}
+
+	@Test
+	public void testWorkingSetFilterSelectsMoreChildrenNode() throws Exception {
+		PackageExplorerContentProvider provider= (PackageExplorerContentProvider) fProvider;
+		IWorkingSetManager manager= PlatformUI.getWorkbench().getWorkingSetManager();
+		IWorkingSet workingSet= manager.createWorkingSet("Paged", new IAdaptable[] { fCU2, fCU3 }); //$NON-NLS-1$
+		provider.setChildrenPageSize(1);
+		try {
+			WorkingSetFilter filter= new WorkingSetFilter();
+			filter.setWorkingSet(workingSet);
+			fMyPart.getTreeViewer().addFilter(filter);
+			try {
+				Object[] children= provider.getChildren(fPack6);
+				assertEquals(2, children.length);
+				assertTrue(children[1] instanceof MoreChildrenNode);
+				assertEquals(1, filter.filter(fMyPart.getTreeViewer(), fPack6, new Object[] { children[1] }).length);
+			} finally {
+				fMyPart.getTreeViewer().removeFilter(filter);
+			}
+		} finally {
+			provider.setChildrenPageSize(PackageExplorerContentProvider.CHILDREN_PAGE_SIZE);
+		}
+	}
+
+	@Test
+	public void testShowAllChildren() throws Exception {
+		PackageExplorerContentProvider provider= (PackageExplorerContentProvider) fProvider;
+		provider.setChildrenPageSize(1);
+		try {
+			assertEquals(2, provider.getChildren(fPack6).length);
+			provider.showAllChildren(fCU3);
+			assertTrue("Refresh happened", fMyPart.wasObjectRefreshed(fPack6)); //$NON-NLS-1$
+			assertTrue("Wrong children found", compareArrays(provider.getChildren(fPack6), new Object[] { fCU2, fCU3 })); //$NON-NLS-1$
+		} finally {
+			provider.setChildrenPageSize(PackageExplorerContentProvider.CHILDREN_PAGE_SIZE);
+		}
+	}
+
 	@Before
 	public void setUp() throws Exception {
 		fWorkspace= ResourcesPlugin.getWorkspace();
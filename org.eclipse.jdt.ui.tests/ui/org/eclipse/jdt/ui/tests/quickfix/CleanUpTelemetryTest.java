@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.quickfix;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.eclipse.core.runtime.CoreException;
+
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+
+import org.eclipse.jdt.internal.corext.fix.CleanUpConstants;
+import org.eclipse.jdt.internal.corext.fix.CleanUpTelemetry;
+import org.eclipse.jdt.internal.corext.fix.CleanUpTelemetry.CleanUpStatistics;
+
+import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
+
+import org.eclipse.jdt.internal.ui.fix.ControlStatementsCleanUp;
+
+public class CleanUpTelemetryTest extends CleanUpTestCase {
+
+	@Rule
+	public ProjectTestSetup projectSetup= new ProjectTestSetup();
+
+	@Override
+	protected IJavaProject getProject() {
+		return projectSetup.getProject();
+	}
+
+	@Override
+	protected IClasspathEntry[] getDefaultClasspath() throws CoreException {
+		return projectSetup.getDefaultClasspath();
+	}
+
+	@Test
+	public void testStatisticsCollected() throws Exception {
+		CleanUpTelemetry telemetry= CleanUpTelemetry.getDefault();
+		telemetry.reset();
+		String id= ControlStatementsCleanUp.class.getName();
+		assertNull(telemetry.getStatistics(id));
+
+		IPackageFragment pack1= fSourceFolder.createPackageFragment("test1", false, null);
+		String sample= "" //
+				+ "package test1;\n" //
+				+ "public class E1 {\n" //
+				+ "    public void foo(boolean b) {\n" //
+				+ "        if (b)\n" //
+				+ "            System.out.println(1);\n" //
+				+ "        while (b)\n" //
+				+ "            System.out.println(2);\n" //
+				+ "    }\n" //
+				+ "}\n";
+		ICompilationUnit cu1= pack1.createCompilationUnit("E1.java", sample, false, null);
+
+		enable(CleanUpConstants.CONTROL_STATEMENTS_USE_BLOCKS);
+		enable(CleanUpConstants.CONTROL_STATEMENTS_USE_BLOCKS_ALWAYS);
+
+		sample= "" //
+				+ "package test1;\n" //
+				+ "public class E1 {\n" //
+				+ "    public void foo(boolean b) {\n" //
+				+ "        if (b) {\n" //
+				+ "            System.out.println(1);\n" //
+				+ "        }\n" //
+				+ "        while (b) {\n" //
+				+ "            System.out.println(2);\n" //
+				+ "        }\n" //
+				+ "    }\n" //
+				+ "}\n";
+		assertRefactoringResultAsExpected(new ICompilationUnit[] { cu1 }, new String[] { sample }, null);
+
+		CleanUpStatistics statistics= telemetry.getStatistics(id);
+		assertNotNull(statistics);
+		assertTrue(statistics.getInvocations() >= 1);
+		assertTrue(statistics.getASTVisits() >= 1);
+		assertTrue(statistics.getFixes() >= 1);
+		assertTrue(statistics.getEdits() >= 2);
+		assertTrue(statistics.getTotalNanos() >= statistics.getMaxNanos());
+		assertEquals(0, statistics.getOverlapRejections());
+
+		String csv= telemetry.toCSV();
+		assertTrue(csv, csv.startsWith("id,invocations,totalNanos,maxNanos,astVisits,fixes,edits,overlapRejections\n"));
+		assertTrue(csv, csv.contains("\n" + id + ","));
+
+		String json= telemetry.toJSON();
+		assertTrue(json, json.startsWith("["));
+		assertTrue(json, json.contains("{\"id\": \"" + id + "\", \"invocations\": " + statistics.getInvocations()));
+
+		telemetry.reset();
+		assertEquals(0, telemetry.getStatistics().length);
+	}
+}
@@ -36,6 +36,7 @@ import org.junit.runners.Suite;
 	CleanUpAnnotationTest.class,
 	SaveParticipantTest.class,
 	CleanUpActionTest.class,
+	CleanUpTelemetryTest.class,
 	NullAnnotationsCleanUpTest1d8.class
 })
 public class CleanUpTestCaseSuite {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -20,6 +20,8 @@ package org.eclipse.jdt.internal.corext.callhierarchy;
 import java.util.Collection;
 import java.util.List;
 
+import org.eclipse.core.runtime.IProgressMonitor;
+
 import org.eclipse.jface.preference.IPreferenceStore;
 
 import org.eclipse.jdt.core.IJavaElement;
@@ -41,6 +43,7 @@ public class CallHierarchy {
     private static final String PREF_USE_FILTERS = "PREF_USE_FILTERS"; //$NON-NLS-1$
     private static final String PREF_FILTERS_LIST = "PREF_FILTERS_LIST"; //$NON-NLS-1$
     private static final String PREF_FILTER_TESTCODE= "PREF_FILTER_TESTCODE"; //$NON-NLS-1$
+    private static final String PREF_USE_CALL_GRAPH_INDEX= "PREF_USE_CALL_GRAPH_INDEX"; //$NON-NLS-1$
 
     private static CallHierarchy fgInstance;
     private CallHierarchyCore fgCallHierarchyCore;
@@ -69,6 +72,18 @@ public class CallHierarchy {
         settings.setValue(PREF_USE_IMPLEMENTORS, enabled);
     }
 
+    public boolean isCallGraphIndexEnabled() {
+        IPreferenceStore settings = JavaPlugin.getDefault().getPreferenceStore();
+
+        return settings.getBoolean(PREF_USE_CALL_GRAPH_INDEX);
+    }
+
+    public static void setCallGraphIndexEnabled(boolean enabled) {
+        IPreferenceStore settings = JavaPlugin.getDefault().getPreferenceStore();
+
+        settings.setValue(PREF_USE_CALL_GRAPH_INDEX, enabled);
+    }
+
     public boolean isFilterTestCode() {
         IPreferenceStore settings = JavaPlugin.getDefault().getPreferenceStore();
 
@@ -98,6 +113,10 @@ public class CallHierarchy {
         return fgCallHierarchyCore.getCalleeRoots(members);
     }
 
+    public void expand(MethodWrapper[] wrappers, int levels, IProgressMonitor monitor) {
+        fgCallHierarchyCore.expand(wrappers, levels, monitor);
+    }
+
     public static CallLocation getCallLocation(Object element) {
         return CallHierarchyCore.getCallLocation(element);
     }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2016 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,26 +18,60 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Hashtable;
 import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.SubProgressMonitor;
 
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.dom.ASTParser;
 import org.eclipse.jdt.core.dom.ASTRequestor;
+import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.dom.IBinding;
 
 /**
  * Creates AST from a set of compilation units. Uses the
  * batch parser. Splits the set of compilation units in subsets
  * such that it is unlikely that a out of memory exception will occur.
+ * <p>
+ * If the parallelism is set to a value greater than one, independent projects
+ * and chunks are parsed concurrently on a bounded pool of worker threads. The
+ * chunk size is then derived from the heap that is free at the time a chunk is
+ * scheduled. Unless the requestor is declared thread safe, the <code>ASTRequestor</code>
+ * callbacks are still delivered one at a time on the thread that called
+ * {@link #createASTs(ICompilationUnit[], String[], ASTRequestor, IProgressMonitor)}.
+ * </p>
  *
  * @since 3.4
  */
 public class ASTBatchParser {
 
+	/**
+	 * Smallest chunk handed to a worker in concurrent mode.
+	 */
+	private static final int MIN_AT_ONCE= 10;
+
+	/**
+	 * Time in ms the calling thread waits for a parsed AST before it checks for
+	 * finished chunks and cancelation.
+	 */
+	private static final long POLL_INTERVAL= 50;
+
 	private static final int MAX_AT_ONCE;
 	static {
 		long maxMemory= Runtime.getRuntime().maxMemory() / (1 << 20); // in MiB
@@ -49,6 +83,179 @@ public class ASTBatchParser {
 		else                        MAX_AT_ONCE=  25;
 	}
 
+	/**
+	 * An AST parsed on a worker thread that waits to be passed to the requestor
+	 * on the calling thread.
+	 */
+	private static final class Delivery {
+
+		private final ICompilationUnit fSource;
+		private final CompilationUnit fAST;
+		private final String fBindingKey;
+		private final IBinding fBinding;
+		private final CountDownLatch fDelivered;
+
+		public Delivery(ICompilationUnit source, CompilationUnit ast, String bindingKey, IBinding binding) {
+			fSource= source;
+			fAST= ast;
+			fBindingKey= bindingKey;
+			fBinding= binding;
+			fDelivered= new CountDownLatch(1);
+		}
+
+		public void deliver(ASTRequestor requestor) {
+			try {
+				if (fSource != null) {
+					requestor.acceptAST(fSource, fAST);
+				} else {
+					requestor.acceptBinding(fBindingKey, fBinding);
+				}
+			} finally {
+				release();
+			}
+		}
+
+		public void release() {
+			fDelivered.countDown();
+		}
+
+		public void await(AtomicBoolean canceled) throws InterruptedException {
+			while (!fDelivered.await(POLL_INTERVAL, TimeUnit.MILLISECONDS)) {
+				if (canceled.get())
+					throw new OperationCanceledException();
+			}
+		}
+	}
+
+	/**
+	 * Requestor used by the workers. Hands every AST over to the calling thread and
+	 * blocks until the AST has been accepted there, so that the bindings of the AST
+	 * stay valid for the duration of the callback, as in the sequential case.
+	 */
+	private static final class HandOverRequestor extends ASTRequestor {
+
+		private final BlockingQueue<Delivery> fDeliveries;
+		private final AtomicBoolean fCanceled;
+
+		public HandOverRequestor(BlockingQueue<Delivery> deliveries, AtomicBoolean canceled) {
+			fDeliveries= deliveries;
+			fCanceled= canceled;
+		}
+
+		@Override
+		public void acceptAST(ICompilationUnit source, CompilationUnit ast) {
+			handOver(new Delivery(source, ast, null, null));
+		}
+
+		@Override
+		public void acceptBinding(String bindingKey, IBinding binding) {
+			handOver(new Delivery(null, null, bindingKey, binding));
+		}
+
+		private void handOver(Delivery delivery) {
+			if (fCanceled.get())
+				throw new OperationCanceledException();
+
+			fDeliveries.add(delivery);
+			try {
+				delivery.await(fCanceled);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new OperationCanceledException();
+			}
+		}
+	}
+
+	/**
+	 * A set of compilation units of one project parsed by one worker.
+	 */
+	private final class Chunk implements Callable<Chunk> {
+
+		private final IJavaProject fProject;
+		private final ICompilationUnit[] fUnits;
+		private final String[] fBindingKeys;
+		private final ASTRequestor fRequestor;
+		private final AtomicBoolean fCanceled;
+		private long fElapsed;
+
+		public Chunk(ICompilationUnit[] units, String[] bindingKeys, ASTRequestor requestor, AtomicBoolean canceled) {
+			fProject= units[0].getJavaProject();
+			fUnits= units;
+			fBindingKeys= bindingKeys;
+			fRequestor= requestor;
+			fCanceled= canceled;
+		}
+
+		@Override
+		public Chunk call() {
+			long start= System.nanoTime();
+			createParser(fProject).createASTs(fUnits, fBindingKeys, fRequestor, new NullProgressMonitor() {
+				@Override
+				public boolean isCanceled() {
+					return fCanceled.get();
+				}
+			});
+			fElapsed= System.nanoTime() - start;
+			return this;
+		}
+	}
+
+	private int fParallelism;
+	private boolean fConcurrentRequestor;
+
+	/**
+	 * Creates a batch parser that parses all chunks sequentially on the calling thread.
+	 */
+	public ASTBatchParser() {
+		fParallelism= 1;
+		fConcurrentRequestor= false;
+	}
+
+	/**
+	 * Sets the number of worker threads used to parse independent projects and chunks
+	 * concurrently. A value of <code>1</code> or less parses sequentially on the calling
+	 * thread.
+	 * <p>
+	 * Note that in concurrent mode the requestor passed to
+	 * {@link #createASTs(ICompilationUnit[], String[], ASTRequestor, IProgressMonitor)}
+	 * is either not connected to a parser or shared by several parsers, hence it must not call
+	 * {@link ASTRequestor#createBindings(String[])}.
+	 * </p>
+	 *
+	 * @param parallelism the maximal number of chunks parsed at the same time
+	 * @see #getDefaultParallelism()
+	 */
+	public final void setParallelism(int parallelism) {
+		fParallelism= Math.max(1, parallelism);
+	}
+
+	/**
+	 * Specifies whether the requestor is thread safe. If so, the ASTs of concurrently parsed
+	 * chunks are passed to the requestor directly on the worker threads, such that the
+	 * requestor's work is done in parallel too. Otherwise, all callbacks are handed over to
+	 * the calling thread. Has no effect if the parallelism is <code>1</code>.
+	 *
+	 * @param concurrent <code>true</code> if <code>ASTRequestor.acceptAST</code> and
+	 *   <code>ASTRequestor.acceptBinding</code> may be called by several threads at the same time
+	 */
+	public final void setConcurrentRequestor(boolean concurrent) {
+		fConcurrentRequestor= concurrent;
+	}
+
+	/**
+	 * @return the maximal number of chunks parsed at the same time
+	 */
+	public final int getParallelism() {
+		return fParallelism;
+	}
+
+	/**
+	 * @return a parallelism that leaves one core to the calling thread
+	 */
+	public static int getDefaultParallelism() {
+		return Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+	}
+
 	/**
 	 * Creates ASTs for each compilation unit in <code>units</code>.
 	 * <p>
@@ -76,10 +283,15 @@ public class ASTBatchParser {
 
 		monitor.beginTask("", compilationUnits.length); //$NON-NLS-1$
 		try {
+			ICompilationUnit[][] projects= splitByProject(compilationUnits);
+			if (fParallelism > 1 && compilationUnits.length > MIN_AT_ONCE) {
+				createASTsConcurrently(projects, bindingKeys, requestor, monitor);
+				return;
+			}
 
-			for (ICompilationUnit[] units : splitByProject(compilationUnits)) {
+			for (ICompilationUnit[] units : projects) {
 				if (units.length <= MAX_AT_ONCE) {
-					createParser(units[0].getJavaProject()).createASTs(units, bindingKeys, requestor, new SubProgressMonitor(monitor, units.length));
+					parseChunk(units, bindingKeys, requestor, new SubProgressMonitor(monitor, units.length));
 				} else {
 					List<ICompilationUnit> list= Arrays.asList(units);
 					int end= 0;
@@ -88,7 +300,7 @@ public class ASTBatchParser {
 						end= Math.min(end + MAX_AT_ONCE, units.length);
 						List<ICompilationUnit> toParse= list.subList(cursor, end);
 
-						createParser(units[0].getJavaProject()).createASTs(toParse.toArray(new ICompilationUnit[toParse.size()]), bindingKeys, requestor,
+						parseChunk(toParse.toArray(new ICompilationUnit[toParse.size()]), bindingKeys, requestor,
 							new SubProgressMonitor(monitor, toParse.size()));
 						cursor= end;
 					}
@@ -99,11 +311,125 @@ public class ASTBatchParser {
 		}
 	}
 
+	private void parseChunk(ICompilationUnit[] units, String[] bindingKeys, ASTRequestor requestor, IProgressMonitor monitor) {
+		IJavaProject project= units[0].getJavaProject();
+		long start= System.nanoTime();
+		createParser(project).createASTs(units, bindingKeys, requestor, monitor);
+		chunkParsed(project, units.length, System.nanoTime() - start);
+	}
+
+	private void createASTsConcurrently(ICompilationUnit[][] projects, String[] bindingKeys, ASTRequestor requestor, IProgressMonitor monitor) {
+		AtomicBoolean canceled= new AtomicBoolean();
+		BlockingQueue<Delivery> deliveries= new LinkedBlockingQueue<>();
+		ASTRequestor workerRequestor= fConcurrentRequestor ? requestor : new HandOverRequestor(deliveries, canceled);
+
+		ExecutorService executor= Executors.newFixedThreadPool(fParallelism, new ThreadFactory() {
+			private final AtomicInteger fCount= new AtomicInteger();
+
+			@Override
+			public Thread newThread(Runnable runnable) {
+				Thread thread= new Thread(runnable, "AST Batch Parser #" + fCount.incrementAndGet()); //$NON-NLS-1$
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		ExecutorCompletionService<Chunk> completion= new ExecutorCompletionService<>(executor);
+		try {
+			int project= 0;
+			int cursor= 0;
+			int inFlight= 0;
+			while (true) {
+				while (inFlight < fParallelism && project < projects.length) {
+					ICompilationUnit[] units= projects[project];
+					int end= Math.min(cursor + computeChunkSize(inFlight + 1), units.length);
+					completion.submit(new Chunk(Arrays.copyOfRange(units, cursor, end), bindingKeys, workerRequestor, canceled));
+					inFlight++;
+					if (end == units.length) {
+						project++;
+						cursor= 0;
+					} else {
+						cursor= end;
+					}
+				}
+				if (inFlight == 0)
+					break;
+
+				Delivery delivery= deliveries.poll(POLL_INTERVAL, TimeUnit.MILLISECONDS);
+				if (delivery != null)
+					delivery.deliver(requestor);
+
+				Future<Chunk> done;
+				while ((done= completion.poll()) != null) {
+					inFlight--;
+					Chunk chunk= done.get();
+					monitor.worked(chunk.fUnits.length);
+					chunkParsed(chunk.fProject, chunk.fUnits.length, chunk.fElapsed);
+				}
+
+				if (monitor.isCanceled())
+					throw new OperationCanceledException();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		} catch (ExecutionException e) {
+			Throwable cause= e.getCause();
+			if (cause instanceof RuntimeException)
+				throw (RuntimeException) cause;
+			if (cause instanceof Error)
+				throw (Error) cause;
+			throw new IllegalStateException(cause);
+		} finally {
+			canceled.set(true);
+			Delivery pending;
+			while ((pending= deliveries.poll()) != null) {
+				pending.release();
+			}
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Computes the size of the next chunk in concurrent mode: the sequential chunk size is
+	 * shared by all chunks in flight and scaled by the fraction of the heap that is still free.
+	 *
+	 * @param inFlight the number of chunks that are parsed concurrently, including the new one
+	 * @return the number of compilation units to parse in the next chunk
+	 */
+	private static int computeChunkSize(int inFlight) {
+		Runtime runtime= Runtime.getRuntime();
+		long maxMemory= runtime.maxMemory();
+		long freeMemory= maxMemory - (runtime.totalMemory() - runtime.freeMemory());
+		double freeRatio= (double) freeMemory / maxMemory;
+
+		int size= (int) (MAX_AT_ONCE * freeRatio / inFlight);
+		return Math.max(MIN_AT_ONCE, Math.min(MAX_AT_ONCE, size));
+	}
+
+	/**
+	 * Called after a chunk of compilation units has been parsed and all its
+	 * ASTs have been accepted by the requestor. Always called on the thread that
+	 * called {@link #createASTs(ICompilationUnit[], String[], ASTRequestor, IProgressMonitor)}.
+	 * <p>
+	 * Subclasses may override to collect timing information. The default implementation
+	 * does nothing.
+	 * </p>
+	 *
+	 * @param project the project of the compilation units in the chunk
+	 * @param size the number of compilation units in the chunk
+	 * @param elapsedNanos the time in nanoseconds it took to parse the chunk,
+	 *   including the time spent in the requestor
+	 */
+	protected void chunkParsed(IJavaProject project, int size, long elapsedNanos) {
+		// do nothing by default
+	}
+
 	/**
 	 * Creates a new parser which can be used to create ASTs
 	 * for compilation units in <code>project</code>
 	 * <p>
-	 * Subclasses may override
+	 * Subclasses may override. Note that in concurrent mode this method is called
+	 * from the worker threads.
 	 * </p>
 	 *
 	 * @param project the project for which ASTs are been generated
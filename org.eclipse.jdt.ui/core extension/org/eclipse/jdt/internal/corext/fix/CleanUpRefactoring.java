@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,11 +14,14 @@
 package org.eclipse.jdt.internal.corext.fix;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Hashtable;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.swt.widgets.Display;
 
@@ -69,6 +72,7 @@ import org.eclipse.jdt.core.dom.ASTRequestor;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.refactoring.CompilationUnitChange;
 
+import org.eclipse.jdt.internal.common.FusedHelperVisitor;
 import org.eclipse.jdt.internal.core.manipulation.util.BasicElementLabels;
 import org.eclipse.jdt.internal.corext.dom.ASTBatchParser;
 import org.eclipse.jdt.internal.corext.dom.IASTSharedValues;
@@ -88,6 +92,8 @@ import org.eclipse.jdt.internal.ui.text.correction.IProblemLocationCore;
 
 import org.eclipse.jdt.internal.ui.IJavaStatusConstants;
 import org.eclipse.jdt.internal.ui.JavaPlugin;
+import org.eclipse.jdt.internal.ui.fix.IConcurrentCleanUp;
+import org.eclipse.jdt.internal.ui.fix.IFusedTraversalCleanUp;
 import org.eclipse.jdt.internal.ui.fix.IMultiFix.MultiFixContext;
 import org.eclipse.jdt.internal.ui.fix.MapCleanUpOptions;
 import org.eclipse.jdt.internal.ui.refactoring.IScheduledRefactoring;
@@ -239,8 +245,30 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 		}
 
 		public String getSubTaskMessage(ICompilationUnit source) {
+			return getSubTaskMessage(source, getIndex());
+		}
+
+		public String getSubTaskMessage(ICompilationUnit source, int index) {
 			String typeName= BasicElementLabels.getFileName(source);
-			return Messages.format(FixMessages.CleanUpRefactoring_ProcessingCompilationUnit_message, new Object[] {Integer.valueOf(getIndex()), Integer.valueOf(fSize), typeName});
+			return Messages.format(FixMessages.CleanUpRefactoring_ProcessingCompilationUnit_message, new Object[] {Integer.valueOf(index), Integer.valueOf(fSize), typeName});
+		}
+	}
+
+	/**
+	 * The outcome of running the clean ups of one parse list element on one compilation unit.
+	 */
+	private static class CleanUpResult {
+
+		private final ParseListElement fElement;
+		private final ICompilationUnit fSource;
+		private final CleanUpChange fSolution;
+		private final ICleanUp[] fRejectedCleanUps;
+
+		public CleanUpResult(ParseListElement element, ICompilationUnit source, CleanUpChange solution, ICleanUp[] rejectedCleanUps) {
+			fElement= element;
+			fSource= source;
+			fSolution= solution;
+			fRejectedCleanUps= rejectedCleanUps;
 		}
 	}
 
@@ -266,24 +294,7 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 
 			fMonitor.subTask(fMonitor.getSubTaskMessage(source));
 
-			ICompilationUnit primary= (ICompilationUnit)source.getPrimaryElement();
-			ParseListElement element= fCompilationUnitParseElementMap.get(primary);
-			CleanUpTarget target= element.getTarget();
-
-			CleanUpContext context;
-			if (target instanceof MultiFixTarget) {
-				context= new MultiFixContext(source, ast, ((MultiFixTarget)target).getProblems());
-			} else {
-				context= new CleanUpContext(source, ast);
-			}
-			ICleanUp[] rejectedCleanUps= calculateSolutions(context, element.getCleanUps());
-
-			if (rejectedCleanUps.length > 0) {
-				fUndoneElements.add(new ParseListElement(target, rejectedCleanUps));
-				fMonitor.reset();
-			} else {
-				fMonitor.flush();
-			}
+			integrateResult(calculateResult(source, ast));
 		}
 
 		public void acceptSource(ICompilationUnit source) {
@@ -294,20 +305,43 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 			return fUndoneElements;
 		}
 
-		private ICleanUp[] calculateSolutions(CleanUpContext context, ICleanUp[] cleanUps) {
-			List<ICleanUp>result= new ArrayList<>();
+		protected ParseListElement getElement(ICompilationUnit source) {
+			return fCompilationUnitParseElementMap.get(source.getPrimaryElement());
+		}
+
+		protected CleanUpResult calculateResult(ICompilationUnit source, CompilationUnit ast) {
+			ParseListElement element= getElement(source);
+			CleanUpTarget target= element.getTarget();
+
+			CleanUpContext context;
+			if (target instanceof MultiFixTarget) {
+				context= new MultiFixContext(source, ast, ((MultiFixTarget)target).getProblems());
+			} else {
+				context= new CleanUpContext(source, ast);
+			}
+
+			List<ICleanUp> rejectedCleanUps= new ArrayList<>();
 			CleanUpChange solution;
 			try {
-				solution= calculateChange(context, cleanUps, result, null);
+				solution= calculateChange(context, element.getCleanUps(), rejectedCleanUps, null);
 			} catch (CoreException e) {
 				throw new FixCalculationException(e);
 			}
 
-			if (solution != null) {
-				integrateSolution(solution, context.getCompilationUnit());
+			return new CleanUpResult(element, source, solution, rejectedCleanUps.toArray(new ICleanUp[rejectedCleanUps.size()]));
+		}
+
+		protected void integrateResult(CleanUpResult result) {
+			if (result.fSolution != null) {
+				integrateSolution(result.fSolution, result.fSource);
 			}
 
-			return result.toArray(new ICleanUp[result.size()]);
+			if (result.fRejectedCleanUps.length > 0) {
+				fUndoneElements.add(new ParseListElement(result.fElement.getTarget(), result.fRejectedCleanUps));
+				fMonitor.reset();
+			} else {
+				fMonitor.flush();
+			}
 		}
 
 		private void integrateSolution(CleanUpChange solution, ICompilationUnit source) {
@@ -322,6 +356,70 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 		}
 	}
 
+	/**
+	 * Requestor which computes the fixes on the threads of the {@link ASTBatchParser} while
+	 * the ASTs are delivered. The results are buffered and only integrated into the solutions
+	 * by {@link #integrateResults(List)} on the calling thread, in the order of the parse list.
+	 * Hence the solutions and the undone elements are the same as if the compilation units had
+	 * been processed sequentially.
+	 * <p>
+	 * The clean ups are shared by all threads, so only the fixes of compilation units whose
+	 * clean ups are all {@link IConcurrentCleanUp}s are computed at the same time. The other
+	 * compilation units are processed one at a time.
+	 * </p>
+	 */
+	private static class ConcurrentCleanUpASTRequestor extends CleanUpASTRequestor {
+
+		private final ConcurrentHashMap<ICompilationUnit, CleanUpResult> fResults;
+		private final CleanUpRefactoringProgressMonitor fProgressMonitor;
+		private final Object fSequentialLock= new Object();
+		private int fAcceptedCount;
+
+		public ConcurrentCleanUpASTRequestor(List<ParseListElement> parseList, Hashtable<ICompilationUnit, List<CleanUpChange>> solutions, CleanUpRefactoringProgressMonitor monitor) {
+			super(parseList, solutions, monitor);
+			fResults= new ConcurrentHashMap<>(parseList.size());
+			fProgressMonitor= monitor;
+		}
+
+		@Override
+		public void acceptAST(ICompilationUnit source, CompilationUnit ast) {
+			synchronized (fProgressMonitor) {
+				fProgressMonitor.subTask(fProgressMonitor.getSubTaskMessage(source, fProgressMonitor.getIndex() + fAcceptedCount++));
+			}
+
+			CleanUpResult result;
+			if (isConcurrent(getElement(source).getCleanUps())) {
+				result= calculateResult(source, ast);
+			} else {
+				synchronized (fSequentialLock) {
+					result= calculateResult(source, ast);
+				}
+			}
+			fResults.put(result.fElement.getTarget().getCompilationUnit(), result);
+		}
+
+		private static boolean isConcurrent(ICleanUp[] cleanUps) {
+			for (ICleanUp cleanUp : cleanUps) {
+				if (!(cleanUp instanceof IConcurrentCleanUp))
+					return false;
+			}
+			return true;
+		}
+
+		@Override
+		public void acceptSource(ICompilationUnit source) {
+			super.acceptAST(source, null);
+		}
+
+		public void integrateResults(List<ParseListElement> parseList) {
+			for (ParseListElement element : parseList) {
+				CleanUpResult result= fResults.remove(element.getTarget().getCompilationUnit());
+				if (result != null)
+					integrateResult(result);
+			}
+		}
+	}
+
 	private class CleanUpFixpointIterator {
 
 		private List<ParseListElement> fParseList;
@@ -379,26 +477,20 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 					}
 				}
 
-				CleanUpRefactoringProgressMonitor cuMonitor= new CleanUpRefactoringProgressMonitor(monitor, parseList.size() + sourceList.size(), fSize, fIndex);
-				CleanUpASTRequestor requestor= new CleanUpASTRequestor(fParseList, fSolutions, cuMonitor);
-				if (parseList.size() > 0) {
-					ASTBatchParser parser= new ASTBatchParser() {
-						@Override
-						protected ASTParser createParser(IJavaProject project) {
-							ASTParser result= createCleanUpASTParser();
-							result.setProject(project);
-
-							Map<String, String> options= RefactoringASTParser.getCompilerOptions(project);
-							options.putAll(fCleanUpOptions);
-							result.setCompilerOptions(options);
-							return result;
-						}
-					};
-					try {
-						ICompilationUnit[] units= parseList.toArray(new ICompilationUnit[parseList.size()]);
-						parser.createASTs(units, new String[0], requestor, cuMonitor);
-					} catch (FixCalculationException e) {
-						throw e.getException();
+				CleanUpASTRequestor requestor;
+				CleanUpRefactoringProgressMonitor cuMonitor;
+				if (fParallelism > 1 && parseList.size() > 1) {
+					IProgressMonitor parseMonitor= new SubProgressMonitor(monitor, parseList.size());
+					cuMonitor= new CleanUpRefactoringProgressMonitor(monitor, sourceList.size(), fSize, fIndex);
+					ConcurrentCleanUpASTRequestor concurrentRequestor= new ConcurrentCleanUpASTRequestor(fParseList, fSolutions, cuMonitor);
+					parse(parseList, concurrentRequestor, parseMonitor);
+					concurrentRequestor.integrateResults(fParseList);
+					requestor= concurrentRequestor;
+				} else {
+					cuMonitor= new CleanUpRefactoringProgressMonitor(monitor, parseList.size() + sourceList.size(), fSize, fIndex);
+					requestor= new CleanUpASTRequestor(fParseList, fSolutions, cuMonitor);
+					if (parseList.size() > 0) {
+						parse(parseList, requestor, cuMonitor);
 					}
 				}
 
@@ -417,6 +509,31 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 			}
 		}
 
+		private void parse(List<ICompilationUnit> parseList, CleanUpASTRequestor requestor, IProgressMonitor monitor) throws CoreException {
+			ASTBatchParser parser= new ASTBatchParser() {
+				@Override
+				protected ASTParser createParser(IJavaProject project) {
+					ASTParser result= createCleanUpASTParser();
+					result.setProject(project);
+
+					Map<String, String> options= RefactoringASTParser.getCompilerOptions(project);
+					options.putAll(fCleanUpOptions);
+					result.setCompilerOptions(options);
+					return result;
+				}
+			};
+			if (requestor instanceof ConcurrentCleanUpASTRequestor) {
+				parser.setParallelism(fParallelism);
+				parser.setConcurrentRequestor(true);
+			}
+			try {
+				ICompilationUnit[] units= parseList.toArray(new ICompilationUnit[parseList.size()]);
+				parser.createASTs(units, new String[0], requestor, monitor);
+			} catch (FixCalculationException e) {
+				throw e.getException();
+			}
+		}
+
 		public void dispose() {
 			for (ICompilationUnit cu : fWorkingCopies.values()) {
 				try {
@@ -497,9 +614,15 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 
 	/**
 	 * A clean up is considered slow if its execution lasts longer then the value of
-	 * SLOW_CLEAN_UP_THRESHOLD in ms.
+	 * SLOW_CLEAN_UP_THRESHOLD in ns.
+	 */
+	private static final long SLOW_CLEAN_UP_THRESHOLD= 2000L * 1000 * 1000;
+
+	/**
+	 * The default number of threads used to compute fixes, <code>1</code> unless
+	 * the <code>org.eclipse.jdt.ui.cleanUpParallelism</code> system property is set.
 	 */
-	private static final int SLOW_CLEAN_UP_THRESHOLD= 2000;
+	private static final int DEFAULT_PARALLELISM= Integer.getInteger("org.eclipse.jdt.ui.cleanUpParallelism", 1).intValue(); //$NON-NLS-1$
 
 	private final List<ICleanUp> fCleanUps;
 	private final Hashtable<IJavaProject, List<CleanUpTarget>> fProjects;
@@ -508,6 +631,7 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 	private final String fName;
 
 	private boolean fUseOptionsFromProfile;
+	private int fParallelism;
 
 	public CleanUpRefactoring() {
 		this(FixMessages.CleanUpRefactoring_Refactoring_name);
@@ -518,12 +642,27 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 		fCleanUps= new ArrayList<>();
 		fProjects= new Hashtable<>();
 		fUseOptionsFromProfile= false;
+		fParallelism= DEFAULT_PARALLELISM;
 	}
 
 	public void setUseOptionsFromProfile(boolean enabled) {
 		fUseOptionsFromProfile= enabled;
 	}
 
+	/**
+	 * Sets the number of threads used to parse the compilation units and to compute
+	 * their fixes. With a value greater than <code>1</code> only the fixes of the
+	 * {@link IConcurrentCleanUp}s are computed at the same time, the compilation units
+	 * with other clean ups are processed one at a time. The resulting change is the
+	 * same as the one computed sequentially.
+	 *
+	 * @param parallelism the number of threads, <code>1</code> to compute all fixes
+	 *   on the calling thread
+	 */
+	public void setParallelism(int parallelism) {
+		fParallelism= Math.max(1, parallelism);
+	}
+
 	public void addCompilationUnit(ICompilationUnit unit) {
 		addCleanUpTarget(new CleanUpTarget(unit));
 	}
@@ -758,25 +897,34 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 		if (cleanUps.length == 0)
 			return null;
 
+		CleanUpTelemetry telemetry= CleanUpTelemetry.getDefault();
+		Map<ICleanUp, Object> fusedStates= walkFused(context, cleanUps);
 		CleanUpChange solution= null;
 		int i= 0;
 		do {
 			ICleanUp cleanUp= cleanUps[i];
+			long timeBefore= System.nanoTime();
 			ICleanUpFix fix;
-			if (slowCleanUps != null) {
-				long timeBefore= System.currentTimeMillis();
-				fix= cleanUp.createFix(context);
-				if (System.currentTimeMillis() - timeBefore > SLOW_CLEAN_UP_THRESHOLD)
-					slowCleanUps.add(cleanUp);
+			Object fusedState= fusedStates.get(cleanUp);
+			if (fusedState != null) {
+				fix= ((IFusedTraversalCleanUp) cleanUp).createFix(context, fusedState);
 			} else {
 				fix= cleanUp.createFix(context);
 			}
-			if (fix != null) {
+			long elapsed= System.nanoTime() - timeBefore;
+			if (slowCleanUps != null && elapsed > SLOW_CLEAN_UP_THRESHOLD)
+				slowCleanUps.add(cleanUp);
+
+			if (fix == null) {
+				telemetry.recordFix(cleanUp, elapsed, context.getAST() != null, null);
+			} else {
 				CompilationUnitChange current= fix.createChange(null);
 				TextEdit currentEdit= current.getEdit();
+				telemetry.recordFix(cleanUp, elapsed, context.getAST() != null, currentEdit);
 
 				if (solution != null) {
 					if (TextEditUtil.overlaps(currentEdit, solution.getEdit())) {
+						telemetry.recordOverlapRejection(cleanUp);
 						undoneCleanUps.add(cleanUp);
 					} else {
 						CleanUpChange merge= new CleanUpChange(FixMessages.CleanUpRefactoring_clean_up_multi_chang_name, context.getCompilationUnit());
@@ -803,6 +951,41 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 		return solution;
 	}
 
+	/**
+	 * Lets the {@link IFusedTraversalCleanUp}s among the clean ups which run on the AST of
+	 * <code>context</code> register their visitors, and dispatches all of them in one walk.
+	 *
+	 * @param context the context to create fixes for
+	 * @param cleanUps the clean ups to run, only those up to the first clean up requiring a fresh
+	 *            AST will run on this AST
+	 * @return a map from clean up to the state returned by
+	 *         {@link IFusedTraversalCleanUp#registerVisitors(CleanUpContext, FusedHelperVisitor)}
+	 * @throws CoreException if a clean up failed to register its visitors
+	 */
+	private static Map<ICleanUp, Object> walkFused(CleanUpContext context, ICleanUp[] cleanUps) throws CoreException {
+		if (context.getAST() == null)
+			return Collections.emptyMap();
+
+		Map<ICleanUp, Object> result= null;
+		FusedHelperVisitor visitor= null;
+		for (int i= 0; i < cleanUps.length && (i == 0 || !cleanUps[i].getRequirements().requiresFreshAST()); i++) {
+			if (cleanUps[i] instanceof IFusedTraversalCleanUp) {
+				if (visitor == null) {
+					visitor= new FusedHelperVisitor(false);
+					result= new IdentityHashMap<>();
+				}
+				Object state= ((IFusedTraversalCleanUp) cleanUps[i]).registerVisitors(context, visitor);
+				if (state != null)
+					result.put(cleanUps[i], state);
+			}
+		}
+		if (result == null || result.isEmpty())
+			return Collections.emptyMap();
+
+		visitor.build(context.getAST());
+		return result;
+	}
+
 	private static void copyChangeGroups(CompilationUnitChange target, CompilationUnitChange source) {
 		for (TextEditBasedChangeGroup changeGroup : source.getChangeGroups()) {
 			TextEditGroup textEditGroup= changeGroup.getTextEditGroup();
@@ -0,0 +1,318 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.fix;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.text.edits.TextEdit;
+
+import org.eclipse.jdt.ui.cleanup.ICleanUp;
+
+/**
+ * Collects profiling data for each clean up run through
+ * {@link CleanUpRefactoring#calculateChange(org.eclipse.jdt.ui.cleanup.CleanUpContext, ICleanUp[], List, java.util.HashSet)},
+ * that is by save actions as well as by clean up refactorings. The data is aggregated per clean up
+ * over the whole session until {@link #reset()} is called and can be exported as JSON or CSV.
+ * <p>
+ * A clean up is identified by the qualified name of its implementation class.
+ * </p>
+ * <p>
+ * This class is thread safe.
+ * </p>
+ *
+ * @since 3.31
+ */
+public final class CleanUpTelemetry {
+
+	/**
+	 * The aggregated profiling data of one clean up.
+	 */
+	public static final class CleanUpStatistics {
+
+		private final String fId;
+		private final LongAdder fInvocations;
+		private final LongAdder fTotalNanos;
+		private final AtomicLong fMaxNanos;
+		private final LongAdder fASTVisits;
+		private final LongAdder fFixes;
+		private final LongAdder fEdits;
+		private final LongAdder fOverlapRejections;
+
+		private CleanUpStatistics(String id) {
+			fId= id;
+			fInvocations= new LongAdder();
+			fTotalNanos= new LongAdder();
+			fMaxNanos= new AtomicLong();
+			fASTVisits= new LongAdder();
+			fFixes= new LongAdder();
+			fEdits= new LongAdder();
+			fOverlapRejections= new LongAdder();
+		}
+
+		/**
+		 * @return the qualified name of the clean up class
+		 */
+		public String getId() {
+			return fId;
+		}
+
+		/**
+		 * @return how often a fix has been requested from the clean up
+		 */
+		public long getInvocations() {
+			return fInvocations.sum();
+		}
+
+		/**
+		 * @return the total time in nanoseconds spent creating fixes
+		 */
+		public long getTotalNanos() {
+			return fTotalNanos.sum();
+		}
+
+		/**
+		 * @return the longest time in nanoseconds a single fix creation took
+		 */
+		public long getMaxNanos() {
+			return fMaxNanos.get();
+		}
+
+		/**
+		 * @return how often the clean up was passed an AST to visit
+		 */
+		public long getASTVisits() {
+			return fASTVisits.sum();
+		}
+
+		/**
+		 * @return how often the clean up returned a fix
+		 */
+		public long getFixes() {
+			return fFixes.sum();
+		}
+
+		/**
+		 * @return the number of text edits created by the fixes of the clean up
+		 */
+		public long getEdits() {
+			return fEdits.sum();
+		}
+
+		/**
+		 * @return how often a fix has been rejected because its edits overlapped with the
+		 *         edits of a clean up that ran before
+		 */
+		public long getOverlapRejections() {
+			return fOverlapRejections.sum();
+		}
+	}
+
+	private static final String CSV_HEADER= "id,invocations,totalNanos,maxNanos,astVisits,fixes,edits,overlapRejections"; //$NON-NLS-1$
+
+	private static final CleanUpTelemetry INSTANCE= new CleanUpTelemetry();
+
+	/**
+	 * @return the telemetry shared by all clean up runs
+	 */
+	public static CleanUpTelemetry getDefault() {
+		return INSTANCE;
+	}
+
+	/**
+	 * @param cleanUp the clean up
+	 * @return the id under which the data of the clean up is collected
+	 */
+	public static String getId(ICleanUp cleanUp) {
+		return cleanUp.getClass().getName();
+	}
+
+	private final ConcurrentHashMap<String, CleanUpStatistics> fStatistics;
+
+	private CleanUpTelemetry() {
+		fStatistics= new ConcurrentHashMap<>();
+	}
+
+	/**
+	 * Records one fix creation of <code>cleanUp</code>.
+	 *
+	 * @param cleanUp the clean up that has been asked for a fix
+	 * @param elapsedNanos the time it took to create the fix
+	 * @param hasAST <code>true</code> if the clean up was passed an AST
+	 * @param edit the root edit of the created fix or <code>null</code> if the clean up had nothing to fix
+	 */
+	void recordFix(ICleanUp cleanUp, long elapsedNanos, boolean hasAST, TextEdit edit) {
+		CleanUpStatistics statistics= getOrCreate(cleanUp);
+		statistics.fInvocations.increment();
+		statistics.fTotalNanos.add(elapsedNanos);
+		statistics.fMaxNanos.accumulateAndGet(elapsedNanos, Math::max);
+		if (hasAST)
+			statistics.fASTVisits.increment();
+		if (edit != null) {
+			statistics.fFixes.increment();
+			statistics.fEdits.add(countEdits(edit));
+		}
+	}
+
+	/**
+	 * Records that a fix of <code>cleanUp</code> has been rejected because it overlaps with
+	 * the fixes of other clean ups.
+	 *
+	 * @param cleanUp the clean up whose fix has been rejected
+	 */
+	void recordOverlapRejection(ICleanUp cleanUp) {
+		getOrCreate(cleanUp).fOverlapRejections.increment();
+	}
+
+	private CleanUpStatistics getOrCreate(ICleanUp cleanUp) {
+		return fStatistics.computeIfAbsent(getId(cleanUp), CleanUpStatistics::new);
+	}
+
+	private static int countEdits(TextEdit edit) {
+		if (!edit.hasChildren())
+			return 1;
+
+		int result= 0;
+		for (TextEdit child : edit.getChildren()) {
+			result+= countEdits(child);
+		}
+		return result;
+	}
+
+	/**
+	 * @return the statistics of all clean ups that have been run, the slowest first
+	 */
+	public CleanUpStatistics[] getStatistics() {
+		List<CleanUpStatistics> result= new ArrayList<>(fStatistics.values());
+		result.sort(Comparator.comparingLong(CleanUpStatistics::getTotalNanos).reversed().thenComparing(CleanUpStatistics::getId));
+		return result.toArray(new CleanUpStatistics[result.size()]);
+	}
+
+	/**
+	 * @param id the id of a clean up, see {@link #getId(ICleanUp)}
+	 * @return the statistics of the clean up or <code>null</code> if it has not been run
+	 */
+	public CleanUpStatistics getStatistics(String id) {
+		return fStatistics.get(id);
+	}
+
+	/**
+	 * Discards all collected data.
+	 */
+	public void reset() {
+		fStatistics.clear();
+	}
+
+	/**
+	 * Writes the collected data as a JSON array with one object per clean up, the slowest first.
+	 *
+	 * @param writer the writer to write to
+	 * @throws IOException if writing fails
+	 */
+	public void exportJSON(Writer writer) throws IOException {
+		writer.write('[');
+		CleanUpStatistics[] statistics= getStatistics();
+		for (int i= 0; i < statistics.length; i++) {
+			CleanUpStatistics s= statistics[i];
+			if (i > 0)
+				writer.write(',');
+			writer.write("\n  {\"id\": \""); //$NON-NLS-1$
+			writer.write(escapeJSON(s.getId()));
+			writer.write("\", \"invocations\": " + s.getInvocations()); //$NON-NLS-1$
+			writer.write(", \"totalNanos\": " + s.getTotalNanos()); //$NON-NLS-1$
+			writer.write(", \"maxNanos\": " + s.getMaxNanos()); //$NON-NLS-1$
+			writer.write(", \"astVisits\": " + s.getASTVisits()); //$NON-NLS-1$
+			writer.write(", \"fixes\": " + s.getFixes()); //$NON-NLS-1$
+			writer.write(", \"edits\": " + s.getEdits()); //$NON-NLS-1$
+			writer.write(", \"overlapRejections\": " + s.getOverlapRejections()); //$NON-NLS-1$
+			writer.write('}');
+		}
+		writer.write("\n]\n"); //$NON-NLS-1$
+		writer.flush();
+	}
+
+	/**
+	 * Writes the collected data as CSV with a header line and one line per clean up, the
+	 * slowest first.
+	 *
+	 * @param writer the writer to write to
+	 * @throws IOException if writing fails
+	 */
+	public void exportCSV(Writer writer) throws IOException {
+		writer.write(CSV_HEADER);
+		writer.write('\n');
+		for (CleanUpStatistics s : getStatistics()) {
+			writer.write(s.getId());
+			writer.write(',' + Long.toString(s.getInvocations()));
+			writer.write(',' + Long.toString(s.getTotalNanos()));
+			writer.write(',' + Long.toString(s.getMaxNanos()));
+			writer.write(',' + Long.toString(s.getASTVisits()));
+			writer.write(',' + Long.toString(s.getFixes()));
+			writer.write(',' + Long.toString(s.getEdits()));
+			writer.write(',' + Long.toString(s.getOverlapRejections()));
+			writer.write('\n');
+		}
+		writer.flush();
+	}
+
+	/**
+	 * @return the collected data as JSON
+	 * @see #exportJSON(Writer)
+	 */
+	public String toJSON() {
+		StringWriter writer= new StringWriter();
+		try {
+			exportJSON(writer);
+		} catch (IOException e) {
+			// cannot happen with a StringWriter
+		}
+		return writer.toString();
+	}
+
+	/**
+	 * @return the collected data as CSV
+	 * @see #exportCSV(Writer)
+	 */
+	public String toCSV() {
+		StringWriter writer= new StringWriter();
+		try {
+			exportCSV(writer);
+		} catch (IOException e) {
+			// cannot happen with a StringWriter
+		}
+		return writer.toString();
+	}
+
+	private static String escapeJSON(String value) {
+		StringBuilder buf= new StringBuilder(value.length());
+		for (int i= 0; i < value.length(); i++) {
+			char ch= value.charAt(i);
+			if (ch == '"' || ch == '\\') {
+				buf.append('\\').append(ch);
+			} else if (ch < 0x20) {
+				buf.append(String.format("\\u%04x", Integer.valueOf(ch))); //$NON-NLS-1$
+			} else {
+				buf.append(ch);
+			}
+		}
+		return buf.toString();
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2012 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,10 +15,15 @@
 package org.eclipse.jdt.internal.ui.callhierarchy;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.eclipse.swt.widgets.Display;
 
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 
 import org.eclipse.jface.operation.IRunnableContext;
 import org.eclipse.jface.operation.IRunnableWithProgress;
@@ -34,6 +39,7 @@ import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaModelException;
 
+import org.eclipse.jdt.internal.corext.callhierarchy.CallHierarchy;
 import org.eclipse.jdt.internal.corext.callhierarchy.CallerMethodWrapper;
 import org.eclipse.jdt.internal.corext.callhierarchy.MethodCall;
 import org.eclipse.jdt.internal.corext.callhierarchy.MethodWrapper;
@@ -66,6 +72,7 @@ public class CallHierarchyContentProvider implements ITreeContentProvider {
 
     private DeferredTreeContentManager fManager;
     private CallHierarchyViewPart fPart;
+    private Job fPrefetchJob;
 
     private static class MethodWrapperRunnable implements IRunnableWithProgress {
         private MethodWrapper fMethodWrapper;
@@ -399,7 +406,7 @@ public class CallHierarchyContentProvider implements ITreeContentProvider {
      */
     @Override
 	public void dispose() {
-        // Nothing to dispose
+        cancelPrefetch();
     }
 
     /**
@@ -442,6 +449,7 @@ public class CallHierarchyContentProvider implements ITreeContentProvider {
     		MethodWrapper[] roots = ((TreeRoot) oldInput).getRoots();
    			cancelJobs(roots);
     	}
+    	cancelPrefetch();
         if (viewer instanceof AbstractTreeViewer) {
             fManager = new DeferredTreeContentManager((AbstractTreeViewer) viewer, fPart.getSite());
         }
@@ -462,6 +470,45 @@ public class CallHierarchyContentProvider implements ITreeContentProvider {
         }
     }
 
+    /**
+     * Searches the calls of the given children in the background, see
+     * {@link CallHierarchy#expand(MethodWrapper[], int, IProgressMonitor)}. The calls of several
+     * children are searched at once, and expanding a child afterwards finds its calls in the cache.
+     * The search for the children that have been fetched before is canceled.
+     *
+     * @param children the children that have just been fetched
+     */
+    synchronized void prefetchCalls(Object[] children) {
+        cancelPrefetch();
+        List<MethodWrapper> wrappers= new ArrayList<>(children.length);
+        for (Object child : children) {
+            if (child instanceof MethodWrapper && !shouldStopTraversion((MethodWrapper) child))
+                wrappers.add((MethodWrapper) child);
+        }
+        if (wrappers.isEmpty())
+            return;
+
+        MethodWrapper[] expanded= wrappers.toArray(new MethodWrapper[wrappers.size()]);
+        fPrefetchJob= Job.create(CallHierarchyMessages.CallHierarchyContentProvider_prefetchCalls_job, monitor -> {
+            try {
+                CallHierarchy.getDefault().expand(expanded, 1, monitor);
+            } catch (OperationCanceledException e) {
+                return Status.CANCEL_STATUS;
+            }
+            return Status.OK_STATUS;
+        });
+        fPrefetchJob.setSystem(true);
+        fPrefetchJob.setPriority(Job.DECORATE);
+        fPrefetchJob.schedule();
+    }
+
+    private synchronized void cancelPrefetch() {
+        if (fPrefetchJob != null) {
+            fPrefetchJob.cancel();
+            fPrefetchJob= null;
+        }
+    }
+
     /**
      *
      */
@@ -0,0 +1,27 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.fix;
+
+import org.eclipse.jdt.ui.cleanup.ICleanUp;
+
+/**
+ * A clean up whose {@link #createFix(org.eclipse.jdt.ui.cleanup.CleanUpContext)} may be called for
+ * several compilation units at the same time, because it keeps no state besides its options.
+ * <p>
+ * When {@link org.eclipse.jdt.internal.corext.fix.CleanUpRefactoring#setParallelism(int)} computes
+ * fixes concurrently, the compilation units with other clean ups are processed one at a time.
+ * </p>
+ */
+public interface IConcurrentCleanUp extends ICleanUp {
+}
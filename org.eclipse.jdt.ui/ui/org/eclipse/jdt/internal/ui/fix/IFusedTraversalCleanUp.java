@@ -0,0 +1,58 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.fix;
+
+import org.eclipse.core.runtime.CoreException;
+
+import org.eclipse.jdt.internal.common.FusedHelperVisitor;
+
+import org.eclipse.jdt.ui.cleanup.CleanUpContext;
+import org.eclipse.jdt.ui.cleanup.ICleanUp;
+import org.eclipse.jdt.ui.cleanup.ICleanUpFix;
+
+/**
+ * A clean up which collects the nodes it wants to fix with {@link org.eclipse.jdt.internal.common.HelperVisitor}s
+ * that can share a single walk over the AST with the HelperVisitors of other clean ups.
+ * <p>
+ * If several clean ups of this kind run on the same AST, first {@link #registerVisitors(CleanUpContext, FusedHelperVisitor)}
+ * is called for each of them, then the AST is walked once, and then
+ * {@link #createFix(CleanUpContext, Object)} is called instead of {@link #createFix(CleanUpContext)}.
+ * </p>
+ */
+public interface IFusedTraversalCleanUp extends ICleanUp {
+
+	/**
+	 * Adds the HelperVisitors needed to compute the fix for <code>context</code> to
+	 * <code>visitor</code>. The AST has not been walked yet when this method returns.
+	 *
+	 * @param context the context of the AST, the AST is not <code>null</code>
+	 * @param visitor the visitor shared by all clean ups running on the AST
+	 * @return the state holding the data the HelperVisitors collect, passed to
+	 *         {@link #createFix(CleanUpContext, Object)}, or <code>null</code> if nothing
+	 *         has been registered. In the latter case {@link #createFix(CleanUpContext)} is
+	 *         called as usual.
+	 * @throws CoreException if the visitors could not be created
+	 */
+	Object registerVisitors(CleanUpContext context, FusedHelperVisitor visitor) throws CoreException;
+
+	/**
+	 * Creates the fix from the data collected during the shared walk.
+	 *
+	 * @param context the context passed to {@link #registerVisitors(CleanUpContext, FusedHelperVisitor)}
+	 * @param state the state returned by {@link #registerVisitors(CleanUpContext, FusedHelperVisitor)}
+	 * @return the fix or <code>null</code> if nothing to fix
+	 * @throws CoreException if the fix could not be created
+	 */
+	ICleanUpFix createFix(CleanUpContext context, Object state) throws CoreException;
+}
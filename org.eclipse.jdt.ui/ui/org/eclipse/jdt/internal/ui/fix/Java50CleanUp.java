@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -41,7 +41,7 @@ import org.eclipse.jdt.internal.ui.text.correction.ProblemLocationCore;
  * @see org.eclipse.jdt.internal.corext.fix.Java50FixCore
  *
  */
-public class Java50CleanUp extends AbstractMultiFix {
+public class Java50CleanUp extends AbstractMultiFix implements IConcurrentCleanUp {
 
 	public Java50CleanUp(Map<String, String> options) {
 		super(options);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2021, 2022 Carsten Hammer.
+ * Copyright (c) 2021, 2026 Carsten Hammer.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,13 +19,15 @@ import org.eclipse.core.runtime.CoreException;
 
 import org.eclipse.jdt.core.manipulation.ICleanUpFixCore;
 
+import org.eclipse.jdt.internal.common.FusedHelperVisitor;
+
 import org.eclipse.jdt.ui.cleanup.CleanUpContext;
 import org.eclipse.jdt.ui.cleanup.CleanUpOptions;
 import org.eclipse.jdt.ui.cleanup.CleanUpRequirements;
 import org.eclipse.jdt.ui.cleanup.ICleanUpFix;
 /**
  */
-public class UseIteratorToForLoopCleanUp extends AbstractCleanUp {
+public class UseIteratorToForLoopCleanUp extends AbstractCleanUp implements IFusedTraversalCleanUp {
 	private final UseIteratorToForLoopCleanUpCore coreCleanUp= new UseIteratorToForLoopCleanUpCore();
 	public UseIteratorToForLoopCleanUp(final Map<String, String> options) {
 		setOptions(options);
@@ -46,6 +48,15 @@ public class UseIteratorToForLoopCleanUp extends AbstractCleanUp {
 		return fixCore == null ? null : new CleanUpFixWrapper(fixCore);
 	}
 	@Override
+	public Object registerVisitors(final CleanUpContext context, final FusedHelperVisitor visitor) throws CoreException {
+		return coreCleanUp.registerVisitors(context, visitor);
+	}
+	@Override
+	public ICleanUpFix createFix(final CleanUpContext context, final Object state) throws CoreException {
+		ICleanUpFixCore fixCore= coreCleanUp.createFixCore(context, state);
+		return fixCore == null ? null : new CleanUpFixWrapper(fixCore);
+	}
+	@Override
 	public String[] getStepDescriptions() {
 		return coreCleanUp.getStepDescriptions();
 	}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -254,7 +254,7 @@ public final class ASTProvider implements IASTSharedValues {
 	 * @return <code>true</code> if the given compilation unit is the active one
 	 * @since 3.1
 	 */
-	public synchronized boolean isActive(ICompilationUnit cu) {
+	public boolean isActive(ICompilationUnit cu) {
 		return cu != null && cu.equals(INSTANCE.getActiveJavaElement());
 	}
 
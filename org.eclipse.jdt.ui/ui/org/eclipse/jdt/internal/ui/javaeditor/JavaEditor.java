@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -188,6 +188,7 @@ import org.eclipse.jdt.core.dom.IVariableBinding;
 import org.eclipse.jdt.core.dom.Name;
 import org.eclipse.jdt.core.dom.NodeFinder;
 import org.eclipse.jdt.core.formatter.DefaultCodeFormatterConstants;
+import org.eclipse.jdt.core.manipulation.CoreASTProvider;
 import org.eclipse.jdt.core.manipulation.SharedASTProviderCore;
 import org.eclipse.jdt.core.util.IModifierConstants;
 
@@ -1212,14 +1213,8 @@ public abstract class JavaEditor extends AbstractDecoratedTextEditor implements
 			if (window == getEditorSite().getWorkbenchWindow() && fMarkOccurrenceAnnotations && isActivePart()) {
 				fForcedMarkOccurrencesSelection= getSelectionProvider().getSelection();
 				ITypeRoot inputJavaElement= getInputJavaElement();
-				if (inputJavaElement != null) {
-					IProgressMonitor monitor = getProgressMonitor();
-					try {
-						updateOccurrenceAnnotations((ITextSelection)fForcedMarkOccurrencesSelection, SharedASTProviderCore.getAST(inputJavaElement, SharedASTProviderCore.WAIT_NO, monitor));
-					} finally {
-						monitor.done();
-					}
-				}
+				if (inputJavaElement != null)
+					updateOccurrenceAnnotationsWithSnapshot((ITextSelection)fForcedMarkOccurrencesSelection, inputJavaElement);
 			}
 		}
 
@@ -2406,17 +2401,8 @@ public abstract class JavaEditor extends AbstractDecoratedTextEditor implements
 		if (inputJavaElement == null)
 			return;
 
-		IProgressMonitor monitor = getProgressMonitor();
-		CompilationUnit ast;
-		try {
-			ast= SharedASTProviderCore.getAST(inputJavaElement, SharedASTProviderCore.WAIT_NO /* DO NOT USE WAIT_ACTIVE_ONLY */ , monitor);
-		} finally {
-			monitor.done();
-		}
-		if (ast != null) {
-			fForcedMarkOccurrencesSelection= textSelection;
-			updateOccurrenceAnnotations((ITextSelection)textSelection, ast);
-		}
+		fForcedMarkOccurrencesSelection= textSelection;
+		updateOccurrenceAnnotationsWithSnapshot((ITextSelection)textSelection, inputJavaElement);
 
 	}
 
@@ -3266,6 +3252,30 @@ public abstract class JavaEditor extends AbstractDecoratedTextEditor implements
 		}
 	}
 
+	/**
+	 * Updates the occurrences annotations with the last AST of the input, without waiting for a
+	 * reconcile of the input.
+	 *
+	 * @param selection the text selection
+	 * @param inputJavaElement the input of this editor
+	 */
+	private void updateOccurrenceAnnotationsWithSnapshot(ITextSelection selection, ITypeRoot inputJavaElement) {
+		IProgressMonitor monitor = getProgressMonitor();
+		CoreASTProvider.ASTSnapshot snapshot;
+		try {
+			snapshot= SharedASTProviderCore.getSnapshot(inputJavaElement, SharedASTProviderCore.WAIT_NO /* DO NOT USE WAIT_ACTIVE_ONLY */, monitor);
+		} finally {
+			monitor.done();
+		}
+		if (snapshot == null)
+			return;
+		updateOccurrenceAnnotations(selection, snapshot.getAST());
+		if (snapshot.isStale()) {
+			// the AST does not match the document, update the occurrences again with the next AST
+			fMarkOccurrenceModificationStamp= IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+		}
+	}
+
 	/**
 	 * Updates the occurrences annotations based
 	 * on the current selection.
@@ -3367,14 +3377,8 @@ public abstract class JavaEditor extends AbstractDecoratedTextEditor implements
 		if (forceUpdate && getSelectionProvider() != null) {
 			fForcedMarkOccurrencesSelection= getSelectionProvider().getSelection();
 			ITypeRoot inputJavaElement= getInputJavaElement();
-			if (inputJavaElement != null) {
-				IProgressMonitor monitor = getProgressMonitor();
-				try {
-					updateOccurrenceAnnotations((ITextSelection)fForcedMarkOccurrencesSelection, SharedASTProviderCore.getAST(inputJavaElement, SharedASTProviderCore.WAIT_NO, monitor));
-				} finally {
-					monitor.done();
-				}
-			}
+			if (inputJavaElement != null)
+				updateOccurrenceAnnotationsWithSnapshot((ITextSelection)fForcedMarkOccurrencesSelection, inputJavaElement);
 		}
 
 		if (fOccurrencesFinderJobCanceler == null) {
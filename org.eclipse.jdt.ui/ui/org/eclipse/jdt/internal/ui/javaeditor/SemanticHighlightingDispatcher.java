@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.javaeditor;
+
+import java.util.Arrays;
+
+import org.eclipse.jdt.core.dom.IBinding;
+
+/**
+ * Finds the semantic highlighting that consumes a semantic token.
+ * <p>
+ * The enabled semantic highlightings are indexed by the binding kind of the tokens and by whether
+ * the token is a declaration, see {@link SemanticHighlightingCore#isApplicable(int, boolean)}. For a
+ * token only the applicable semantic highlightings are asked, in the same order as given to the
+ * constructor, hence the result is the same as when asking all enabled semantic highlightings.
+ * </p>
+ *
+ * @since 3.31
+ */
+public final class SemanticHighlightingDispatcher {
+
+	/** Number of binding kinds, including {@link SemanticToken#NO_BINDING} */
+	private static final int BINDING_KIND_COUNT= IBinding.MODULE + 1;
+
+	/** The semantic highlightings */
+	private final SemanticHighlightingCore[] fSemanticHighlightings;
+	/** Indices of the enabled semantic highlightings */
+	private final int[] fEnabled;
+	/** Indices of the applicable semantic highlightings for references, per binding kind */
+	private final int[][] fReferences;
+	/** Indices of the applicable semantic highlightings for declarations, per binding kind */
+	private final int[][] fDeclarations;
+
+	/**
+	 * Creates a dispatcher.
+	 *
+	 * @param semanticHighlightings the semantic highlightings, in the order they are asked
+	 * @param enabled per semantic highlighting whether it is enabled
+	 */
+	public SemanticHighlightingDispatcher(SemanticHighlightingCore[] semanticHighlightings, boolean[] enabled) {
+		fSemanticHighlightings= semanticHighlightings;
+		int[] indices= new int[semanticHighlightings.length];
+		int count= 0;
+		for (int i= 0; i < semanticHighlightings.length; i++) {
+			if (enabled[i])
+				indices[count++]= i;
+		}
+		fEnabled= Arrays.copyOf(indices, count);
+		fReferences= new int[BINDING_KIND_COUNT][];
+		fDeclarations= new int[BINDING_KIND_COUNT][];
+		for (int kind= 0; kind < BINDING_KIND_COUNT; kind++) {
+			fReferences[kind]= getApplicable(kind, false);
+			fDeclarations[kind]= getApplicable(kind, true);
+		}
+	}
+
+	private int[] getApplicable(int bindingKind, boolean isDeclaration) {
+		int[] indices= new int[fEnabled.length];
+		int count= 0;
+		for (int index : fEnabled) {
+			if (fSemanticHighlightings[index].isApplicable(bindingKind, isDeclaration))
+				indices[count++]= index;
+		}
+		return Arrays.copyOf(indices, count);
+	}
+
+	/**
+	 * Returns the index of the first enabled semantic highlighting that consumes the token.
+	 *
+	 * @param token the semantic token for a {@link org.eclipse.jdt.core.dom.SimpleName}
+	 * @return the index of the consuming semantic highlighting or <code>-1</code> if none
+	 */
+	public int findConsumer(SemanticToken token) {
+		int kind= token.getBindingKind();
+		int[] candidates;
+		if (kind < 0 || kind >= BINDING_KIND_COUNT)
+			candidates= fEnabled;
+		else if (token.getNode().isDeclaration())
+			candidates= fDeclarations[kind];
+		else
+			candidates= fReferences[kind];
+
+		for (int index : candidates) {
+			if (fSemanticHighlightings[index].consumes(token))
+				return index;
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the index of the first enabled semantic highlighting that consumes the literal token.
+	 *
+	 * @param token the semantic token for a <code>Boolean-, Character- or NumberLiteral</code>
+	 * @return the index of the consuming semantic highlighting or <code>-1</code> if none
+	 */
+	public int findLiteralConsumer(SemanticToken token) {
+		for (int index : fEnabled) {
+			if (fSemanticHighlightings[index].consumesLiteral(token))
+				return index;
+		}
+		return -1;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -25,7 +25,10 @@ import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
 
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
 import org.eclipse.jface.text.ITextInputListener;
 import org.eclipse.jface.text.Position;
 import org.eclipse.jface.text.TextPresentation;
@@ -36,13 +39,18 @@ import org.eclipse.ui.IWorkbenchPartSite;
 import org.eclipse.jdt.core.ITypeRoot;
 import org.eclipse.jdt.core.dom.AST;
 import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.Block;
+import org.eclipse.jdt.core.dom.BodyDeclaration;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.dom.ConstructorInvocation;
 import org.eclipse.jdt.core.dom.Expression;
 import org.eclipse.jdt.core.dom.GuardedPattern;
 import org.eclipse.jdt.core.dom.IMethodBinding;
+import org.eclipse.jdt.core.dom.Initializer;
+import org.eclipse.jdt.core.dom.MethodDeclaration;
 import org.eclipse.jdt.core.dom.Modifier;
 import org.eclipse.jdt.core.dom.Modifier.ModifierKeyword;
+import org.eclipse.jdt.core.dom.NodeFinder;
 import org.eclipse.jdt.core.dom.RecordDeclaration;
 import org.eclipse.jdt.core.dom.SimpleName;
 import org.eclipse.jdt.core.dom.SimpleType;
@@ -78,15 +86,12 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 		@Override
 		protected boolean visitLiteral(Expression node) {
 			fToken.update(node);
-			for (int i= 0, n= fJobSemanticHighlightings.length; i < n; i++) {
-				SemanticHighlighting semanticHighlighting= fJobSemanticHighlightings[i];
-				if (fJobHighlightings[i].isEnabled() && semanticHighlighting.consumesLiteral(fToken)) {
-					int offset= node.getStartPosition();
-					int length= node.getLength();
-					if (offset > -1 && length > 0)
-						addPosition(offset, length, fJobHighlightings[i]);
-					break;
-				}
+			int i= fJobDispatcher.findLiteralConsumer(fToken);
+			if (i != -1) {
+				int offset= node.getStartPosition();
+				int length= node.getLength();
+				if (offset > -1 && length > 0)
+					addPosition(offset, length, fJobHighlightings[i]);
 			}
 			fToken.clear();
 			return false;
@@ -241,15 +246,12 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 		@Override
 		public boolean visit(SimpleName node) {
 			fToken.update(node);
-			for (int i= 0, n= fJobSemanticHighlightings.length; i < n; i++) {
-				SemanticHighlighting semanticHighlighting= fJobSemanticHighlightings[i];
-				if (fJobHighlightings[i].isEnabled() && semanticHighlighting.consumes(fToken)) {
-					int offset= node.getStartPosition();
-					int length= node.getLength();
-					if (offset > -1 && length > 0)
-						addPosition(offset, length, fJobHighlightings[i]);
-					break;
-				}
+			int i= fJobDispatcher.findConsumer(fToken);
+			if (i != -1) {
+				int offset= node.getStartPosition();
+				int length= node.getLength();
+				if (offset > -1 && length > 0)
+					addPosition(offset, length, fJobHighlightings[i]);
 			}
 			fToken.clear();
 			return false;
@@ -263,8 +265,7 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 		 */
 		private void addPosition(int offset, int length, Highlighting highlighting) {
 			boolean isExisting= false;
-			// TODO: use binary search
-			for (int i= 0, n= fRemovedPositions.size(); i < n; i++) {
+			for (int i= computeIndexAtOffset(offset), n= fRemovedOffsets.length; i < n && fRemovedOffsets[i] == offset; i++) {
 				HighlightedPosition position= (HighlightedPosition) fRemovedPositions.get(i);
 				if (position == null)
 					continue;
@@ -289,8 +290,8 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 		 */
 		@Override
 		protected void retainPositions(int offset, int length) {
-			// TODO: use binary search
-			for (int i= 0, n= fRemovedPositions.size(); i < n; i++) {
+			int end= offset + length;
+			for (int i= computeIndexAtOffset(offset), n= fRemovedOffsets.length; i < n && fRemovedOffsets[i] < end; i++) {
 				HighlightedPosition position= (HighlightedPosition) fRemovedPositions.get(i);
 				if (position != null && position.isContained(offset, length)) {
 					fRemovedPositions.set(i, null);
@@ -299,6 +300,26 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 			}
 		}
 
+		/**
+		 * Returns the index of the first removed position with an offset greater than or equal to the given offset.
+		 *
+		 * @param offset the offset
+		 * @return the index into {@link SemanticHighlightingReconciler#fRemovedPositions}
+		 * @since 3.31
+		 */
+		private int computeIndexAtOffset(int offset) {
+			int i= -1;
+			int j= fRemovedOffsets.length;
+			while (j - i > 1) {
+				int k= (i + j) >> 1;
+				if (fRemovedOffsets[k] >= offset)
+					j= k;
+				else
+					i= k;
+			}
+			return j;
+		}
+
 		@Override
 		public boolean visit(GuardedPattern node) {
 			try {
@@ -322,6 +343,164 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 		}
 	}
 
+	/**
+	 * The range of the document that has been changed, in the coordinates of the current document.
+	 *
+	 * @since 3.31
+	 */
+	private static final class ChangedRegion {
+
+		/** Start offset, <code>-1</code> if nothing has changed */
+		private int fOffset= -1;
+		/** End offset, exclusive */
+		private int fEnd;
+		/** <code>true</code> if the whole document has to be considered changed */
+		private boolean fIsAll;
+		/** Number of opening braces minus number of closing braces added by the changes */
+		private int fBraceBalance;
+
+		boolean isEmpty() {
+			return fOffset == -1 && !fIsAll;
+		}
+
+		/**
+		 * Tells whether the changes may have added or removed braces without their counterparts,
+		 * which lets the parser's recovery shift the boundaries of the declarations. Braces in
+		 * comments and literals are counted as well, to be on the safe side.
+		 *
+		 * @return <code>true</code> if the changes may have unbalanced the braces
+		 */
+		boolean hasUnbalancedBraces() {
+			return fBraceBalance != 0;
+		}
+
+		void clear() {
+			fOffset= -1;
+			fEnd= 0;
+			fIsAll= false;
+			fBraceBalance= 0;
+		}
+
+		void set(ChangedRegion region) {
+			fOffset= region.fOffset;
+			fEnd= region.fEnd;
+			fIsAll= region.fIsAll;
+			fBraceBalance= region.fBraceBalance;
+		}
+
+		void addAll() {
+			fIsAll= true;
+		}
+
+		/**
+		 * Adds the range replaced by the event and moves the range changed so far like a position.
+		 *
+		 * @param event the document event
+		 * @param replacedBraceBalance the brace balance of the text replaced by the event
+		 */
+		void add(DocumentEvent event, int replacedBraceBalance) {
+			if (fIsAll)
+				return;
+			fBraceBalance+= getBraceBalance(event.getText()) - replacedBraceBalance;
+			int offset= event.getOffset();
+			int end= offset + event.getLength();
+			int newEnd= offset + (event.getText() == null ? 0 : event.getText().length());
+			if (fOffset == -1) {
+				fOffset= offset;
+				fEnd= newEnd;
+			} else {
+				fOffset= Math.min(map(fOffset, offset, end, newEnd), offset);
+				fEnd= Math.max(map(fEnd, offset, end, newEnd), newEnd);
+			}
+		}
+
+		private static int map(int position, int offset, int end, int newEnd) {
+			if (position <= offset)
+				return position;
+			if (position >= end)
+				return position + newEnd - end;
+			return newEnd;
+		}
+
+		/**
+		 * Returns the number of opening braces minus the number of closing braces in the text.
+		 *
+		 * @param text the text, may be <code>null</code>
+		 * @return the brace balance
+		 */
+		static int getBraceBalance(String text) {
+			int balance= 0;
+			if (text != null) {
+				for (int i= 0, n= text.length(); i < n; i++) {
+					char c= text.charAt(i);
+					if (c == '{')
+						balance++;
+					else if (c == '}')
+						balance--;
+				}
+			}
+			return balance;
+		}
+	}
+
+	/**
+	 * Tracks the changes of the document of the editor.
+	 *
+	 * @since 3.31
+	 */
+	private class DocumentChangeTracker implements IDocumentListener, ITextInputListener {
+
+		/** Brace balance of the text that is about to be replaced */
+		private int fReplacedBraceBalance;
+
+		@Override
+		public void documentAboutToBeChanged(DocumentEvent event) {
+			try {
+				fReplacedBraceBalance= ChangedRegion.getBraceBalance(event.getDocument().get(event.getOffset(), event.getLength()));
+			} catch (BadLocationException e) {
+				// cannot happen for a valid event, reconcile the whole document to be on the safe side
+				fReplacedBraceBalance= Integer.MIN_VALUE;
+			}
+		}
+
+		@Override
+		public void documentChanged(DocumentEvent event) {
+			synchronized (fChangedRegionLock) {
+				if (fReplacedBraceBalance == Integer.MIN_VALUE) {
+					fChangedRegion.addAll();
+					fRecentlyChangedRegion.addAll();
+				} else {
+					fChangedRegion.add(event, fReplacedBraceBalance);
+					fRecentlyChangedRegion.add(event, fReplacedBraceBalance);
+				}
+			}
+		}
+
+		@Override
+		public void inputDocumentAboutToBeChanged(IDocument oldInput, IDocument newInput) {
+			if (oldInput != null)
+				oldInput.removeDocumentListener(this);
+		}
+
+		@Override
+		public void inputDocumentChanged(IDocument oldInput, IDocument newInput) {
+			if (newInput != null)
+				newInput.addDocumentListener(this);
+			synchronized (fChangedRegionLock) {
+				fChangedRegion.addAll();
+				fRecentlyChangedRegion.addAll();
+			}
+		}
+	}
+
+	/**
+	 * <code>true</code> if reconciling after document changes only collects the positions of the
+	 * changed method or initializer if the changes are limited to its body.
+	 *
+	 * @since 3.31
+	 */
+	private static final boolean INCREMENTAL= !Boolean.getBoolean("org.eclipse.jdt.ui.disableIncrementalSemanticHighlighting"); //$NON-NLS-1$
+
 	/** Position collector */
 	private PositionCollector fCollector= new PositionCollector();
 
@@ -342,6 +521,50 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	private List<Position> fRemovedPositions= new ArrayList<>();
 	/** Number of removed positions */
 	private int fNOfRemovedPositions;
+	/**
+	 * Offsets of the removed positions when the background job started, ordered like
+	 * {@link #fRemovedPositions}
+	 * @since 3.31
+	 */
+	private int[] fRemovedOffsets;
+
+	/**
+	 * Tracks the document changes, <code>null</code> if not in incremental mode
+	 * @since 3.31
+	 */
+	private DocumentChangeTracker fDocumentChangeTracker;
+	/**
+	 * Lock for the changed regions
+	 * @since 3.31
+	 */
+	private final Object fChangedRegionLock= new Object();
+	/**
+	 * Document changes whose highlighting has not been presented yet
+	 * @since 3.31
+	 */
+	private final ChangedRegion fChangedRegion= new ChangedRegion();
+	/**
+	 * Document changes since the last call of {@link #aboutToBeReconciled()}
+	 * @since 3.31
+	 */
+	private final ChangedRegion fRecentlyChangedRegion= new ChangedRegion();
+	/**
+	 * Document changes to be reconciled by the next call of {@link #reconciled(CompilationUnit, boolean, IProgressMonitor)},
+	 * <code>null</code> if all positions have to be reconciled
+	 * @since 3.31
+	 */
+	private ChangedRegion fReconcileRegion;
+	/**
+	 * Number of calls of {@link #aboutToBeReconciled()}, identifies the document changes in {@link #fReconcileRegion}
+	 * @since 3.31
+	 */
+	private int fReconcileGeneration;
+	/**
+	 * Number of reconciles that only collected the positions of a changed method or initializer,
+	 * used by the tests
+	 * @since 3.31
+	 */
+	private volatile int fIncrementalReconcileCount;
 
 	/** Background job */
 	private Job fJob;
@@ -365,6 +588,11 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	private SemanticHighlighting[] fJobSemanticHighlightings;
 	/** Highlightings - cache for background thread, only valid during {@link #reconciled(CompilationUnit, boolean, IProgressMonitor)} */
 	private Highlighting[] fJobHighlightings;
+	/**
+	 * Dispatcher for the enabled semantic highlightings - cache for background thread, only valid during {@link #reconciled(CompilationUnit, boolean, IProgressMonitor)}
+	 * @since 3.31
+	 */
+	private SemanticHighlightingDispatcher fJobDispatcher;
 
 	/**
 	 * XXX Hack for performance reasons (should loop over fJobSemanticHighlightings can call consumes(*))
@@ -377,7 +605,20 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	 */
 	@Override
 	public void aboutToBeReconciled() {
-		// Do nothing
+		if (fDocumentChangeTracker == null)
+			return;
+
+		synchronized (fChangedRegionLock) {
+			fReconcileGeneration++;
+			if (fChangedRegion.isEmpty()) {
+				// not caused by a change of the document, e.g. by a change of a referenced type
+				fReconcileRegion= null;
+			} else {
+				fReconcileRegion= new ChangedRegion();
+				fReconcileRegion.set(fChangedRegion);
+			}
+			fRecentlyChangedRegion.clear();
+		}
 	}
 
 	/*
@@ -385,6 +626,20 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	 */
 	@Override
 	public void reconciled(CompilationUnit ast, boolean forced, IProgressMonitor progressMonitor) {
+		reconciled(ast, forced, true, progressMonitor);
+	}
+
+	/**
+	 * Reconciles the positions with the given AST.
+	 *
+	 * @param ast the AST
+	 * @param forced <code>true</code> if the reconciler has been invoked manually
+	 * @param afterDocumentChange <code>true</code> if called after {@link #aboutToBeReconciled()},
+	 *            allows to reconcile only the positions of the changed parts of the document
+	 * @param progressMonitor the progress monitor
+	 * @since 3.31
+	 */
+	private void reconciled(CompilationUnit ast, boolean forced, boolean afterDocumentChange, IProgressMonitor progressMonitor) {
 		// ensure at most one thread can be reconciling at any time
 		synchronized (fReconcileLock) {
 			if (fIsReconciling)
@@ -392,6 +647,15 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 			else
 				fIsReconciling= true;
 		}
+		ChangedRegion changedRegion= null;
+		int generation= -1;
+		if (afterDocumentChange && fDocumentChangeTracker != null) {
+			synchronized (fChangedRegionLock) {
+				changedRegion= forced ? null : fReconcileRegion;
+				fReconcileRegion= null;
+				generation= fReconcileGeneration;
+			}
+		}
 		fJobPresenter= fPresenter;
 		fJobSemanticHighlightings= fSemanticHighlightings;
 		fJobHighlightings= fHighlightings;
@@ -405,7 +669,7 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 			if (ast == null || fJobPresenter.isCanceled())
 				return;
 
-			ASTNode[] subtrees= getAffectedSubtrees(ast);
+			ASTNode[] subtrees= getAffectedSubtrees(ast, changedRegion);
 			if (subtrees.length == 0)
 				return;
 
@@ -413,13 +677,13 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 
 			if (!fJobPresenter.isCanceled()) {
 				fJobDeprecatedMemberHighlighting= null;
+				boolean[] enabled= new boolean[fJobSemanticHighlightings.length];
 				for (int i= 0, n= fJobSemanticHighlightings.length; i < n; i++) {
-					SemanticHighlighting semanticHighlighting= fJobSemanticHighlightings[i];
-					if (fJobHighlightings[i].isEnabled() && semanticHighlighting instanceof DeprecatedMemberHighlighting) {
+					enabled[i]= fJobHighlightings[i].isEnabled();
+					if (enabled[i] && fJobDeprecatedMemberHighlighting == null && fJobSemanticHighlightings[i] instanceof DeprecatedMemberHighlighting)
 						fJobDeprecatedMemberHighlighting= fJobHighlightings[i];
-						break;
-					}
 				}
+				fJobDispatcher= new SemanticHighlightingDispatcher(fJobSemanticHighlightings, enabled);
 				reconcilePositions(subtrees);
 			}
 
@@ -427,8 +691,12 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 			if (!fJobPresenter.isCanceled())
 				textPresentation= fJobPresenter.createPresentation(fAddedPositions, fRemovedPositions);
 
-			if (!fJobPresenter.isCanceled())
-				updatePresentation(textPresentation, fAddedPositions, fRemovedPositions);
+			if (!fJobPresenter.isCanceled()) {
+				if (fAddedPositions.isEmpty() && fRemovedPositions.isEmpty())
+					changesPresented(generation);
+				else
+					updatePresentation(textPresentation, fAddedPositions, fRemovedPositions, generation);
+			}
 
 			stopReconcilingPositions();
 		} finally {
@@ -436,6 +704,7 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 			fJobSemanticHighlightings= null;
 			fJobHighlightings= null;
 			fJobDeprecatedMemberHighlighting= null;
+			fJobDispatcher= null;
 			synchronized (fReconcileLock) {
 				fIsReconciling= false;
 			}
@@ -443,20 +712,60 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	}
 
 	/**
+	 * Returns the subtrees that may be affected by the document changes. Changes inside the body of
+	 * a method or an initializer cannot affect the highlighting outside of it, any other change may
+	 * have distant effects and affects the whole AST. This includes changes that unbalance the
+	 * braces, since the recovered AST may then attribute the following members to the changed body.
+	 *
 	 * @param node Root node
+	 * @param changedRegion the changed region of the document or <code>null</code> if unknown
 	 * @return Array of subtrees that may be affected by past document changes
 	 */
-	private ASTNode[] getAffectedSubtrees(ASTNode node) {
-		// TODO: only return nodes which are affected by document changes - would require an 'anchor' concept for taking distant effects into account
+	private ASTNode[] getAffectedSubtrees(CompilationUnit node, ChangedRegion changedRegion) {
+		if (changedRegion != null && !changedRegion.isEmpty() && !changedRegion.fIsAll && !changedRegion.hasUnbalancedBraces()) {
+			BodyDeclaration declaration= getEnclosingBodyDeclaration(node, changedRegion.fOffset, changedRegion.fEnd);
+			if (declaration != null)
+				return new ASTNode[] { declaration };
+		}
 		return new ASTNode[] { node };
 	}
 
+	/**
+	 * Returns the innermost method or initializer whose body strictly contains the given range.
+	 *
+	 * @param root the AST root
+	 * @param offset the start offset of the range
+	 * @param end the end offset of the range, exclusive
+	 * @return the method or initializer or <code>null</code> if none
+	 * @since 3.31
+	 */
+	private static BodyDeclaration getEnclosingBodyDeclaration(CompilationUnit root, int offset, int end) {
+		if (end > root.getStartPosition() + root.getLength())
+			return null;
+
+		ASTNode node= NodeFinder.perform(root, offset, end - offset);
+		while (node != null) {
+			Block body= null;
+			if (node instanceof MethodDeclaration)
+				body= ((MethodDeclaration) node).getBody();
+			else if (node instanceof Initializer)
+				body= ((Initializer) node).getBody();
+			if (body != null && body.getStartPosition() < offset && end < body.getStartPosition() + body.getLength())
+				return (BodyDeclaration) node;
+			node= node.getParent();
+		}
+		return null;
+	}
+
 	/**
 	 * Start reconciling positions.
 	 */
 	private void startReconcilingPositions() {
 		fJobPresenter.addAllPositions(fRemovedPositions);
 		fNOfRemovedPositions= fRemovedPositions.size();
+		fRemovedOffsets= new int[fNOfRemovedPositions];
+		for (int i= 0; i < fNOfRemovedPositions; i++)
+			fRemovedOffsets[i]= fRemovedPositions.get(i).getOffset();
 	}
 
 	/**
@@ -465,12 +774,22 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	 * @param subtrees the AST subtrees
 	 */
 	private void reconcilePositions(ASTNode[] subtrees) {
-		// FIXME: remove positions not covered by subtrees
-
-
-
-		for (ASTNode subtree : subtrees)
+		// retain the positions not covered by the subtrees, the subtrees are ordered by offset
+		boolean isPartial= false;
+		int end= 0;
+		for (ASTNode subtree : subtrees) {
+			if (subtree.getParent() != null) {
+				isPartial= true;
+				fCollector.retainPositions(end, subtree.getStartPosition() - end);
+				end= subtree.getStartPosition() + subtree.getLength();
+			}
 			subtree.accept(fCollector);
+		}
+		if (isPartial) {
+			fCollector.retainPositions(end, Integer.MAX_VALUE - end);
+			fIncrementalReconcileCount++;
+		}
+
 		List<Position> oldPositions= fRemovedPositions;
 		List<Position> newPositions= new ArrayList<>(fNOfRemovedPositions);
 		for (Position current : oldPositions) {
@@ -486,12 +805,20 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	 * @param textPresentation the text presentation
 	 * @param addedPositions the added positions
 	 * @param removedPositions the removed positions
+	 * @param generation the generation of the reconciled document changes, <code>-1</code> if unknown
 	 */
-	private void updatePresentation(TextPresentation textPresentation, List<Position> addedPositions, List<Position> removedPositions) {
-		Runnable runnable= fJobPresenter.createUpdateRunnable(textPresentation, addedPositions, removedPositions);
-		if (runnable == null)
+	private void updatePresentation(TextPresentation textPresentation, List<Position> addedPositions, List<Position> removedPositions, final int generation) {
+		final Runnable update= fJobPresenter.createUpdateRunnable(textPresentation, addedPositions, removedPositions);
+		if (update == null)
 			return;
 
+		final SemanticHighlightingPresenter presenter= fJobPresenter;
+		Runnable runnable= () -> {
+			update.run();
+			if (!presenter.isCanceled())
+				changesPresented(generation);
+		};
+
 		JavaEditor editor= fEditor;
 		if (editor == null)
 			return;
@@ -517,9 +844,28 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	private void stopReconcilingPositions() {
 		fRemovedPositions.clear();
 		fNOfRemovedPositions= 0;
+		fRemovedOffsets= null;
 		fAddedPositions.clear();
 	}
 
+	/**
+	 * Called when the highlighting of the document changes that have been passed to the reconcile
+	 * of the given generation is presented.
+	 *
+	 * @param generation the generation of the document changes, <code>-1</code> if unknown
+	 * @since 3.31
+	 */
+	private void changesPresented(int generation) {
+		if (generation == -1)
+			return;
+
+		synchronized (fChangedRegionLock) {
+			// if another reconcile has been started in the meantime, keep the changes to be on the safe side
+			if (generation == fReconcileGeneration)
+				fChangedRegion.set(fRecentlyChangedRegion);
+		}
+	}
+
 	/**
 	 * Install this reconciler on the given editor, presenter and highlightings.
 	 * @param editor the editor
@@ -538,6 +884,13 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 
 		if (fEditor instanceof CompilationUnitEditor) {
 			if (registerAsEditorReconcilingListener()) {
+				if (INCREMENTAL) {
+					fDocumentChangeTracker= new DocumentChangeTracker();
+					fSourceViewer.addTextInputListener(fDocumentChangeTracker);
+					IDocument document= fSourceViewer.getDocument();
+					if (document != null)
+						document.addDocumentListener(fDocumentChangeTracker);
+				}
 				((CompilationUnitEditor)fEditor).addReconcileListener(this);
 			}
 		} else if (fEditor != null) {
@@ -569,6 +922,14 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 			fEditor= null;
 		}
 
+		if (fDocumentChangeTracker != null) {
+			fSourceViewer.removeTextInputListener(fDocumentChangeTracker);
+			IDocument document= fSourceViewer.getDocument();
+			if (document != null)
+				document.removeDocumentListener(fDocumentChangeTracker);
+			fDocumentChangeTracker= null;
+		}
+
 		fSourceViewer= null;
 		fSemanticHighlightings= null;
 		fHighlightings= null;
@@ -612,7 +973,7 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 						if (monitor.isCanceled())
 							return Status.CANCEL_STATUS;
 						CompilationUnit ast= SharedASTProviderCore.getAST(element, SharedASTProviderCore.WAIT_YES, monitor);
-						reconciled(ast, false, monitor);
+						reconciled(ast, false, false, monitor);
 						synchronized (fJobLock) {
 							// allow the job to be gc'ed
 							if (fJob == this)
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -266,6 +266,14 @@ public class SemanticHighlightings {
 			IBinding binding= token.getBinding();
 			return binding != null && binding.getKind() == IBinding.VARIABLE && ((IVariableBinding)binding).isField() && (binding.getModifiers() & (Modifier.FINAL | Modifier.STATIC)) == (Modifier.FINAL | Modifier.STATIC);
 		}
+
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlightingCore#isApplicable(int, boolean)
+		 */
+		@Override
+		public boolean isApplicable(int bindingKind, boolean isDeclaration) {
+			return bindingKind == IBinding.VARIABLE;
+		}
 	}
 
 	/**
@@ -329,6 +337,14 @@ public class SemanticHighlightings {
 			IBinding binding= token.getBinding();
 			return binding != null && binding.getKind() == IBinding.VARIABLE && ((IVariableBinding)binding).isField() && (binding.getModifiers() & Modifier.STATIC) == Modifier.STATIC;
 		}
+
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlightingCore#isApplicable(int, boolean)
+		 */
+		@Override
+		public boolean isApplicable(int bindingKind, boolean isDeclaration) {
+			return bindingKind == IBinding.VARIABLE;
+		}
 	}
 
 	/**
@@ -392,6 +408,14 @@ public class SemanticHighlightings {
 			IBinding binding= token.getBinding();
 			return binding != null && binding.getKind() == IBinding.VARIABLE && ((IVariableBinding)binding).isField();
 		}
+
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlightingCore#isApplicable(int, boolean)
+		 */
+		@Override
+		public boolean isApplicable(int bindingKind, boolean isDeclaration) {
+			return bindingKind == IBinding.VARIABLE;
+		}
 	}
 
 	/**
@@ -563,6 +587,15 @@ public class SemanticHighlightings {
 			StructuralPropertyDescriptor location= token.getNode().getLocationInParent();
 			return location == MethodDeclaration.NAME_PROPERTY || location == AnnotationTypeMemberDeclaration.NAME_PROPERTY;
 		}
+
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlightingCore#isApplicable(int, boolean)
+		 */
+		@Override
+		public boolean isApplicable(int bindingKind, boolean isDeclaration) {
+			// SimpleName#isDeclaration() is false for the name of a constructor
+			return isDeclaration || bindingKind == IBinding.METHOD;
+		}
 	}
 
 	/**
@@ -630,6 +663,14 @@ public class SemanticHighlightings {
 			IBinding binding= token.getBinding();
 			return binding != null && binding.getKind() == IBinding.METHOD && (binding.getModifiers() & Modifier.STATIC) == Modifier.STATIC;
 		}
+
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlightingCore#isApplicable(int, boolean)
+		 */
+		@Override
+		public boolean isApplicable(int bindingKind, boolean isDeclaration) {
+			return !isDeclaration && bindingKind == IBinding.METHOD;
+		}
 	}
 
 	/**
@@ -701,6 +742,14 @@ public class SemanticHighlightings {
 
 			return false;
 		}
+
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlightingCore#isApplicable(int, boolean)
+		 */
+		@Override
+		public boolean isApplicable(int bindingKind, boolean isDeclaration) {
+			return bindingKind == IBinding.METHOD;
+		}
 	}
 
 	/**
@@ -779,6 +828,14 @@ public class SemanticHighlightings {
 
 			return true;
 		}
+
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlightingCore#isApplicable(int, boolean)
+		 */
+		@Override
+		public boolean isApplicable(int bindingKind, boolean isDeclaration) {
+			return !isDeclaration && bindingKind == IBinding.METHOD;
+		}
 	}
 
 	/**
@@ -854,6 +911,14 @@ public class SemanticHighlightings {
 
 			return Bindings.isSuperType(declaringType, currentType);
 		}
+
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlightingCore#isApplicable(int, boolean)
+		 */
+		@Override
+		public boolean isApplicable(int bindingKind, boolean isDeclaration) {
+			return !isDeclaration && bindingKind == IBinding.METHOD;
+		}
 	}
 
 	/**
@@ -917,6 +982,15 @@ public class SemanticHighlightings {
 			IBinding binding= getBinding(token);
 			return binding != null && binding.getKind() == IBinding.METHOD;
 		}
+
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlightingCore#isApplicable(int, boolean)
+		 */
+		@Override
+		public boolean isApplicable(int bindingKind, boolean isDeclaration) {
+			// the names of the types in class instance creations are consumed by their constructor binding, see getBinding(SemanticToken)
+			return bindingKind == IBinding.METHOD || bindingKind == IBinding.TYPE || bindingKind == SemanticToken.NO_BINDING;
+		}
 	}
 
 	/**
@@ -988,6 +1062,14 @@ public class SemanticHighlightings {
 			}
 			return false;
 		}
+
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlightingCore#isApplicable(int, boolean)
+		 */
+		@Override
+		public boolean isApplicable(int bindingKind, boolean isDeclaration) {
+			return isDeclaration;
+		}
 	}
 
 	/**
@@ -1055,6 +1137,14 @@ public class SemanticHighlightings {
 			}
 			return false;
 		}
+
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlightingCore#isApplicable(int, boolean)
+		 */
+		@Override
+		public boolean isApplicable(int bindingKind, boolean isDeclaration) {
+			return bindingKind == IBinding.VARIABLE;
+		}
 	}
 
 	/**
@@ -1122,6 +1212,14 @@ public class SemanticHighlightings {
 			}
 			return false;
 		}
+
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlightingCore#isApplicable(int, boolean)
+		 */
+		@Override
+		public boolean isApplicable(int bindingKind, boolean isDeclaration) {
+			return bindingKind == IBinding.VARIABLE;
+		}
 	}
 
 	/**
@@ -1288,6 +1386,14 @@ public class SemanticHighlightings {
 			IBinding binding= token.getBinding();
 			return binding instanceof ITypeBinding && ((ITypeBinding) binding).isTypeVariable();
 		}
+
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlightingCore#isApplicable(int, boolean)
+		 */
+		@Override
+		public boolean isApplicable(int bindingKind, boolean isDeclaration) {
+			return bindingKind == IBinding.TYPE;
+		}
 	}
 
 	/**
@@ -1367,6 +1473,14 @@ public class SemanticHighlightings {
 			IBinding binding= token.getBinding();
 			return binding instanceof ITypeBinding && ((ITypeBinding) binding).isClass();
 		}
+
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlightingCore#isApplicable(int, boolean)
+		 */
+		@Override
+		public boolean isApplicable(int bindingKind, boolean isDeclaration) {
+			return bindingKind == IBinding.TYPE;
+		}
 	}
 
 	/**
@@ -1447,6 +1561,14 @@ public class SemanticHighlightings {
 			IBinding binding= token.getBinding();
 			return binding instanceof ITypeBinding && ((ITypeBinding) binding).isEnum();
 		}
+
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlightingCore#isApplicable(int, boolean)
+		 */
+		@Override
+		public boolean isApplicable(int bindingKind, boolean isDeclaration) {
+			return bindingKind == IBinding.TYPE;
+		}
 	}
 
 	/**
@@ -1526,6 +1648,14 @@ public class SemanticHighlightings {
 			IBinding binding= token.getBinding();
 			return binding instanceof ITypeBinding && ((ITypeBinding) binding).isInterface();
 		}
+
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlightingCore#isApplicable(int, boolean)
+		 */
+		@Override
+		public boolean isApplicable(int bindingKind, boolean isDeclaration) {
+			return bindingKind == IBinding.TYPE;
+		}
 	}
 
 	/**
@@ -1606,6 +1736,14 @@ public class SemanticHighlightings {
 			IBinding binding= token.getBinding();
 			return binding instanceof ITypeBinding && ((ITypeBinding) binding).isAnnotation();
 		}
+
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlightingCore#isApplicable(int, boolean)
+		 */
+		@Override
+		public boolean isApplicable(int bindingKind, boolean isDeclaration) {
+			return bindingKind == IBinding.TYPE;
+		}
 	}
 
 	/**
@@ -1746,6 +1884,14 @@ public class SemanticHighlightings {
 			return false;
 		}
 
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlightingCore#isApplicable(int, boolean)
+		 */
+		@Override
+		public boolean isApplicable(int bindingKind, boolean isDeclaration) {
+			return false;
+		}
+
 		/*
 		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#consumesLiteral(org.eclipse.jdt.internal.ui.javaeditor.SemanticToken)
 		 */
@@ -1839,6 +1985,14 @@ public class SemanticHighlightings {
 
 			return false;
 		}
+
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlightingCore#isApplicable(int, boolean)
+		 */
+		@Override
+		public boolean isApplicable(int bindingKind, boolean isDeclaration) {
+			return bindingKind == IBinding.TYPE;
+		}
 	}
 
 	/**
@@ -1917,6 +2071,14 @@ public class SemanticHighlightings {
 
 			return Bindings.isSuperType(declaringType, currentType);
 		}
+
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlightingCore#isApplicable(int, boolean)
+		 */
+		@Override
+		public boolean isApplicable(int bindingKind, boolean isDeclaration) {
+			return !isDeclaration && bindingKind == IBinding.VARIABLE;
+		}
 	}
 
 	/**
@@ -1958,6 +2120,11 @@ public class SemanticHighlightings {
 		public boolean consumes(SemanticToken token) {
 			return false;
 		}
+
+		@Override
+		public boolean isApplicable(int bindingKind, boolean isDeclaration) {
+			return false;
+		}
 	}
 
 	/**
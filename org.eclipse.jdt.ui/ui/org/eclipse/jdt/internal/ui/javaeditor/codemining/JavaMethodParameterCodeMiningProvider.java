@@ -32,6 +32,8 @@ import org.eclipse.jdt.core.ITypeRoot;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.dom.ASTParser;
 import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.manipulation.CoreASTProvider;
+import org.eclipse.jdt.core.manipulation.SharedASTProviderCore;
 
 import org.eclipse.jdt.internal.corext.dom.IASTSharedValues;
 
@@ -84,7 +86,9 @@ public class JavaMethodParameterCodeMiningProvider extends AbstractCodeMiningPro
 	}
 
 	private void collectLineContentCodeMinings(ITypeRoot unit, List<ICodeMining> minings) {
-		CompilationUnit cu= getCompilationUnitNode(unit, true);
+		// the minings are positioned with the AST, so a stale AST of the editor cannot be used
+		CoreASTProvider.ASTSnapshot snapshot= SharedASTProviderCore.getSnapshot(unit, SharedASTProviderCore.WAIT_NO, null);
+		CompilationUnit cu= snapshot != null && !snapshot.isStale() ? snapshot.getAST() : getCompilationUnitNode(unit, true);
 		CalleeJavaMethodParameterVisitor visitor= new CalleeJavaMethodParameterVisitor(minings, this);
 		cu.accept(visitor);
 	}
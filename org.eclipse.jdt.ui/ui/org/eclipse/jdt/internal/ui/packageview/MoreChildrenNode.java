@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.packageview;
+
+import org.eclipse.core.runtime.IAdaptable;
+
+import org.eclipse.jface.resource.ImageDescriptor;
+
+import org.eclipse.ui.model.IWorkbenchAdapter;
+
+import org.eclipse.jdt.internal.corext.util.Messages;
+
+/**
+ * Stands for the children of a package fragment root or a package that are not shown yet, see
+ * {@link PackageExplorerContentProvider#showMoreChildren(MoreChildrenNode)}.
+ */
+public final class MoreChildrenNode implements IAdaptable {
+
+	private static WorkbenchAdapterImpl fgAdapterInstance= new WorkbenchAdapterImpl();
+
+	private static class WorkbenchAdapterImpl implements IWorkbenchAdapter {
+
+		@Override
+		public Object[] getChildren(Object o) {
+			return new Object[0];
+		}
+
+		@Override
+		public ImageDescriptor getImageDescriptor(Object o) {
+			return null;
+		}
+
+		@Override
+		public String getLabel(Object o) {
+			if (o instanceof MoreChildrenNode)
+				return ((MoreChildrenNode) o).getLabel();
+			return ""; //$NON-NLS-1$
+		}
+
+		@Override
+		public Object getParent(Object o) {
+			if (o instanceof MoreChildrenNode)
+				return ((MoreChildrenNode) o).getParent();
+			return null;
+		}
+	}
+
+	private final Object fParent;
+	private final int fHiddenCount;
+
+	MoreChildrenNode(Object parent, int hiddenCount) {
+		fParent= parent;
+		fHiddenCount= hiddenCount;
+	}
+
+	public Object getParent() {
+		return fParent;
+	}
+
+	/**
+	 * @return the number of children that are not shown
+	 */
+	public int getHiddenCount() {
+		return fHiddenCount;
+	}
+
+	public String getLabel() {
+		return Messages.format(PackagesMessages.MoreChildrenNode_label, Integer.valueOf(fHiddenCount));
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T getAdapter(Class<T> adapter) {
+		if (adapter == IWorkbenchAdapter.class)
+			return (T) fgAdapterInstance;
+		return null;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		// one node for each parent, so that the node keeps its tree item when more children are shown
+		return obj instanceof MoreChildrenNode && fParent.equals(((MoreChildrenNode) obj).fParent);
+	}
+
+	@Override
+	public int hashCode() {
+		return fParent.hashCode();
+	}
+}
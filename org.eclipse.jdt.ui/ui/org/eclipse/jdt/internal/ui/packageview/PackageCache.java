@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2017 Simeon Andreev and others.
+ * Copyright (c) 2017, 2026 Simeon Andreev and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -96,6 +96,17 @@ public class PackageCache {
 				packageCaches.clear();
 			}
 		}
+
+		/**
+		 * Drops the cache of a package root. Can be called from a different (not only UI) thread.
+		 *
+		 * @param root the package root whose packages have changed
+		 */
+		void clear(IPackageFragmentRoot root) {
+			synchronized (packageCaches) {
+				packageCaches.remove(root);
+			}
+		}
 	}
 
 
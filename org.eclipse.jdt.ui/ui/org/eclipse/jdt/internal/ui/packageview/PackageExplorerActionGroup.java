@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -325,7 +325,9 @@ class PackageExplorerActionGroup extends CompositeActionGroup {
 		TreeViewer viewer= fPart.getTreeViewer();
 		IStructuredSelection selection= (IStructuredSelection)event.getSelection();
 		Object element= selection.getFirstElement();
-		if (viewer.isExpandable(element)) {
+		if (element instanceof MoreChildrenNode) {
+			((PackageExplorerContentProvider) viewer.getContentProvider()).showMoreChildren((MoreChildrenNode) element);
+		} else if (viewer.isExpandable(element)) {
 			if (doubleClickGoesInto()) {
 				// don't zoom into compilation units and class files
 				if (element instanceof ICompilationUnit || element instanceof IClassFile)
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2013 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,8 +16,11 @@ package org.eclipse.jdt.internal.ui.packageview;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Iterator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.Display;
@@ -39,6 +42,8 @@ import org.eclipse.jface.util.PropertyChangeEvent;
 import org.eclipse.jface.viewers.IBasicPropertyConstants;
 import org.eclipse.jface.viewers.TreeViewer;
 import org.eclipse.jface.viewers.Viewer;
+import org.eclipse.jface.viewers.ViewerComparator;
+import org.eclipse.jface.viewers.ViewerFilter;
 
 import org.eclipse.ui.IWorkingSet;
 import org.eclipse.ui.progress.UIJob;
@@ -73,6 +78,14 @@ import org.eclipse.jdt.internal.ui.workingsets.WorkingSetModel;
  * Since 2.1 this content provider can provide the children for flat or hierarchical
  * layout.
  * </p>
+ * <p>
+ * The children of a package fragment root or a package are shown in pages of
+ * {@link #CHILDREN_PAGE_SIZE}, the rest is represented by a {@link MoreChildrenNode}.
+ * </p>
+ * <p>
+ * The updates of the viewer that are collected from the Java element deltas are coalesced before
+ * they are run, see {@link #getRequestedUpdateCount()} and {@link #getCoalescedUpdateCount()}.
+ * </p>
  *
  * @see org.eclipse.jdt.ui.StandardJavaElementContentProvider
  */
@@ -83,6 +96,12 @@ public class PackageExplorerContentProvider extends StandardJavaElementContentPr
 	protected static final int GRANT_PARENT= 1 << 1;
 	protected static final int PROJECT= 1 << 2;
 
+	/**
+	 * The number of children of a package fragment root or a package that are shown at once, so
+	 * that expanding a huge source folder does not create and label the tree items of all children.
+	 */
+	public static final int CHILDREN_PAGE_SIZE= 1000;
+
 	private TreeViewer fViewer;
 	private Object fInput;
 	private boolean fIsFlatLayout;
@@ -93,6 +112,83 @@ public class PackageExplorerContentProvider extends StandardJavaElementContentPr
 
 	private UIJob fUpdateJob;
 
+	private int fChildrenPageSize= CHILDREN_PAGE_SIZE;
+
+	/**
+	 * The number of children that are shown for the parents whose children did not fit in a page.
+	 * Only accessed in the UI thread.
+	 */
+	private final Map<Object, Integer> fChildrenLimits= new HashMap<>();
+
+	/** The number of updates that have been requested, only accessed in the UI thread */
+	private int fRequestedUpdates;
+
+	/** The number of updates that have been run after coalescing, only accessed in the UI thread */
+	private int fCoalescedUpdates;
+
+	/**
+	 * Refreshes elements and their subtrees.
+	 */
+	private final class RefreshUpdate implements Runnable {
+
+		final List<Object> fToRefresh;
+		final boolean fUpdateLabels;
+
+		RefreshUpdate(List<Object> toRefresh, boolean updateLabels) {
+			fToRefresh= toRefresh;
+			fUpdateLabels= updateLabels;
+		}
+
+		@Override
+		public void run() {
+			for (Object element : fToRefresh.toArray()) {
+				if (element == null || fViewer.testFindItems(element).length > 0) {
+					fViewer.refresh(element, fUpdateLabels);
+				}
+			}
+		}
+	}
+
+	private final class AddUpdate implements Runnable {
+
+		final Object fParent;
+		final Object fElement;
+
+		AddUpdate(Object parent, Object element) {
+			fParent= parent;
+			fElement= element;
+		}
+
+		@Override
+		public void run() {
+			for (Widget item : fViewer.testFindItems(fElement)) {
+				if (item instanceof TreeItem && !item.isDisposed()) {
+					TreeItem parentItem= ((TreeItem) item).getParentItem();
+					if (parentItem != null && !parentItem.isDisposed() && fParent.equals(parentItem.getData())) {
+						return; // no add, element already added (most likely by a refresh)
+					}
+				}
+			}
+			fViewer.add(fParent, fElement);
+		}
+	}
+
+	private final class RemoveUpdate implements Runnable {
+
+		final Object fElement;
+
+		RemoveUpdate(Object element) {
+			fElement= element;
+		}
+
+		@Override
+		public void run() {
+			if (fViewer.testFindItems(fElement).length > 0) {
+				fViewer.remove(fElement);
+			}
+		}
+	}
+
 	/**
 	 * We use a cache to know whether a package has a single child for the hierarchical representation.
 	 * This avoids looping over all packages for each call to
@@ -129,7 +225,7 @@ public class PackageExplorerContentProvider extends StandardJavaElementContentPr
 	public void elementChanged(final ElementChangedEvent event) {
 		final ArrayList<Runnable> runnables= new ArrayList<>();
 		try {
-			clearPackageCache();
+			clearPackageCache(event.getDelta());
 
 			// 58952 delete project does not update Package Explorer [package explorer]
 			// if the input to the viewer is deleted then refresh to avoid the display of stale elements
@@ -205,10 +301,90 @@ public class PackageExplorerContentProvider extends StandardJavaElementContentPr
 	}
 
 	private void runUpdates(Collection<Runnable> runnables) {
-		Iterator<Runnable> runnableIterator = runnables.iterator();
-		while (runnableIterator.hasNext()){
-			runnableIterator.next().run();
+		List<Runnable> updates= coalesceUpdates(runnables);
+		fRequestedUpdates+= runnables.size();
+		fCoalescedUpdates+= updates.size();
+		for (Runnable update : updates) {
+			update.run();
+		}
+	}
+
+	/*
+	 * Drops the refreshes, additions and removals that are covered by a refresh of the same element
+	 * or of an ancestor, since a refresh updates the whole subtree of its element. The other updates
+	 * are kept in their order.
+	 */
+	private List<Runnable> coalesceUpdates(Collection<Runnable> runnables) {
+		// the refreshed elements, and whether one of their refreshes updates the labels
+		Map<Object, Boolean> refreshed= new HashMap<>();
+		for (Runnable runnable : runnables) {
+			if (runnable instanceof RefreshUpdate) {
+				RefreshUpdate update= (RefreshUpdate) runnable;
+				for (Object element : update.fToRefresh) {
+					refreshed.merge(element, Boolean.valueOf(update.fUpdateLabels), Boolean::logicalOr);
+				}
+			}
+		}
+		if (refreshed.isEmpty())
+			return new ArrayList<>(runnables);
+
+		List<Runnable> result= new ArrayList<>();
+		Set<Object> kept= new HashSet<>();
+		for (Runnable runnable : runnables) {
+			if (runnable instanceof RefreshUpdate) {
+				RefreshUpdate update= (RefreshUpdate) runnable;
+				List<Object> toRefresh= new ArrayList<>(update.fToRefresh.size());
+				boolean updateLabels= update.fUpdateLabels;
+				for (Object element : update.fToRefresh) {
+					if (!isRefreshedAncestor(refreshed, element, update.fUpdateLabels) && kept.add(element)) {
+						toRefresh.add(element);
+						updateLabels|= refreshed.get(element).booleanValue();
+					}
+				}
+				if (!toRefresh.isEmpty())
+					result.add(toRefresh.size() == update.fToRefresh.size() && updateLabels == update.fUpdateLabels ? update : new RefreshUpdate(toRefresh, updateLabels));
+			} else if (runnable instanceof AddUpdate) {
+				Object parent= ((AddUpdate) runnable).fParent;
+				if (!refreshed.containsKey(parent) && !isRefreshedAncestor(refreshed, parent, false))
+					result.add(runnable);
+			} else if (runnable instanceof RemoveUpdate) {
+				if (!isRefreshedAncestor(refreshed, ((RemoveUpdate) runnable).fElement, false))
+					result.add(runnable);
+			} else {
+				result.add(runnable);
+			}
+		}
+		return result;
+	}
+
+	private boolean isRefreshedAncestor(Map<Object, Boolean> refreshed, Object element, boolean updateLabels) {
+		if (element == null)
+			return false;
+		if (refreshed.containsKey(null))
+			return true; // the whole tree is refreshed
+		Object parent= internalGetParent(element);
+		while (parent != null) {
+			Boolean labels= refreshed.get(parent);
+			if (labels != null && (labels.booleanValue() || !updateLabels))
+				return true;
+			parent= internalGetParent(parent);
 		}
+		return false;
+	}
+
+	/**
+	 * @return the number of viewer updates that have been requested for the Java element deltas
+	 */
+	public int getRequestedUpdateCount() {
+		return fRequestedUpdates;
+	}
+
+	/**
+	 * @return the number of viewer updates that have been run after the requested updates have been
+	 *         coalesced
+	 */
+	public int getCoalescedUpdateCount() {
+		return fCoalescedUpdates;
 	}
 
 
@@ -239,6 +415,42 @@ public class PackageExplorerContentProvider extends StandardJavaElementContentPr
 		packageCache.clear();
 	}
 
+	/*
+	 * Drops the package caches of the roots whose packages have been added or removed or whose
+	 * archive has changed, the caches of the other roots are kept, so that the hierarchical packages
+	 * of a huge root are not collected again after each change of a compilation unit.
+	 */
+	private void clearPackageCache(IJavaElementDelta delta) {
+		IJavaElement element= delta.getElement();
+		int kind= delta.getKind();
+		switch (element.getElementType()) {
+			case IJavaElement.JAVA_MODEL:
+			case IJavaElement.JAVA_PROJECT:
+				if (kind != IJavaElementDelta.CHANGED || (delta.getFlags() & (IJavaElementDelta.F_CLOSED | IJavaElementDelta.F_OPENED
+						| IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED)) != 0) {
+					clearPackageCache();
+					return;
+				}
+				break;
+			case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+				// the packages of a changed archive are not reported as children of the delta
+				if (kind != IJavaElementDelta.CHANGED || (delta.getFlags() & (IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED | IJavaElementDelta.F_CONTENT)) != 0) {
+					packageCache.clear((IPackageFragmentRoot) element);
+					return;
+				}
+				break;
+			case IJavaElement.PACKAGE_FRAGMENT:
+				if (kind != IJavaElementDelta.CHANGED)
+					packageCache.clear((IPackageFragmentRoot) element.getParent());
+				return;
+			default:
+				return;
+		}
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			clearPackageCache(child);
+		}
+	}
+
 	@Override
 	protected Object[] getPackageFragmentRootContent(IPackageFragmentRoot root) throws JavaModelException {
 		if (fIsFlatLayout) {
@@ -306,12 +518,83 @@ public class PackageExplorerContentProvider extends StandardJavaElementContentPr
 				return NO_CHILDREN;
 			}
 
-			return super.getChildren(parentElement);
+			Object[] children= super.getChildren(parentElement);
+			if (parentElement instanceof IPackageFragmentRoot || parentElement instanceof IPackageFragment)
+				return limitChildren(parentElement, children);
+			return children;
 		} catch (CoreException e) {
 			return NO_CHILDREN;
 		}
 	}
 
+	/*
+	 * Returns the first children in the order of the viewer, followed by a node that stands for the
+	 * remaining children. The viewer filters and sorts the children again, but only creates the
+	 * items of a page.
+	 */
+	private Object[] limitChildren(Object parent, Object[] children) {
+		if (children.length <= fChildrenPageSize || fViewer == null)
+			return children;
+		Integer limit= fChildrenLimits.get(parent);
+		int shown= limit != null ? limit.intValue() : fChildrenPageSize;
+		if (children.length <= shown)
+			return children;
+		for (ViewerFilter filter : fViewer.getFilters()) {
+			children= filter.filter(fViewer, parent, children);
+		}
+		if (children.length <= shown)
+			return children;
+		ViewerComparator comparator= fViewer.getComparator();
+		if (comparator != null)
+			comparator.sort(fViewer, children);
+		Object[] page= Arrays.copyOf(children, shown + 1);
+		page[shown]= new MoreChildrenNode(parent, children.length - shown);
+		fChildrenLimits.put(parent, Integer.valueOf(shown));
+		return page;
+	}
+
+	/**
+	 * Shows the next page of the children that a node stands for. Must be called in the display
+	 * thread.
+	 *
+	 * @param node the node that stands for the children that are not shown
+	 */
+	public void showMoreChildren(MoreChildrenNode node) {
+		Object parent= node.getParent();
+		Integer limit= fChildrenLimits.get(parent);
+		int shown= limit != null ? limit.intValue() : fChildrenPageSize;
+		fChildrenLimits.put(parent, Integer.valueOf(shown + fChildrenPageSize));
+		fViewer.refresh(parent, false);
+	}
+
+	/**
+	 * Shows all children of the ancestors of an element, so that the element can be revealed. Must
+	 * be called in the display thread.
+	 *
+	 * @param element the element to reveal
+	 */
+	public void showAllChildren(Object element) {
+		Object parent= getParent(element);
+		while (parent != null) {
+			Integer limit= fChildrenLimits.get(parent);
+			if (limit != null && limit.intValue() < Integer.MAX_VALUE) {
+				fChildrenLimits.put(parent, Integer.valueOf(Integer.MAX_VALUE));
+				fViewer.refresh(parent, false);
+			}
+			parent= getParent(parent);
+		}
+	}
+
+	/**
+	 * Sets the number of children that are shown at once. Used for testing.
+	 *
+	 * @param pageSize the number of children
+	 */
+	public void setChildrenPageSize(int pageSize) {
+		fChildrenPageSize= pageSize;
+		fChildrenLimits.clear();
+	}
+
 	@Override
 	protected Object[] getPackageFragmentRoots(IJavaProject project) throws JavaModelException {
 		if (!project.getProject().isOpen())
@@ -390,6 +673,8 @@ public class PackageExplorerContentProvider extends StandardJavaElementContentPr
 			}
 		} else if (element instanceof PackageFragmentRootContainer) {
 			return ((PackageFragmentRootContainer)element).getJavaProject();
+		} else if (element instanceof MoreChildrenNode) {
+			return ((MoreChildrenNode)element).getParent();
 		}
 		return super.internalGetParent(element);
 	}
@@ -404,6 +689,7 @@ public class PackageExplorerContentProvider extends StandardJavaElementContentPr
 			JavaCore.removeElementChangedListener(this);
 		}
 		fInput= newInput;
+		fChildrenLimits.clear();
 	}
 
 	// hierarchical packages
@@ -949,35 +1235,15 @@ public class PackageExplorerContentProvider extends StandardJavaElementContentPr
 	}
 
 	protected void postRefresh(final List<Object> toRefresh, final boolean updateLabels, Collection<Runnable> runnables) {
-		runnables.add(() -> {
-			for (Object element : toRefresh.toArray()) {
-				if (element == null || fViewer.testFindItems(element).length > 0) {
-					fViewer.refresh(element, updateLabels);
-				}
-			}
-		});
+		runnables.add(new RefreshUpdate(toRefresh, updateLabels));
 	}
 
 	protected void postAdd(final Object parent, final Object element, Collection<Runnable> runnables) {
-		runnables.add(() -> {
-			for (Widget item : fViewer.testFindItems(element)) {
-				if (item instanceof TreeItem && !item.isDisposed()) {
-					TreeItem parentItem= ((TreeItem) item).getParentItem();
-					if (parentItem != null && !parentItem.isDisposed() && parent.equals(parentItem.getData())) {
-						return; // no add, element already added (most likely by a refresh)
-					}
-				}
-			}
-			fViewer.add(parent, element);
-		});
+		runnables.add(new AddUpdate(parent, element));
 	}
 
 	protected void postRemove(final Object element, Collection<Runnable> runnables) {
-		runnables.add(() -> {
-			if (fViewer.testFindItems(element).length > 0) {
-				fViewer.remove(element);
-			}
-		});
+		runnables.add(new RemoveUpdate(element));
 	}
 
 	protected void postProjectStateChanged(final Object root, Collection<Runnable> runnables) {
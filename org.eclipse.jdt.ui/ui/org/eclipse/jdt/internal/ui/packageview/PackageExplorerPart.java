@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -833,7 +833,13 @@ public class PackageExplorerPart extends ViewPart
 			return;
 
 		fContentProvider.runPendingUpdates();
-		fViewer.setSelection(convertSelection(selection), true);
+		ISelection converted= convertSelection(selection);
+		if (converted instanceof IStructuredSelection) {
+			for (Object element : ((IStructuredSelection) converted).toList()) {
+				fContentProvider.showAllChildren(element);
+			}
+		}
+		fViewer.setSelection(converted, true);
 	}
 
 	public ISelection convertSelection(ISelection s) {
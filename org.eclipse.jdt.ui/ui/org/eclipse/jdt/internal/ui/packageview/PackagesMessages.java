@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2009 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -46,6 +46,7 @@ public final class PackagesMessages extends NLS {
 	public static String GotoResource_dialog_title;
 	public static String LayoutActionGroup_show_libraries_in_group;
 	public static String LibraryContainer_name;
+	public static String MoreChildrenNode_label;
 	public static String PackageExplorerPart_notFoundSepcific;
 	public static String PackageExplorerPart_removeFiltersSpecific;
 	public static String PackageExplorer_title;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -43,6 +43,7 @@ import org.eclipse.ui.editors.text.EditorsUI;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.manipulation.CoreASTProvider;
 import org.eclipse.jdt.core.manipulation.SharedASTProviderCore;
 
 import org.eclipse.jdt.ui.JavaUI;
@@ -161,9 +162,9 @@ public class QuickAssistLightBulbUpdater {
 				if (cu != null) {
 					installSelectionListener();
 					Point point= fViewer.getSelectedRange();
-					CompilationUnit astRoot= SharedASTProviderCore.getAST(cu, SharedASTProviderCore.WAIT_ACTIVE_ONLY, null);
-					if (astRoot != null) {
-						doSelectionChanged(point.x, point.y, astRoot);
+					CoreASTProvider.ASTSnapshot snapshot= SharedASTProviderCore.getSnapshot(cu, SharedASTProviderCore.WAIT_ACTIVE_ONLY, null);
+					if (snapshot != null) {
+						doSelectionChanged(point.x, point.y, snapshot.getAST());
 					}
 				}
 			} else {
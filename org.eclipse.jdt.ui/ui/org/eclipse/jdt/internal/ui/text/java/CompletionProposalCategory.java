@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2013 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -344,6 +344,37 @@ public final class CompletionProposalCategory {
 		return result;
 	}
 
+	/**
+	 * Tells whether a computer of this category for the given partition requires the UI thread.
+	 *
+	 * @param partition the partition type
+	 * @return <code>true</code> if the proposals must be computed in the UI thread
+	 * @since 3.31
+	 */
+	boolean requiresUIThread(String partition) {
+		for (CompletionProposalComputerDescriptor desc : fRegistry.getProposalComputerDescriptors(partition)) {
+			if (desc.getCategory() == this && desc.requiresUIThread())
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Tells whether a computer of this category for the given partition is demoted, see
+	 * {@link CompletionProposalComputerDescriptor#isDemoted()}.
+	 *
+	 * @param partition the partition type
+	 * @return <code>true</code> if a computer is demoted
+	 * @since 3.31
+	 */
+	boolean isDemoted(String partition) {
+		for (CompletionProposalComputerDescriptor desc : fRegistry.getProposalComputerDescriptors(partition)) {
+			if (desc.getCategory() == this && desc.isDemoted())
+				return true;
+		}
+		return false;
+	}
+
 	/**
 	 * Safely computes context information objects of all computers of this category through their
 	 * extension. If an extension is disabled, throws an exception or otherwise does not adhere to
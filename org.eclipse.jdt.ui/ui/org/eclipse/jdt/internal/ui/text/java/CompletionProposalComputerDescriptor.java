@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2012 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,6 +18,7 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.osgi.framework.Bundle;
 
@@ -93,6 +94,11 @@ final class CompletionProposalComputerDescriptor {
 	private static final String COMPUTE_CONTEXT_INFORMATION= "computeContextInformation()"; //$NON-NLS-1$
 	private static final String SESSION_STARTED= "sessionStarted()"; //$NON-NLS-1$
 	private static final String SESSION_ENDED= "sessionEnded()"; //$NON-NLS-1$
+	/**
+	 * The number of times in a row a computer has to miss the deadline of the concurrent
+	 * computation before it is demoted, see {@link #isDemoted()}.
+	 */
+	private static final int MAX_MISSED_DEADLINES= 3;
 
 	static {
 		Set<String> partitions= new HashSet<>();
@@ -155,6 +161,16 @@ final class CompletionProposalComputerDescriptor {
 	 */
 	private final boolean fRequiresUIThread;
 
+	/** The milliseconds the last computation of proposals took, or <code>-1</code>. */
+	private volatile long fLatency= -1;
+	/**
+	 * The number of computations in a row that took longer than
+	 * {@link ConcurrentProposalComputation#DEADLINE}.
+	 */
+	private final AtomicInteger fMissedDeadlines= new AtomicInteger();
+	/** Tells whether proposals have been computed, the first computation may load the computer. */
+	private volatile boolean fHasComputed;
+
 
 
 
@@ -343,6 +359,7 @@ final class CompletionProposalComputerDescriptor {
 			if (computer == null) // not active yet
 				return Collections.emptyList();
 
+			long start= System.currentTimeMillis();
 			try {
 				PerformanceStats stats= startMeter(context, computer);
 				List<ICompletionProposal> proposals= computer.computeCompletionProposals(context, monitor);
@@ -353,6 +370,7 @@ final class CompletionProposalComputerDescriptor {
 					return proposals;
 				}
 			} finally {
+				recordLatency(System.currentTimeMillis() - start, monitor.isCanceled());
 				// If computers are using non-ui thread, don't report delays.
 				fIsReportingDelay= !(context.getViewer() instanceof JavaSourceViewer)
 						|| !((JavaSourceViewer) context.getViewer()).isAsyncCompletionActive();
@@ -486,6 +504,29 @@ final class CompletionProposalComputerDescriptor {
 		fRegistry.informUser(this, status);
 	}
 
+	/**
+	 * Records how long a computation of proposals took.
+	 *
+	 * @param latency the milliseconds the computation took
+	 * @param canceled <code>true</code> if the computation has been canceled, a canceled
+	 *            computation that returned before the deadline does not tell whether the computer
+	 *            is fast enough
+	 */
+	private void recordLatency(long latency, boolean canceled) {
+		fLatency= latency;
+		// the deadline only applies to the concurrent computation
+		if (ConcurrentProposalComputation.isEnabled()) {
+			if (latency <= ConcurrentProposalComputation.DEADLINE) {
+				if (!canceled)
+					fMissedDeadlines.set(0);
+			} else if (fHasComputed) {
+				if (fMissedDeadlines.incrementAndGet() == MAX_MISSED_DEADLINES)
+					JavaPlugin.log(createDemotionStatus());
+			}
+		}
+		fHasComputed= true;
+	}
+
 	private PerformanceStats startMeter(Object context, IJavaCompletionProposalComputer computer) {
 		final PerformanceStats stats;
 		if (MEASURE_PERFORMANCE) {
@@ -556,6 +597,13 @@ final class CompletionProposalComputerDescriptor {
 		return new Status(IStatus.WARNING, JavaPlugin.getPluginId(), IStatus.OK, blame + " " + reason, null); //$NON-NLS-1$
 	}
 
+	private IStatus createDemotionStatus() {
+		String blame= createBlameMessage();
+		Object[] args= { Long.valueOf(ConcurrentProposalComputation.DEADLINE), COMPUTE_COMPLETION_PROPOSALS, Integer.valueOf(MAX_MISSED_DEADLINES) };
+		String reason= Messages.format(JavaTextMessages.CompletionProposalComputerDescriptor_reason_demoted, args);
+		return new Status(IStatus.INFO, JavaPlugin.getPluginId(), IStatus.OK, blame + " " + reason, null); //$NON-NLS-1$
+	}
+
 	private String createBlameMessage() {
 		Object[] args= { getName(), fElement.getDeclaringExtension().getContributor().getName() };
 		String disable= Messages.format( JavaTextMessages.CompletionProposalComputerDescriptor_blame_message, args);
@@ -616,4 +664,26 @@ final class CompletionProposalComputerDescriptor {
 	public boolean requiresUIThread() {
 		return this.fRequiresUIThread;
 	}
+
+	/**
+	 * Returns how long the last computation of proposals took.
+	 *
+	 * @return the milliseconds the last computation took, or <code>-1</code> if no proposals have
+	 *         been computed yet
+	 */
+	long getLatency() {
+		return fLatency;
+	}
+
+	/**
+	 * Tells whether the described extension has repeatedly been too slow for the concurrent
+	 * computation of proposals, see {@link ConcurrentProposalComputation}. The concurrent
+	 * computation does not wait for demoted computers. A computer is promoted again as soon as it
+	 * returns in time without having been canceled.
+	 *
+	 * @return <code>true</code> if the described extension is demoted
+	 */
+	boolean isDemoted() {
+		return fMissedDeadlines.get() >= MAX_MISSED_DEADLINES;
+	}
 }
@@ -0,0 +1,203 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.text.java;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.SubProgressMonitor;
+
+import org.eclipse.jface.text.contentassist.ICompletionProposal;
+
+import org.eclipse.jdt.ui.PreferenceConstants;
+import org.eclipse.jdt.ui.text.java.ContentAssistInvocationContext;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+
+/**
+ * Computes the proposals of completion proposal categories concurrently, see
+ * {@link PreferenceConstants#CODEASSIST_CONCURRENT_COMPUTATION}.
+ * <p>
+ * Each category is computed by a worker thread, except the categories with computers that require
+ * the UI thread, which are computed by the calling thread. A category that has not returned within
+ * {@link #DEADLINE} is canceled and its proposals are dropped. Categories with demoted computers,
+ * see {@link CompletionProposalComputerDescriptor#isDemoted()}, are not waited for at all: their
+ * proposals are only used if they are ready when the other categories are done. They are still
+ * given until the deadline before they are canceled, so that a demoted computer that returns in
+ * time is promoted again.
+ * </p>
+ * <p>
+ * A canceled category may still be running when the computation returns. It is not started again
+ * until it has returned, so an invocation in the meantime gets no proposals from it. Before a
+ * category is told that the content assist session has ended,
+ * {@link #awaitCompletion(CompletionProposalCategory)} waits for it to return, so that its
+ * computers do not see the end of the session while they are computing.
+ * </p>
+ */
+final class ConcurrentProposalComputation {
+
+	/** The milliseconds the proposals of a category are waited for */
+	static final long DEADLINE= 1000;
+
+	private static final ExecutorService fgExecutor= new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60, TimeUnit.SECONDS, new SynchronousQueue<>(), runnable -> {
+		Thread thread= new Thread(runnable, "Java Content Assist"); //$NON-NLS-1$
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	/**
+	 * The categories that are being computed, mapped to their computation. A category that has
+	 * been canceled may still be computed, its computers are not called again until they have
+	 * returned.
+	 */
+	private static final Map<CompletionProposalCategory, Future<List<ICompletionProposal>>> fgComputing= new ConcurrentHashMap<>();
+
+	/**
+	 * A monitor that is canceled with the monitor of the computation, or when its category has
+	 * missed the deadline.
+	 */
+	private static final class CategoryMonitor extends NullProgressMonitor {
+
+		private final IProgressMonitor fParent;
+
+		private final long fDeadline;
+
+		CategoryMonitor(IProgressMonitor parent, long deadline) {
+			fParent= parent;
+			fDeadline= deadline;
+		}
+
+		@Override
+		public boolean isCanceled() {
+			return super.isCanceled() || fParent.isCanceled() || System.currentTimeMillis() > fDeadline;
+		}
+	}
+
+	/**
+	 * Tells whether the proposals are computed concurrently, see
+	 * {@link PreferenceConstants#CODEASSIST_CONCURRENT_COMPUTATION}.
+	 *
+	 * @return <code>true</code> if the categories are computed concurrently
+	 */
+	static boolean isEnabled() {
+		return JavaPlugin.getDefault().getPreferenceStore().getBoolean(PreferenceConstants.CODEASSIST_CONCURRENT_COMPUTATION);
+	}
+
+	/**
+	 * Computes the proposals of the given categories.
+	 *
+	 * @param categories the categories
+	 * @param context the invocation context
+	 * @param partition the partition type
+	 * @param monitor the progress monitor, one unit of work is reported for each category
+	 * @return for each category, its proposals or <code>null</code> if they have been dropped
+	 */
+	static List<List<ICompletionProposal>> computeCompletionProposals(List<CompletionProposalCategory> categories, ContentAssistInvocationContext context, String partition, IProgressMonitor monitor) {
+		int size= categories.size();
+		List<List<ICompletionProposal>> results= new ArrayList<>(Collections.nCopies(size, null));
+		List<Future<List<ICompletionProposal>>> futures= new ArrayList<>(Collections.nCopies(size, null));
+		List<CategoryMonitor> monitors= new ArrayList<>(Collections.nCopies(size, null));
+		boolean[] demoted= new boolean[size];
+
+		long deadline= System.currentTimeMillis() + DEADLINE;
+		for (int i= 0; i < size; i++) {
+			CompletionProposalCategory category= categories.get(i);
+			if (category.requiresUIThread(partition))
+				continue;
+			CategoryMonitor categoryMonitor= new CategoryMonitor(monitor, deadline);
+			FutureTask<List<ICompletionProposal>> task= new FutureTask<>(() -> {
+				try {
+					return category.computeCompletionProposals(context, partition, new SubProgressMonitor(categoryMonitor, 1));
+				} finally {
+					fgComputing.remove(category);
+				}
+			});
+			if (fgComputing.putIfAbsent(category, task) != null) {
+				// still running since an earlier invocation, its proposals are dropped
+				monitor.worked(1);
+				continue;
+			}
+			monitors.set(i, categoryMonitor);
+			demoted[i]= category.isDemoted(partition);
+			futures.set(i, task);
+			fgExecutor.execute(task);
+		}
+
+		for (int i= 0; i < size; i++) {
+			CompletionProposalCategory category= categories.get(i);
+			if (futures.get(i) == null && category.requiresUIThread(partition))
+				results.set(i, category.computeCompletionProposals(context, partition, new SubProgressMonitor(monitor, 1)));
+		}
+
+		for (int pass= 0; pass < 2; pass++) {
+			// the demoted categories are collected last, without waiting
+			boolean collectDemoted= pass == 1;
+			for (int i= 0; i < size; i++) {
+				Future<List<ICompletionProposal>> future= futures.get(i);
+				if (future == null || demoted[i] != collectDemoted)
+					continue;
+				try {
+					long timeout= collectDemoted ? 0 : Math.max(0, deadline - System.currentTimeMillis());
+					results.set(i, future.get(timeout, TimeUnit.MILLISECONDS));
+				} catch (TimeoutException e) {
+					// a demoted category is canceled by its monitor at the deadline
+					if (!collectDemoted)
+						monitors.get(i).setCanceled(true);
+				} catch (ExecutionException e) {
+					JavaPlugin.log(e.getCause());
+				} catch (InterruptedException e) {
+					monitors.get(i).setCanceled(true);
+					Thread.currentThread().interrupt();
+				}
+				monitor.worked(1);
+			}
+		}
+		return results;
+	}
+
+	/**
+	 * Waits for a category that has been canceled by an earlier computation to return. Waits at
+	 * most {@link #DEADLINE}, a computer that does not check its monitor is left running.
+	 *
+	 * @param category the category
+	 */
+	static void awaitCompletion(CompletionProposalCategory category) {
+		Future<List<ICompletionProposal>> future= fgComputing.get(category);
+		if (future == null)
+			return;
+		try {
+			future.get(DEADLINE, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException | ExecutionException e) {
+			// the proposals have already been dropped
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private ConcurrentProposalComputation() {
+	}
+}
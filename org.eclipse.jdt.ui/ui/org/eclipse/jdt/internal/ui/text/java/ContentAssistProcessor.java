@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2016 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -182,6 +182,7 @@ public class ContentAssistProcessor implements IContentAssistProcessor {
 			}
 
 			for (CompletionProposalCategory cat : getCategoriesToNotify()) {
+				ConcurrentProposalComputation.awaitCompletion(cat);
 				cat.sessionEnded();
 			}
 
@@ -306,6 +307,10 @@ public class ContentAssistProcessor implements IContentAssistProcessor {
 			System.err.println("Code Assist (setup):\t" + (setup - start) ); //$NON-NLS-1$
 			System.err.println("Code Assist (collect):\t" + (collect - setup) ); //$NON-NLS-1$
 			System.err.println("Code Assist (sort):\t" + (filter - collect) ); //$NON-NLS-1$
+			for (CompletionProposalComputerDescriptor desc : fComputerRegistry.getProposalComputerDescriptors(fPartition)) {
+				if (desc.getLatency() >= 0)
+					System.err.println("Code Assist (" + desc.getName() + "):\t" + desc.getLatency() + (desc.isDemoted() ? " (demoted)" : "")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+			}
 		}
 
 		return result;
@@ -329,8 +334,19 @@ public class ContentAssistProcessor implements IContentAssistProcessor {
 		boolean needsSortingAfterFiltering= false;
 		List<ICompletionProposal> proposals= new ArrayList<>();
 		List<CompletionProposalCategory> providers= getCategories();
-		for (CompletionProposalCategory cat : providers) {
-			List<ICompletionProposal> computed= cat.computeCompletionProposals(context, fPartition, new SubProgressMonitor(monitor, 1));
+		List<List<ICompletionProposal>> results= null;
+		if (providers.size() > 1 && ConcurrentProposalComputation.isEnabled())
+			results= ConcurrentProposalComputation.computeCompletionProposals(providers, context, fPartition, monitor);
+		for (int i= 0; i < providers.size(); i++) {
+			CompletionProposalCategory cat= providers.get(i);
+			List<ICompletionProposal> computed;
+			if (results == null) {
+				computed= cat.computeCompletionProposals(context, fPartition, new SubProgressMonitor(monitor, 1));
+			} else if (results.get(i) != null) {
+				computed= results.get(i);
+			} else {
+				continue; // dropped
+			}
 			proposals.addAll(computed);
 			needsSortingAfterFiltering= needsSortingAfterFiltering || (cat.isSortingAfterFilteringNeeded() && !computed.isEmpty());
 			if (fErrorMessage == null) {
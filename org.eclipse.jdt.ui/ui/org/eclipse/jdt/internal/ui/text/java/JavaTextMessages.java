@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -61,6 +61,7 @@ final class JavaTextMessages extends NLS {
 	public static String CompletionProposalComputerDescriptor_reason_runtime_ex;
 	public static String CompletionProposalComputerDescriptor_reason_API;
 	public static String CompletionProposalComputerDescriptor_reason_performance;
+	public static String CompletionProposalComputerDescriptor_reason_demoted;
 	public static String CompletionProposalComputerDescriptor_blame_message;
 	public static String CompletionProposalComputerRegistry_invalid_message;
 	public static String CompletionProposalComputerRegistry_error_dialog_title;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -69,6 +69,7 @@ import org.eclipse.jdt.core.dom.NodeFinder;
 import org.eclipse.jdt.core.dom.Statement;
 import org.eclipse.jdt.core.dom.SwitchStatement;
 import org.eclipse.jdt.core.dom.TextBlock;
+import org.eclipse.jdt.core.manipulation.CoreASTProvider;
 import org.eclipse.jdt.core.manipulation.SharedASTProviderCore;
 
 import org.eclipse.jdt.internal.core.manipulation.StubUtility;
@@ -500,9 +501,10 @@ public class JavaSourceHover extends AbstractJavaEditorTextHover {
 
 			String delim= StubUtility.getLineDelimiterUsed(editorInput);
 
-			CompilationUnit ast= SharedASTProviderCore.getAST(editorInput, SharedASTProviderCore.WAIT_NO, null);
-			if (ast == null)
+			CoreASTProvider.ASTSnapshot snapshot= SharedASTProviderCore.getSnapshot(editorInput, SharedASTProviderCore.WAIT_NO, null);
+			if (snapshot == null)
 				return null;
+			CompilationUnit ast= snapshot.getAST();
 			ASTNode bracketNode= NodeFinder.perform(ast, match.getOffset(),
 					match.getLength());
 			if (bracketNode == null)
@@ -746,11 +748,11 @@ public class JavaSourceHover extends AbstractJavaEditorTextHover {
 			if (partition == null || !isTextBlock( partition, javaProject)) {
 				return null;
 			}
-			CompilationUnit ast= SharedASTProviderCore.getAST(input, SharedASTProviderCore.WAIT_NO, null);
-			if (ast == null) {
+			CoreASTProvider.ASTSnapshot snapshot= SharedASTProviderCore.getSnapshot(input, SharedASTProviderCore.WAIT_NO, null);
+			if (snapshot == null) {
 				return null;
 			}
-			ASTNode textBlockNode= NodeFinder.perform(ast, partition.getOffset(),
+			ASTNode textBlockNode= NodeFinder.perform(snapshot.getAST(), partition.getOffset(),
 					partition.getLength());
 			if (!(textBlockNode instanceof TextBlock)) {
 				return null;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -94,7 +94,6 @@ import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.dom.ASTNode;
 import org.eclipse.jdt.core.dom.ASTParser;
 import org.eclipse.jdt.core.dom.ClassInstanceCreation;
-import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.dom.ConstructorInvocation;
 import org.eclipse.jdt.core.dom.IAnnotationBinding;
 import org.eclipse.jdt.core.dom.IBinding;
@@ -106,6 +105,7 @@ import org.eclipse.jdt.core.dom.LambdaExpression;
 import org.eclipse.jdt.core.dom.NodeFinder;
 import org.eclipse.jdt.core.dom.SimpleName;
 import org.eclipse.jdt.core.dom.SuperConstructorInvocation;
+import org.eclipse.jdt.core.manipulation.CoreASTProvider;
 import org.eclipse.jdt.core.manipulation.SharedASTProviderCore;
 
 import org.eclipse.jdt.internal.core.manipulation.util.BasicElementLabels;
@@ -1005,11 +1005,11 @@ public class JavadocHover extends AbstractJavaEditorTextHover {
 		if (editorInputElement == null || hoverRegion == null)
 			return null;
 
-		CompilationUnit unit= SharedASTProviderCore.getAST(editorInputElement, SharedASTProviderCore.WAIT_ACTIVE_ONLY, null);
-		if (unit == null)
+		CoreASTProvider.ASTSnapshot snapshot= SharedASTProviderCore.getSnapshot(editorInputElement, SharedASTProviderCore.WAIT_ACTIVE_ONLY, null);
+		if (snapshot == null)
 			return null;
 
-		return NodeFinder.perform(unit, hoverRegion.getOffset(),	hoverRegion.getLength());
+		return NodeFinder.perform(snapshot.getAST(), hoverRegion.getOffset(),	hoverRegion.getLength());
 	}
 
 	/**
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,7 +18,6 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.io.UnsupportedEncodingException;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.charset.Charset;
@@ -26,11 +25,7 @@ import java.nio.charset.CharsetDecoder;
 import java.nio.charset.CodingErrorAction;
 import java.nio.charset.MalformedInputException;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
-import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.core.runtime.IStatus;
@@ -56,42 +51,11 @@ import org.eclipse.jdt.internal.ui.JavaUIMessages;
 public abstract class AbstractSpellDictionary implements ISpellDictionary {
 
 	/**
-	 * Byte array wrapper
-	 * @since 3.6
+	 * The maximal number of candidates with the same phonetic hash that are ranked, see
+	 * https://bugs.eclipse.org/bugs/show_bug.cgi?id=195357
+	 * @since 3.31
 	 */
-	private static class ByteArrayWrapper {
-
-		private byte[] byteArray;
-
-		public ByteArrayWrapper(byte[] byteArray) {
-			this.byteArray= byteArray;
-		}
-		@Override
-		public int hashCode() {
-			return 31 + Arrays.hashCode(byteArray);
-		}
-
-		@Override
-		public boolean equals(Object obj) {
-			if (this == obj)
-				return true;
-			if (obj == null)
-				return false;
-			if (!(obj instanceof ByteArrayWrapper))
-				return false;
-			ByteArrayWrapper other= (ByteArrayWrapper)obj;
-			if (!Arrays.equals(byteArray, other.byteArray))
-				return false;
-			return true;
-		}
-	}
-
-
-	/**
-	 * Canonical name for UTF-8 encoding
-	 * @since 3.6
-	 */
-	private static final String UTF_8= "UTF-8"; //$NON-NLS-1$
+	private static final int CANDIDATE_LIMIT= 500;
 
 	/** The bucket capacity */
 	protected static final int BUCKET_CAPACITY= 4;
@@ -112,7 +76,7 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 	private IPhoneticDistanceAlgorithm fDistanceAlgorithm= new DefaultPhoneticDistanceAlgorithm();
 
 	/** The mapping from phonetic hashes to word lists */
-	private final Map<ByteArrayWrapper, Object> fHashBuckets= new HashMap<>(getInitialSize(), LOAD_FACTOR);
+	private final PhoneticHashIndex fHashBuckets= new PhoneticHashIndex(getInitialSize(), LOAD_FACTOR);
 
 	/** The phonetic hash provider */
 	private IPhoneticHashProvider fHashProvider= new DefaultPhoneticHashProvider();
@@ -146,17 +110,10 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 	 *
 	 * @param hash
 	 *                   The hash to retrieve the candidates of
-	 * @return Array of candidates for the phonetic hash
+	 * @return Array of candidates for the phonetic hash or <code>null</code> if there are none
 	 */
-	protected final Object getCandidates(final String hash) {
-		ByteArrayWrapper hashBytes;
-		try {
-			hashBytes= new ByteArrayWrapper(hash.getBytes(UTF_8));
-		} catch (UnsupportedEncodingException e) {
-			JavaPlugin.log(e);
-			return null;
-		}
-		return fHashBuckets.get(hashBytes);
+	protected final String[] getCandidates(final String hash) {
+		return fHashBuckets.getWords(hash, Integer.MAX_VALUE);
 	}
 
 	/**
@@ -184,40 +141,12 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 
 			hash= hash2;
 
-			final Object candidates= getCandidates(hash);
+			final String[] candidates= fHashBuckets.getWords(hash, CANDIDATE_LIMIT);
 			if (candidates == null)
 				continue;
-			else if (candidates instanceof byte[]) {
-				String candidate;
-				try {
-					candidate= new String((byte[])candidates, UTF_8);
-				} catch (UnsupportedEncodingException e) {
-					JavaPlugin.log(e);
-					return result;
-				}
-				distance= fDistanceAlgorithm.getDistance(word, candidate);
-				if (distance < DISTANCE_THRESHOLD) {
-					buffer.setLength(0);
-					buffer.append(candidate);
-					if (sentence)
-						buffer.setCharAt(0, Character.toUpperCase(buffer.charAt(0)));
-					result.add(new RankedWordProposal(buffer.toString(), -distance));
-				}
-				continue;
-			}
 
-			@SuppressWarnings("unchecked")
-			final ArrayList<byte[]> candidateList= (ArrayList<byte[]>)candidates;
-			int candidateSize= Math.min(500, candidateList.size()); // see https://bugs.eclipse.org/bugs/show_bug.cgi?id=195357
-			for (int offset= 0; offset < candidateSize; offset++) {
+			for (String candidate : candidates) {
 
-				String candidate;
-				try {
-					candidate= new String(candidateList.get(offset), UTF_8);
-				} catch (UnsupportedEncodingException e) {
-					JavaPlugin.log(e);
-					return result;
-				}
 				distance= fDistanceAlgorithm.getDistance(word, candidate);
 
 				if (distance < DISTANCE_THRESHOLD) {
@@ -255,37 +184,13 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 
 		StringBuilder buffer= new StringBuilder(BUFFER_CAPACITY);
 
-		final Object candidates= getCandidates(fHashProvider.getHash(word));
+		final String[] candidates= getCandidates(fHashProvider.getHash(word));
 		if (candidates == null)
 			return;
-		else if (candidates instanceof byte[]) {
-			String candidate;
-			try {
-				candidate= new String((byte[])candidates, UTF_8);
-			} catch (UnsupportedEncodingException e) {
-				JavaPlugin.log(e);
-				return;
-			}
-			distance= fDistanceAlgorithm.getDistance(word, candidate);
-			buffer.append(candidate);
-			if (sentence)
-				buffer.setCharAt(0, Character.toUpperCase(buffer.charAt(0)));
-			result.add(new RankedWordProposal(buffer.toString(), -distance));
-			return;
-		}
 
-		@SuppressWarnings("unchecked")
-		final ArrayList<byte[]> candidateList= (ArrayList<byte[]>)candidates;
-		final ArrayList<RankedWordProposal> matches= new ArrayList<>(candidateList.size());
+		final ArrayList<RankedWordProposal> matches= new ArrayList<>(candidates.length);
 
-		for (byte[] element : candidateList) {
-			String candidate;
-			try {
-				candidate= new String(element, UTF_8);
-			} catch (UnsupportedEncodingException e) {
-				JavaPlugin.log(e);
-				return;
-			}
+		for (String candidate : candidates) {
 			distance= fDistanceAlgorithm.getDistance(word, candidate);
 
 			if (distance <= minimum) {
@@ -462,31 +367,7 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 	 */
 	protected final void hashWord(final String word) {
 
-		final String hash= fHashProvider.getHash(word);
-		ByteArrayWrapper hashBytes;
-		byte[] wordBytes;
-		try {
-			hashBytes= new ByteArrayWrapper(hash.getBytes(UTF_8));
-			wordBytes= word.getBytes(UTF_8);
-		} catch (UnsupportedEncodingException e) {
-			JavaPlugin.log(e);
-			return;
-		}
-
-		Object bucket= fHashBuckets.get(hashBytes);
-
-		if (bucket == null) {
-			fHashBuckets.put(hashBytes, wordBytes);
-		} else if (bucket instanceof ArrayList) {
-			@SuppressWarnings("unchecked")
-			ArrayList<byte[]> bucketList= (ArrayList<byte[]>)bucket;
-			bucketList.add(wordBytes);
-		} else {
-			ArrayList<Object> list= new ArrayList<>(BUCKET_CAPACITY);
-			list.add(bucket);
-			list.add(wordBytes);
-			fHashBuckets.put(hashBytes, list);
-		}
+		fHashBuckets.add(fHashProvider.getHash(word), word);
 	}
 
 	@Override
@@ -506,38 +387,7 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 			// Do nothing
 		}
 
-		final Object candidates= getCandidates(fHashProvider.getHash(word));
-		if (candidates == null)
-			return false;
-		else if (candidates instanceof byte[]) {
-			String candidate;
-			try {
-				candidate= new String((byte[])candidates, UTF_8);
-			} catch (UnsupportedEncodingException e) {
-				JavaPlugin.log(e);
-				return false;
-			}
-			if (candidate.equals(word) || candidate.equals(word.toLowerCase()))
-				return true;
-			return false;
-		}
-		@SuppressWarnings("unchecked")
-		final ArrayList<byte[]> candidateList= (ArrayList<byte[]>)candidates;
-		byte[] wordBytes;
-		byte[] lowercaseWordBytes;
-		try {
-			wordBytes= word.getBytes(UTF_8);
-			lowercaseWordBytes= word.toLowerCase().getBytes(UTF_8);
-		} catch (UnsupportedEncodingException e) {
-			JavaPlugin.log(e);
-			return false;
-		}
-		for (byte[] candidate : candidateList) {
-			if (Arrays.equals(candidate, wordBytes) || Arrays.equals(candidate, lowercaseWordBytes)) {
-				return true;
-			}
-		}
-		return false;
+		return fHashBuckets.contains(fHashProvider.getHash(word), word, word.toLowerCase());
 	}
 
 	@Override
@@ -574,11 +424,16 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 
 	@Override
 	public synchronized final boolean isLoaded() {
-		return fLoaded || fHashBuckets.size() > 0;
+		return fLoaded || !fHashBuckets.isEmpty();
 	}
 
 	/**
 	 * Loads a dictionary word list from disk.
+	 * <p>
+	 * If the dictionary is empty, it is loaded from a binary snapshot that contains the words
+	 * together with their phonetic hashes, as long as the word list has not changed since the
+	 * snapshot has been written. Otherwise the word list is read and the snapshot is written.
+	 * </p>
 	 *
 	 * @param url
 	 *                   The URL of the word list to load
@@ -590,6 +445,15 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 			 return fLoaded;
 
 		if (url != null) {
+			SpellDictionarySnapshot snapshot= null;
+			if (fHashBuckets.isEmpty()) {
+				snapshot= SpellDictionarySnapshot.create(url, getEncoding(), fHashProvider);
+				if (snapshot != null && snapshot.read(fHashBuckets)) {
+					fMustLoad= false;
+					return true;
+				}
+			}
+
 			InputStream stream= null;
 			int line= 0;
 			try {
@@ -627,6 +491,8 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 								hashWord(word);
 						}
 					}
+					if (snapshot != null)
+						snapshot.write(fHashBuckets);
 					return true;
 				}
 			} catch (FileNotFoundException ex) {
@@ -665,12 +531,7 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 	 * @since 3.3.
 	 */
 	private void compact() {
-		Iterator<Object> iter= fHashBuckets.values().iterator();
-		while (iter.hasNext()) {
-			Object element= iter.next();
-			if (element instanceof ArrayList)
-				((ArrayList<?>)element).trimToSize();
-		}
+		fHashBuckets.trimToSize();
 	}
 
 	/**
@@ -697,7 +558,7 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 	public synchronized void unload() {
 		fLoaded= false;
 		fMustLoad= true;
-		fHashBuckets.clear();
+		fHashBuckets.clear(getInitialSize());
 	}
 
 	@Override
@@ -0,0 +1,411 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.text.spelling.engine;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Compact mapping from phonetic hashes to the words with that hash.
+ * <p>
+ * The phonetic hashes and the words are stored UTF-8 encoded in one byte array. The hashes are
+ * found by open addressing with linear probing over their {@link String#hashCode()}, the words of
+ * a hash are chained in insertion order through an int array. There are no objects per hash or per
+ * word, and looking up whether a word is contained does not allocate. Since the index consists of
+ * a few arrays only, it can be written to and read from a file as is, see
+ * {@link #write(DataOutputStream)} and {@link #read(ByteBuffer)}.
+ * </p>
+ * <p>
+ * This class is thread safe.
+ * </p>
+ *
+ * @since 3.31
+ */
+final class PhoneticHashIndex {
+
+	/** Marks the end of a word chain */
+	private static final int NONE= -1;
+
+	/** Initial capacity of the byte arena */
+	private static final int ARENA_CAPACITY= 1024;
+
+	/** The load factor of the hash table */
+	private final float fLoadFactor;
+
+	/** The hash table, each slot contains the index of a hash plus one, or <code>0</code> if empty */
+	private int[] fTable;
+
+	/** The number of hashes */
+	private int fHashCount;
+	/** Per hash the result of {@link String#hashCode()} */
+	private int[] fHashCodes;
+	/** Per hash the offset of the hash in the arena */
+	private int[] fHashOffsets;
+	/** Per hash the length of the hash in the arena */
+	private int[] fHashLengths;
+	/** Per hash the index of its first word */
+	private int[] fFirstWords;
+	/** Per hash the index of its last word */
+	private int[] fLastWords;
+	/** Per hash the number of its words */
+	private int[] fWordCounts;
+
+	/** The number of words */
+	private int fWordCount;
+	/** Per word the offset of the word in the arena */
+	private int[] fWordOffsets;
+	/** Per word the length of the word in the arena */
+	private int[] fWordLengths;
+	/** Per word the index of the next word with the same hash, or {@link #NONE} */
+	private int[] fNextWords;
+
+	/** The UTF-8 encoded hashes and words */
+	private byte[] fArena;
+	/** The used size of the arena */
+	private int fArenaSize;
+
+	/**
+	 * Creates a new index.
+	 *
+	 * @param initialSize the expected number of hashes
+	 * @param loadFactor the load factor of the hash table
+	 */
+	PhoneticHashIndex(int initialSize, float loadFactor) {
+		fLoadFactor= loadFactor;
+		initialize(initialSize);
+	}
+
+	private void initialize(int initialSize) {
+		int capacity= Integer.highestOneBit(Math.max(2, (int) (initialSize / fLoadFactor)) - 1) << 1;
+		fTable= new int[capacity];
+		fHashCount= 0;
+		fHashCodes= new int[initialSize];
+		fHashOffsets= new int[initialSize];
+		fHashLengths= new int[initialSize];
+		fFirstWords= new int[initialSize];
+		fLastWords= new int[initialSize];
+		fWordCounts= new int[initialSize];
+		fWordCount= 0;
+		fWordOffsets= new int[initialSize];
+		fWordLengths= new int[initialSize];
+		fNextWords= new int[initialSize];
+		fArena= new byte[ARENA_CAPACITY];
+		fArenaSize= 0;
+	}
+
+	/**
+	 * Adds a word.
+	 *
+	 * @param hash the phonetic hash of the word
+	 * @param word the word
+	 */
+	synchronized void add(String hash, String word) {
+		int index= find(hash);
+		if (index == NONE)
+			index= addHash(hash);
+
+		if (fWordCount == fWordOffsets.length) {
+			int capacity= grow(fWordCount);
+			fWordOffsets= Arrays.copyOf(fWordOffsets, capacity);
+			fWordLengths= Arrays.copyOf(fWordLengths, capacity);
+			fNextWords= Arrays.copyOf(fNextWords, capacity);
+		}
+		int wordIndex= fWordCount++;
+		byte[] bytes= word.getBytes(StandardCharsets.UTF_8);
+		fWordOffsets[wordIndex]= append(bytes);
+		fWordLengths[wordIndex]= bytes.length;
+		fNextWords[wordIndex]= NONE;
+
+		if (fWordCounts[index] == 0)
+			fFirstWords[index]= wordIndex;
+		else
+			fNextWords[fLastWords[index]]= wordIndex;
+		fLastWords[index]= wordIndex;
+		fWordCounts[index]++;
+	}
+
+	/**
+	 * Tells whether one of the words with the given hash is equal to <code>word</code> or to
+	 * <code>alternative</code>.
+	 *
+	 * @param hash the phonetic hash
+	 * @param word the word to look for
+	 * @param alternative the alternative word to look for
+	 * @return <code>true</code> if the word or the alternative word is contained
+	 */
+	synchronized boolean contains(String hash, String word, String alternative) {
+		int index= find(hash);
+		if (index == NONE)
+			return false;
+
+		for (int wordIndex= fFirstWords[index]; wordIndex != NONE; wordIndex= fNextWords[wordIndex]) {
+			if (equals(fWordOffsets[wordIndex], fWordLengths[wordIndex], word) || equals(fWordOffsets[wordIndex], fWordLengths[wordIndex], alternative))
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the words with the given hash in the order they have been added.
+	 *
+	 * @param hash the phonetic hash
+	 * @param limit the maximal number of words to return
+	 * @return the words or <code>null</code> if there are no words with the hash
+	 */
+	synchronized String[] getWords(String hash, int limit) {
+		int index= find(hash);
+		if (index == NONE)
+			return null;
+
+		String[] words= new String[Math.min(limit, fWordCounts[index])];
+		int wordIndex= fFirstWords[index];
+		for (int i= 0; i < words.length; i++) {
+			words[i]= new String(fArena, fWordOffsets[wordIndex], fWordLengths[wordIndex], StandardCharsets.UTF_8);
+			wordIndex= fNextWords[wordIndex];
+		}
+		return words;
+	}
+
+	/**
+	 * @return <code>true</code> if no word has been added
+	 */
+	synchronized boolean isEmpty() {
+		return fHashCount == 0;
+	}
+
+	/**
+	 * @return the number of words
+	 */
+	synchronized int getWordCount() {
+		return fWordCount;
+	}
+
+	/**
+	 * Removes all words.
+	 *
+	 * @param initialSize the expected number of hashes
+	 */
+	synchronized void clear(int initialSize) {
+		initialize(initialSize);
+	}
+
+	/**
+	 * Releases the unused capacity.
+	 */
+	synchronized void trimToSize() {
+		fHashCodes= Arrays.copyOf(fHashCodes, fHashCount);
+		fHashOffsets= Arrays.copyOf(fHashOffsets, fHashCount);
+		fHashLengths= Arrays.copyOf(fHashLengths, fHashCount);
+		fFirstWords= Arrays.copyOf(fFirstWords, fHashCount);
+		fLastWords= Arrays.copyOf(fLastWords, fHashCount);
+		fWordCounts= Arrays.copyOf(fWordCounts, fHashCount);
+		fWordOffsets= Arrays.copyOf(fWordOffsets, fWordCount);
+		fWordLengths= Arrays.copyOf(fWordLengths, fWordCount);
+		fNextWords= Arrays.copyOf(fNextWords, fWordCount);
+		fArena= Arrays.copyOf(fArena, fArenaSize);
+	}
+
+	/**
+	 * Writes the index, including the precomputed hash table.
+	 *
+	 * @param out the stream to write to
+	 * @throws IOException if writing fails
+	 */
+	synchronized void write(DataOutputStream out) throws IOException {
+		out.writeInt(fTable.length);
+		out.writeInt(fHashCount);
+		out.writeInt(fWordCount);
+		out.writeInt(fArenaSize);
+		write(out, fTable, fTable.length);
+		write(out, fHashCodes, fHashCount);
+		write(out, fHashOffsets, fHashCount);
+		write(out, fHashLengths, fHashCount);
+		write(out, fFirstWords, fHashCount);
+		write(out, fLastWords, fHashCount);
+		write(out, fWordCounts, fHashCount);
+		write(out, fWordOffsets, fWordCount);
+		write(out, fWordLengths, fWordCount);
+		write(out, fNextWords, fWordCount);
+		out.write(fArena, 0, fArenaSize);
+	}
+
+	private static void write(DataOutputStream out, int[] values, int count) throws IOException {
+		for (int i= 0; i < count; i++)
+			out.writeInt(values[i]);
+	}
+
+	/**
+	 * Replaces the content of this index with an index written by {@link #write(DataOutputStream)}.
+	 * The content is not changed if the buffer does not contain a valid index.
+	 *
+	 * @param buffer the buffer to read from, positioned at the start of the index
+	 * @return <code>true</code> if the index has been read
+	 */
+	synchronized boolean read(ByteBuffer buffer) {
+		try {
+			int tableLength= buffer.getInt();
+			int hashCount= buffer.getInt();
+			int wordCount= buffer.getInt();
+			int arenaSize= buffer.getInt();
+			if (tableLength <= 0 || Integer.bitCount(tableLength) != 1 || hashCount < 0 || hashCount >= tableLength || wordCount < hashCount || arenaSize < 0)
+				return false;
+			if (buffer.remaining() != 4L * (tableLength + 6L * hashCount + 3L * wordCount) + arenaSize)
+				return false;
+
+			IntBuffer ints= buffer.asIntBuffer();
+			int[] table= read(ints, tableLength);
+			int[] hashCodes= read(ints, hashCount);
+			int[] hashOffsets= read(ints, hashCount);
+			int[] hashLengths= read(ints, hashCount);
+			int[] firstWords= read(ints, hashCount);
+			int[] lastWords= read(ints, hashCount);
+			int[] wordCounts= read(ints, hashCount);
+			int[] wordOffsets= read(ints, wordCount);
+			int[] wordLengths= read(ints, wordCount);
+			int[] nextWords= read(ints, wordCount);
+			buffer.position(buffer.position() + 4 * ints.position());
+			byte[] arena= new byte[arenaSize];
+			buffer.get(arena);
+
+			fTable= table;
+			fHashCount= hashCount;
+			fHashCodes= hashCodes;
+			fHashOffsets= hashOffsets;
+			fHashLengths= hashLengths;
+			fFirstWords= firstWords;
+			fLastWords= lastWords;
+			fWordCounts= wordCounts;
+			fWordCount= wordCount;
+			fWordOffsets= wordOffsets;
+			fWordLengths= wordLengths;
+			fNextWords= nextWords;
+			fArena= arena;
+			fArenaSize= arenaSize;
+			return true;
+		} catch (BufferUnderflowException e) {
+			return false;
+		}
+	}
+
+	private static int[] read(IntBuffer ints, int count) {
+		int[] values= new int[count];
+		ints.get(values);
+		return values;
+	}
+
+	private int find(String hash) {
+		int hashCode= hash.hashCode();
+		int mask= fTable.length - 1;
+		for (int slot= mix(hashCode) & mask;; slot= (slot + 1) & mask) {
+			int index= fTable[slot] - 1;
+			if (index == NONE)
+				return NONE;
+			if (fHashCodes[index] == hashCode && equals(fHashOffsets[index], fHashLengths[index], hash))
+				return index;
+		}
+	}
+
+	private int addHash(String hash) {
+		if (fHashCount + 1 > fTable.length * fLoadFactor)
+			rehash(fTable.length << 1);
+
+		if (fHashCount == fHashCodes.length) {
+			int capacity= grow(fHashCount);
+			fHashCodes= Arrays.copyOf(fHashCodes, capacity);
+			fHashOffsets= Arrays.copyOf(fHashOffsets, capacity);
+			fHashLengths= Arrays.copyOf(fHashLengths, capacity);
+			fFirstWords= Arrays.copyOf(fFirstWords, capacity);
+			fLastWords= Arrays.copyOf(fLastWords, capacity);
+			fWordCounts= Arrays.copyOf(fWordCounts, capacity);
+		}
+		int index= fHashCount++;
+		byte[] bytes= hash.getBytes(StandardCharsets.UTF_8);
+		fHashCodes[index]= hash.hashCode();
+		fHashOffsets[index]= append(bytes);
+		fHashLengths[index]= bytes.length;
+		fWordCounts[index]= 0;
+		insert(index);
+		return index;
+	}
+
+	private void rehash(int capacity) {
+		fTable= new int[capacity];
+		for (int index= 0; index < fHashCount; index++)
+			insert(index);
+	}
+
+	private void insert(int index) {
+		int mask= fTable.length - 1;
+		int slot= mix(fHashCodes[index]) & mask;
+		while (fTable[slot] != 0)
+			slot= (slot + 1) & mask;
+		fTable[slot]= index + 1;
+	}
+
+	private int append(byte[] bytes) {
+		if (fArenaSize + bytes.length > fArena.length)
+			fArena= Arrays.copyOf(fArena, Math.max(grow(fArena.length), fArenaSize + bytes.length));
+		int offset= fArenaSize;
+		System.arraycopy(bytes, 0, fArena, offset, bytes.length);
+		fArenaSize+= bytes.length;
+		return offset;
+	}
+
+	/**
+	 * Tells whether the UTF-8 encoded characters in the arena are equal to the given string,
+	 * without decoding them into a new string.
+	 *
+	 * @param offset the offset in the arena
+	 * @param length the length in the arena
+	 * @param string the string to compare with
+	 * @return <code>true</code> if equal
+	 */
+	private boolean equals(int offset, int length, String string) {
+		byte[] arena= fArena;
+		int n= string.length();
+		int j= 0;
+		for (int i= offset, end= offset + length; i < end;) {
+			int b= arena[i++] & 0xff;
+			int ch;
+			if (b < 0x80) {
+				ch= b;
+			} else if (b < 0xe0) {
+				ch= (b & 0x1f) << 6 | arena[i++] & 0x3f;
+			} else if (b < 0xf0) {
+				ch= (b & 0x0f) << 12 | (arena[i++] & 0x3f) << 6 | arena[i++] & 0x3f;
+			} else {
+				int codePoint= (b & 0x07) << 18 | (arena[i++] & 0x3f) << 12 | (arena[i++] & 0x3f) << 6 | arena[i++] & 0x3f;
+				if (j >= n || string.charAt(j++) != Character.highSurrogate(codePoint))
+					return false;
+				ch= Character.lowSurrogate(codePoint);
+			}
+			if (j >= n || string.charAt(j++) != ch)
+				return false;
+		}
+		return j == n;
+	}
+
+	private static int mix(int hashCode) {
+		return hashCode ^ hashCode >>> 16;
+	}
+
+	private static int grow(int capacity) {
+		return Math.max(16, capacity + (capacity >> 1));
+	}
+}
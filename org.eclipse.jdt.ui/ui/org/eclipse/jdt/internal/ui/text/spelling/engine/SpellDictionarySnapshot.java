@@ -0,0 +1,191 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.text.spelling.engine;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+
+
+/**
+ * Binary snapshot of the {@link PhoneticHashIndex} of a word list based dictionary.
+ * <p>
+ * The snapshot is stored in the state location of the plug-in and contains the phonetic hashes of
+ * the words, so loading a dictionary from its snapshot neither parses the word list nor computes
+ * phonetic hashes. The snapshot is only used while the word list has the same modification stamp
+ * and length, the same encoding is used to read it and the same phonetic hash provider is used, as
+ * when the snapshot has been written. Otherwise the word list is read and the snapshot is written
+ * again.
+ * </p>
+ *
+ * @since 3.31
+ */
+final class SpellDictionarySnapshot {
+
+	/** Directory in the state location that contains the snapshots */
+	private static final String SNAPSHOT_DIRECTORY= "spelling"; //$NON-NLS-1$
+
+	/** File name extension of the snapshots */
+	private static final String SNAPSHOT_EXTENSION= ".snapshot"; //$NON-NLS-1$
+
+	/** Identifies a snapshot file */
+	private static final int MAGIC= 0x4A535044;
+
+	/** The version of the snapshot format, must be incremented whenever the format changes */
+	private static final int VERSION= 1;
+
+	/**
+	 * Returns the snapshot for the given word list.
+	 *
+	 * @param url the URL of the word list
+	 * @param encoding the encoding used to read the word list
+	 * @param hashProvider the phonetic hash provider used to hash the words
+	 * @return the snapshot or <code>null</code> if the word list does not exist or if there is
+	 *         no state location
+	 */
+	static SpellDictionarySnapshot create(URL url, String encoding, IPhoneticHashProvider hashProvider) {
+		JavaPlugin plugin= JavaPlugin.getDefault();
+		if (plugin == null)
+			return null;
+
+		File directory;
+		try {
+			directory= plugin.getStateLocation().append(SNAPSHOT_DIRECTORY).toFile();
+		} catch (IllegalStateException e) {
+			// no state location
+			return null;
+		}
+
+		long lastModified;
+		long length;
+		try {
+			URLConnection connection= url.openConnection();
+			try (InputStream stream= connection.getInputStream()) {
+				lastModified= connection.getLastModified();
+				length= connection.getContentLengthLong();
+			}
+		} catch (IOException e) {
+			// the word list does not exist, the lower case fallback in load(URL) is tried next
+			return null;
+		}
+
+		String source= url.toExternalForm();
+		String key= source + '\n' + lastModified + '\n' + length + '\n' + encoding + '\n' + hashProvider.getClass().getName();
+		File file= new File(directory, Integer.toHexString(source.hashCode()) + SNAPSHOT_EXTENSION);
+		return new SpellDictionarySnapshot(file, key.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/** The snapshot file */
+	private final File fFile;
+
+	/** Identifies the word list content, encoding and hash provider of the snapshot */
+	private final byte[] fKey;
+
+	private SpellDictionarySnapshot(File file, byte[] key) {
+		fFile= file;
+		fKey= key;
+	}
+
+	/**
+	 * Reads the snapshot into the given index. The file is read into the heap rather than mapped,
+	 * since a mapping keeps the file open until it is garbage collected, and an open file cannot be
+	 * replaced by {@link #write(PhoneticHashIndex)} on all platforms.
+	 *
+	 * @param index the index to read into
+	 * @return <code>true</code> if the snapshot is up to date and has been read,
+	 *         <code>false</code> if the word list has to be read
+	 */
+	boolean read(PhoneticHashIndex index) {
+		if (!fFile.isFile())
+			return false;
+
+		ByteBuffer buffer;
+		try (FileChannel channel= FileChannel.open(fFile.toPath(), StandardOpenOption.READ)) {
+			long size= channel.size();
+			if (size > Integer.MAX_VALUE)
+				return false;
+			buffer= ByteBuffer.allocate((int) size);
+			while (buffer.hasRemaining()) {
+				if (channel.read(buffer) < 0)
+					return false;
+			}
+			buffer.flip();
+		} catch (IOException e) {
+			JavaPlugin.log(e);
+			return false;
+		}
+
+		try {
+			if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION)
+				return false;
+
+			int keyLength= buffer.getInt();
+			if (keyLength != fKey.length)
+				return false;
+			byte[] key= new byte[keyLength];
+			buffer.get(key);
+			if (!Arrays.equals(key, fKey))
+				return false;
+
+			return index.read(buffer);
+		} catch (BufferUnderflowException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Writes the given index as the snapshot. The snapshot is written to a temporary file first,
+	 * so that a concurrent or interrupted write never leaves a partial snapshot behind.
+	 *
+	 * @param index the index that has been read from the word list
+	 */
+	void write(PhoneticHashIndex index) {
+		File directory= fFile.getParentFile();
+		if (!directory.isDirectory() && !directory.mkdirs())
+			return;
+
+		File temporary= null;
+		try {
+			temporary= File.createTempFile(fFile.getName(), null, directory);
+			try (DataOutputStream out= new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary.toPath())))) {
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.writeInt(fKey.length);
+				out.write(fKey);
+				index.write(out);
+			}
+			Files.move(temporary.toPath(), fFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			temporary= null;
+		} catch (IOException e) {
+			JavaPlugin.log(e);
+		} finally {
+			if (temporary != null)
+				temporary.delete();
+		}
+	}
+}
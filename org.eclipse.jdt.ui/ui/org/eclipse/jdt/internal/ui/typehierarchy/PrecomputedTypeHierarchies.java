@@ -0,0 +1,216 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.typehierarchy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeHierarchy;
+import org.eclipse.jdt.core.ITypeHierarchyChangedListener;
+import org.eclipse.jdt.core.JavaModelException;
+
+/**
+ * Computes the type hierarchies of the types that have recently been focused in the Type Hierarchy
+ * view in the background, so that going back to one of these types does not wait for its hierarchy.
+ * The hierarchy of the view is kept here as well when the view switches its input.
+ * <p>
+ * A hierarchy is dropped as soon as it changes, since refreshing it costs as much as computing it
+ * again. All hierarchies are dropped when the last type hierarchy view is closed, see
+ * {@link #disconnect()}.
+ * </p>
+ */
+final class PrecomputedTypeHierarchies {
+
+	/** The number of hierarchies that are kept */
+	private static final int MAX_HIERARCHIES= 3;
+
+	/** Milliseconds to wait before the hierarchies are computed, so that the view gets its hierarchy first */
+	private static final int PRECOMPUTE_DELAY= 1000;
+
+	private static final class Entry implements ITypeHierarchyChangedListener {
+
+		private final IType fType;
+		private final ITypeHierarchy fHierarchy;
+
+		Entry(IType type, ITypeHierarchy hierarchy) {
+			fType= type;
+			fHierarchy= hierarchy;
+			fHierarchy.addTypeHierarchyChangedListener(this);
+		}
+
+		@Override
+		public void typeHierarchyChanged(ITypeHierarchy typeHierarchy) {
+			synchronized (PrecomputedTypeHierarchies.class) {
+				if (fgEntries.remove(this)) {
+					dispose();
+				}
+			}
+		}
+
+		void dispose() {
+			fHierarchy.removeTypeHierarchyChangedListener(this);
+		}
+	}
+
+	/** The hierarchies, the most recently added first */
+	private static final List<Entry> fgEntries= new ArrayList<>(MAX_HIERARCHIES + 1);
+
+	private static Job fgPrecomputeJob;
+
+	/** The number of type hierarchy life cycles of views that are not disposed yet */
+	private static int fgConnections;
+
+	/**
+	 * Called when the life cycle of a type hierarchy view is created.
+	 */
+	static synchronized void connect() {
+		fgConnections++;
+	}
+
+	/**
+	 * Called when the life cycle of a type hierarchy view is disposed. Drops all hierarchies when
+	 * no view is left.
+	 */
+	static synchronized void disconnect() {
+		if (--fgConnections > 0) {
+			return;
+		}
+		if (fgPrecomputeJob != null) {
+			fgPrecomputeJob.cancel();
+			fgPrecomputeJob= null;
+		}
+		for (Entry entry : fgEntries) {
+			entry.dispose();
+		}
+		fgEntries.clear();
+	}
+
+	/**
+	 * Returns the precomputed hierarchy of a type. The hierarchy is removed, the caller is
+	 * responsible for keeping it up to date.
+	 *
+	 * @param type the focus type
+	 * @return the hierarchy with all subtypes and supertypes of the type, or <code>null</code> if none
+	 *         is available
+	 */
+	static synchronized ITypeHierarchy take(IType type) {
+		for (Entry entry : fgEntries) {
+			if (entry.fType.equals(type)) {
+				fgEntries.remove(entry);
+				entry.dispose();
+				return entry.fHierarchy.exists() ? entry.fHierarchy : null;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Keeps a hierarchy that is up to date, so that it can be {@link #take(IType) taken} again.
+	 *
+	 * @param type the focus type
+	 * @param hierarchy the hierarchy with all subtypes and supertypes of the type
+	 */
+	static synchronized void keep(IType type, ITypeHierarchy hierarchy) {
+		if (fgConnections == 0) {
+			// no view is left to take the hierarchy
+			return;
+		}
+		for (Entry entry : fgEntries) {
+			if (entry.fType.equals(type)) {
+				fgEntries.remove(entry);
+				entry.dispose();
+				break;
+			}
+		}
+		fgEntries.add(0, new Entry(type, hierarchy));
+		while (fgEntries.size() > MAX_HIERARCHIES) {
+			fgEntries.remove(fgEntries.size() - 1).dispose();
+		}
+	}
+
+	private static synchronized boolean contains(IType type) {
+		for (Entry entry : fgEntries) {
+			if (entry.fType.equals(type)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Computes the hierarchies of the most recent types in a history in the background.
+	 *
+	 * @param history the input elements of the view, the most recent first
+	 * @param current the current input elements, whose hierarchy the view computes itself
+	 */
+	static synchronized void precompute(List<IJavaElement[]> history, IJavaElement[] current) {
+		final List<IType> types= new ArrayList<>(MAX_HIERARCHIES);
+		for (IJavaElement[] elements : history) {
+			if (types.size() == MAX_HIERARCHIES) {
+				break;
+			}
+			if (elements.length == 1 && elements[0] instanceof IType && !Arrays.equals(elements, current)) {
+				types.add((IType) elements[0]);
+			}
+		}
+		if (fgPrecomputeJob != null) {
+			fgPrecomputeJob.cancel();
+			fgPrecomputeJob= null;
+		}
+		if (types.isEmpty()) {
+			return;
+		}
+		fgPrecomputeJob= new Job(TypeHierarchyMessages.TypeHierarchyLifeCycle_precompute) {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				// compute the least recent first, so that the most recent hierarchy is evicted last
+				for (int i= types.size() - 1; i >= 0; i--) {
+					IType type= types.get(i);
+					if (monitor.isCanceled()) {
+						return Status.CANCEL_STATUS;
+					}
+					if (!type.exists() || contains(type)) {
+						continue;
+					}
+					try {
+						ITypeHierarchy hierarchy= type.newTypeHierarchy(monitor);
+						if (!monitor.isCanceled()) {
+							keep(type, hierarchy);
+						}
+					} catch (OperationCanceledException e) {
+						return Status.CANCEL_STATUS;
+					} catch (JavaModelException e) {
+						// the type hierarchy view reports the problem when the hierarchy is shown
+					}
+				}
+				return Status.OK_STATUS;
+			}
+		};
+		fgPrecomputeJob.setSystem(true);
+		fgPrecomputeJob.setPriority(Job.DECORATE);
+		fgPrecomputeJob.schedule(PRECOMPUTE_DELAY);
+	}
+
+	private PrecomputedTypeHierarchies() {
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2017 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,7 +16,11 @@ package org.eclipse.jdt.internal.ui.typehierarchy;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.swt.widgets.Display;
 
@@ -32,6 +36,7 @@ import org.eclipse.jface.operation.IRunnableWithProgress;
 import org.eclipse.ui.progress.IWorkbenchSiteProgressService;
 
 import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.Flags;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IElementChangedListener;
 import org.eclipse.jdt.core.IJavaElement;
@@ -39,6 +44,7 @@ import org.eclipse.jdt.core.IJavaElementDelta;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IOrdinaryClassFile;
 import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IParent;
 import org.eclipse.jdt.core.IRegion;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.ITypeHierarchy;
@@ -57,6 +63,24 @@ import org.eclipse.jdt.internal.ui.JavaPlugin;
 public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IElementChangedListener {
 
 	private boolean fHierarchyRefreshNeeded;
+
+	/**
+	 * Indicates whether the hierarchy reported a change. The hierarchy does not report any further
+	 * changes until it is refreshed, so it must not be kept by {@link PrecomputedTypeHierarchies}.
+	 * Whether the hierarchy of a single type has to be refreshed is decided from the element deltas,
+	 * see {@link #isHierarchyAffected(IJavaElementDelta)}.
+	 */
+	private boolean fHierarchyChangeReported;
+
+	/**
+	 * The types in the hierarchy by compilation unit, or <code>null</code> if not computed yet.
+	 */
+	private Map<ICompilationUnit, List<IType>> fTypesByCompilationUnit;
+
+	/**
+	 * The simple names of the types in the hierarchy, or <code>null</code> if not computed yet.
+	 */
+	private Set<String> fTypeNames;
 	private ITypeHierarchy fHierarchy;
 	private IJavaElement[] fInputElements;
 	private boolean fIsSuperTypesOnly;
@@ -94,6 +118,7 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 		this(false);
 		fTypeHierarchyViewPart= part;
 		fRefreshHierarchyJob= null;
+		PrecomputedTypeHierarchies.connect();
 	}
 
 	public TypeHierarchyLifeCycle(boolean isSuperTypesOnly) {
@@ -121,8 +146,13 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 		if (fHierarchy != null) {
 			fHierarchy.removeTypeHierarchyChangedListener(this);
 			JavaCore.removeElementChangedListener(this);
+			if (isPrecomputable(fInputElements) && !fHierarchyRefreshNeeded && !fHierarchyChangeReported && fHierarchy.exists()) {
+				PrecomputedTypeHierarchies.keep((IType) fInputElements[0], fHierarchy);
+			}
 			fHierarchy= null;
 			fInputElements= null;
+			fTypesByCompilationUnit= null;
+			fTypeNames= null;
 		}
 		synchronized (this) {
 			if (fRefreshHierarchyJob != null) {
@@ -132,6 +162,19 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 		}
 	}
 
+	/**
+	 * Frees the hierarchy. The hierarchies kept by {@link PrecomputedTypeHierarchies} are dropped
+	 * when the last type hierarchy view is disposed.
+	 *
+	 * @since 3.31
+	 */
+	public void dispose() {
+		if (fTypeHierarchyViewPart != null) {
+			PrecomputedTypeHierarchies.disconnect();
+		}
+		freeHierarchy();
+	}
+
 	public void removeChangedListener(ITypeHierarchyLifeCycleListener listener) {
 		fChangeListeners.remove(listener);
 	}
@@ -224,14 +267,15 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 							try {
 								doHierarchyRefreshBackground(elements, pm);
 							} catch (OperationCanceledException e) {
+								fHierarchyRefreshNeeded= true;
 								if (fRefreshJobCanceledExplicitly) {
 									fTypeHierarchyViewPart.showEmptyViewer();
 								}
 								return Status.CANCEL_STATUS;
 							} catch (JavaModelException e) {
+								fHierarchyRefreshNeeded= true;
 								return e.getStatus();
 							} finally {
-								fHierarchyRefreshNeeded= true;
 								pm.done();
 							}
 							return Status.OK_STATUS;
@@ -292,6 +336,10 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 			if (fIsSuperTypesOnly) {
 				return type.newSupertypeHierarchy(pm);
 			} else {
+				ITypeHierarchy hierarchy= PrecomputedTypeHierarchies.take(type);
+				if (hierarchy != null) {
+					return hierarchy;
+				}
 				return type.newTypeHierarchy(pm);
 			}
 		} else {
@@ -322,6 +370,10 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 			JavaCore.removeElementChangedListener(this);
 		}
 		if (hierachyCreationNeeded) {
+			if (fHierarchy != null && isPrecomputable(fInputElements) && !fHierarchyRefreshNeeded && !fHierarchyChangeReported && fHierarchy.exists()) {
+				// keep the previous hierarchy for going back in the history
+				PrecomputedTypeHierarchies.keep((IType) fInputElements[0], fHierarchy);
+			}
 			fHierarchy= createTypeHierarchy(elements, pm);
 			if (pm != null && pm.isCanceled()) {
 				throw new OperationCanceledException();
@@ -332,9 +384,27 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 			if (pm != null && pm.isCanceled())
 				throw new OperationCanceledException();
 		}
+		fTypesByCompilationUnit= null;
+		fTypeNames= null;
 		fHierarchy.addTypeHierarchyChangedListener(this);
 		JavaCore.addElementChangedListener(this);
 		fHierarchyRefreshNeeded= false;
+		fHierarchyChangeReported= false;
+	}
+
+	/**
+	 * Returns whether the hierarchy of the input elements can be precomputed and kept by
+	 * {@link PrecomputedTypeHierarchies}.
+	 *
+	 * @param elements the input elements, can be <code>null</code>
+	 * @return <code>true</code> if the input is a single type of the type hierarchy view
+	 */
+	private boolean isPrecomputable(IJavaElement[] elements) {
+		return fTypeHierarchyViewPart != null && !fIsSuperTypesOnly && isSingleType(elements);
+	}
+
+	private static boolean isSingleType(IJavaElement[] elements) {
+		return elements != null && elements.length == 1 && elements[0].getElementType() == IJavaElement.TYPE;
 	}
 
 	/*
@@ -342,8 +412,20 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 	 */
 	@Override
 	public void typeHierarchyChanged(ITypeHierarchy typeHierarchy) {
-	 	fHierarchyRefreshNeeded= true;
- 		fireChange(null);
+		if (isSingleType(fInputElements)) {
+			// the element deltas are checked in elementChanged, independent of the order of the listeners
+			fHierarchyChangeReported= true;
+		} else {
+			invalidateHierarchy();
+		}
+	}
+
+	/**
+	 * Marks the hierarchy as to be refreshed and notifies the listeners.
+	 */
+	public void invalidateHierarchy() {
+		fHierarchyRefreshNeeded= true;
+		fireChange(null);
 	}
 
 	/*
@@ -351,11 +433,23 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 	 */
 	@Override
 	public void elementChanged(ElementChangedEvent event) {
-		if (fChangeListeners.isEmpty()) {
+		if (fHierarchyRefreshNeeded) {
 			return;
 		}
+		if (fHierarchy != null && event.getType() == ElementChangedEvent.POST_CHANGE && isSingleType(fInputElements)) {
+			boolean affected;
+			try {
+				affected= isHierarchyAffected(event.getDelta());
+			} catch (JavaModelException e) {
+				affected= true;
+			}
+			if (affected) {
+				invalidateHierarchy();
+				return;
+			}
+		}
 
-		if (fHierarchyRefreshNeeded) {
+		if (fChangeListeners.isEmpty()) {
 			return;
 		} else {
 			ArrayList<IType> changedTypes= new ArrayList<>();
@@ -414,6 +508,206 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 		}
 	}
 
+	/*
+	 * The hierarchy only reports that a delta might affect it. When the supertypes of a compilation
+	 * unit are the same after a change, the hierarchy is still correct and does not need to be
+	 * computed again, which takes long for large hierarchies.
+	 */
+	private boolean isHierarchyAffected(IJavaElementDelta delta) throws JavaModelException {
+		IJavaElement element= delta.getElement();
+		switch (element.getElementType()) {
+			case IJavaElement.JAVA_MODEL:
+				return isChildrenAffected(delta);
+			case IJavaElement.JAVA_PROJECT:
+			case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+			case IJavaElement.PACKAGE_FRAGMENT:
+				// F_CONTENT only reports changed non-Java resources of a container
+				if (delta.getKind() != IJavaElementDelta.CHANGED || (delta.getFlags() & ~(IJavaElementDelta.F_CHILDREN | IJavaElementDelta.F_CONTENT)) != 0) {
+					return true;
+				}
+				return isChildrenAffected(delta);
+			case IJavaElement.COMPILATION_UNIT:
+				ICompilationUnit cu= (ICompilationUnit) element;
+				if (!JavaModelUtil.isPrimary(cu)) {
+					return false;
+				}
+				switch (delta.getKind()) {
+					case IJavaElementDelta.REMOVED:
+						return !getTypesInHierarchy(cu).isEmpty();
+					case IJavaElementDelta.CHANGED:
+						return hasChangedSupertypes(cu);
+					default:
+						return true;
+				}
+			default:
+				return true;
+		}
+	}
+
+	private boolean isChildrenAffected(IJavaElementDelta delta) throws JavaModelException {
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (isHierarchyAffected(child)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/*
+	 * Compares the supertypes of all types of the compilation unit with the hierarchy.
+	 */
+	private boolean hasChangedSupertypes(ICompilationUnit cu) throws JavaModelException {
+		if (!cu.exists()) {
+			return true;
+		}
+		List<IType> types= new ArrayList<>();
+		collectTypes(cu, types);
+		Set<IType> remainingTypes= new HashSet<>(types);
+		for (IType type : getTypesInHierarchy(cu)) {
+			if (!remainingTypes.contains(type)) {
+				return true;
+			}
+		}
+		for (IType type : types) {
+			if (fHierarchy.contains(type)) {
+				if (hasChangedKind(type)) {
+					return true;
+				}
+				Set<String> supertypes= getDeclaredSupertypes(type);
+				if (supertypes == null || !supertypes.equals(getSupertypesInHierarchy(type))) {
+					return true;
+				}
+			} else if (!fIsSuperTypesOnly && isPossibleSubtype(type)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/*
+	 * The implicit superclasses of classes, enums and records are not compared, and interfaces have
+	 * none, so a change of the kind of a type is detected from the flags cached by the hierarchy.
+	 */
+	private boolean hasChangedKind(IType type) throws JavaModelException {
+		int cachedFlags= fHierarchy.getCachedFlags(type);
+		int flags= type.getFlags();
+		return Flags.isInterface(cachedFlags) != Flags.isInterface(flags)
+				|| Flags.isEnum(cachedFlags) != Flags.isEnum(flags)
+				|| Flags.isRecord(cachedFlags) != Flags.isRecord(flags)
+				|| Flags.isAnnotation(cachedFlags) != Flags.isAnnotation(flags);
+	}
+
+	private static void collectTypes(IParent parent, List<IType> types) throws JavaModelException {
+		for (IJavaElement child : parent.getChildren()) {
+			if (child instanceof IType) {
+				types.add((IType) child);
+			}
+			if (child instanceof IParent && child.getElementType() != IJavaElement.IMPORT_CONTAINER) {
+				collectTypes((IParent) child, types);
+			}
+		}
+	}
+
+	/**
+	 * Returns the fully qualified names of the supertypes that the source of a type declares.
+	 *
+	 * @param type the type
+	 * @return the names, or <code>null</code> if a name cannot be resolved
+	 * @throws JavaModelException if the type does not exist
+	 */
+	private static Set<String> getDeclaredSupertypes(IType type) throws JavaModelException {
+		Set<String> supertypes= new HashSet<>();
+		String superclass= type.getSuperclassName();
+		if (superclass != null && !addResolvedName(type, superclass, supertypes)) {
+			return null;
+		}
+		for (String superInterface : type.getSuperInterfaceNames()) {
+			if (!addResolvedName(type, superInterface, supertypes)) {
+				return null;
+			}
+		}
+		return supertypes;
+	}
+
+	private static boolean addResolvedName(IType type, String name, Set<String> names) throws JavaModelException {
+		int typeArguments= name.indexOf('<');
+		String[][] resolved= type.resolveType(typeArguments == -1 ? name : name.substring(0, typeArguments).trim());
+		if (resolved == null || resolved.length != 1) {
+			return false;
+		}
+		names.add(JavaModelUtil.concatenateName(resolved[0][0], resolved[0][1]));
+		return true;
+	}
+
+	/*
+	 * Implicit superclasses are not declared in the source. The superclass of an anonymous type is
+	 * declared as the type it instantiates, which can be an interface. Returns null if the hierarchy
+	 * has a superclass that must be declared but is not.
+	 */
+	private Set<String> getSupertypesInHierarchy(IType type) throws JavaModelException {
+		Set<String> supertypes= new HashSet<>();
+		IType superclass= fHierarchy.getSuperclass(type);
+		if (superclass != null) {
+			String name= superclass.getFullyQualifiedName('.');
+			if (type.isAnonymous() ? !"java.lang.Object".equals(name) : type.getSuperclassName() != null) { //$NON-NLS-1$
+				supertypes.add(name);
+			} else if (!"java.lang.Object".equals(name) && !"java.lang.Enum".equals(name) && !"java.lang.Record".equals(name)) { //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				return null;
+			}
+		}
+		for (IType superInterface : fHierarchy.getSuperInterfaces(type)) {
+			supertypes.add(superInterface.getFullyQualifiedName('.'));
+		}
+		return supertypes;
+	}
+
+	/*
+	 * A type that is not in the hierarchy becomes a subtype if one of its supertypes is in the hierarchy.
+	 */
+	private boolean isPossibleSubtype(IType type) throws JavaModelException {
+		Set<String> typeNames= getTypeNames();
+		String superclass= type.getSuperclassName();
+		if (superclass != null && typeNames.contains(getSimpleName(superclass))) {
+			return true;
+		}
+		for (String superInterface : type.getSuperInterfaceNames()) {
+			if (typeNames.contains(getSimpleName(superInterface))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static String getSimpleName(String typeName) {
+		int typeArguments= typeName.indexOf('<');
+		String name= typeArguments == -1 ? typeName : typeName.substring(0, typeArguments);
+		return name.substring(name.lastIndexOf('.') + 1).trim();
+	}
+
+	private List<IType> getTypesInHierarchy(ICompilationUnit cu) {
+		if (fTypesByCompilationUnit == null) {
+			fTypesByCompilationUnit= new HashMap<>();
+			for (IType type : fHierarchy.getAllTypes()) {
+				ICompilationUnit typeCu= type.getCompilationUnit();
+				if (typeCu != null) {
+					fTypesByCompilationUnit.computeIfAbsent(typeCu, k -> new ArrayList<>()).add(type);
+				}
+			}
+		}
+		List<IType> types= fTypesByCompilationUnit.get(cu);
+		return types != null ? types : new ArrayList<>(0);
+	}
+
+	private Set<String> getTypeNames() {
+		if (fTypeNames == null) {
+			fTypeNames= new HashSet<>();
+			for (IType type : fHierarchy.getAllTypes()) {
+				fTypeNames.add(type.getElementName());
+			}
+		}
+		return fTypeNames;
+	}
+
 	private boolean isPossibleStructuralChange(int flags) {
 		return (flags & (IJavaElementDelta.F_CONTENT | IJavaElementDelta.F_FINE_GRAINED)) == IJavaElementDelta.F_CONTENT;
 	}
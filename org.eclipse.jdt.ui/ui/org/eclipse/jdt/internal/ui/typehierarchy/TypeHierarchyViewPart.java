@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2023 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -610,6 +610,7 @@ public class TypeHierarchyViewPart extends ViewPart implements ITypeHierarchyVie
 			try {
 				fHierarchyLifeCycle.ensureRefreshedTypeHierarchy(inputElements, JavaPlugin.getActiveWorkbenchWindow());
 				// fHierarchyLifeCycle.ensureRefreshedTypeHierarchy(inputElement, getSite().getWorkbenchWindow());
+				PrecomputedTypeHierarchies.precompute(new ArrayList<>(fInputHistory), inputElements);
 			} catch (InvocationTargetException e) {
 				ExceptionHandler.handle(e, getSite().getShell(), TypeHierarchyMessages.TypeHierarchyViewPart_exception_title, TypeHierarchyMessages.TypeHierarchyViewPart_exception_message);
 				clearInput();
@@ -684,7 +685,7 @@ public class TypeHierarchyViewPart extends ViewPart implements ITypeHierarchyVie
 	@Override
 	public void dispose() {
 		if (fHierarchyLifeCycle != null) {
-			fHierarchyLifeCycle.freeHierarchy();
+			fHierarchyLifeCycle.dispose();
 			fHierarchyLifeCycle.removeChangedListener(fTypeHierarchyLifeCycleListener);
 			fHierarchyLifeCycle= null;
 		}
@@ -776,7 +777,7 @@ public class TypeHierarchyViewPart extends ViewPart implements ITypeHierarchyVie
 					if (event.keyCode == SWT.F5) {
 						ITypeHierarchy hierarchy= fHierarchyLifeCycle.getHierarchy();
 						if (hierarchy != null) {
-							fHierarchyLifeCycle.typeHierarchyChanged(hierarchy);
+							fHierarchyLifeCycle.invalidateHierarchy();
 							doTypeHierarchyChangedOnViewers(null);
 						}
 						updateHierarchyViewer(false);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -48,6 +48,10 @@ import org.eclipse.jdt.internal.ui.javaeditor.CompilationUnitAnnotationModelEven
  * Listens to resource deltas and filters for marker changes of type IMarker.PROBLEM
  * Viewers showing error ticks should register as listener to
  * this type.
+ * <p>
+ * While listeners are registered, the maximum problem severity of each resource and its members is
+ * kept up to date from the marker deltas, see {@link #findMaxProblemSeverity(IResource)}.
+ * </p>
  */
 public class ProblemMarkerManager implements IResourceChangeListener, IAnnotationModelListener , IAnnotationModelListenerExtension {
 
@@ -57,9 +61,11 @@ public class ProblemMarkerManager implements IResourceChangeListener, IAnnotatio
 	private static class ProjectErrorVisitor implements IResourceDeltaVisitor {
 
 		private HashSet<IResource> fChangedElements;
+		private ProblemSeverityTree fSeverityTree;
 
-		public ProjectErrorVisitor(HashSet<IResource> changedElements) {
+		public ProjectErrorVisitor(HashSet<IResource> changedElements, ProblemSeverityTree severityTree) {
 			fChangedElements= changedElements;
+			fSeverityTree= severityTree;
 		}
 
 		@Override
@@ -69,8 +75,13 @@ public class ProblemMarkerManager implements IResourceChangeListener, IAnnotatio
 				IProject project= (IProject) res;
 				if (!project.isAccessible()) {
 					// only track open Java projects
+					fSeverityTree.remove(project);
 					return false;
 				}
+				if ((delta.getFlags() & IResourceDelta.OPEN) != 0) {
+					// the markers of an opened project are read when it is queried
+					fSeverityTree.remove(project);
+				}
 			}
 			checkInvalidate(delta, res);
 			return true;
@@ -78,6 +89,11 @@ public class ProblemMarkerManager implements IResourceChangeListener, IAnnotatio
 
 		private void checkInvalidate(IResourceDelta delta, IResource resource) {
 			int kind= delta.getKind();
+			if (kind == IResourceDelta.REMOVED) {
+				fSeverityTree.remove(resource);
+			} else if (kind == IResourceDelta.ADDED || hasProblemMarkerDeltas(delta)) {
+				fSeverityTree.update(resource);
+			}
 			if (kind == IResourceDelta.REMOVED || kind == IResourceDelta.ADDED || (kind == IResourceDelta.CHANGED && isErrorDelta(delta))) {
 				// invalidate the resource and all parents
 				while (resource.getType() != IResource.ROOT && fChangedElements.add(resource)) {
@@ -86,6 +102,16 @@ public class ProblemMarkerManager implements IResourceChangeListener, IAnnotatio
 			}
 		}
 
+		private boolean hasProblemMarkerDeltas(IResourceDelta delta) {
+			if ((delta.getFlags() & IResourceDelta.MARKERS) != 0) {
+				for (IMarkerDelta markerDelta : delta.getMarkerDeltas()) {
+					if (markerDelta.isSubtypeOf(IMarker.PROBLEM))
+						return true;
+				}
+			}
+			return false;
+		}
+
 		private boolean isErrorDelta(IResourceDelta delta) {
 			if ((delta.getFlags() & IResourceDelta.MARKERS) != 0) {
 				for (IMarkerDelta markerDelta : delta.getMarkerDeltas()) {
@@ -109,6 +135,9 @@ public class ProblemMarkerManager implements IResourceChangeListener, IAnnotatio
 	private final Set<IResource> fResourcesWithMarkerChanges= ConcurrentHashMap.newKeySet();
 	private final Set<IResource> fResourcesWithAnnotationChanges= ConcurrentHashMap.newKeySet();
 
+	private final ProblemSeverityTree fSeverityTree= new ProblemSeverityTree();
+	private volatile boolean fListening;
+
 	private final Throttler throttledUpdates= new Throttler(PlatformUI.getWorkbench().getDisplay(), Duration.ofMillis(250), this::runPendingUpdates);
 
 	public ProblemMarkerManager() {
@@ -124,7 +153,7 @@ public class ProblemMarkerManager implements IResourceChangeListener, IAnnotatio
 		try {
 			IResourceDelta delta= event.getDelta();
 			if (delta != null)
-				delta.accept(new ProjectErrorVisitor(changedElements));
+				delta.accept(new ProjectErrorVisitor(changedElements, fSeverityTree));
 		} catch (CoreException e) {
 			JavaPlugin.log(e.getStatus());
 		}
@@ -161,6 +190,7 @@ public class ProblemMarkerManager implements IResourceChangeListener, IAnnotatio
 		if (fListeners.isEmpty()) {
 			JavaPlugin.getWorkspace().addResourceChangeListener(this);
 			JavaPlugin.getDefault().getCompilationUnitDocumentProvider().addGlobalAnnotationModelListener(this);
+			fListening= true;
 		}
 		fListeners.add(listener);
 	}
@@ -174,7 +204,27 @@ public class ProblemMarkerManager implements IResourceChangeListener, IAnnotatio
 		if (fListeners.isEmpty()) {
 			JavaPlugin.getWorkspace().removeResourceChangeListener(this);
 			JavaPlugin.getDefault().getCompilationUnitDocumentProvider().removeGlobalAnnotationModelListener(this);
+			fListening= false;
+			fSeverityTree.clear();
+		}
+	}
+
+	/**
+	 * Returns the maximum severity of the problem markers on a resource and its members, like
+	 * {@link IResource#findMaxProblemSeverity(String, boolean, int)} with {@link IMarker#PROBLEM} and
+	 * {@link IResource#DEPTH_INFINITE}. While listeners are registered, the severity is looked up in a
+	 * tree that is updated from the marker deltas, so that containers don't have to search all the
+	 * markers of their members again after each change.
+	 *
+	 * @param resource the resource
+	 * @return the maximum severity, or -1 if there are no problems
+	 * @throws CoreException if the markers cannot be read
+	 */
+	public int findMaxProblemSeverity(IResource resource) throws CoreException {
+		if (fListening) {
+			return fSeverityTree.getMaxSeverity(resource);
 		}
+		return resource.findMaxProblemSeverity(IMarker.PROBLEM, true, IResource.DEPTH_INFINITE);
 	}
 
 	private void fireChanges() {
@@ -0,0 +1,216 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.viewsupport;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.runtime.CoreException;
+
+import org.eclipse.core.resources.IContainer;
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspaceRoot;
+
+/**
+ * The maximum severity of the problem markers on each resource and its members, see
+ * {@link ProblemMarkerManager#findMaxProblemSeverity(IResource)}.
+ * <p>
+ * A node is kept for each resource that has problems on itself or on one of its members. A node
+ * counts its children of each severity, so when the problems of a resource change, only the nodes
+ * on the path to the workspace root are updated, and only as long as their severity changes. The
+ * nodes of a project are created from its markers the first time the project is queried.
+ * </p>
+ */
+final class ProblemSeverityTree {
+
+	private static final class Node {
+
+		final IResource fResource;
+		final Node fParent;
+		final Set<Node> fChildren= new HashSet<>();
+
+		/** The number of children with the severities info, warning and error */
+		final int[] fChildSeverities= new int[IMarker.SEVERITY_ERROR + 1];
+
+		/** The maximum severity of the markers on the resource itself */
+		int fOwnSeverity= -1;
+
+		/** The maximum severity of the markers on the resource and its members */
+		int fSeverity= -1;
+
+		Node(IResource resource, Node parent) {
+			fResource= resource;
+			fParent= parent;
+		}
+
+		int computeSeverity() {
+			for (int severity= IMarker.SEVERITY_ERROR; severity > fOwnSeverity; severity--) {
+				if (fChildSeverities[severity] > 0)
+					return severity;
+			}
+			return fOwnSeverity;
+		}
+	}
+
+	private final Map<IResource, Node> fNodes= new HashMap<>();
+
+	/** The projects whose nodes have been created */
+	private final Set<IProject> fProjects= new HashSet<>();
+
+	/**
+	 * Returns the maximum severity of the problem markers on a resource and its members.
+	 *
+	 * @param resource the resource
+	 * @return the severity, or -1 if there are no problems
+	 * @throws CoreException if the markers of the project cannot be read
+	 */
+	synchronized int getMaxSeverity(IResource resource) throws CoreException {
+		if (resource instanceof IWorkspaceRoot) {
+			for (IProject project : ((IWorkspaceRoot) resource).getProjects()) {
+				initialize(project);
+			}
+		} else {
+			initialize(resource.getProject());
+		}
+		Node node= fNodes.get(resource);
+		return node != null ? node.fSeverity : -1;
+	}
+
+	/**
+	 * Reads the markers on a resource again after they have changed, or after the resource has been
+	 * added.
+	 *
+	 * @param resource the resource
+	 */
+	synchronized void update(IResource resource) {
+		if (!fProjects.contains(resource.getProject()))
+			return; // read when the project is queried
+		int severity= -1;
+		try {
+			if (resource.isAccessible())
+				severity= resource.findMaxProblemSeverity(IMarker.PROBLEM, true, IResource.DEPTH_ZERO);
+		} catch (CoreException e) {
+			// concurrent deletion, the resource delta removes it
+		}
+		setOwnSeverity(resource, severity);
+	}
+
+	/**
+	 * Drops the nodes of a resource and its members after the resource has been removed. The nodes of
+	 * a project that has been closed or opened are created again when it is queried.
+	 *
+	 * @param resource the resource
+	 */
+	synchronized void remove(IResource resource) {
+		if (resource instanceof IProject)
+			fProjects.remove(resource);
+		Node node= fNodes.get(resource);
+		if (node == null)
+			return;
+		removeChildren(node);
+		node.fOwnSeverity= -1;
+		propagate(node);
+	}
+
+	synchronized void clear() {
+		fNodes.clear();
+		fProjects.clear();
+	}
+
+	private void initialize(IProject project) throws CoreException {
+		if (project == null || !project.isAccessible() || !fProjects.add(project))
+			return;
+		Map<IResource, Integer> severities= new HashMap<>();
+		try {
+			for (IMarker marker : project.findMarkers(IMarker.PROBLEM, true, IResource.DEPTH_INFINITE)) {
+				int severity= marker.getAttribute(IMarker.SEVERITY, -1);
+				if (severity >= 0)
+					severities.merge(marker.getResource(), severity, Math::max);
+			}
+		} catch (CoreException e) {
+			fProjects.remove(project);
+			throw e;
+		}
+		for (Map.Entry<IResource, Integer> entry : severities.entrySet()) {
+			setOwnSeverity(entry.getKey(), entry.getValue().intValue());
+		}
+	}
+
+	private void setOwnSeverity(IResource resource, int severity) {
+		severity= Math.min(severity, IMarker.SEVERITY_ERROR);
+		Node node= fNodes.get(resource);
+		if (node == null) {
+			if (severity < 0)
+				return;
+			node= getOrCreateNode(resource);
+		}
+		node.fOwnSeverity= severity;
+		propagate(node);
+	}
+
+	private Node getOrCreateNode(IResource resource) {
+		Node node= fNodes.get(resource);
+		if (node == null) {
+			IContainer parentResource= resource.getParent();
+			Node parent= parentResource != null ? getOrCreateNode(parentResource) : null;
+			node= new Node(resource, parent);
+			if (parent != null)
+				parent.fChildren.add(node);
+			fNodes.put(resource, node);
+		}
+		return node;
+	}
+
+	/*
+	 * Updates the severity of a node and of its ancestors until a severity does not change. A node
+	 * without problems is removed.
+	 */
+	private void propagate(Node node) {
+		while (node != null) {
+			int oldSeverity= node.fSeverity;
+			int newSeverity= node.computeSeverity();
+			Node parent= node.fParent;
+			if (newSeverity < 0 && node.fChildren.isEmpty()) {
+				fNodes.remove(node.fResource);
+				if (parent != null)
+					parent.fChildren.remove(node);
+			}
+			if (newSeverity == oldSeverity)
+				return;
+			node.fSeverity= newSeverity;
+			if (parent != null) {
+				if (oldSeverity >= 0)
+					parent.fChildSeverities[oldSeverity]--;
+				if (newSeverity >= 0)
+					parent.fChildSeverities[newSeverity]++;
+			}
+			node= parent;
+		}
+	}
+
+	private void removeChildren(Node node) {
+		for (Node child : node.fChildren) {
+			removeChildren(child);
+			fNodes.remove(child.fResource);
+		}
+		node.fChildren.clear();
+		node.fChildSeverities[IMarker.SEVERITY_INFO]= 0;
+		node.fChildSeverities[IMarker.SEVERITY_WARNING]= 0;
+		node.fChildSeverities[IMarker.SEVERITY_ERROR]= 0;
+	}
+}
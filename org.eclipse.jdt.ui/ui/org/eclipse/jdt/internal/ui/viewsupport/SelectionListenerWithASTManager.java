@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -37,6 +37,7 @@ import org.eclipse.ui.texteditor.ITextEditor;
 
 import org.eclipse.jdt.core.ITypeRoot;
 import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.manipulation.CoreASTProvider;
 import org.eclipse.jdt.core.manipulation.SharedASTProviderCore;
 
 import org.eclipse.jdt.internal.ui.JavaUIMessages;
@@ -163,27 +164,42 @@ public class SelectionListenerWithASTManager {
 			}
 			// create AST
 			try {
-				CompilationUnit astRoot= SharedASTProviderCore.getAST(input, SharedASTProviderCore.WAIT_ACTIVE_ONLY, monitor);
-
-				if (astRoot != null && !monitor.isCanceled()) {
-					Iterator<ISelectionListenerWithAST> listeners;
-					synchronized (PartListenerGroup.this) { // sync probably doesn't make sense here...
-						listeners= fAstListeners.iterator();
-					}
-					while (listeners.hasNext()) {
-						ISelectionListenerWithAST listener= listeners.next();
-						listener.selectionChanged(fPart, selection, astRoot);
-						if (monitor.isCanceled()) {
-							return Status.CANCEL_STATUS;
-						}
+				CoreASTProvider.ASTSnapshot snapshot= SharedASTProviderCore.getSnapshot(input, SharedASTProviderCore.WAIT_ACTIVE_ONLY, monitor);
+				if (snapshot == null) {
+					return Status.CANCEL_STATUS;
+				}
+				IStatus status= inform(selection, snapshot.getAST(), monitor);
+				if (status.isOK() && snapshot.isStale()) {
+					// the listeners have been informed without waiting for the reconcile, inform them again with the current AST
+					CompilationUnit astRoot= SharedASTProviderCore.getAST(input, SharedASTProviderCore.WAIT_ACTIVE_ONLY, monitor);
+					if (astRoot != null && astRoot != snapshot.getAST()) {
+						status= inform(selection, astRoot, monitor);
 					}
-					return Status.OK_STATUS;
 				}
+				return status;
 			} catch (OperationCanceledException e) {
 				// thrown when canceling the AST creation
 			}
 			return Status.CANCEL_STATUS;
 		}
+
+		private IStatus inform(ITextSelection selection, CompilationUnit astRoot, IProgressMonitor monitor) {
+			if (monitor.isCanceled()) {
+				return Status.CANCEL_STATUS;
+			}
+			Iterator<ISelectionListenerWithAST> listeners;
+			synchronized (PartListenerGroup.this) { // sync probably doesn't make sense here...
+				listeners= fAstListeners.iterator();
+			}
+			while (listeners.hasNext()) {
+				ISelectionListenerWithAST listener= listeners.next();
+				listener.selectionChanged(fPart, selection, astRoot);
+				if (monitor.isCanceled()) {
+					return Status.CANCEL_STATUS;
+				}
+			}
+			return Status.OK_STATUS;
+		}
 	}
 
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -30,6 +30,7 @@ import org.eclipse.jdt.core.IMember;
 import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.eclipse.jdt.core.JavaCore;
 
+import org.eclipse.jdt.internal.ui.packageview.MoreChildrenNode;
 import org.eclipse.jdt.internal.ui.packageview.PackageFragmentRootContainer;
 import org.eclipse.jdt.internal.ui.packageview.ClassPathContainer.RequiredProjectWrapper;
 import org.eclipse.jdt.internal.ui.viewsupport.JavaViewerFilter;
@@ -225,6 +226,11 @@ public class WorkingSetFilter extends JavaViewerFilter {
 			return isEnclosing((PackageFragmentRootContainer)element);
 		}
 
+		if (element instanceof MoreChildrenNode) {
+			// the children the node stands for have already been filtered by the content provider
+			return true;
+		}
+
 		if (element instanceof IAdaptable)
 			return isEnclosing((IAdaptable)element);
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2023 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -2988,6 +2988,22 @@ public class PreferenceConstants {
 	 */
 	public static final String CODEASSIST_NONUITHREAD_COMPUTATION= "content_assist_noUIThread_computation"; //$NON-NLS-1$
 
+	/**
+	 * A named preference that controls whether the completion proposal categories are computed
+	 * concurrently, so that code assist takes as long as the slowest category instead of all
+	 * categories together.
+	 * <p>
+	 * Categories whose computers require the UI thread are still computed on the calling thread.
+	 * Proposals of a category that does not finish in time are dropped.
+	 * </p>
+	 * <p>
+	 * Value is of type <code>Boolean</code>.
+	 * </p>
+	 *
+	 * @since 3.31
+	 */
+	public static final String CODEASSIST_CONCURRENT_COMPUTATION= "content_assist_concurrent_computation"; //$NON-NLS-1$
+
 
 	/**
 	 * A named preference that controls if the Java code assist gets auto activated.
@@ -4138,6 +4154,7 @@ public class PreferenceConstants {
 		store.setDefault(PreferenceConstants.CODEASSIST_AUTOINSERT, true);
 		store.setDefault(PreferenceConstants.CODEASSIST_DISABLE_COMPLETION_PROPOSAL_TRIGGER_CHARS, false);
 		store.setDefault(PreferenceConstants.CODEASSIST_NONUITHREAD_COMPUTATION, true);
+		store.setDefault(PreferenceConstants.CODEASSIST_CONCURRENT_COMPUTATION, false);
 		store.setDefault(PreferenceConstants.PREF_MIN_CHAIN_LENGTH, 2);
 		store.setDefault(PreferenceConstants.PREF_MAX_CHAIN_LENGTH, 4);
 		store.setDefault(PreferenceConstants.PREF_MAX_CHAINS, 20);
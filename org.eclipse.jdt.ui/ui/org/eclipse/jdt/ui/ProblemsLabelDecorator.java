@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2017 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -597,7 +597,11 @@ public class ProblemsLabelDecorator implements ILabelDecorator, ILightweightLabe
 				return ERRORTICK_BUILDPATH_ERROR;
 			}
 		}
-		severity= res.findMaxProblemSeverity(IMarker.PROBLEM, true, depth);
+		if (depth == IResource.DEPTH_INFINITE) {
+			severity= JavaPlugin.getDefault().getProblemMarkerManager().findMaxProblemSeverity(res);
+		} else {
+			severity= res.findMaxProblemSeverity(IMarker.PROBLEM, true, depth);
+		}
 		return convertToTick(severity);
 	}
 